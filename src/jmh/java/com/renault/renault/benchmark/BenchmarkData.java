@@ -0,0 +1,122 @@
+package com.renault.renault.benchmark;
+
+import com.renault.renault.RenaultApplication;
+import com.renault.renault.entity.Accessory;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.OpeningTime;
+import com.renault.renault.entity.Vehicle;
+import com.renault.renault.index.SearchIndexLoader;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.repository.VehicleRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sample entities and seeded application contexts shared by the benchmarks.
+ */
+final class BenchmarkData {
+    static final String[] MODELS = {"Clio", "Megane", "Captur", "Zoe", "Austral"};
+    static final String[] FUEL_TYPES = {"Diesel", "Petrol", "Electric", "Hybrid"};
+
+    private static final int SEED_CHUNK = 500;
+
+    private BenchmarkData() {
+    }
+
+    static Garage garage(Long id, int index) {
+        Garage garage = Garage.builder()
+                .id(id)
+                .version(0L)
+                .name("Garage " + index)
+                .address(index + " Avenue des Champs-Élysées, 75008 Paris")
+                .telephone("+33123456789")
+                .email("garage" + index + "@renault.com")
+                .vehicleCount(0)
+                .vehicles(new ArrayList<>())
+                .build();
+        Set<OpeningTime> openingTimes = new HashSet<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day != DayOfWeek.SUNDAY) {
+                openingTimes.add(OpeningTime.builder()
+                        .dayOfWeek(day)
+                        .startTime(LocalTime.of(8, 0))
+                        .endTime(LocalTime.of(18, 0))
+                        .garage(garage)
+                        .build());
+            }
+        }
+        garage.setOpeningTimes(openingTimes);
+        return garage;
+    }
+
+    static Vehicle vehicle(Long id, Garage garage, int index, int accessories) {
+        Vehicle vehicle = Vehicle.builder()
+                .id(id)
+                .version(0L)
+                .brand("Renault")
+                .model(MODELS[index % MODELS.length])
+                .fuelType(FUEL_TYPES[index % FUEL_TYPES.length])
+                .manufacturingYear(2015 + index % 10)
+                .garage(garage)
+                .accessories(new ArrayList<>())
+                .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .build();
+        for (int i = 0; i < accessories; i++) {
+            vehicle.getAccessories().add(Accessory.builder()
+                    .name("Accessory " + i)
+                    .description("Benchmark accessory")
+                    .price(99.99 + i)
+                    .type("Comfort")
+                    .vehicle(vehicle)
+                    .build());
+        }
+        return vehicle;
+    }
+
+    /**
+     * Starts the application without a web server on its own in-memory database, seeds it and rebuilds the search
+     * indexes over the seeded data.
+     */
+    static ConfigurableApplicationContext startApplication(int garages, int vehiclesPerGarage) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(RenaultApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "app.outbox.relay-enabled=false")
+                .run();
+        GarageRepository garageRepository = context.getBean(GarageRepository.class);
+        VehicleRepository vehicleRepository = context.getBean(VehicleRepository.class);
+
+        for (int start = 0; start < garages; start += SEED_CHUNK) {
+            List<Garage> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = start; i < Math.min(start + SEED_CHUNK, garages); i++) {
+                Garage garage = garage(null, i);
+                garage.setVersion(null);
+                garage.setVehicleCount(vehiclesPerGarage);
+                chunk.add(garage);
+            }
+            List<Garage> saved = garageRepository.saveAll(chunk);
+
+            List<Vehicle> vehicles = new ArrayList<>(saved.size() * vehiclesPerGarage);
+            for (Garage garage : saved) {
+                for (int v = 0; v < vehiclesPerGarage; v++) {
+                    Vehicle vehicle = vehicle(null, garage, v + garage.getId().intValue(), 1);
+                    vehicle.setVersion(null);
+                    vehicles.add(vehicle);
+                }
+            }
+            vehicleRepository.saveAll(vehicles);
+        }
+        context.getBean(SearchIndexLoader.class).loadIndexes();
+        return context;
+    }
+}
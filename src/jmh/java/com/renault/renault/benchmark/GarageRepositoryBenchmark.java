@@ -0,0 +1,121 @@
+package com.renault.renault.benchmark;
+
+import com.renault.renault.entity.Garage;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.repository.GarageSpecifications;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Every {@link GarageRepository} query against an H2 database seeded with {@code garages} garages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GarageRepositoryBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100", "1000", "10000"})
+    public int garages;
+
+    private ConfigurableApplicationContext context;
+    private GarageRepository garageRepository;
+    private TransactionTemplate transactionTemplate;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.startApplication(garages, 0);
+        garageRepository = context.getBean(GarageRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        firstId = garageRepository.findAll(PageRequest.of(0, 1, Sort.by("id"))).getContent().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Garage> findWithOpeningTimesById() {
+        return garageRepository.findWithOpeningTimesById(randomId());
+    }
+
+    @Benchmark
+    public Page<Garage> findAllPage() {
+        int page = ThreadLocalRandom.current().nextInt(Math.max(garages / PAGE_SIZE, 1));
+        return garageRepository.findAll(PageRequest.of(page, PAGE_SIZE, Sort.by("name").and(Sort.by("id"))));
+    }
+
+    @Benchmark
+    public Page<Garage> findAllByNameSpecification() {
+        return garageRepository.findAll(GarageSpecifications.nameContains("garage 1"), PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public long count() {
+        return garageRepository.count();
+    }
+
+    @Benchmark
+    public long streamAllNames() {
+        return transactionTemplate.execute(status -> {
+            try (Stream<?> names = garageRepository.streamAllNames()) {
+                return names.count();
+            }
+        });
+    }
+
+    @Benchmark
+    public Optional<Long> findVersionById() {
+        return garageRepository.findVersionById(randomId());
+    }
+
+    @Benchmark
+    public Optional<Integer> findVehicleCountById() {
+        return garageRepository.findVehicleCountById(randomId());
+    }
+
+    @Benchmark
+    public int reserveAndReleaseVehicleSlot() {
+        long id = randomId();
+        return transactionTemplate.execute(status ->
+                garageRepository.reserveVehicleSlot(id, Garage.MAX_VEHICLES) + garageRepository.releaseVehicleSlot(id));
+    }
+
+    @Benchmark
+    public int reserveVehicleSlots() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return garageRepository.reserveVehicleSlots(randomId(), 10, Garage.MAX_VEHICLES);
+        });
+    }
+
+    private long randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(garages);
+    }
+}
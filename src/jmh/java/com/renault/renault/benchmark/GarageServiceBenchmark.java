@@ -0,0 +1,109 @@
+package com.renault.renault.benchmark;
+
+import com.renault.renault.dto.common.CursorPageDTO;
+import com.renault.renault.dto.common.GarageSearchCriteria;
+import com.renault.renault.dto.common.TotalCountMode;
+import com.renault.renault.dto.garage.GarageDTO;
+import com.renault.renault.dto.garage.GarageSuggestionDTO;
+import com.renault.renault.dto.vehicle.VehicleDTO;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.service.GarageService;
+import com.renault.renault.service.VehicleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end service calls (transaction, queries, indexes, caches and mapping) against a seeded H2 database with
+ * {@code garages} garages of {@value #VEHICLES_PER_GARAGE} vehicles each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GarageServiceBenchmark {
+    private static final int VEHICLES_PER_GARAGE = 5;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100", "1000", "10000"})
+    public int garages;
+
+    private ConfigurableApplicationContext context;
+    private GarageService garageService;
+    private VehicleService vehicleService;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.startApplication(garages, VEHICLES_PER_GARAGE);
+        garageService = context.getBean(GarageService.class);
+        vehicleService = context.getBean(VehicleService.class);
+        firstId = context.getBean(GarageRepository.class)
+                .findAll(PageRequest.of(0, 1, Sort.by("id"))).getContent().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public GarageDTO getGarageById() {
+        return garageService.getGarageById(randomId());
+    }
+
+    @Benchmark
+    public Page<GarageDTO> getAllGarages() {
+        int page = ThreadLocalRandom.current().nextInt(Math.max(garages / PAGE_SIZE, 1));
+        return garageService.getAllGarages(PageRequest.of(page, PAGE_SIZE), "name");
+    }
+
+    @Benchmark
+    public CursorPageDTO<GarageDTO> scrollGarages() {
+        return garageService.scrollGarages("name", Sort.Direction.ASC, null, PAGE_SIZE, TotalCountMode.NONE);
+    }
+
+    @Benchmark
+    public Page<GarageDTO> searchGaragesByModel() {
+        return garageService.searchGarages(new GarageSearchCriteria(null, "Clio", null, null), PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<GarageDTO> searchGaragesByName() {
+        return garageService.searchGaragesByName("garage 12", PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<GarageSuggestionDTO> suggestGarages() {
+        return garageService.suggestGarages("gara", 10);
+    }
+
+    @Benchmark
+    public List<VehicleDTO> getVehiclesByGarage() {
+        return vehicleService.getVehiclesByGarage(randomId());
+    }
+
+    private long randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(garages);
+    }
+}
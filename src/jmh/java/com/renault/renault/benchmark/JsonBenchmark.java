@@ -0,0 +1,87 @@
+package com.renault.renault.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.renault.renault.dto.garage.GarageDTO;
+import com.renault.renault.dto.vehicle.VehicleDTO;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.mapper.GarageMapperImpl;
+import com.renault.renault.mapper.VehicleMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the response DTOs, with the object mapper configured as Spring Boot configures it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+    private static final int VEHICLE_LIST_SIZE = 50;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private GarageDTO garage;
+    private VehicleDTO vehicle;
+    private List<VehicleDTO> vehicles;
+    private String garageJson;
+    private String vehicleJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        VehicleMapperImpl vehicleMapper = new VehicleMapperImpl();
+        Garage entity = BenchmarkData.garage(1L, 1);
+        garage = new GarageMapperImpl().toDto(entity);
+        vehicle = vehicleMapper.toDto(BenchmarkData.vehicle(1L, entity, 1, 3));
+        vehicles = new ArrayList<>(VEHICLE_LIST_SIZE);
+        for (int i = 0; i < VEHICLE_LIST_SIZE; i++) {
+            vehicles.add(vehicleMapper.toDto(BenchmarkData.vehicle((long) i, entity, i, 1)));
+        }
+        garageJson = objectMapper.writeValueAsString(garage);
+        vehicleJson = objectMapper.writeValueAsString(vehicle);
+    }
+
+    @Benchmark
+    public String serializeGarage() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(garage);
+    }
+
+    @Benchmark
+    public String serializeVehicle() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(vehicle);
+    }
+
+    @Benchmark
+    public String serializeVehicleList() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(vehicles);
+    }
+
+    @Benchmark
+    public GarageDTO deserializeGarage() throws JsonProcessingException {
+        return objectMapper.readValue(garageJson, GarageDTO.class);
+    }
+
+    @Benchmark
+    public VehicleDTO deserializeVehicle() throws JsonProcessingException {
+        return objectMapper.readValue(vehicleJson, VehicleDTO.class);
+    }
+}
@@ -0,0 +1,70 @@
+package com.renault.renault.benchmark;
+
+import com.renault.renault.dto.garage.GarageDTO;
+import com.renault.renault.dto.vehicle.VehicleDTO;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.Vehicle;
+import com.renault.renault.mapper.GarageMapper;
+import com.renault.renault.mapper.GarageMapperImpl;
+import com.renault.renault.mapper.VehicleMapper;
+import com.renault.renault.mapper.VehicleMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO/entity conversions of the MapStruct mappers, for a garage with six opening times and a vehicle with three
+ * accessories.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+    private final GarageMapper garageMapper = new GarageMapperImpl();
+    private final VehicleMapper vehicleMapper = new VehicleMapperImpl();
+
+    private Garage garage;
+    private GarageDTO garageDTO;
+    private Vehicle vehicle;
+    private VehicleDTO vehicleDTO;
+
+    @Setup
+    public void setUp() {
+        garage = BenchmarkData.garage(1L, 1);
+        garageDTO = garageMapper.toDto(garage);
+        vehicle = BenchmarkData.vehicle(1L, garage, 1, 3);
+        vehicleDTO = vehicleMapper.toDto(vehicle);
+    }
+
+    @Benchmark
+    public GarageDTO garageToDto() {
+        return garageMapper.toDto(garage);
+    }
+
+    @Benchmark
+    public Garage garageToEntity() {
+        return garageMapper.toEntity(garageDTO);
+    }
+
+    @Benchmark
+    public VehicleDTO vehicleToDto() {
+        return vehicleMapper.toDto(vehicle);
+    }
+
+    @Benchmark
+    public Vehicle vehicleToEntity() {
+        return vehicleMapper.toEntity(vehicleDTO);
+    }
+}
@@ -0,0 +1,80 @@
+package com.renault.renault.benchmark;
+
+import com.renault.renault.entity.Garage;
+import com.renault.renault.repository.GarageRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of taking vehicle slots in one contended garage from many threads, each slot in its own transaction:
+ * the conditional update {@code addVehicle} uses against the previous pessimistic lock on the garage row followed
+ * by a read, check and write of the counter. The garage has no vehicle limit here so that every call succeeds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class SlotReservationBenchmark {
+
+    public enum Strategy {
+        CONDITIONAL_UPDATE,
+        PESSIMISTIC_LOCK
+    }
+
+    @Param({"CONDITIONAL_UPDATE", "PESSIMISTIC_LOCK"})
+    public Strategy strategy;
+
+    private ConfigurableApplicationContext context;
+    private GarageRepository garageRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private Long garageId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.startApplication(1, 0);
+        garageRepository = context.getBean(GarageRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        garageId = garageRepository.findAll().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Boolean reserveSlot() {
+        return transactionTemplate.execute(status -> switch (strategy) {
+            case CONDITIONAL_UPDATE -> garageRepository.reserveVehicleSlot(garageId, Integer.MAX_VALUE) == 1;
+            case PESSIMISTIC_LOCK -> {
+                Garage garage = entityManager.find(Garage.class, garageId, LockModeType.PESSIMISTIC_WRITE);
+                garage.setVehicleCount(garage.getVehicleCount() + 1);
+                yield true;
+            }
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package com.renault.renault.cache;
+
+import com.renault.renault.config.CacheConfig;
+import com.renault.renault.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Clears the cached accessory price analytics from writes that add, reprice or remove accessories. Every grouping
+ * is cleared, since a single accessory contributes to both its type and its garage.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessoryPriceCacheInvalidator {
+    private final CacheManager cacheManager;
+
+    /**
+     * Clears the analytics once the current transaction commits, so a concurrent read cannot cache the old
+     * prices again before the change is visible.
+     */
+    public void evictAfterCommit() {
+        TransactionUtils.afterCommit(() -> {
+            Cache cache = cacheManager.getCache(CacheConfig.ACCESSORY_PRICES);
+            if (cache != null) {
+                cache.clear();
+            }
+        });
+    }
+}
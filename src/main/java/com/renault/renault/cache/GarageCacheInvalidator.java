@@ -0,0 +1,46 @@
+package com.renault.renault.cache;
+
+import com.renault.renault.config.CacheConfig;
+import com.renault.renault.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Evicts cached garages when they change, including through writes that do not go through {@code GarageService}
+ * such as vehicle additions and deletions updating the vehicle count.
+ * <p>
+ * A read that loaded the garage before the change committed cannot put the old state back after the eviction:
+ * the garage cache is an {@link InvalidationAwareCaffeineCache}, which drops puts of values loaded before the
+ * key's last eviction.
+ */
+@Component
+@RequiredArgsConstructor
+public class GarageCacheInvalidator {
+    private final CacheManager cacheManager;
+
+    /**
+     * Evicts the garage once the current transaction commits.
+     * @param garageId the garage to evict
+     */
+    public void evictAfterCommit(Long garageId) {
+        evictAfterCommit(cache -> cache.evict(garageId));
+    }
+
+    /**
+     * Evicts every garage once the current transaction commits.
+     */
+    public void evictAllAfterCommit() {
+        evictAfterCommit(Cache::clear);
+    }
+
+    private void evictAfterCommit(Consumer<Cache> eviction) {
+        Cache cache = cacheManager.getCache(CacheConfig.GARAGES);
+        if (cache != null) {
+            TransactionUtils.afterCommit(() -> eviction.accept(cache));
+        }
+    }
+}
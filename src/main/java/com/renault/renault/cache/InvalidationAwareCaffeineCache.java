@@ -0,0 +1,101 @@
+package com.renault.renault.cache;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Caffeine cache that refuses to store a value loaded before the key was last evicted.
+ * <p>
+ * A cache miss records the current invalidation sequence on the calling thread; evicting a key, or clearing the
+ * cache, advances the sequence and records it against the key. The put that follows the miss on the same thread
+ * is dropped if the key was invalidated since, because the value may have been read before the change that caused
+ * the eviction committed. The check and the write happen in a single {@code asMap().compute} on the key, so an
+ * eviction cannot slip in between. One sequence number is kept per key ever evicted.
+ */
+public class InvalidationAwareCaffeineCache extends CaffeineCache {
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentMap<Object, Long> invalidatedAt = new ConcurrentHashMap<>();
+    private final ThreadLocal<PendingLoad> pendingLoad = new ThreadLocal<>();
+    private volatile long clearedAt;
+
+    public InvalidationAwareCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                          boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value == null) {
+            pendingLoad.set(new PendingLoad(key, sequence.get()));
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Long loadedAt = takeLoadStamp(key);
+        if (loadedAt == null) {
+            super.put(key, value);
+            return;
+        }
+        Object storeValue = toStoreValue(value);
+        Map<Object, Object> entries = getNativeCache().asMap();
+        entries.compute(key, (k, current) -> invalidatedSince(k, loadedAt) ? current : storeValue);
+        // A clear running concurrently may have iterated past the key before it was written
+        if (clearedAt > loadedAt) {
+            entries.remove(key, storeValue);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidate(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return invalidate(key) != null;
+    }
+
+    @Override
+    public void clear() {
+        clearedAt = sequence.incrementAndGet();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        clearedAt = sequence.incrementAndGet();
+        return super.invalidate();
+    }
+
+    private Object invalidate(Object key) {
+        Object[] removed = new Object[1];
+        getNativeCache().asMap().compute(key, (k, current) -> {
+            invalidatedAt.put(k, sequence.incrementAndGet());
+            removed[0] = current;
+            return null;
+        });
+        return removed[0];
+    }
+
+    private boolean invalidatedSince(Object key, long loadedAt) {
+        return clearedAt > loadedAt || invalidatedAt.getOrDefault(key, 0L) > loadedAt;
+    }
+
+    private Long takeLoadStamp(Object key) {
+        PendingLoad load = pendingLoad.get();
+        if (load == null || !load.key().equals(key)) {
+            return null;
+        }
+        pendingLoad.remove();
+        return load.sequence();
+    }
+
+    private record PendingLoad(Object key, long sequence) {}
+}
@@ -0,0 +1,46 @@
+package com.renault.renault.config;
+
+import com.renault.renault.cache.InvalidationAwareCaffeineCache;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+
+/**
+ * Enables Spring caching (Caffeine, configured through {@code spring.cache.*}). The cache advice is ordered
+ * outside the transaction advice, so a hit never opens a transaction and evictions run after commit.
+ * <p>
+ * Garages are cached in an {@link InvalidationAwareCaffeineCache}, so that a read that loaded a garage before a
+ * change committed cannot cache it after the change evicted it.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+    public static final String GARAGES = "garages";
+    public static final String ACCESSORY_PRICES = "accessoryPrices";
+
+    @Bean
+    public CaffeineCacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name,
+                                               com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return GARAGES.equals(name)
+                        ? new InvalidationAwareCaffeineCache(name, cache, isAllowNullValues())
+                        : super.adaptCaffeineCache(name, cache);
+            }
+        };
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            cacheManager.setCacheSpecification(spec);
+        }
+        cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,79 @@
+package com.renault.renault.config;
+
+import com.renault.renault.datasource.ReadWriteRoutingDataSource;
+import com.renault.renault.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured data source with one that routes read-only transactions to replicas when
+ * {@code app.datasource.routing.enabled} is set. The primary pool keeps the {@code spring.datasource.*} and
+ * {@code spring.datasource.hikari.*} settings; replica pools open read-only connections.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                        DataSourceProperties dataSourceProperties,
+                                                        DataSourceRoutingProperties properties,
+                                                        ObjectProvider<MeterRegistry> meterRegistry) {
+        List<ReadWriteRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = properties.replicas().get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.url())
+                    .username(replica.username() != null ? replica.username() : dataSourceProperties.determineUsername())
+                    .password(replica.password() != null ? replica.password() : dataSourceProperties.determinePassword())
+                    .build();
+            pool.setPoolName("replica-" + i);
+            pool.setMaximumPoolSize(replica.maximumPoolSize());
+            pool.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            pool.setReadOnly(true);
+            // A replica that is down at startup is skipped like one that goes down later, instead of failing the pool
+            pool.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(pool::setMetricRegistry);
+            replicas.add(new ReadWriteRoutingDataSource.Replica(pool.getPoolName(), pool));
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, properties.strategy(), properties.maxLag());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReadWriteRoutingDataSource routingDataSource,
+                                               DataSourceRoutingProperties properties) {
+        return new ReplicaLagMonitor(routingDataSource, properties);
+    }
+}
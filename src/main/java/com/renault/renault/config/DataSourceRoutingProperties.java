@@ -0,0 +1,40 @@
+package com.renault.renault.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings of the read/write data source routing ({@code app.datasource.routing.*}). The primary database keeps
+ * the {@code spring.datasource.*} settings; read-only transactions are spread over the replicas listed here.
+ *
+ * @param enabled   whether read-only transactions are routed to replicas
+ * @param strategy  how a replica is picked among the eligible ones
+ * @param replicas  replica connection settings; username and password default to the primary's
+ * @param maxLag    replicas lagging further behind the primary are skipped until they catch up
+ * @param lagQuery  optional query run on each replica returning its lag in seconds (NULL meaning none), replicas
+ *                  being skipped when it fails; without it, replicas are only skipped after refusing a connection
+ */
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public record DataSourceRoutingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("ROUND_ROBIN") Strategy strategy,
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("5s") Duration maxLag,
+        String lagQuery
+) {
+
+    public enum Strategy {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+
+    public record Replica(
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize
+    ) {}
+}
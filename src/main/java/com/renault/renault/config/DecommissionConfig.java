@@ -0,0 +1,9 @@
+package com.renault.renault.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DecommissionProperties.class)
+public class DecommissionConfig {
+}
@@ -0,0 +1,24 @@
+package com.renault.renault.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the background garage decommissioning worker ({@code app.decommission.*}).
+ *
+ * @param workerEnabled    whether this instance runs decommissioning jobs
+ * @param chunkSize        maximum number of vehicles, with their accessories, deleted per transaction
+ * @param maxChunksPerRun  maximum number of chunks a job advances per poll, so several jobs progress together
+ * @param maxAttempts      consecutive failed attempts after which a job is marked FAILED
+ * @param retryBackoff     delay before retrying a failed attempt, doubled with every further failure
+ */
+@ConfigurationProperties(prefix = "app.decommission")
+public record DecommissionProperties(
+        @DefaultValue("true") boolean workerEnabled,
+        @DefaultValue("100") int chunkSize,
+        @DefaultValue("50") int maxChunksPerRun,
+        @DefaultValue("5") int maxAttempts,
+        @DefaultValue("1s") Duration retryBackoff
+) {}
@@ -0,0 +1,28 @@
+package com.renault.renault.config;
+
+import com.renault.renault.event.VehicleEventDispatcher;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+
+@Configuration
+@EnableConfigurationProperties(VehicleEventProperties.class)
+public class EventConfig {
+
+    /**
+     * Runs the vehicle event dispatcher on a virtual thread when {@code spring.threads.virtual.enabled} is set
+     * and the application runs on Java 21 or later, on a daemon platform thread otherwise.
+     */
+    @Bean
+    public ThreadFactory vehicleEventThreadFactory(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor(VehicleEventDispatcher.THREAD_NAME + "-").getVirtualThreadFactory();
+        }
+        return VehicleEventDispatcher.platformThreadFactory();
+    }
+}
@@ -0,0 +1,20 @@
+package com.renault.renault.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@link io.micrometer.core.annotation.Timed} on Spring beans. Service implementations are timed under
+ * {@value #SERVICE_TIMER}, tagged with their class and method.
+ */
+@Configuration
+public class MetricsConfig {
+    public static final String SERVICE_TIMER = "app.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
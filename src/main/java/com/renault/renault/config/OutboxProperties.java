@@ -0,0 +1,24 @@
+package com.renault.renault.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the transactional outbox relay ({@code app.outbox.*}).
+ *
+ * @param relayEnabled      whether this instance polls and delivers outbox events
+ * @param batchSize         maximum number of events claimed and delivered at once
+ * @param maxBatchesPerRun  maximum number of batches delivered per poll while a backlog remains
+ * @param claimTimeout      how long a claim lasts before another relay may take the events over
+ * @param webhookUrl        optional URL the events are POSTed to as a JSON array
+ */
+@ConfigurationProperties(prefix = "app.outbox")
+public record OutboxProperties(
+        @DefaultValue("true") boolean relayEnabled,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("20") int maxBatchesPerRun,
+        @DefaultValue("30s") Duration claimTimeout,
+        String webhookUrl
+) {}
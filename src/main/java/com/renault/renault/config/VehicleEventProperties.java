@@ -0,0 +1,23 @@
+package com.renault.renault.config;
+
+import com.renault.renault.event.BackpressurePolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the asynchronous vehicle event dispatcher ({@code app.events.*}).
+ *
+ * @param queueCapacity maximum number of events waiting to be delivered
+ * @param maxBatchSize  maximum number of events handed to listeners at once
+ * @param backpressure  what to do with new events when the queue is full
+ * @param offerTimeout  how long {@link BackpressurePolicy#BLOCK} waits for space before dropping an event
+ */
+@ConfigurationProperties(prefix = "app.events")
+public record VehicleEventProperties(
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("200") int maxBatchSize,
+        @DefaultValue("BLOCK") BackpressurePolicy backpressure,
+        @DefaultValue("100ms") Duration offerTimeout
+) {}
@@ -1,6 +1,8 @@
 package com.renault.renault.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.renault.renault.dto.accessory.AccessoryDTO;
+import com.renault.renault.dto.common.CursorPageDTO;
 import com.renault.renault.service.AccessoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,6 +15,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,6 +25,7 @@ import java.util.List;
 @Tag(name = "Accessory Management", description = "APIs for managing vehicle accessories")
 public class AccessoryController {
     private final AccessoryService accessoryService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/vehicle/{vehicleId}")
     @Operation(summary = "Add an accessory to a vehicle",
@@ -76,4 +80,29 @@ public class AccessoryController {
             @Parameter(description = "Vehicle ID", required = true) @PathVariable Long vehicleId) {
         return ResponseEntity.ok(accessoryService.getAccessoriesByVehicle(vehicleId));
     }
+
+    @GetMapping("/vehicle/{vehicleId}/scroll")
+    @Operation(summary = "Get accessories by vehicle with cursor pagination",
+            description = "Retrieves the accessories of a vehicle page by page in ID order: pass the nextCursor of a " +
+                    "page to get the following one")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    public ResponseEntity<CursorPageDTO<AccessoryDTO>> scrollAccessoriesByVehicle(
+            @Parameter(description = "Vehicle ID", required = true) @PathVariable Long vehicleId,
+            @Parameter(description = "Cursor returned with the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(accessoryService.scrollAccessoriesByVehicle(vehicleId, cursor, size));
+    }
+
+    @GetMapping(value = "/vehicle/{vehicleId}/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Stream accessories by vehicle",
+            description = "Streams all accessories of a vehicle as newline-delimited JSON, one accessory per line in ID order")
+    @ApiResponse(responseCode = "200", description = "Accessories streamed successfully")
+    public ResponseEntity<StreamingResponseBody> streamAccessoriesByVehicle(
+            @Parameter(description = "Vehicle ID", required = true) @PathVariable Long vehicleId) {
+        return NdjsonResponses.<AccessoryDTO>stream(objectMapper,
+                consumer -> accessoryService.streamAccessoriesByVehicle(vehicleId, consumer));
+    }
 }
@@ -1,8 +1,21 @@
 package com.renault.renault.controller;
 
+import com.renault.renault.dto.common.CursorPageDTO;
+import com.renault.renault.dto.common.DeletionMode;
+import com.renault.renault.dto.common.DeletionReportDTO;
 import com.renault.renault.dto.common.GarageSearchCriteria;
+import com.renault.renault.dto.common.OpeningHoursQuery;
+import com.renault.renault.dto.common.SearchMode;
+import com.renault.renault.dto.common.TotalCountMode;
+import com.renault.renault.dto.garage.DecommissionJobDTO;
 import com.renault.renault.dto.garage.GarageDTO;
+import com.renault.renault.dto.garage.GarageDistanceDTO;
+import com.renault.renault.dto.garage.GarageSuggestionDTO;
+import com.renault.renault.dto.garage.ScheduleChangeDTO;
+import com.renault.renault.dto.garage.ScheduleChangeResultDTO;
+import com.renault.renault.service.GarageDecommissionService;
 import com.renault.renault.service.GarageService;
+import com.renault.renault.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,10 +28,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 
 @RestController
@@ -27,6 +48,7 @@ import java.util.List;
 @Tag(name = "Garage Management", description = "APIs for managing Renault affiliated garages")
 public class GarageController {
     private final GarageService garageService;
+    private final GarageDecommissionService garageDecommissionService;
 
     @PostMapping
     @Operation(summary = "Create a new garage",
@@ -44,14 +66,15 @@ public class GarageController {
     @GetMapping("/search")
     @Operation(summary = "Search garages by flexible criteria",
             description = "Search for garages by name, vehicle model, fuel type, or accessory availability. " +
-                    "At least one search criterion must be provided. Multiple criteria work together as OR conditions.")
+                    "At least one search criterion must be provided. Multiple criteria are combined as OR conditions " +
+                    "by default, or as AND conditions when mode=AND. Results are paginated and ordered by garage ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Search completed successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = GarageDTO.class))),
-            @ApiResponse(responseCode = "400", description = "No search criteria provided"),
-            @ApiResponse(responseCode = "404", description = "No garages found matching the criteria")
+            @ApiResponse(responseCode = "204", description = "No garages found matching the criteria"),
+            @ApiResponse(responseCode = "400", description = "No search criteria provided")
     })
-    public ResponseEntity<List<GarageDTO>> searchGarages(
+    public ResponseEntity<Page<GarageDTO>> searchGarages(
             @Parameter(description = "Garage name (partial match, case-insensitive)") 
             @RequestParam(required = false) String name,
             
@@ -62,47 +85,203 @@ public class GarageController {
             @RequestParam(required = false) String fuelType,
             
             @Parameter(description = "Accessory name available in the garage") 
-            @RequestParam(required = false) String accessory) {
+            @RequestParam(required = false) String accessory,
+
+            @Parameter(description = "How criteria are combined (AND, OR)")
+            @RequestParam(defaultValue = "OR") SearchMode mode,
+
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "10") int size) {
         
-        GarageSearchCriteria criteria = new GarageSearchCriteria(name, model, fuelType, accessory);
+        GarageSearchCriteria criteria = new GarageSearchCriteria(name, model, fuelType, accessory, mode);
         
         if (!criteria.hasSearchCriteria()) {
             return ResponseEntity
                     .badRequest()
-                    .body(List.of());
+                    .build();
         }
 
-        List<GarageDTO> results = garageService.searchGarages(criteria);
+        Page<GarageDTO> results = garageService.searchGarages(criteria, PageRequest.of(page, size, Sort.by("id")));
         return results.isEmpty() 
                 ? ResponseEntity.noContent().build() 
                 : ResponseEntity.ok(results);
     }
 
+    @GetMapping("/search/open")
+    @Operation(summary = "Search garages open at a time or during an interval",
+            description = "Returns the garages open at the given time, for the whole given interval, or now when neither " +
+                    "is given. The day defaults to today. Optional name, model, fuel type and accessory criteria narrow " +
+                    "the result, combined like in /search. Results are paginated and ordered by garage ID.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            @ApiResponse(responseCode = "204", description = "No garages open at that time match the criteria"),
+            @ApiResponse(responseCode = "400", description = "Both a time and an interval, or half an interval, provided")
+    })
+    public ResponseEntity<Page<GarageDTO>> searchOpenGarages(
+            @Parameter(description = "Day of the week (defaults to today)", example = "SATURDAY")
+            @RequestParam(required = false) DayOfWeek day,
+
+            @Parameter(description = "Time at which garages must be open", example = "10:30")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime at,
+
+            @Parameter(description = "Start of the interval during which garages must stay open", example = "10:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime from,
+
+            @Parameter(description = "End of the interval, exclusive; before 'from' when it crosses midnight", example = "12:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime to,
+
+            @Parameter(description = "Garage name (partial match, case-insensitive)")
+            @RequestParam(required = false) String name,
+
+            @Parameter(description = "Vehicle model stored in the garage")
+            @RequestParam(required = false) String model,
+
+            @Parameter(description = "Vehicle fuel type (e.g., DIESEL, PETROL, ELECTRIC)")
+            @RequestParam(required = false) String fuelType,
+
+            @Parameter(description = "Accessory name available in the garage")
+            @RequestParam(required = false) String accessory,
+
+            @Parameter(description = "How the optional criteria are combined (AND, OR)")
+            @RequestParam(defaultValue = "OR") SearchMode mode,
+
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "10") int size) {
+
+        OpeningHoursQuery openingHours = OpeningHoursQuery.of(day, at, from, to, LocalDateTime.now());
+        GarageSearchCriteria criteria = new GarageSearchCriteria(name, model, fuelType, accessory, mode);
+        Page<GarageDTO> results = garageService.searchOpenGarages(openingHours, criteria,
+                PageRequest.of(page, size, Sort.by("id")));
+        return results.isEmpty()
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.ok(results);
+    }
+
+    @GetMapping("/search/name")
+    @Operation(summary = "Search garages by name with ranking",
+            description = "Returns garages whose name contains the query (case-insensitive), most relevant first: " +
+                    "exact matches, then names starting with the query, then names with a word starting with it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit")
+    })
+    public ResponseEntity<List<GarageDTO>> searchGaragesByName(
+            @Parameter(description = "Text contained in the garage name", required = true) @RequestParam String query,
+            @Parameter(description = "Maximum number of results (1-100)") @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(garageService.searchGaragesByName(query, limit));
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete garage names",
+            description = "Suggests garages whose name, or one of its words, starts with the given prefix, most relevant first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit")
+    })
+    public ResponseEntity<List<GarageSuggestionDTO>> autocompleteGarages(
+            @Parameter(description = "Beginning of the garage name or of one of its words", required = true) @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions (1-100)") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(garageService.suggestGarages(prefix, limit));
+    }
+
+    @GetMapping("/nearest")
+    @Operation(summary = "Find the garages nearest to a point",
+            description = "Returns the garages nearest to the given coordinates, closest first, with their distance. " +
+                    "Garages can be restricted to those able to take another vehicle, to those holding vehicles of a " +
+                    "fuel type, and to a maximum distance. Garages without coordinates are never returned")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid coordinates or limit")
+    })
+    public ResponseEntity<List<GarageDistanceDTO>> findNearestGarages(
+            @Parameter(description = "Latitude of the point, in decimal degrees", required = true, example = "48.8566")
+            @RequestParam double latitude,
+
+            @Parameter(description = "Longitude of the point, in decimal degrees", required = true, example = "2.3522")
+            @RequestParam double longitude,
+
+            @Parameter(description = "Maximum number of garages (1-100)") @RequestParam(defaultValue = "10") int limit,
+
+            @Parameter(description = "Maximum distance from the point, in kilometres")
+            @RequestParam(required = false) Double maxDistanceKm,
+
+            @Parameter(description = "Only return garages able to take another vehicle")
+            @RequestParam(defaultValue = "false") boolean withCapacity,
+
+            @Parameter(description = "Vehicle fuel type stored in the garage (e.g., DIESEL, PETROL, ELECTRIC)")
+            @RequestParam(required = false) String fuelType) {
+        return ResponseEntity.ok(garageService.findNearestGarages(latitude, longitude, limit, maxDistanceKm,
+                withCapacity, fuelType));
+    }
+
+    @PostMapping("/schedule-changes")
+    @Operation(summary = "Change one day's opening times for many garages",
+            description = "Replaces the opening times of the given day with a single period for every listed " +
+                    "garage, or closes them all day when no times are given (e.g. a public holiday). Unknown " +
+                    "garage IDs are ignored.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Schedule change applied"),
+            @ApiResponse(responseCode = "400", description = "Invalid schedule change")
+    })
+    public ResponseEntity<ScheduleChangeResultDTO> applyScheduleChange(@Valid @RequestBody ScheduleChangeDTO change) {
+        return ResponseEntity.ok(garageService.applyScheduleChange(change));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update an existing garage",
             description = "Updates garage details including name, address, contact information and opening times")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Garage updated successfully"),
             @ApiResponse(responseCode = "404", description = "Garage not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid input data")
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "409", description = "Garage modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "Garage modified since the version given in If-Match")
     })
     public ResponseEntity<GarageDTO> updateGarage(
             @Parameter(description = "Garage ID", required = true) @PathVariable Long id,
+            @Parameter(description = "ETag of the version being updated; the update is refused if the garage has changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody GarageDTO garageDTO) {
-        return ResponseEntity.ok(garageService.updateGarage(id, garageDTO));
+        GarageDTO updated = garageService.updateGarage(id, garageDTO, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updated.version())).body(updated);
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a garage",
-            description = "Deletes a garage and all associated vehicles and accessories")
+            description = "Deletes a garage with its opening times, vehicles and accessories. With mode=SYNC the " +
+                    "deletion happens within the request, which reports how many rows were removed. With mode=ASYNC " +
+                    "the garage is hidden from reads at once and deleted in chunks by a background job, whose " +
+                    "progress is available at the returned Location.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "204", description = "Garage deleted successfully"),
+            @ApiResponse(responseCode = "200", description = "Garage deleted successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = DeletionReportDTO.class))),
+            @ApiResponse(responseCode = "202", description = "Decommissioning job accepted",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = DecommissionJobDTO.class))),
             @ApiResponse(responseCode = "404", description = "Garage not found")
     })
-    public ResponseEntity<Void> deleteGarage(
-            @Parameter(description = "Garage ID", required = true) @PathVariable Long id) {
-        garageService.deleteGarage(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<?> deleteGarage(
+            @Parameter(description = "Garage ID", required = true) @PathVariable Long id,
+            @Parameter(description = "Delete within the request (SYNC) or in a background job (ASYNC)")
+            @RequestParam(defaultValue = "SYNC") DeletionMode mode) {
+        if (mode == DeletionMode.ASYNC) {
+            DecommissionJobDTO job = garageDecommissionService.startDecommission(id);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/garages/decommission-jobs/" + job.id()))
+                    .body(job);
+        }
+        return ResponseEntity.ok(garageService.deleteGarage(id));
+    }
+
+    @GetMapping("/decommission-jobs/{jobId}")
+    @Operation(summary = "Get a decommissioning job",
+            description = "Reports the status, progress and throughput of a background garage deletion")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job found"),
+            @ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    public ResponseEntity<DecommissionJobDTO> getDecommissionJob(
+            @Parameter(description = "Job ID", required = true) @PathVariable Long jobId) {
+        return ResponseEntity.ok(garageDecommissionService.getJob(jobId));
     }
 
     @GetMapping("/{id}")
@@ -110,16 +289,24 @@ public class GarageController {
             description = "Retrieves detailed information about a specific garage")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Garage found"),
+            @ApiResponse(responseCode = "304", description = "Garage unchanged since the ETag given in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Garage not found")
     })
     public ResponseEntity<GarageDTO> getGarageById(
-            @Parameter(description = "Garage ID", required = true) @PathVariable Long id) {
-        return ResponseEntity.ok(garageService.getGarageById(id));
+            @Parameter(description = "Garage ID", required = true) @PathVariable Long id,
+            @Parameter(description = "ETag of a previously fetched version")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            WebRequest request) {
+        if (ifNoneMatch != null && request.checkNotModified(ETags.of(garageService.getGarageVersion(id)))) {
+            return null;
+        }
+        GarageDTO garage = garageService.getGarageById(id);
+        return ResponseEntity.ok().eTag(ETags.of(garage.version())).body(garage);
     }
 
     @GetMapping
     @Operation(summary = "Get all garages with pagination",
-            description = "Retrieves a paginated list of all garages with optional sorting")
+            description = "Retrieves a paginated list of all garages sorted by the given field (ties broken by ID)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List retrieved successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid pagination or sorting parameters")
@@ -127,9 +314,26 @@ public class GarageController {
     public ResponseEntity<Page<GarageDTO>> getAllGarages(
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "Sort field (name, address, email, etc.)") @RequestParam(defaultValue = "name") String sortBy) {
+            @Parameter(description = "Sort field (id, name, address, email)") @RequestParam(defaultValue = "name") String sortBy) {
         Pageable pageable = PageRequest.of(page, size);
         return ResponseEntity.ok(garageService.getAllGarages(pageable, sortBy));
     }
-}
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Get all garages with cursor pagination",
+            description = "Retrieves garages page by page using keyset pagination: pass the nextCursor of a page to get " +
+                    "the following one. Unlike offset pagination, deep pages cost the same as the first one and no " +
+                    "count query runs unless a total is requested.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, page size or sorting parameters")
+    })
+    public ResponseEntity<CursorPageDTO<GarageDTO>> scrollGarages(
+            @Parameter(description = "Sort field (id, name, address, email)") @RequestParam(defaultValue = "name") String sortBy,
+            @Parameter(description = "Sort direction (ASC, DESC)") @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @Parameter(description = "Cursor returned with the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Total count to include (NONE, APPROXIMATE, EXACT)") @RequestParam(defaultValue = "NONE") TotalCountMode total) {
+        return ResponseEntity.ok(garageService.scrollGarages(sortBy, direction, cursor, size, total));
+    }
+}
@@ -0,0 +1,39 @@
+package com.renault.renault.controller;
+
+import com.renault.renault.dto.monitoring.CacheStatsDTO;
+import com.renault.renault.dto.monitoring.EventQueueStatsDTO;
+import com.renault.renault.service.MonitoringService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/monitoring")
+@RequiredArgsConstructor
+@Tag(name = "Monitoring", description = "APIs exposing runtime statistics of the service")
+public class MonitoringController {
+    private final MonitoringService monitoringService;
+
+    @GetMapping("/caches")
+    @Operation(summary = "Get cache statistics",
+            description = "Returns the size, hit, miss and eviction counts of every in-process cache, to help size them")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(monitoringService.getCacheStats());
+    }
+
+    @GetMapping("/events")
+    @Operation(summary = "Get vehicle event queue statistics",
+            description = "Returns the depth, throughput, drops and delivery lag of the asynchronous vehicle event queue")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    public ResponseEntity<EventQueueStatsDTO> getEventQueueStats() {
+        return ResponseEntity.ok(monitoringService.getEventQueueStats());
+    }
+}
@@ -0,0 +1,71 @@
+package com.renault.renault.controller;
+
+import com.renault.renault.dto.statistics.AccessoryPriceGrouping;
+import com.renault.renault.dto.statistics.AccessoryPriceStatsDTO;
+import com.renault.renault.dto.statistics.GarageStatisticsDTO;
+import com.renault.renault.dto.statistics.NetworkStatisticsDTO;
+import com.renault.renault.dto.statistics.StatisticsRecomputeDTO;
+import com.renault.renault.service.StatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/statistics")
+@RequiredArgsConstructor
+@Tag(name = "Fleet Statistics", description = "APIs exposing fleet statistics per garage and for the whole network")
+public class StatisticsController {
+    private final StatisticsService statisticsService;
+
+    @GetMapping("/garages/{garageId}")
+    @Operation(summary = "Get the fleet statistics of a garage",
+            description = "Returns the vehicle counts by fuel type, model and manufacturing year bucket, and the accessory " +
+                    "count and total price of a garage")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Garage not found")
+    })
+    public ResponseEntity<GarageStatisticsDTO> getGarageStatistics(
+            @Parameter(description = "ID of the garage", required = true) @PathVariable Long garageId) {
+        return ResponseEntity.ok(statisticsService.getGarageStatistics(garageId));
+    }
+
+    @GetMapping("/network")
+    @Operation(summary = "Get the fleet statistics of the whole network",
+            description = "Returns the same figures as for a garage, summed over every garage")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    public ResponseEntity<NetworkStatisticsDTO> getNetworkStatistics() {
+        return ResponseEntity.ok(statisticsService.getNetworkStatistics());
+    }
+
+    @PostMapping("/recompute")
+    @Operation(summary = "Recompute the fleet statistics",
+            description = "Rebuilds the statistics from the database, as the scheduled repair job does, and reports how " +
+                    "many garages had drifted")
+    @ApiResponse(responseCode = "200", description = "Statistics recomputed")
+    public ResponseEntity<StatisticsRecomputeDTO> recompute() {
+        return ResponseEntity.ok(statisticsService.recompute());
+    }
+
+    @GetMapping("/accessory-prices")
+    @Operation(summary = "Get accessory price analytics",
+            description = "Returns the count, min, max, average and 50th/90th/95th/99th percentile price of the accessories " +
+                    "of each type or of each garage. Results are cached until an accessory is added, repriced or removed")
+    @ApiResponse(responseCode = "200", description = "Price analytics retrieved successfully")
+    public ResponseEntity<List<AccessoryPriceStatsDTO>> getAccessoryPriceStatistics(
+            @Parameter(description = "Grouping of the accessories") @RequestParam(defaultValue = "TYPE") AccessoryPriceGrouping groupBy) {
+        return ResponseEntity.ok(statisticsService.getAccessoryPriceStatistics(groupBy));
+    }
+}
@@ -1,7 +1,16 @@
 package com.renault.renault.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.renault.renault.dto.common.CursorPageDTO;
+import com.renault.renault.dto.common.DeletionReportDTO;
 import com.renault.renault.dto.vehicle.VehicleDTO;
+import com.renault.renault.dto.vehicle.VehicleImportDTO;
+import com.renault.renault.dto.vehicle.VehicleImportReportDTO;
+import com.renault.renault.service.VehicleImportService;
 import com.renault.renault.service.VehicleService;
+import com.renault.renault.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,9 +20,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -22,6 +38,8 @@ import java.util.List;
 @Tag(name = "Vehicle Management", description = "APIs for managing vehicles in garages")
 public class VehicleController {
     private final VehicleService vehicleService;
+    private final VehicleImportService vehicleImportService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/garage/{garageId}")
     @Operation(summary = "Add a vehicle to a garage",
@@ -38,31 +56,73 @@ public class VehicleController {
         return ResponseEntity.ok(vehicleService.addVehicle(garageId, vehicleDTO));
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Import vehicles in bulk",
+            description = "Adds many vehicles, with their accessories, to one or more garages in a single request. " +
+                    "Invalid rows and rows that do not fit in their garage are rejected individually; the others are " +
+                    "imported. Returns the outcome of every row.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed, see the per-row outcome",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = VehicleImportReportDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Too many rows in the request")
+    })
+    public ResponseEntity<VehicleImportReportDTO> importVehicles(@RequestBody List<VehicleImportDTO> vehicles) {
+        return ResponseEntity.ok(vehicleImportService.importVehicles(vehicles));
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @Operation(summary = "Import vehicles in bulk from NDJSON",
+            description = "Same as the JSON import, with one vehicle per line (newline-delimited JSON)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed, see the per-row outcome",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = VehicleImportReportDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed line or too many rows in the request")
+    })
+    public ResponseEntity<VehicleImportReportDTO> importVehiclesNdjson(InputStream body) throws IOException {
+        List<VehicleImportDTO> vehicles = new ArrayList<>();
+        try (MappingIterator<VehicleImportDTO> lines = objectMapper.readerFor(VehicleImportDTO.class).readValues(body)) {
+            while (lines.hasNextValue()) {
+                if (vehicles.size() == VehicleImportService.MAX_IMPORT_ROWS) {
+                    throw new IllegalArgumentException(
+                            "An import cannot contain more than " + VehicleImportService.MAX_IMPORT_ROWS + " vehicles");
+                }
+                vehicles.add(lines.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed NDJSON: " + e.getOriginalMessage());
+        }
+        return ResponseEntity.ok(vehicleImportService.importVehicles(vehicles));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update a vehicle",
             description = "Updates vehicle details such as brand, model, manufacturing year and fuel type")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Vehicle updated successfully"),
             @ApiResponse(responseCode = "404", description = "Vehicle not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid input data")
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "409", description = "Vehicle modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "Vehicle modified since the version given in If-Match")
     })
     public ResponseEntity<VehicleDTO> updateVehicle(
             @Parameter(description = "Vehicle ID", required = true) @PathVariable Long id,
+            @Parameter(description = "ETag of the version being updated; the update is refused if the vehicle has changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody VehicleDTO vehicleDTO) {
-        return ResponseEntity.ok(vehicleService.updateVehicle(id, vehicleDTO));
+        VehicleDTO updated = vehicleService.updateVehicle(id, vehicleDTO, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updated.version())).body(updated);
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a vehicle",
-            description = "Deletes a vehicle and all associated accessories from the garage")
+            description = "Deletes a vehicle and all associated accessories from the garage, and reports how many rows were removed")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "204", description = "Vehicle deleted successfully"),
+            @ApiResponse(responseCode = "200", description = "Vehicle deleted successfully"),
             @ApiResponse(responseCode = "404", description = "Vehicle not found")
     })
-    public ResponseEntity<Void> deleteVehicle(
+    public ResponseEntity<DeletionReportDTO> deleteVehicle(
             @Parameter(description = "Vehicle ID", required = true) @PathVariable Long id) {
-        vehicleService.deleteVehicle(id);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.ok(vehicleService.deleteVehicle(id));
     }
 
     @GetMapping("/garage/{garageId}")
@@ -70,11 +130,17 @@ public class VehicleController {
             description = "Retrieves all vehicles stored in a specific garage")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Vehicles retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Vehicles unchanged since the ETag given in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Garage not found")
     })
     public ResponseEntity<List<VehicleDTO>> getVehiclesByGarage(
-            @Parameter(description = "Garage ID", required = true) @PathVariable Long garageId) {
-        return ResponseEntity.ok(vehicleService.getVehiclesByGarage(garageId));
+            @Parameter(description = "Garage ID", required = true) @PathVariable Long garageId,
+            WebRequest request) {
+        String etag = ETags.of(vehicleService.getVehiclesByGarageFingerprint(garageId));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(vehicleService.getVehiclesByGarage(garageId));
     }
 
     @GetMapping("/model/{model}")
@@ -88,4 +154,55 @@ public class VehicleController {
             @Parameter(description = "Vehicle model name", required = true) @PathVariable String model) {
         return ResponseEntity.ok(vehicleService.getVehiclesByModel(model));
     }
+
+    @GetMapping("/garage/{garageId}/scroll")
+    @Operation(summary = "Get vehicles by garage with cursor pagination",
+            description = "Retrieves the vehicles of a garage page by page in ID order: pass the nextCursor of a page to " +
+                    "get the following one")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    public ResponseEntity<CursorPageDTO<VehicleDTO>> scrollVehiclesByGarage(
+            @Parameter(description = "Garage ID", required = true) @PathVariable Long garageId,
+            @Parameter(description = "Cursor returned with the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(vehicleService.scrollVehiclesByGarage(garageId, cursor, size));
+    }
+
+    @GetMapping("/model/{model}/scroll")
+    @Operation(summary = "Get vehicles by model with cursor pagination",
+            description = "Retrieves the vehicles of a model across all garages page by page in ID order: pass the " +
+                    "nextCursor of a page to get the following one")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    public ResponseEntity<CursorPageDTO<VehicleDTO>> scrollVehiclesByModel(
+            @Parameter(description = "Vehicle model name", required = true) @PathVariable String model,
+            @Parameter(description = "Cursor returned with the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(vehicleService.scrollVehiclesByModel(model, cursor, size));
+    }
+
+    @GetMapping(value = "/garage/{garageId}/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Stream vehicles by garage",
+            description = "Streams all vehicles of a garage as newline-delimited JSON, one vehicle per line in ID order")
+    @ApiResponse(responseCode = "200", description = "Vehicles streamed successfully")
+    public ResponseEntity<StreamingResponseBody> streamVehiclesByGarage(
+            @Parameter(description = "Garage ID", required = true) @PathVariable Long garageId) {
+        return NdjsonResponses.<VehicleDTO>stream(objectMapper,
+                consumer -> vehicleService.streamVehiclesByGarage(garageId, consumer));
+    }
+
+    @GetMapping(value = "/model/{model}/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Stream vehicles by model",
+            description = "Streams all vehicles of a model across all garages as newline-delimited JSON, one vehicle " +
+                    "per line in ID order")
+    @ApiResponse(responseCode = "200", description = "Vehicles streamed successfully")
+    public ResponseEntity<StreamingResponseBody> streamVehiclesByModel(
+            @Parameter(description = "Vehicle model name", required = true) @PathVariable String model) {
+        return NdjsonResponses.<VehicleDTO>stream(objectMapper,
+                consumer -> vehicleService.streamVehiclesByModel(model, consumer));
+    }
 }
@@ -0,0 +1,177 @@
+package com.renault.renault.datasource;
+
+import com.renault.renault.config.DataSourceRoutingProperties.Strategy;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections of read-only transactions to a replica pool and everything else to the primary.
+ * <p>
+ * The routing key is read when the physical connection is fetched, so this data source must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: transaction managers open the
+ * connection before the transaction is marked read-only, and the proxy defers fetching it until the first
+ * statement. A replica is picked round robin or by fewest active connections among those whose last lag check
+ * succeeded within {@code maxLag}; when none qualifies the read goes to the primary. A replica refusing a
+ * connection is marked unreachable and the read moves on to the next one, until a lag check finds it back.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * A replica pool and what the last lag check found about it.
+     */
+    public static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean reachable = true;
+        private volatile Duration lag = Duration.ZERO;
+
+        public Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public HikariDataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isReachable() {
+            return reachable;
+        }
+
+        public Duration getLag() {
+            return lag;
+        }
+
+        public void reportLag(Duration lag) {
+            this.lag = lag;
+            this.reachable = true;
+        }
+
+        public void reportUnreachable() {
+            this.reachable = false;
+        }
+
+        int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private final List<Replica> replicas;
+    private final Strategy strategy;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<Replica> replicas, Strategy strategy, Duration maxLag) {
+        this.replicas = List.copyOf(replicas);
+        this.strategy = strategy;
+        this.maxLag = maxLag;
+        Map<Object, Object> targets = new HashMap<>();
+        for (Replica replica : this.replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+        setDefaultTargetDataSource(primary);
+        setTargetDataSources(targets);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(ConnectionSource source) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Every failure takes the replica out of the selection, so this ends on the primary at the latest
+            for (Replica replica = selectReplica(); replica != null; replica = selectReplica()) {
+                try {
+                    return source.open(replica.getDataSource());
+                } catch (SQLException e) {
+                    replica.reportUnreachable();
+                    log.warn("Cannot connect to replica {}, reads go to the other replicas or the primary",
+                            replica.getName(), e);
+                }
+            }
+        }
+        return source.open(getResolvedDefaultDataSource());
+    }
+
+    /**
+     * @return the name of the replica serving the current read-only transaction, null to use the primary
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        Replica replica = selectReplica();
+        return replica == null ? null : replica.getName();
+    }
+
+    /**
+     * @return the replica the next read should use, null when every replica lags or is unreachable
+     */
+    Replica selectReplica() {
+        List<Replica> eligible = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.isReachable() && replica.getLag().compareTo(maxLag) <= 0) {
+                eligible.add(replica);
+            }
+        }
+        if (eligible.isEmpty()) {
+            if (!replicas.isEmpty()) {
+                log.debug("No replica within {} of the primary, reading from the primary", maxLag);
+            }
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), eligible.size());
+        if (strategy == Strategy.ROUND_ROBIN) {
+            return eligible.get(start);
+        }
+        // Ties go round robin so that idle replicas share the load instead of the first one taking it all
+        List<Replica> rotated = new ArrayList<>(eligible.subList(start, eligible.size()));
+        rotated.addAll(eligible.subList(0, start));
+        return rotated.stream().min(Comparator.comparingInt(Replica::activeConnections)).orElseThrow();
+    }
+
+    /**
+     * Closes the replica pools; the primary pool is closed by its owner.
+     */
+    public void close() {
+        replicas.forEach(replica -> replica.getDataSource().close());
+    }
+}
@@ -0,0 +1,74 @@
+package com.renault.renault.datasource;
+
+import com.renault.renault.config.DataSourceRoutingProperties;
+import com.renault.renault.datasource.ReadWriteRoutingDataSource.Replica;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Periodically runs the configured lag query on every replica and records the result, so that the routing data
+ * source stops reading from replicas that fall behind or cannot be reached, and resumes once they are back.
+ * Without a lag query, only the replicas found unreachable are checked, by opening a connection to them.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ReplicaLagMonitor {
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final DataSourceRoutingProperties properties;
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval-millis:1000}")
+    public void checkLag() {
+        boolean lagQuery = StringUtils.hasText(properties.lagQuery());
+        for (Replica replica : routingDataSource.getReplicas()) {
+            boolean wasReachable = replica.isReachable();
+            if (!lagQuery && wasReachable) {
+                continue;
+            }
+            try {
+                replica.reportLag(lagQuery ? queryLag(replica) : probe(replica));
+                if (!wasReachable) {
+                    log.info("Replica {} is reachable again, lag {}", replica.getName(), replica.getLag());
+                }
+            } catch (SQLException e) {
+                replica.reportUnreachable();
+                if (wasReachable) {
+                    log.warn("Lag check failed on replica {}, reads go to the other replicas or the primary",
+                            replica.getName(), e);
+                }
+            }
+        }
+    }
+
+    private Duration probe(Replica replica) throws SQLException {
+        try (Connection connection = replica.getDataSource().getConnection()) {
+            if (!connection.isValid(QUERY_TIMEOUT_SECONDS)) {
+                throw new SQLException("Connection to replica " + replica.getName() + " is not valid");
+            }
+            return Duration.ZERO;
+        }
+    }
+
+    private Duration queryLag(Replica replica) throws SQLException {
+        try (Connection connection = replica.getDataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(properties.lagQuery())) {
+                if (!resultSet.next()) {
+                    return Duration.ZERO;
+                }
+                double seconds = resultSet.getDouble(1);
+                return resultSet.wasNull() ? Duration.ZERO : Duration.ofMillis(Math.round(seconds * 1000));
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.renault.renault.decommission;
+
+import com.renault.renault.config.DecommissionProperties;
+import com.renault.renault.entity.DecommissionJob;
+import com.renault.renault.entity.DecommissionJobStatus;
+import com.renault.renault.entity.OutboxEventType;
+import com.renault.renault.outbox.OutboxWriter;
+import com.renault.renault.repository.AccessoryRepository;
+import com.renault.renault.repository.DecommissionJobRepository;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.repository.VehicleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs garage decommissioning jobs in the background. A job deletes the garage's vehicles and their accessories
+ * in chunks of at most {@code chunkSize} vehicles, each in its own short transaction so that concurrent writers
+ * never wait long on locks, then deletes the opening times and the garage row. Progress is saved with every chunk:
+ * a job interrupted by a restart resumes at startup, and one interrupted by a failure is retried after
+ * {@code retryBackoff}, doubled with every consecutive failure. After {@code maxAttempts} consecutive failures the
+ * job is marked FAILED with its last error and the garage stays hidden.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GarageDecommissionWorker {
+    private static final Set<DecommissionJobStatus> UNFINISHED =
+            EnumSet.of(DecommissionJobStatus.PENDING, DecommissionJobStatus.RUNNING);
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final int MAX_BACKOFF_DOUBLINGS = 16;
+
+    private final DecommissionJobRepository jobRepository;
+    private final GarageRepository garageRepository;
+    private final VehicleRepository vehicleRepository;
+    private final AccessoryRepository accessoryRepository;
+    private final OutboxWriter outboxWriter;
+    private final DecommissionProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    // Set while jobs may be waiting, so that idle polls do not query the database
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        if (jobRepository.existsByStatusIn(UNFINISHED)) {
+            pending.set(true);
+        }
+    }
+
+    /**
+     * Signals that a job was submitted; called once the submitting transaction has committed.
+     */
+    public void wake() {
+        pending.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.decommission.poll-interval-millis:500}")
+    public void poll() {
+        if (properties.workerEnabled() && pending.getAndSet(false)) {
+            runPending();
+        }
+    }
+
+    /**
+     * Advances every unfinished job that is not waiting for a retry by up to {@code maxChunksPerRun} chunks.
+     * @return the number of jobs completed
+     */
+    public int runPending() {
+        int completed = 0;
+        for (Long jobId : jobRepository.findDueIdsByStatusIn(UNFINISHED, LocalDateTime.now())) {
+            try {
+                if (advance(jobId)) {
+                    completed++;
+                }
+            } catch (RuntimeException e) {
+                transactionTemplate.executeWithoutResult(status -> recordFailure(jobId, e));
+            }
+        }
+        // Jobs with chunks left or waiting for a retry keep the worker polling
+        if (jobRepository.existsByStatusIn(UNFINISHED)) {
+            pending.set(true);
+        }
+        return completed;
+    }
+
+    private boolean advance(Long jobId) {
+        Long garageId = transactionTemplate.execute(status -> start(jobId));
+        for (int chunk = 0; chunk < properties.maxChunksPerRun(); chunk++) {
+            Integer deleted = transactionTemplate.execute(status -> deleteChunk(jobId, garageId));
+            if (deleted == null || deleted == 0) {
+                transactionTemplate.executeWithoutResult(status -> finish(jobId, garageId));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Long start(Long jobId) {
+        DecommissionJob job = jobRepository.findById(jobId).orElseThrow();
+        if (job.getStatus() == DecommissionJobStatus.PENDING) {
+            job.setStatus(DecommissionJobStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+        }
+        return job.getGarageId();
+    }
+
+    private int deleteChunk(Long jobId, Long garageId) {
+        List<Long> vehicleIds = vehicleRepository.findIdsByGarageId(garageId, Limit.of(properties.chunkSize()));
+        if (vehicleIds.isEmpty()) {
+            return 0;
+        }
+        int accessories = accessoryRepository.deleteAllByVehicleIdIn(vehicleIds);
+        int vehicles = vehicleRepository.deleteAllByIdIn(vehicleIds);
+        DecommissionJob job = jobRepository.findById(jobId).orElseThrow();
+        job.setVehiclesDeleted(job.getVehiclesDeleted() + vehicles);
+        job.setAccessoriesDeleted(job.getAccessoriesDeleted() + accessories);
+        job.setAttempts(0);
+        job.setLastError(null);
+        return vehicleIds.size();
+    }
+
+    private void finish(Long jobId, Long garageId) {
+        int openingTimes = garageRepository.deleteOpeningTimesByGarageId(garageId);
+        if (garageRepository.deleteDecommissionedById(garageId) > 0) {
+            outboxWriter.appendDeletion(OutboxEventType.GARAGE_DELETED, garageId);
+        }
+        DecommissionJob job = jobRepository.findById(jobId).orElseThrow();
+        job.setOpeningTimesDeleted(openingTimes);
+        job.setStatus(DecommissionJobStatus.COMPLETED);
+        job.setFinishedAt(LocalDateTime.now());
+        job.setLastError(null);
+    }
+
+    private void recordFailure(Long jobId, RuntimeException e) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            String message = Objects.toString(e.getMessage(), e.getClass().getSimpleName());
+            job.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+            job.setAttempts(job.getAttempts() + 1);
+            LocalDateTime now = LocalDateTime.now();
+            if (job.getAttempts() >= properties.maxAttempts()) {
+                job.setStatus(DecommissionJobStatus.FAILED);
+                job.setFinishedAt(now);
+                job.setNextAttemptAt(null);
+                log.error("Decommissioning job {} failed {} times in a row, giving up", jobId, job.getAttempts(), e);
+            } else {
+                Duration delay = properties.retryBackoff()
+                        .multipliedBy(1L << Math.min(job.getAttempts() - 1, MAX_BACKOFF_DOUBLINGS));
+                job.setNextAttemptAt(now.plus(delay));
+                log.warn("Decommissioning job {} failed (attempt {} of {}), retrying in {}: {}",
+                        jobId, job.getAttempts(), properties.maxAttempts(), delay, e.toString());
+            }
+        });
+    }
+}
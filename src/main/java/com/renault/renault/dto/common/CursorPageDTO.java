@@ -0,0 +1,23 @@
+package com.renault.renault.dto.common;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Page of results fetched with keyset (cursor) pagination")
+public record CursorPageDTO<T>(
+    @Schema(description = "Elements of the page")
+    List<T> content,
+
+    @Schema(description = "Number of elements in the page", example = "20")
+    int size,
+
+    @Schema(description = "Whether more elements follow this page")
+    boolean hasNext,
+
+    @Schema(description = "Opaque token to pass as cursor to fetch the next page, null on the last page")
+    String nextCursor,
+
+    @Schema(description = "Total number of elements, null unless requested")
+    Long totalElements
+) {}
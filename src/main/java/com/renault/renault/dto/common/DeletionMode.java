@@ -0,0 +1,12 @@
+package com.renault.renault.dto.common;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "How a garage deletion is carried out")
+public enum DeletionMode {
+    @Schema(description = "Everything is deleted within the request, which returns the number of rows removed")
+    SYNC,
+
+    @Schema(description = "The garage is hidden at once and deleted in chunks by a background job")
+    ASYNC
+}
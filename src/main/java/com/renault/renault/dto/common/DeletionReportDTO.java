@@ -0,0 +1,18 @@
+package com.renault.renault.dto.common;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Number of rows removed by a deletion, per table")
+public record DeletionReportDTO(
+    @Schema(description = "Garages removed", example = "1")
+    long garages,
+
+    @Schema(description = "Opening times removed", example = "7")
+    long openingTimes,
+
+    @Schema(description = "Vehicles removed", example = "50")
+    long vehicles,
+
+    @Schema(description = "Accessories removed", example = "120")
+    long accessories
+) {}
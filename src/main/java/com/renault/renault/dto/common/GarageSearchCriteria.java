@@ -19,8 +19,21 @@ public record GarageSearchCriteria(
 
         @Schema(description = "Search by accessory name available in the garage", example = "Spare Tire")
         @Size(min = 1, max = 100, message = "Search accessory must be between 1 and 100 characters")
-        String accessory
+        String accessory,
+
+        @Schema(description = "How the provided criteria are combined", example = "OR", defaultValue = "OR")
+        SearchMode mode
 ) {
+    public GarageSearchCriteria {
+        if (mode == null) {
+            mode = SearchMode.OR;
+        }
+    }
+
+    public GarageSearchCriteria(String name, String model, String fuelType, String accessory) {
+        this(name, model, fuelType, accessory, SearchMode.OR);
+    }
+
     /**
      * Checks if at least one search criterion is provided.
      * @return true if at least one field is not null, false otherwise
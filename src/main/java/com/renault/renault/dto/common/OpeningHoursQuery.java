@@ -0,0 +1,57 @@
+package com.renault.renault.dto.common;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+
+@Schema(description = "Time interval during which garages must be open, at minute resolution")
+public record OpeningHoursQuery(
+        @Schema(description = "Day on which the interval starts", example = "SATURDAY")
+        DayOfWeek day,
+
+        @Schema(description = "Start of the interval, inclusive", example = "10:30")
+        LocalTime from,
+
+        @Schema(description = "End of the interval, exclusive. An end before the start crosses midnight", example = "12:00")
+        LocalTime to
+) {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    public OpeningHoursQuery {
+        if (day == null || from == null || to == null) {
+            throw new IllegalArgumentException("Day, start and end of the interval are required");
+        }
+        from = from.truncatedTo(ChronoUnit.MINUTES);
+        to = to.truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    /**
+     * Builds the query from the request parameters: either a single time ({@code at}), an interval
+     * ({@code from} and {@code to}) or neither, meaning "open now". A missing day means today.
+     */
+    public static OpeningHoursQuery of(DayOfWeek day, LocalTime at, LocalTime from, LocalTime to, LocalDateTime now) {
+        if (at != null && (from != null || to != null)) {
+            throw new IllegalArgumentException("Either 'at' or 'from' and 'to' can be given, not both");
+        }
+        if ((from == null) != (to == null)) {
+            throw new IllegalArgumentException("'from' and 'to' must be given together");
+        }
+        DayOfWeek effectiveDay = day != null ? day : now.getDayOfWeek();
+        if (from != null) {
+            return new OpeningHoursQuery(effectiveDay, from, to);
+        }
+        LocalTime time = (at != null ? at : now.toLocalTime()).truncatedTo(ChronoUnit.MINUTES);
+        return new OpeningHoursQuery(effectiveDay, time, time.plusMinutes(1));
+    }
+
+    /**
+     * @return the length of the interval in minutes, between 1 and a full day
+     */
+    public int minutes() {
+        int minutes = Math.floorMod(to.toSecondOfDay() / 60 - from.toSecondOfDay() / 60, MINUTES_PER_DAY);
+        return minutes == 0 ? MINUTES_PER_DAY : minutes;
+    }
+}
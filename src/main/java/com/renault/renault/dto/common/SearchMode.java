@@ -0,0 +1,12 @@
+package com.renault.renault.dto.common;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "How multiple search criteria are combined")
+public enum SearchMode {
+    @Schema(description = "A garage must match every provided criterion")
+    AND,
+
+    @Schema(description = "A garage must match at least one provided criterion")
+    OR
+}
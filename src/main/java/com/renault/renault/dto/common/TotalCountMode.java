@@ -0,0 +1,15 @@
+package com.renault.renault.dto.common;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Whether a cursor page includes the total number of elements")
+public enum TotalCountMode {
+    @Schema(description = "No total, no count query")
+    NONE,
+
+    @Schema(description = "Total from a periodically refreshed count, may lag behind recent writes")
+    APPROXIMATE,
+
+    @Schema(description = "Exact total, runs a count query")
+    EXACT
+}
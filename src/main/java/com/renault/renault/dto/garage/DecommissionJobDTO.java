@@ -0,0 +1,55 @@
+package com.renault.renault.dto.garage;
+
+import com.renault.renault.entity.DecommissionJobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Progress of a background garage decommissioning job")
+public record DecommissionJobDTO(
+    @Schema(description = "Job ID", example = "1")
+    Long id,
+
+    @Schema(description = "ID of the garage being deleted", example = "42")
+    Long garageId,
+
+    @Schema(description = "Job status; FAILED once the job gave up after too many consecutive failures",
+            example = "RUNNING")
+    DecommissionJobStatus status,
+
+    @Schema(description = "Number of vehicles the garage held when the job started", example = "50")
+    long vehiclesTotal,
+
+    @Schema(description = "Vehicles deleted so far", example = "20")
+    long vehiclesDeleted,
+
+    @Schema(description = "Accessories deleted so far", example = "48")
+    long accessoriesDeleted,
+
+    @Schema(description = "Opening times deleted, set once the job completes", example = "7")
+    long openingTimesDeleted,
+
+    @Schema(description = "Share of the vehicles deleted so far, in percent", example = "40.0")
+    double progressPercent,
+
+    @Schema(description = "Rows deleted per second since the job started", example = "1250.5")
+    double rowsPerSecond,
+
+    @Schema(description = "When the job was requested")
+    LocalDateTime createdAt,
+
+    @Schema(description = "When the worker started the job")
+    LocalDateTime startedAt,
+
+    @Schema(description = "When the job completed or failed")
+    LocalDateTime finishedAt,
+
+    @Schema(description = "Consecutive failed attempts", example = "0")
+    int attempts,
+
+    @Schema(description = "When a failed job is retried")
+    LocalDateTime nextAttemptAt,
+
+    @Schema(description = "Error of the last failed attempt", example = "Lock timeout")
+    String lastError
+) {}
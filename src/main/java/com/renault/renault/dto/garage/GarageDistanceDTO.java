@@ -0,0 +1,12 @@
+package com.renault.renault.dto.garage;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Garage found by a nearest-garage search, with its distance from the searched point")
+public record GarageDistanceDTO(
+    @Schema(description = "The garage")
+    GarageDTO garage,
+
+    @Schema(description = "Great-circle distance from the searched point, in kilometres", example = "2.41")
+    double distanceKm
+) {}
@@ -0,0 +1,12 @@
+package com.renault.renault.dto.garage;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Garage name suggestion for autocompletion")
+public record GarageSuggestionDTO(
+    @Schema(description = "Unique identifier of the garage", example = "1")
+    Long id,
+
+    @Schema(description = "Garage name", example = "Garage Paris Centre")
+    String name
+) {}
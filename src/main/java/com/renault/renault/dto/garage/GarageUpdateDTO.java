@@ -29,6 +29,16 @@ public record GarageUpdateDTO(
     @Email(message = "Email must be a valid email address")
     String email,
 
+    @Schema(description = "Latitude of the garage, in decimal degrees", example = "48.8698")
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    Double latitude,
+
+    @Schema(description = "Longitude of the garage, in decimal degrees", example = "2.3078")
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    Double longitude,
+
     @Schema(description = "Opening times for each day of the week")
     @NotEmpty(message = "At least one opening time entry is required")
     @Valid
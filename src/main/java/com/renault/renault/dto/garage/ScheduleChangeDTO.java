@@ -0,0 +1,28 @@
+package com.renault.renault.dto.garage;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+@Schema(description = "One schedule change applied to many garages, such as a closure on a public holiday")
+public record ScheduleChangeDTO(
+    @Schema(description = "IDs of the garages to change", example = "[1, 2, 3]")
+    @NotEmpty(message = "At least one garage ID is required")
+    @Size(max = 1000, message = "At most 1000 garages can be changed at once")
+    List<@NotNull Long> garageIds,
+
+    @Schema(description = "Day of the week whose opening times are replaced", example = "MONDAY")
+    @NotNull(message = "Day of week is required")
+    DayOfWeek dayOfWeek,
+
+    @Schema(description = "New opening time of the day; omit it with the end time to close the garages all day", example = "10:00")
+    LocalTime startTime,
+
+    @Schema(description = "New closing time of the day; omit it with the start time to close the garages all day", example = "16:00")
+    LocalTime endTime
+) {}
@@ -0,0 +1,15 @@
+package com.renault.renault.dto.garage;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a schedule change applied to many garages")
+public record ScheduleChangeResultDTO(
+    @Schema(description = "Garages found and changed", example = "3")
+    int garages,
+
+    @Schema(description = "Opening times removed from the day", example = "4")
+    int openingTimesDeleted,
+
+    @Schema(description = "Opening times added to the day", example = "3")
+    int openingTimesInserted
+) {}
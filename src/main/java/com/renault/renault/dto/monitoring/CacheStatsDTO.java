@@ -0,0 +1,24 @@
+package com.renault.renault.dto.monitoring;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Usage statistics of an in-process cache")
+public record CacheStatsDTO(
+    @Schema(description = "Cache name", example = "garages")
+    String name,
+
+    @Schema(description = "Approximate number of entries", example = "1200")
+    long size,
+
+    @Schema(description = "Number of lookups that found an entry", example = "98000")
+    long hits,
+
+    @Schema(description = "Number of lookups that did not find an entry", example = "2000")
+    long misses,
+
+    @Schema(description = "Ratio of hits to lookups", example = "0.98")
+    double hitRate,
+
+    @Schema(description = "Number of entries evicted for size or expiry", example = "150")
+    long evictions
+) {}
@@ -0,0 +1,33 @@
+package com.renault.renault.dto.monitoring;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Statistics of the asynchronous vehicle event queue")
+public record EventQueueStatsDTO(
+    @Schema(description = "Backpressure policy applied when the queue is full", example = "BLOCK")
+    String backpressure,
+
+    @Schema(description = "Number of events waiting to be delivered", example = "12")
+    int queueDepth,
+
+    @Schema(description = "Maximum number of waiting events", example = "10000")
+    int queueCapacity,
+
+    @Schema(description = "Number of events accepted since startup", example = "120000")
+    long enqueued,
+
+    @Schema(description = "Number of events delivered to listeners since startup", example = "119988")
+    long processed,
+
+    @Schema(description = "Number of events dropped because the queue was full", example = "0")
+    long dropped,
+
+    @Schema(description = "Number of batches delivered since startup", example = "3000")
+    long batches,
+
+    @Schema(description = "Time between the commit and the delivery of the last batch's oldest event, in milliseconds", example = "4")
+    long lastLagMillis,
+
+    @Schema(description = "Largest commit-to-delivery time observed, in milliseconds", example = "250")
+    long maxLagMillis
+) {}
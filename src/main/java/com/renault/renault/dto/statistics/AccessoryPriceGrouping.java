@@ -0,0 +1,12 @@
+package com.renault.renault.dto.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "How accessory prices are grouped by the price analytics")
+public enum AccessoryPriceGrouping {
+    @Schema(description = "One group per accessory type")
+    TYPE,
+
+    @Schema(description = "One group per garage holding the accessories")
+    GARAGE
+}
@@ -0,0 +1,35 @@
+package com.renault.renault.dto.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Price distribution of a group of accessories. Percentiles are estimated within 1% of the exact value")
+public record AccessoryPriceStatsDTO(
+    @Schema(description = "Accessory type or garage ID, depending on the grouping", example = "Audio")
+    String group,
+
+    @Schema(description = "Number of accessories", example = "42")
+    long count,
+
+    @Schema(description = "Lowest price", example = "19.99")
+    BigDecimal min,
+
+    @Schema(description = "Highest price", example = "899.00")
+    BigDecimal max,
+
+    @Schema(description = "Average price", example = "215.40")
+    BigDecimal average,
+
+    @Schema(description = "Median price", example = "149.99")
+    BigDecimal p50,
+
+    @Schema(description = "90th percentile of the price", example = "499.00")
+    BigDecimal p90,
+
+    @Schema(description = "95th percentile of the price", example = "650.00")
+    BigDecimal p95,
+
+    @Schema(description = "99th percentile of the price", example = "880.00")
+    BigDecimal p99
+) {}
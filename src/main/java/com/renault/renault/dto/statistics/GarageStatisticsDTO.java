@@ -0,0 +1,30 @@
+package com.renault.renault.dto.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Schema(description = "Fleet statistics of a garage")
+public record GarageStatisticsDTO(
+    @Schema(description = "Garage ID", example = "1")
+    Long garageId,
+
+    @Schema(description = "Number of vehicles", example = "25")
+    long vehicleCount,
+
+    @Schema(description = "Number of vehicles per fuel type", example = "{\"Diesel\": 15, \"Electric\": 10}")
+    Map<String, Long> vehiclesByFuelType,
+
+    @Schema(description = "Number of vehicles per model", example = "{\"Clio\": 20, \"Zoe\": 5}")
+    Map<String, Long> vehiclesByModel,
+
+    @Schema(description = "Number of vehicles per manufacturing year bucket", example = "{\"2020-2024\": 25}")
+    Map<String, Long> vehiclesByYearBucket,
+
+    @Schema(description = "Number of accessories fitted to the vehicles", example = "40")
+    long accessoryCount,
+
+    @Schema(description = "Total price of the accessories", example = "9990.00")
+    BigDecimal accessoryTotalPrice
+) {}
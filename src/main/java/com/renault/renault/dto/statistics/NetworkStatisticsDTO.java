@@ -0,0 +1,30 @@
+package com.renault.renault.dto.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Schema(description = "Fleet statistics of the whole garage network")
+public record NetworkStatisticsDTO(
+    @Schema(description = "Number of garages holding at least one vehicle", example = "120")
+    long garagesWithVehicles,
+
+    @Schema(description = "Number of vehicles", example = "3000")
+    long vehicleCount,
+
+    @Schema(description = "Number of vehicles per fuel type", example = "{\"Diesel\": 1800, \"Electric\": 1200}")
+    Map<String, Long> vehiclesByFuelType,
+
+    @Schema(description = "Number of vehicles per model", example = "{\"Clio\": 2000, \"Zoe\": 1000}")
+    Map<String, Long> vehiclesByModel,
+
+    @Schema(description = "Number of vehicles per manufacturing year bucket", example = "{\"2015-2019\": 900, \"2020-2024\": 2100}")
+    Map<String, Long> vehiclesByYearBucket,
+
+    @Schema(description = "Number of accessories fitted to the vehicles", example = "4800")
+    long accessoryCount,
+
+    @Schema(description = "Total price of the accessories", example = "1198800.00")
+    BigDecimal accessoryTotalPrice
+) {}
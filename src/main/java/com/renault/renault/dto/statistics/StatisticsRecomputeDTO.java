@@ -0,0 +1,15 @@
+package com.renault.renault.dto.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a full recomputation of the fleet statistics")
+public record StatisticsRecomputeDTO(
+    @Schema(description = "Number of garages holding vehicles after the recomputation", example = "120")
+    int garages,
+
+    @Schema(description = "Number of garages whose incrementally maintained statistics had drifted", example = "0")
+    int driftedGarages,
+
+    @Schema(description = "Duration of the recomputation, in milliseconds", example = "85")
+    long durationMillis
+) {}
@@ -47,5 +47,8 @@ public record VehicleDTO(
 
     @Schema(description = "Timestamp when the vehicle was added to the system", example = "2023-12-11T10:30:00")
     @NotNull(message = "Creation timestamp is required")
-    LocalDateTime createdAt
+    LocalDateTime createdAt,
+
+    @Schema(description = "Version of the vehicle, incremented on every change and used as its ETag", example = "0")
+    Long version
 ) {}
@@ -0,0 +1,20 @@
+package com.renault.renault.dto.vehicle;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Result of a bulk vehicle import")
+public record VehicleImportReportDTO(
+    @Schema(description = "Number of rows received", example = "1000")
+    int received,
+
+    @Schema(description = "Number of vehicles created", example = "990")
+    int imported,
+
+    @Schema(description = "Number of rows rejected", example = "10")
+    int rejected,
+
+    @Schema(description = "Per-row outcome, in request order")
+    List<VehicleImportRowDTO> rows
+) {}
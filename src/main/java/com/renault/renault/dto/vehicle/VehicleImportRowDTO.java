@@ -0,0 +1,18 @@
+package com.renault.renault.dto.vehicle;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of one row of a bulk vehicle import")
+public record VehicleImportRowDTO(
+    @Schema(description = "Zero-based position of the row in the request", example = "0")
+    int index,
+
+    @Schema(description = "Whether the row was imported or rejected", example = "IMPORTED")
+    VehicleImportStatus status,
+
+    @Schema(description = "ID of the created vehicle, when imported", example = "1")
+    Long vehicleId,
+
+    @Schema(description = "Reason for the rejection, when rejected", example = "Garage has reached the maximum limit of 50 vehicles")
+    String message
+) {}
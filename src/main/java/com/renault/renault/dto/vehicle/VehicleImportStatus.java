@@ -0,0 +1,6 @@
+package com.renault.renault.dto.vehicle;
+
+public enum VehicleImportStatus {
+    IMPORTED,
+    REJECTED
+}
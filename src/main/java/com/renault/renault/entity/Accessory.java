@@ -13,9 +13,13 @@ import lombok.*;
 public class Accessory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accessory_seq")
+    @SequenceGenerator(name = "accessory_seq", sequenceName = "accessory_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    private Long version;
+
     @Column(nullable = false)
     private String name;
 
@@ -28,7 +32,7 @@ public class Accessory {
     @Column(nullable = false)
     private String type;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "vehicle_id", nullable = false)
     private Vehicle vehicle;
 }
@@ -0,0 +1,69 @@
+package com.renault.renault.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Background deletion of a garage, recorded when it is requested. The garage is hidden from reads from then on;
+ * the counters record how many rows the worker has deleted so far and are saved with every chunk. Failed attempts
+ * are retried after a growing delay until {@code attempts} reaches the configured maximum, when the job is FAILED.
+ */
+@Entity
+@Table(name = "decommission_jobs", indexes = {
+        @Index(name = "idx_decommission_jobs_status_id", columnList = "status, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DecommissionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "garage_id", nullable = false)
+    private Long garageId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private DecommissionJobStatus status;
+
+    @Column(name = "vehicles_total", nullable = false)
+    private long vehiclesTotal;
+
+    @Column(name = "vehicles_deleted", nullable = false)
+    private long vehiclesDeleted;
+
+    @Column(name = "accessories_deleted", nullable = false)
+    private long accessoriesDeleted;
+
+    @Column(name = "opening_times_deleted", nullable = false)
+    private long openingTimesDeleted;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,8 @@
+package com.renault.renault.entity;
+
+public enum DecommissionJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -2,6 +2,7 @@ package com.renault.renault.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -9,18 +10,31 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "garages")
+@SQLRestriction("decommissioning = false")
+@NamedEntityGraph(name = Garage.WITH_OPENING_TIMES, attributeNodes = @NamedAttributeNode("openingTimes"))
+@Table(name = "garages", indexes = {
+        @Index(name = "idx_garages_name_id", columnList = "name, id"),
+        @Index(name = "idx_garages_address_id", columnList = "address, id"),
+        @Index(name = "idx_garages_email_id", columnList = "email, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Garage {
+    /**
+     * Fetch plan of the garage detail and of lists loaded by ID: the garage and its opening times in one query.
+     */
+    public static final String WITH_OPENING_TIMES = "Garage.withOpeningTimes";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    private Long version;
+
     @Column(nullable = false)
     private String name;
 
@@ -33,12 +47,23 @@ public class Garage {
     @Column(nullable = false)
     private String email;
 
-    @OneToMany(cascade = CascadeType.ALL, mappedBy = "garage", orphanRemoval = true, fetch = FetchType.EAGER)
+    private Double latitude;
+
+    private Double longitude;
+
+    @OneToMany(cascade = CascadeType.ALL, mappedBy = "garage", orphanRemoval = true)
     private Set<OpeningTime> openingTimes = new HashSet<>();
 
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "garage", orphanRemoval = true)
     private List<Vehicle> vehicles = new ArrayList<>();
 
+    /**
+     * Set when an asynchronous decommissioning job starts: the garage is then invisible to every entity load and
+     * query while its vehicles are deleted in the background, and its row goes last.
+     */
+    @Column(nullable = false)
+    private boolean decommissioning;
+
     @Column(name = "vehicle_count", nullable = false)
     private Integer vehicleCount = 0;
 
@@ -26,7 +26,7 @@ public class OpeningTime {
     @Column(nullable = false)
     private LocalTime endTime;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "garage_id", nullable = false)
     private Garage garage;
 
@@ -0,0 +1,14 @@
+package com.renault.renault.entity;
+
+public enum OutboxEventType {
+    GARAGE_CREATED,
+    GARAGE_UPDATED,
+    GARAGE_DELETED,
+    GARAGE_SCHEDULE_CHANGED,
+    VEHICLE_CREATED,
+    VEHICLE_UPDATED,
+    VEHICLE_DELETED,
+    ACCESSORY_CREATED,
+    ACCESSORY_UPDATED,
+    ACCESSORY_DELETED
+}
@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@NamedEntityGraph(name = Vehicle.WITH_ACCESSORIES, attributeNodes = @NamedAttributeNode("accessories"))
 @Table(name = "vehicles")
 @Getter
 @Setter
@@ -15,11 +16,19 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 public class Vehicle {
+    /**
+     * Fetch plan of vehicle lists, whose DTOs embed the accessories: vehicles and accessories in one query.
+     */
+    public static final String WITH_ACCESSORIES = "Vehicle.withAccessories";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicle_seq")
+    @SequenceGenerator(name = "vehicle_seq", sequenceName = "vehicle_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    private Long version;
+
     @Column(nullable = false)
     private String brand;
 
@@ -32,11 +41,11 @@ public class Vehicle {
     @Column(nullable = false)
     private String model;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "garage_id", nullable = false)
     private Garage garage;
 
-    @OneToMany(cascade = CascadeType.ALL, mappedBy = "vehicle", orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, mappedBy = "vehicle", orphanRemoval = true)
     private List<Accessory> accessories = new ArrayList<>();
 
     @Column(name = "created_at", nullable = false, updatable = false)
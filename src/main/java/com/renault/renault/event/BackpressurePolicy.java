@@ -0,0 +1,15 @@
+package com.renault.renault.event;
+
+/**
+ * What the dispatcher does with a new event when its queue is full.
+ */
+public enum BackpressurePolicy {
+    /** Wait up to the configured offer timeout for space, then drop the event. */
+    BLOCK,
+    /** Drop the new event. */
+    DROP_NEWEST,
+    /** Drop the oldest queued event to make room for the new one. */
+    DROP_OLDEST,
+    /** Deliver the event on the publishing thread, as a batch of one. */
+    CALLER_RUNS
+}
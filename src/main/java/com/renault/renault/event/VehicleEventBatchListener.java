@@ -0,0 +1,11 @@
+package com.renault.renault.event;
+
+import java.util.List;
+
+/**
+ * Receives committed {@link VehicleCreatedEvent}s in batches, on the dispatcher thread.
+ * Implementations should not throw: a failure is logged and the batch is not redelivered.
+ */
+public interface VehicleEventBatchListener {
+    void onVehiclesCreated(List<VehicleCreatedEvent> events);
+}
@@ -0,0 +1,170 @@
+package com.renault.renault.event;
+
+import com.renault.renault.config.VehicleEventProperties;
+import com.renault.renault.dto.monitoring.EventQueueStatsDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves {@link VehicleCreatedEvent} handling off the request thread. Events are accepted only once their
+ * transaction has committed, queued in a bounded queue and delivered in batches to every
+ * {@link VehicleEventBatchListener} by a single dedicated thread. When the queue is full the configured
+ * {@link BackpressurePolicy} applies. The delivery thread comes from the given {@link ThreadFactory}, which is
+ * virtual when virtual threads are enabled.
+ * <p>
+ * Each event is stamped with the time its transaction committed, from which the delivery lag is measured.
+ */
+@Component
+@Slf4j
+public class VehicleEventDispatcher {
+    public static final String THREAD_NAME = "vehicle-events";
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+
+    private final List<VehicleEventBatchListener> listeners;
+    private final VehicleEventProperties properties;
+    private final BlockingQueue<CommittedEvent> queue;
+    private final ExecutorService executor;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private volatile boolean running = true;
+
+    public VehicleEventDispatcher(List<VehicleEventBatchListener> listeners, VehicleEventProperties properties) {
+        this(listeners, properties, platformThreadFactory());
+    }
+
+    @Autowired
+    public VehicleEventDispatcher(List<VehicleEventBatchListener> listeners, VehicleEventProperties properties,
+                                  @Qualifier("vehicleEventThreadFactory") ThreadFactory threadFactory) {
+        this.listeners = List.copyOf(listeners);
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.executor = Executors.newSingleThreadExecutor(threadFactory);
+        executor.execute(this::drain);
+    }
+
+    public static ThreadFactory platformThreadFactory() {
+        return runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVehicleCreated(VehicleCreatedEvent vehicleCreatedEvent) {
+        CommittedEvent event = new CommittedEvent(vehicleCreatedEvent, System.currentTimeMillis());
+        if (queue.offer(event)) {
+            enqueued.incrementAndGet();
+            return;
+        }
+        switch (properties.backpressure()) {
+            case BLOCK -> offerWithTimeout(event);
+            case DROP_NEWEST -> drop(event);
+            case DROP_OLDEST -> {
+                CommittedEvent oldest = queue.poll();
+                if (oldest != null) {
+                    drop(oldest);
+                }
+                if (queue.offer(event)) {
+                    enqueued.incrementAndGet();
+                } else {
+                    drop(event);
+                }
+            }
+            case CALLER_RUNS -> deliver(List.of(event));
+        }
+    }
+
+    public EventQueueStatsDTO getStats() {
+        return new EventQueueStatsDTO(properties.backpressure().name(), queue.size(), properties.queueCapacity(),
+                enqueued.get(), processed.get(), dropped.get(), batches.get(), lastLagMillis.get(), maxLagMillis.get());
+    }
+
+    /**
+     * Stops accepting work and delivers what is still queued before the context closes.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void offerWithTimeout(CommittedEvent event) {
+        try {
+            if (queue.offer(event, properties.offerTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                enqueued.incrementAndGet();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drop(event);
+    }
+
+    private void drop(CommittedEvent event) {
+        dropped.incrementAndGet();
+        log.warn("Vehicle event queue full, dropped event for garage {}", event.event().getVehicleDTO().garageId());
+    }
+
+    private void drain() {
+        List<CommittedEvent> batch = new ArrayList<>(properties.maxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                CommittedEvent first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.maxBatchSize() - 1);
+                deliver(List.copyOf(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(List<CommittedEvent> committed) {
+        long lag = System.currentTimeMillis() - committed.get(0).committedAt();
+        lastLagMillis.set(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+        List<VehicleCreatedEvent> batch = committed.stream().map(CommittedEvent::event).toList();
+        for (VehicleEventBatchListener listener : listeners) {
+            try {
+                listener.onVehiclesCreated(batch);
+            } catch (RuntimeException e) {
+                log.error("Vehicle event listener {} failed on a batch of {} events",
+                        listener.getClass().getSimpleName(), batch.size(), e);
+            }
+        }
+        processed.addAndGet(batch.size());
+        batches.incrementAndGet();
+    }
+
+    private record CommittedEvent(VehicleCreatedEvent event, long committedAt) {}
+}
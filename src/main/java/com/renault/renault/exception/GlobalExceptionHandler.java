@@ -1,6 +1,8 @@
 package com.renault.renault.exception;
 
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -16,6 +18,8 @@ import java.util.Map;
 @ControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
+    static final String NOT_FOUND_COUNTER = "app.errors.not.found";
+    static final String CAPACITY_REJECTION_COUNTER = "app.errors.capacity.rejected";
 
 
     @ExceptionHandler(ResourceNotFoundException.class)
@@ -23,6 +27,7 @@ public class GlobalExceptionHandler {
             ResourceNotFoundException ex,
             WebRequest request) {
         log.warn("Resource not found: {}", ex.getMessage());
+        Metrics.counter(NOT_FOUND_COUNTER).increment();
         
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .status(HttpStatus.NOT_FOUND.value())
@@ -41,6 +46,7 @@ public class GlobalExceptionHandler {
             BusinessConstraintViolationException ex,
             WebRequest request) {
         log.warn("Business constraint violation: {}", ex.getMessage());
+        Metrics.counter(CAPACITY_REJECTION_COUNTER).increment();
         
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .status(HttpStatus.BAD_REQUEST.value())
@@ -89,6 +95,42 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(
+            PreconditionFailedException ex,
+            WebRequest request) {
+        log.warn("Precondition failed: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .message(ex.getMessage())
+                .error("Precondition Failed")
+                .timestamp(LocalDateTime.now())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex,
+            WebRequest request) {
+        log.warn("Concurrent modification: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .status(HttpStatus.CONFLICT.value())
+                .message("The resource was modified concurrently. Please reload it and try again.")
+                .error("Concurrent Modification")
+                .timestamp(LocalDateTime.now())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(
             MethodArgumentNotValidException ex,
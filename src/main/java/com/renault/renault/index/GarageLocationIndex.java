@@ -0,0 +1,275 @@
+package com.renault.renault.index;
+
+import com.renault.renault.repository.projection.GarageLocationView;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+/**
+ * In-memory uniform grid over garage coordinates for k-nearest-neighbour searches.
+ * <p>
+ * The globe is cut into cells of {@value #CELL_DEGREES} degrees, each holding a bitmap of the garages inside it.
+ * A search visits rings of cells around the query point, nearest first, and stops as soon as no unvisited cell
+ * can hold a garage closer than the k-th best found so far. Distances are great-circle distances; rings wrap
+ * around the antimeridian. Garages without coordinates are not indexed.
+ */
+@Component
+public class GarageLocationIndex {
+    public static final double CELL_DEGREES = 0.1;
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final int ROWS = (int) Math.round(180 / CELL_DEGREES);
+    private static final int COLUMNS = (int) Math.round(360 / CELL_DEGREES);
+
+    public record Neighbour(Long garageId, double distanceKm) {
+    }
+
+    private record Location(double latitude, double longitude, int cell) {
+    }
+
+    private static final Comparator<Neighbour> FARTHEST_FIRST =
+            Comparator.comparingDouble(Neighbour::distanceKm).thenComparing(Neighbour::garageId).reversed();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Integer, Location> locations = new HashMap<>();
+    private Map<Integer, RoaringBitmap> cells = new HashMap<>();
+    // Bounds of the occupied cells; they only grow between rebuilds, which at worst costs a few extra rings
+    private int minRow = Integer.MAX_VALUE;
+    private int maxRow = Integer.MIN_VALUE;
+    private int minColumn = Integer.MAX_VALUE;
+    private int maxColumn = Integer.MIN_VALUE;
+    private volatile boolean ready;
+
+    /**
+     * @return true once the index has been built from the database and can answer searches
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Moves a garage to the given coordinates, or removes it from the index when they are missing.
+     */
+    public void put(Long garageId, Double latitude, Double longitude) {
+        int id = GarageSearchIndex.toIndexId(garageId);
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+            if (latitude != null && longitude != null) {
+                index(id, latitude, longitude);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long garageId) {
+        int id = GarageSearchIndex.toIndexId(garageId);
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the garages nearest to a point.
+     * @param latitude latitude of the point, in degrees
+     * @param longitude longitude of the point, in degrees
+     * @param k maximum number of garages returned
+     * @param maxDistanceKm garages farther than this are ignored
+     * @param filter tested with the index ID of each candidate garage; rejected garages do not count towards {@code k}
+     * @return up to {@code k} garages, nearest first
+     */
+    public List<Neighbour> nearest(double latitude, double longitude, int k, double maxDistanceKm, IntPredicate filter) {
+        checkCoordinates(latitude, longitude);
+        int row = row(latitude);
+        int column = column(longitude);
+        PriorityQueue<Neighbour> best = new PriorityQueue<>(k + 1, FARTHEST_FIRST);
+        lock.readLock().lock();
+        try {
+            if (locations.isEmpty()) {
+                return List.of();
+            }
+            int maxRadius = Math.max(Math.max(row - minRow, maxRow - row),
+                    Math.min(COLUMNS / 2, Math.max(column - minColumn, maxColumn - column)));
+            for (int radius = 0; radius <= maxRadius; radius++) {
+                double bound = distanceBound(latitude, longitude, row, column, radius);
+                if (bound > maxDistanceKm || (best.size() == k && bound > best.peek().distanceKm())) {
+                    break;
+                }
+                visitRing(row, column, radius, cell -> {
+                    for (int id : cell) {
+                        Location location = locations.get(id);
+                        double distance = distanceKm(latitude, longitude, location.latitude(), location.longitude());
+                        if (distance <= maxDistanceKm && filter.test(id)) {
+                            offer(best, new Neighbour((long) id, distance), k);
+                        }
+                    }
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return sorted(best);
+    }
+
+    /**
+     * Returns the nearest of the given garages by comparing the point with every one of them, for searches made
+     * before the index is built.
+     */
+    public static List<Neighbour> nearest(Iterable<GarageLocationView> garages, double latitude, double longitude,
+                                          int k, double maxDistanceKm) {
+        checkCoordinates(latitude, longitude);
+        PriorityQueue<Neighbour> best = new PriorityQueue<>(k + 1, FARTHEST_FIRST);
+        for (GarageLocationView garage : garages) {
+            double distance = distanceKm(latitude, longitude, garage.getLatitude(), garage.getLongitude());
+            if (distance <= maxDistanceKm) {
+                offer(best, new Neighbour(garage.getId(), distance), k);
+            }
+        }
+        return sorted(best);
+    }
+
+    public void rebuild(Iterable<GarageLocationView> garages) {
+        lock.writeLock().lock();
+        try {
+            locations = new HashMap<>();
+            cells = new HashMap<>();
+            minRow = Integer.MAX_VALUE;
+            maxRow = Integer.MIN_VALUE;
+            minColumn = Integer.MAX_VALUE;
+            maxColumn = Integer.MIN_VALUE;
+            for (GarageLocationView garage : garages) {
+                index(GarageSearchIndex.toIndexId(garage.getId()), garage.getLatitude(), garage.getLongitude());
+            }
+            cells.values().forEach(RoaringBitmap::runOptimize);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public static void checkCoordinates(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+    }
+
+    /**
+     * Haversine distance between two points, in kilometres.
+     */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double haversine = Math.pow(Math.sin(deltaLatitude / 2), 2) + Math.cos(Math.toRadians(latitude1))
+                * Math.cos(Math.toRadians(latitude2)) * Math.pow(Math.sin(deltaLongitude / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(haversine)));
+    }
+
+    /**
+     * Lower bound of the distance from the point to any cell at least {@code radius} rings away, which lies outside
+     * the box of the closer rings: beyond its northern or southern edge, or beyond its eastern or western edge
+     * within the box's latitudes.
+     */
+    private static double distanceBound(double latitude, double longitude, int row, int column, int radius) {
+        if (radius == 0) {
+            return 0;
+        }
+        double south = (row - radius + 1) * CELL_DEGREES - 90;
+        double north = (row + radius) * CELL_DEGREES - 90;
+        double latitudeGap = Math.min(latitude - south, north - latitude);
+        double bound = EARTH_RADIUS_KM * Math.toRadians(latitudeGap);
+        if (2 * radius - 1 < COLUMNS) {
+            double west = (column - radius + 1) * CELL_DEGREES - 180;
+            double east = (column + radius) * CELL_DEGREES - 180;
+            double longitudeGap = Math.min(180, Math.min(longitude - west, east - longitude));
+            double highestLatitude = Math.min(90, Math.max(Math.abs(south), Math.abs(north)));
+            // hav(d) >= cos(lat1) cos(lat2) hav(dLon), and cos(lat2) >= cos(highest latitude) within the box
+            double scale = Math.sqrt(Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(highestLatitude)));
+            double longitudeBound = 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1,
+                    scale * Math.sin(Math.toRadians(longitudeGap) / 2)));
+            bound = Math.min(bound, longitudeBound);
+        }
+        return bound;
+    }
+
+    private void visitRing(int row, int column, int radius, Consumer<RoaringBitmap> visitor) {
+        for (int dy = -radius; dy <= radius; dy++) {
+            int cellRow = row + dy;
+            if (cellRow < minRow || cellRow > maxRow) {
+                continue;
+            }
+            int step = Math.abs(dy) == radius ? 1 : Math.max(1, 2 * radius);
+            for (int dx = -radius; dx <= radius; dx += step) {
+                // Offsets of half the globe or more reach columns already covered from the other side
+                if (dx <= -COLUMNS / 2 || dx > COLUMNS / 2) {
+                    continue;
+                }
+                RoaringBitmap cell = cells.get(cellRow * COLUMNS + Math.floorMod(column + dx, COLUMNS));
+                if (cell != null) {
+                    visitor.accept(cell);
+                }
+            }
+        }
+    }
+
+    private void index(int id, double latitude, double longitude) {
+        checkCoordinates(latitude, longitude);
+        int row = row(latitude);
+        int column = column(longitude);
+        int cell = row * COLUMNS + column;
+        locations.put(id, new Location(latitude, longitude, cell));
+        cells.computeIfAbsent(cell, key -> new RoaringBitmap()).add(id);
+        minRow = Math.min(minRow, row);
+        maxRow = Math.max(maxRow, row);
+        minColumn = Math.min(minColumn, column);
+        maxColumn = Math.max(maxColumn, column);
+    }
+
+    private void unindex(int id) {
+        Location previous = locations.remove(id);
+        if (previous == null) {
+            return;
+        }
+        RoaringBitmap cell = cells.get(previous.cell());
+        cell.remove(id);
+        if (cell.isEmpty()) {
+            cells.remove(previous.cell());
+        }
+    }
+
+    private static void offer(PriorityQueue<Neighbour> best, Neighbour candidate, int k) {
+        if (best.size() < k) {
+            best.add(candidate);
+        } else if (FARTHEST_FIRST.compare(candidate, best.peek()) > 0) {
+            best.poll();
+            best.add(candidate);
+        }
+    }
+
+    private static List<Neighbour> sorted(PriorityQueue<Neighbour> best) {
+        List<Neighbour> neighbours = new ArrayList<>(best);
+        neighbours.sort(FARTHEST_FIRST.reversed());
+        return neighbours;
+    }
+
+    private static int row(double latitude) {
+        return Math.min(ROWS - 1, (int) Math.floor((latitude + 90) / CELL_DEGREES));
+    }
+
+    private static int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), COLUMNS);
+    }
+}
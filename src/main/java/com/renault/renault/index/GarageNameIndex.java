@@ -0,0 +1,243 @@
+package com.renault.renault.index;
+
+import com.renault.renault.repository.projection.GarageNameView;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram index over garage names for case-insensitive partial matching.
+ * <p>
+ * Names are lower-cased and padded with two leading spaces, so trigrams also encode the start of the name
+ * and of every word (" pa" for "Paris"). A query is split into trigrams whose postings are intersected to
+ * narrow the candidates, which are then verified against the stored name. Queries too short to produce a
+ * trigram are verified against every stored name, which stays in memory.
+ */
+@Component
+public class GarageNameIndex {
+
+    public enum MatchKind {
+        EXACT,
+        PREFIX,
+        WORD_PREFIX,
+        CONTAINS
+    }
+
+    public record Match(Long garageId, String name, MatchKind kind) {
+    }
+
+    private static final int GRAM = 3;
+    private static final String PADDING = "  ";
+
+    private static final Comparator<Match> RELEVANCE = Comparator
+            .comparing(Match::kind)
+            .thenComparingInt(match -> match.name().length())
+            .thenComparing(Match::garageId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Integer, String> names = new HashMap<>();
+    private Map<Integer, String> normalizedNames = new HashMap<>();
+    private Map<String, RoaringBitmap> postings = new HashMap<>();
+    private volatile boolean ready;
+
+    /**
+     * @return true once the index has been built from the database and can answer searches
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void put(Long garageId, String name) {
+        int id = GarageSearchIndex.toIndexId(garageId);
+        lock.writeLock().lock();
+        try {
+            String previous = normalizedNames.get(id);
+            if (previous != null) {
+                unindex(id, previous);
+            }
+            String normalized = normalize(name);
+            names.put(id, name);
+            normalizedNames.put(id, normalized);
+            index(postings, id, normalized);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long garageId) {
+        int id = GarageSearchIndex.toIndexId(garageId);
+        lock.writeLock().lock();
+        try {
+            String previous = normalizedNames.remove(id);
+            names.remove(id);
+            if (previous != null) {
+                unindex(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns every garage whose name contains the fragment, ignoring case.
+     * @param fragment the text to look for
+     * @return a bitmap of matching garage IDs
+     */
+    public RoaringBitmap matching(String fragment) {
+        String query = normalize(fragment);
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = new RoaringBitmap();
+            candidates(query).forEach((int id) -> {
+                if (normalizedNames.get(id).contains(query)) {
+                    matches.add(id);
+                }
+            });
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the garages whose name contains the fragment, most relevant first: exact matches, then names
+     * starting with the fragment, then names with a word starting with it, then any other match.
+     * Shorter names rank first within each group.
+     * @param fragment the text to look for
+     * @param limit the maximum number of matches to return
+     * @param prefixOnly whether to keep only name or word prefix matches, as autocompletion does
+     * @return the ranked matches
+     */
+    public List<Match> rank(String fragment, int limit, boolean prefixOnly) {
+        String query = normalize(fragment);
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap candidates = prefixOnly ? prefixCandidates(query) : candidates(query);
+            candidates.forEach((int id) -> {
+                MatchKind kind = classify(normalizedNames.get(id), query);
+                if (kind != null && (!prefixOnly || kind != MatchKind.CONTAINS)) {
+                    matches.add(new Match((long) id, names.get(id), kind));
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches.stream().sorted(RELEVANCE).limit(limit).toList();
+    }
+
+    /**
+     * Replaces the whole index content with the given names and marks the index as ready.
+     * @param garages every garage's ID and name
+     */
+    public void rebuild(Iterable<GarageNameView> garages) {
+        Map<Integer, String> rebuiltNames = new HashMap<>();
+        Map<Integer, String> rebuiltNormalized = new HashMap<>();
+        Map<String, RoaringBitmap> rebuiltPostings = new HashMap<>();
+        for (GarageNameView garage : garages) {
+            int id = GarageSearchIndex.toIndexId(garage.getId());
+            String normalized = normalize(garage.getName());
+            rebuiltNames.put(id, garage.getName());
+            rebuiltNormalized.put(id, normalized);
+            index(rebuiltPostings, id, normalized);
+        }
+        rebuiltPostings.values().forEach(RoaringBitmap::runOptimize);
+        lock.writeLock().lock();
+        try {
+            names = rebuiltNames;
+            normalizedNames = rebuiltNormalized;
+            postings = rebuiltPostings;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private RoaringBitmap candidates(String query) {
+        if (query.length() < GRAM) {
+            return allIds();
+        }
+        return intersect(trigrams(query));
+    }
+
+    private RoaringBitmap prefixCandidates(String query) {
+        if (query.isEmpty()) {
+            return allIds();
+        }
+        // " pa" is produced by every name or word starting with "pa"; a single character has no such trigram
+        String anchored = " " + query;
+        return anchored.length() < GRAM ? allIds() : intersect(trigrams(anchored));
+    }
+
+    private RoaringBitmap intersect(Set<String> grams) {
+        List<RoaringBitmap> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            RoaringBitmap posting = postings.get(gram);
+            if (posting == null) {
+                return new RoaringBitmap();
+            }
+            lists.add(posting);
+        }
+        return FastAggregation.and(lists.iterator());
+    }
+
+    private RoaringBitmap allIds() {
+        RoaringBitmap ids = new RoaringBitmap();
+        normalizedNames.keySet().forEach(ids::add);
+        return ids;
+    }
+
+    private static MatchKind classify(String name, String query) {
+        if (name.equals(query)) {
+            return MatchKind.EXACT;
+        }
+        if (name.startsWith(query)) {
+            return MatchKind.PREFIX;
+        }
+        if (name.contains(" " + query)) {
+            return MatchKind.WORD_PREFIX;
+        }
+        return name.contains(query) ? MatchKind.CONTAINS : null;
+    }
+
+    private void unindex(int id, String normalized) {
+        for (String gram : trigrams(PADDING + normalized)) {
+            RoaringBitmap posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static void index(Map<String, RoaringBitmap> target, int id, String normalized) {
+        for (String gram : trigrams(PADDING + normalized)) {
+            target.computeIfAbsent(gram, key -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    static String normalize(String text) {
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,168 @@
+package com.renault.renault.index;
+
+import com.renault.renault.dto.common.OpeningTimeDTO;
+import com.renault.renault.repository.projection.OpeningTimeView;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.renault.renault.dto.common.OpeningHoursQuery.MINUTES_PER_DAY;
+
+/**
+ * In-memory weekly schedule of every garage, compiled from its opening times into a bitmap of the minutes
+ * of the week it is open (bit 0 is Monday 00:00, bit 10,079 is Sunday 23:59). Bitmaps are run-compressed,
+ * so a typical schedule takes a few dozen bytes. "Open at" and "open during" queries test each garage's
+ * bitmap instead of loading opening time rows.
+ * <p>
+ * A period whose end is not after its start crosses midnight (22:00-06:00), and 00:00-00:00 is open all day.
+ * Intervals are allowed to wrap from Sunday night to Monday morning.
+ */
+@Component
+public class GarageScheduleIndex {
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Integer, RoaringBitmap> schedules = new HashMap<>();
+    private volatile boolean ready;
+
+    /**
+     * @return true once the index has been built from the database and can answer searches
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Replaces the schedule of a garage.
+     * @param garageId the garage
+     * @param openingTimes all its opening times
+     */
+    public void put(Long garageId, Collection<OpeningTimeDTO> openingTimes) {
+        RoaringBitmap schedule = new RoaringBitmap();
+        openingTimes.forEach(openingTime ->
+                addPeriod(schedule, openingTime.dayOfWeek(), openingTime.startTime(), openingTime.endTime()));
+        schedule.runOptimize();
+        int id = GarageSearchIndex.toIndexId(garageId);
+        lock.writeLock().lock();
+        try {
+            schedules.put(id, schedule);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the schedules of several garages at once.
+     * @param garageIds the garages
+     * @param openingTimes all their opening times; garages without any are never open
+     */
+    public void putAll(Collection<Long> garageIds, Iterable<OpeningTimeView> openingTimes) {
+        Map<Integer, RoaringBitmap> updated = new HashMap<>();
+        garageIds.forEach(garageId -> updated.put(GarageSearchIndex.toIndexId(garageId), new RoaringBitmap()));
+        for (OpeningTimeView openingTime : openingTimes) {
+            RoaringBitmap schedule = updated.get(GarageSearchIndex.toIndexId(openingTime.getGarageId()));
+            if (schedule != null) {
+                addPeriod(schedule, openingTime.getDayOfWeek(), openingTime.getStartTime(), openingTime.getEndTime());
+            }
+        }
+        updated.values().forEach(RoaringBitmap::runOptimize);
+        lock.writeLock().lock();
+        try {
+            schedules.putAll(updated);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long garageId) {
+        int id = GarageSearchIndex.toIndexId(garageId);
+        lock.writeLock().lock();
+        try {
+            schedules.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the garages open for the whole interval.
+     * @param day the day the interval starts on
+     * @param from the start of the interval
+     * @param minutes the length of the interval, between 1 and a full week
+     * @return a bitmap of the matching garage IDs
+     */
+    public RoaringBitmap openDuring(DayOfWeek day, LocalTime from, int minutes) {
+        if (minutes < 1 || minutes > MINUTES_PER_WEEK) {
+            throw new IllegalArgumentException("Interval must last between 1 minute and a week");
+        }
+        int start = minuteOfWeek(day, from);
+        int end = start + minutes;
+        RoaringBitmap matches = new RoaringBitmap();
+        lock.readLock().lock();
+        try {
+            schedules.forEach((id, schedule) -> {
+                if (covers(schedule, start, end)) {
+                    matches.add(id);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    /**
+     * Replaces the whole index content with the given opening times and marks the index as ready.
+     * @param openingTimes every garage's opening times; garages without any are never open
+     */
+    public void rebuild(Iterable<OpeningTimeView> openingTimes) {
+        Map<Integer, RoaringBitmap> rebuilt = new HashMap<>();
+        for (OpeningTimeView openingTime : openingTimes) {
+            RoaringBitmap schedule = rebuilt.computeIfAbsent(GarageSearchIndex.toIndexId(openingTime.getGarageId()),
+                    id -> new RoaringBitmap());
+            addPeriod(schedule, openingTime.getDayOfWeek(), openingTime.getStartTime(), openingTime.getEndTime());
+        }
+        rebuilt.values().forEach(RoaringBitmap::runOptimize);
+        lock.writeLock().lock();
+        try {
+            schedules = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean covers(RoaringBitmap schedule, int start, int end) {
+        if (end <= MINUTES_PER_WEEK) {
+            return schedule.contains((long) start, end);
+        }
+        return schedule.contains((long) start, MINUTES_PER_WEEK) && schedule.contains(0L, end - MINUTES_PER_WEEK);
+    }
+
+    private static void addPeriod(RoaringBitmap schedule, DayOfWeek day, LocalTime start, LocalTime end) {
+        int from = minuteOfWeek(day, start);
+        int minutes = Math.floorMod(minuteOfDay(end) - minuteOfDay(start), MINUTES_PER_DAY);
+        int to = from + (minutes == 0 ? MINUTES_PER_DAY : minutes);
+        if (to <= MINUTES_PER_WEEK) {
+            schedule.add((long) from, to);
+        } else {
+            schedule.add((long) from, MINUTES_PER_WEEK);
+            schedule.add(0L, to - MINUTES_PER_WEEK);
+        }
+    }
+
+    static int minuteOfWeek(DayOfWeek day, LocalTime time) {
+        return (day.getValue() - 1) * MINUTES_PER_DAY + minuteOfDay(time);
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
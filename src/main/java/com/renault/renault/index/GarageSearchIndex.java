@@ -0,0 +1,221 @@
+package com.renault.renault.index;
+
+import com.renault.renault.repository.projection.AccessoryTermView;
+import com.renault.renault.repository.projection.VehicleTermView;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index mapping vehicle models, fuel types and accessory names to the garages
+ * holding them. Each posting is a compressed bitmap of garage IDs, so combined criteria are resolved
+ * with bitmap AND/OR and the database is only queried to load the final page of garages.
+ * <p>
+ * Postings keep a reference count per garage: a garage stays under "Clio" until its last Clio is removed.
+ * Terms are matched exactly, like the equivalent database predicates.
+ */
+@Component
+public class GarageSearchIndex {
+
+    public enum Field {
+        MODEL,
+        FUEL_TYPE,
+        ACCESSORY
+    }
+
+    private record Term(Field field, String value) {
+    }
+
+    private static final class Posting {
+        private final RoaringBitmap garages = new RoaringBitmap();
+        private final Map<Integer, Integer> references = new HashMap<>();
+
+        void increment(int garageId) {
+            if (references.merge(garageId, 1, Integer::sum) == 1) {
+                garages.add(garageId);
+            }
+        }
+
+        void decrement(int garageId) {
+            Integer remaining = references.computeIfPresent(garageId, (id, count) -> count > 1 ? count - 1 : null);
+            if (remaining == null) {
+                garages.remove(garageId);
+            }
+        }
+
+        void removeGarage(int garageId) {
+            references.remove(garageId);
+            garages.remove(garageId);
+        }
+
+        boolean isEmpty() {
+            return references.isEmpty();
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Term, Posting> postings = new HashMap<>();
+    private volatile boolean ready;
+
+    /**
+     * @return true once the index has been built from the database and can answer searches
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the garages holding at least one vehicle or accessory with the given value.
+     * @param field the indexed field
+     * @param value the exact value to look up
+     * @return a copy of the posting bitmap, empty when the value is unknown
+     */
+    public RoaringBitmap garagesWith(Field field, String value) {
+        lock.readLock().lock();
+        try {
+            Posting posting = postings.get(new Term(field, value));
+            return posting == null ? new RoaringBitmap() : posting.garages.clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void addVehicle(Long garageId, String model, String fuelType, Collection<String> accessoryNames) {
+        int garage = toIndexId(garageId);
+        lock.writeLock().lock();
+        try {
+            increment(postings, new Term(Field.MODEL, model), garage);
+            increment(postings, new Term(Field.FUEL_TYPE, fuelType), garage);
+            accessoryNames.forEach(name -> increment(postings, new Term(Field.ACCESSORY, name), garage));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateVehicle(Long garageId, String oldModel, String oldFuelType, String newModel, String newFuelType) {
+        int garage = toIndexId(garageId);
+        lock.writeLock().lock();
+        try {
+            replace(Field.MODEL, oldModel, newModel, garage);
+            replace(Field.FUEL_TYPE, oldFuelType, newFuelType, garage);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeVehicle(Long garageId, String model, String fuelType, Collection<String> accessoryNames) {
+        int garage = toIndexId(garageId);
+        lock.writeLock().lock();
+        try {
+            decrement(new Term(Field.MODEL, model), garage);
+            decrement(new Term(Field.FUEL_TYPE, fuelType), garage);
+            accessoryNames.forEach(name -> decrement(new Term(Field.ACCESSORY, name), garage));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addAccessory(Long garageId, String name) {
+        int garage = toIndexId(garageId);
+        lock.writeLock().lock();
+        try {
+            increment(postings, new Term(Field.ACCESSORY, name), garage);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void renameAccessory(Long garageId, String oldName, String newName) {
+        int garage = toIndexId(garageId);
+        lock.writeLock().lock();
+        try {
+            replace(Field.ACCESSORY, oldName, newName, garage);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeAccessory(Long garageId, String name) {
+        int garage = toIndexId(garageId);
+        lock.writeLock().lock();
+        try {
+            decrement(new Term(Field.ACCESSORY, name), garage);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeGarage(Long garageId) {
+        int garage = toIndexId(garageId);
+        lock.writeLock().lock();
+        try {
+            Iterator<Posting> iterator = postings.values().iterator();
+            while (iterator.hasNext()) {
+                Posting posting = iterator.next();
+                posting.removeGarage(garage);
+                if (posting.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index content with the given terms and marks the index as ready.
+     * @param vehicles every vehicle's garage, model and fuel type
+     * @param accessories every accessory's garage and name
+     */
+    public void rebuild(Iterable<VehicleTermView> vehicles, Iterable<AccessoryTermView> accessories) {
+        Map<Term, Posting> rebuilt = new HashMap<>();
+        for (VehicleTermView vehicle : vehicles) {
+            int garage = toIndexId(vehicle.getGarageId());
+            increment(rebuilt, new Term(Field.MODEL, vehicle.getModel()), garage);
+            increment(rebuilt, new Term(Field.FUEL_TYPE, vehicle.getFuelType()), garage);
+        }
+        for (AccessoryTermView accessory : accessories) {
+            increment(rebuilt, new Term(Field.ACCESSORY, accessory.getName()), toIndexId(accessory.getGarageId()));
+        }
+        lock.writeLock().lock();
+        try {
+            postings = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replace(Field field, String oldValue, String newValue, int garage) {
+        if (Objects.equals(oldValue, newValue)) {
+            return;
+        }
+        decrement(new Term(field, oldValue), garage);
+        increment(postings, new Term(field, newValue), garage);
+    }
+
+    private static void increment(Map<Term, Posting> target, Term term, int garage) {
+        target.computeIfAbsent(term, key -> new Posting()).increment(garage);
+    }
+
+    private void decrement(Term term, int garage) {
+        Posting posting = postings.get(term);
+        if (posting != null) {
+            posting.decrement(garage);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    static int toIndexId(Long garageId) {
+        return Math.toIntExact(garageId);
+    }
+}
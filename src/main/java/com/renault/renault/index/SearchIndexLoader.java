@@ -0,0 +1,109 @@
+package com.renault.renault.index;
+
+import com.renault.renault.repository.AccessoryRepository;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.repository.VehicleRepository;
+import com.renault.renault.repository.projection.AccessoryTermView;
+import com.renault.renault.repository.projection.GarageLocationView;
+import com.renault.renault.repository.projection.GarageNameView;
+import com.renault.renault.repository.projection.OpeningTimeView;
+import com.renault.renault.repository.projection.VehicleTermView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Builds the in-memory search indexes from the database during startup, before the web server accepts requests:
+ * an index marked ready while requests are already writing could miss their changes. Until an index is built,
+ * searches fall back to database queries.
+ * <p>
+ * The scans run in a read-write transaction so that they read the primary rather than a possibly lagging replica.
+ */
+@Component
+@Slf4j
+public class SearchIndexLoader implements SmartLifecycle {
+    /**
+     * Well below the phase in which the embedded web server starts ({@code Integer.MAX_VALUE - 2048}).
+     */
+    public static final int PHASE = 0;
+
+    private final GarageRepository garageRepository;
+    private final VehicleRepository vehicleRepository;
+    private final AccessoryRepository accessoryRepository;
+    private final GarageSearchIndex garageSearchIndex;
+    private final GarageNameIndex garageNameIndex;
+    private final GarageScheduleIndex garageScheduleIndex;
+    private final GarageLocationIndex garageLocationIndex;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean running;
+
+    public SearchIndexLoader(GarageRepository garageRepository, VehicleRepository vehicleRepository,
+                             AccessoryRepository accessoryRepository, GarageSearchIndex garageSearchIndex,
+                             GarageNameIndex garageNameIndex, GarageScheduleIndex garageScheduleIndex,
+                             GarageLocationIndex garageLocationIndex, PlatformTransactionManager transactionManager) {
+        this.garageRepository = garageRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.accessoryRepository = accessoryRepository;
+        this.garageSearchIndex = garageSearchIndex;
+        this.garageNameIndex = garageNameIndex;
+        this.garageScheduleIndex = garageScheduleIndex;
+        this.garageLocationIndex = garageLocationIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void start() {
+        loadIndexes();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    public void loadIndexes() {
+        transactionTemplate.executeWithoutResult(status -> buildIndexes());
+    }
+
+    private void buildIndexes() {
+        long start = System.nanoTime();
+        try (Stream<GarageNameView> garages = garageRepository.streamAllNames()) {
+            garageNameIndex.rebuild(garages::iterator);
+        }
+        log.info("Garage name index built in {} ms", (System.nanoTime() - start) / 1_000_000);
+
+        start = System.nanoTime();
+        try (Stream<VehicleTermView> vehicles = vehicleRepository.streamAllTerms();
+             Stream<AccessoryTermView> accessories = accessoryRepository.streamAllTerms()) {
+            garageSearchIndex.rebuild(vehicles::iterator, accessories::iterator);
+        }
+        log.info("Garage search index built in {} ms", (System.nanoTime() - start) / 1_000_000);
+
+        start = System.nanoTime();
+        try (Stream<OpeningTimeView> openingTimes = garageRepository.streamAllOpeningTimes()) {
+            garageScheduleIndex.rebuild(openingTimes::iterator);
+        }
+        log.info("Garage schedule index built in {} ms", (System.nanoTime() - start) / 1_000_000);
+
+        start = System.nanoTime();
+        try (Stream<GarageLocationView> locations = garageRepository.streamAllLocations()) {
+            garageLocationIndex.rebuild(locations::iterator);
+        }
+        log.info("Garage location index built in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+}
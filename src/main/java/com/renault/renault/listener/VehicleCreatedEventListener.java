@@ -1,27 +1,31 @@
 package com.renault.renault.listener;
 
 import com.renault.renault.event.VehicleCreatedEvent;
+import com.renault.renault.event.VehicleEventBatchListener;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 
 @Component
 @Slf4j
-public class VehicleCreatedEventListener {
-
-
-    @EventListener
-    public void onVehicleCreated(VehicleCreatedEvent event) {
-        log.info("Vehicle created event received");
-        log.info("Vehicle Details - Brand: {}, Model: {}, Fuel Type: {}, Manufacturing Year: {}, Garage ID: {}",
-                event.getVehicleDTO().brand(),
-                event.getVehicleDTO().model(),
-                event.getVehicleDTO().fuelType(),
-                event.getVehicleDTO().manufacturingYear(),
-                event.getVehicleDTO().garageId());
-        
-        processVehicleCreationEvent(event);
+public class VehicleCreatedEventListener implements VehicleEventBatchListener {
+
+
+    @Override
+    public void onVehiclesCreated(List<VehicleCreatedEvent> events) {
+        log.info("Vehicle created events received: {}", events.size());
+        for (VehicleCreatedEvent event : events) {
+            log.debug("Vehicle Details - Brand: {}, Model: {}, Fuel Type: {}, Manufacturing Year: {}, Garage ID: {}",
+                    event.getVehicleDTO().brand(),
+                    event.getVehicleDTO().model(),
+                    event.getVehicleDTO().fuelType(),
+                    event.getVehicleDTO().manufacturingYear(),
+                    event.getVehicleDTO().garageId());
+
+            processVehicleCreationEvent(event);
+        }
     }
 
 
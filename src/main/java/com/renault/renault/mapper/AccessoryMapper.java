@@ -4,9 +4,11 @@ package com.renault.renault.mapper;
 import com.renault.renault.dto.accessory.AccessoryDTO;
 import com.renault.renault.entity.Accessory;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface AccessoryMapper {
     AccessoryDTO toDto(Accessory accessory);
+    @Mapping(target = "version", ignore = true)
     Accessory toEntity(AccessoryDTO accessoryDTO);
 }
@@ -4,10 +4,13 @@ package com.renault.renault.mapper;
 import com.renault.renault.dto.garage.GarageDTO;
 import com.renault.renault.entity.Garage;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper(componentModel = "spring")
 public interface GarageMapper {
     GarageDTO toDto(Garage garage);
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "decommissioning", ignore = true)
     Garage toEntity(GarageDTO garageDTO);
 }
@@ -3,10 +3,12 @@ package com.renault.renault.mapper;
 import com.renault.renault.dto.vehicle.VehicleDTO;
 import com.renault.renault.entity.Vehicle;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = AccessoryMapper.class)
 public interface VehicleMapper {
     VehicleDTO toDto(Vehicle vehicle);
+    @Mapping(target = "version", ignore = true)
     Vehicle toEntity(VehicleDTO vehicleDTO);
 }
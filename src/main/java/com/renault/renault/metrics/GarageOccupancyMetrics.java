@@ -0,0 +1,54 @@
+package com.renault.renault.metrics;
+
+import com.renault.renault.entity.Garage;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.repository.projection.GarageOccupancyView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes the occupancy of every garage ({@code garage.occupancy}, vehicles over {@link Garage#MAX_VEHICLES},
+ * tagged with the garage ID) and the number of full garages. Values are refreshed from a single projection query
+ * every {@code app.metrics.occupancy-refresh-millis}, so scrapes never hit the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class GarageOccupancyMetrics implements MeterBinder {
+    private final GarageRepository garageRepository;
+    private final AtomicInteger fullGarages = new AtomicInteger();
+    private volatile MultiGauge occupancy;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        occupancy = MultiGauge.builder("garage.occupancy")
+                .description("Share of the garage vehicle slots in use")
+                .register(registry);
+        Gauge.builder("garage.full", fullGarages, AtomicInteger::get)
+                .description("Number of garages holding the maximum number of vehicles")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.metrics.occupancy-refresh-millis:30000}")
+    public void refresh() {
+        MultiGauge gauge = occupancy;
+        if (gauge == null) {
+            return;
+        }
+        List<GarageOccupancyView> garages = garageRepository.findAllOccupancy();
+        gauge.register(garages.stream()
+                .map(garage -> MultiGauge.Row.of(Tags.of("garage", garage.getId().toString()),
+                        (double) garage.getVehicleCount() / Garage.MAX_VEHICLES))
+                .collect(Collectors.toList()), true);
+        fullGarages.set((int) garages.stream().filter(garage -> garage.getVehicleCount() >= Garage.MAX_VEHICLES).count());
+    }
+}
@@ -0,0 +1,37 @@
+package com.renault.renault.metrics;
+
+import com.renault.renault.event.VehicleEventDispatcher;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the vehicle event queue statistics as meters: queue depth and delivery lag as gauges, enqueued,
+ * processed and dropped events as counters.
+ */
+@Component
+@RequiredArgsConstructor
+public class VehicleEventMetrics implements MeterBinder {
+    private final VehicleEventDispatcher dispatcher;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("vehicle.events.queue.depth", dispatcher, d -> d.getStats().queueDepth())
+                .description("Vehicle events waiting to be delivered")
+                .register(registry);
+        Gauge.builder("vehicle.events.lag", dispatcher, d -> d.getStats().lastLagMillis())
+                .description("Time between the commit and the delivery of the last delivered batch")
+                .baseUnit("milliseconds")
+                .register(registry);
+        FunctionCounter.builder("vehicle.events.enqueued", dispatcher, d -> d.getStats().enqueued())
+                .register(registry);
+        FunctionCounter.builder("vehicle.events.processed", dispatcher, d -> d.getStats().processed())
+                .register(registry);
+        FunctionCounter.builder("vehicle.events.dropped", dispatcher, d -> d.getStats().dropped())
+                .description("Vehicle events dropped because the queue was full")
+                .register(registry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.renault.renault.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Delivers outbox events to in-process listeners by publishing each batch as an {@link OutboxEventBatch}
+ * application event. Always registered, so the outbox is drained even when no external sink is configured.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationEventOutboxEventHandler implements OutboxEventHandler {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void handle(List<OutboxMessage> messages) {
+        applicationEventPublisher.publishEvent(new OutboxEventBatch(messages));
+    }
+}
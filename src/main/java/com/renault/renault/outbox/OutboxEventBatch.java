@@ -0,0 +1,12 @@
+package com.renault.renault.outbox;
+
+import java.util.List;
+
+/**
+ * A batch of outbox events published to in-process {@code @EventListener}s by
+ * {@link ApplicationEventOutboxEventHandler}. Listeners run on the relay thread; one that throws fails the batch,
+ * which is then delivered again to every handler and listener.
+ *
+ * @param messages the events, in ascending ID order
+ */
+public record OutboxEventBatch(List<OutboxMessage> messages) {}
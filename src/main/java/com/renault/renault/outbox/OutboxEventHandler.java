@@ -0,0 +1,12 @@
+package com.renault.renault.outbox;
+
+import java.util.List;
+
+/**
+ * Receives batches of outbox events from the {@link OutboxRelay}. Delivery is at least once and unordered: a batch
+ * is redelivered if a handler throws, outlives the claim timeout or the relay stops before deleting it, so
+ * handlers must be idempotent, deduplicating by {@link OutboxMessage#id()}.
+ */
+public interface OutboxEventHandler {
+    void handle(List<OutboxMessage> messages);
+}
@@ -0,0 +1,24 @@
+package com.renault.renault.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.renault.renault.entity.OutboxEventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox event as handed to {@link OutboxEventHandler}s. Delivery is at least once and unordered.
+ *
+ * @param id          outbox row ID, unique per event; handlers deduplicate redelivered events by it. IDs come
+ *                    from a pooled sequence, so they follow neither commit nor creation order
+ * @param eventType   what happened
+ * @param aggregateId ID of the garage, vehicle or accessory concerned
+ * @param payload     JSON representation of the aggregate after the change (only its ID for deletions)
+ * @param createdAt   when the change was made
+ */
+public record OutboxMessage(
+        Long id,
+        OutboxEventType eventType,
+        Long aggregateId,
+        @JsonRawValue String payload,
+        LocalDateTime createdAt
+) {}
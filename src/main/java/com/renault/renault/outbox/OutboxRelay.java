@@ -0,0 +1,99 @@
+package com.renault.renault.outbox;
+
+import com.renault.renault.config.OutboxProperties;
+import com.renault.renault.entity.OutboxEvent;
+import com.renault.renault.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Polls the outbox and delivers pending events in batches to every {@link OutboxEventHandler}. Each batch is
+ * claimed in a short transaction, delivered outside any transaction, then deleted in bulk, so write endpoints
+ * never wait on delivery. Claims are conditional updates, so several instances can drain the outbox in parallel,
+ * each claiming different events. A batch whose delivery fails, or takes longer than {@code claim-timeout}, is
+ * claimed and delivered again once its claim expires: delivery is at least once, in no guaranteed order across
+ * batches or instances, and handlers deduplicate by {@link OutboxMessage#id()}. In-process listeners receive the
+ * events through {@link ApplicationEventOutboxEventHandler}; without any handler nothing is claimed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxEventHandler> handlers;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean warnedNoHandler;
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-millis:200}")
+    public void poll() {
+        if (properties.relayEnabled()) {
+            relayPending();
+        }
+    }
+
+    /**
+     * Delivers pending events until the outbox is drained or {@code maxBatchesPerRun} batches were delivered.
+     * @return the number of events delivered
+     */
+    public int relayPending() {
+        if (handlers.isEmpty()) {
+            if (!warnedNoHandler) {
+                warnedNoHandler = true;
+                log.warn("No outbox event handler is registered, events are kept in the outbox until one is");
+            }
+            return 0;
+        }
+        int delivered = 0;
+        for (int batch = 0; batch < properties.maxBatchesPerRun(); batch++) {
+            int count = relayBatch();
+            delivered += count;
+            if (count < properties.batchSize()) {
+                break;
+            }
+        }
+        return delivered;
+    }
+
+    private int relayBatch() {
+        String token = UUID.randomUUID().toString();
+        List<OutboxMessage> messages = transactionTemplate.execute(status -> claim(token));
+        if (messages == null || messages.isEmpty()) {
+            return 0;
+        }
+        try {
+            handlers.forEach(handler -> handler.handle(messages));
+        } catch (RuntimeException e) {
+            log.warn("Outbox delivery of {} events failed, they will be retried after {}",
+                    messages.size(), properties.claimTimeout(), e);
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteByClaimToken(token));
+        return messages.size();
+    }
+
+    List<OutboxMessage> claim(String token) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = outboxEventRepository.findClaimableIds(now, Limit.of(properties.batchSize()));
+        if (ids.isEmpty() || outboxEventRepository.claim(ids, token, now, now.plus(properties.claimTimeout())) == 0) {
+            return List.of();
+        }
+        return outboxEventRepository.findByClaimTokenOrderByIdAsc(token).stream()
+                .map(OutboxRelay::toMessage)
+                .collect(Collectors.toList());
+    }
+
+    private static OutboxMessage toMessage(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getEventType(), event.getAggregateId(), event.getPayload(),
+                event.getCreatedAt());
+    }
+}
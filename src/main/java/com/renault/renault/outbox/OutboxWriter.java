@@ -0,0 +1,50 @@
+package com.renault.renault.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.renault.renault.entity.OutboxEvent;
+import com.renault.renault.entity.OutboxEventType;
+import com.renault.renault.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Records outbox events. Must be called inside the transaction making the change, so the event is committed
+ * or rolled back together with it.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxWriter {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param eventType   what happened
+     * @param aggregateId ID of the changed garage, vehicle or accessory
+     * @param payload     representation of the aggregate after the change, serialized to JSON
+     */
+    public void append(OutboxEventType eventType, Long aggregateId, Object payload) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(eventType)
+                .aggregateId(aggregateId)
+                .payload(toJson(payload))
+                .build());
+    }
+
+    public void appendDeletion(OutboxEventType eventType, Long aggregateId) {
+        append(eventType, aggregateId, Map.of("id", aggregateId));
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.renault.renault.outbox;
+
+import com.renault.renault.config.OutboxProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * Forwards outbox events to {@code app.outbox.webhook-url} as a JSON array, one request per batch.
+ * A non-2xx response fails the batch so it is retried.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "webhook-url")
+public class WebhookOutboxEventHandler implements OutboxEventHandler {
+    private final RestClient restClient;
+
+    public WebhookOutboxEventHandler(RestClient.Builder restClientBuilder, OutboxProperties properties) {
+        this.restClient = restClientBuilder.baseUrl(properties.webhookUrl()).build();
+    }
+
+    @Override
+    public void handle(List<OutboxMessage> messages) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(messages)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -1,12 +1,74 @@
 package com.renault.renault.repository;
 
 import com.renault.renault.entity.Accessory;
+import com.renault.renault.repository.projection.AccessoryPriceView;
+import com.renault.renault.repository.projection.AccessoryTermView;
+import com.renault.renault.repository.projection.VersionView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AccessoryRepository extends JpaRepository<Accessory, Long> {
-    List<Accessory> findByVehicle_Id(Long vehicleId);
+    // Reads join up to the garage explicitly so that the accessories of garages being decommissioned are skipped;
+    // Hibernate drops joins nothing refers to, hence the explicit condition on g where no other clause uses it
+
+    @Query("select a from Accessory a join a.vehicle v join v.garage g " +
+            "where v.id = :vehicleId and g.decommissioning = false")
+    List<Accessory> findByVehicle_Id(@Param("vehicleId") Long vehicleId);
+
+    /**
+     * Loads an accessory with its vehicle and garage for writes, which must not touch garages being decommissioned.
+     */
+    @Query("select a from Accessory a join fetch a.vehicle v join fetch v.garage g where a.id = :id")
+    Optional<Accessory> findWithGarageById(@Param("id") Long id);
+
+    @Query("select a.id as id, a.version as version from Accessory a join a.vehicle v join v.garage g " +
+            "where g.id = :garageId order by a.id")
+    List<VersionView> findVersionsByGarageId(@Param("garageId") Long garageId);
+
+    @Query("select a from Accessory a join a.vehicle v join v.garage g " +
+            "where v.id = :vehicleId and g.decommissioning = false and a.id > :afterId order by a.id")
+    List<Accessory> findByVehicle_IdAndIdGreaterThanOrderByIdAsc(@Param("vehicleId") Long vehicleId,
+                                                                @Param("afterId") Long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("select a from Accessory a join a.vehicle v join v.garage g " +
+            "where v.id = :vehicleId and g.decommissioning = false order by a.id")
+    Stream<Accessory> streamByVehicle_IdOrderByIdAsc(@Param("vehicleId") Long vehicleId);
+
+    @Query("select g.id as garageId, a.name as name from Accessory a join a.vehicle v join v.garage g")
+    Stream<AccessoryTermView> streamAllTerms();
+
+    @Query("select g.id as garageId, a.type as type, a.price as price from Accessory a join a.vehicle v join v.garage g")
+    Stream<AccessoryPriceView> streamAllPrices();
+
+    /**
+     * Deletes the accessories of every vehicle of a garage in one statement.
+     *
+     * @return the number of accessories deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Accessory a where a.vehicle.id in (select v.id from Vehicle v where v.garage.id = :garageId)")
+    int deleteAllByGarageId(@Param("garageId") Long garageId);
+
+    /**
+     * Deletes the accessories of the given vehicles in one statement.
+     *
+     * @return the number of accessories deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Accessory a where a.vehicle.id in :vehicleIds")
+    int deleteAllByVehicleIdIn(@Param("vehicleIds") Collection<Long> vehicleIds);
 }
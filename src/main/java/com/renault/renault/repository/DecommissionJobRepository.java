@@ -0,0 +1,28 @@
+package com.renault.renault.repository;
+
+import com.renault.renault.entity.DecommissionJob;
+import com.renault.renault.entity.DecommissionJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DecommissionJobRepository extends JpaRepository<DecommissionJob, Long> {
+
+    /**
+     * @return the IDs of the jobs in the given statuses that are not waiting for a retry delay
+     */
+    @Query("""
+            select j.id from DecommissionJob j
+            where j.status in :statuses and (j.nextAttemptAt is null or j.nextAttemptAt <= :now)
+            order by j.id""")
+    List<Long> findDueIdsByStatusIn(@Param("statuses") Collection<DecommissionJobStatus> statuses,
+                                    @Param("now") LocalDateTime now);
+
+    boolean existsByStatusIn(Collection<DecommissionJobStatus> statuses);
+}
@@ -1,18 +1,167 @@
 package com.renault.renault.repository;
 
 import com.renault.renault.entity.Garage;
+import com.renault.renault.repository.projection.GarageLocationView;
+import com.renault.renault.repository.projection.GarageNameView;
+import com.renault.renault.repository.projection.GarageOccupancyView;
+import com.renault.renault.repository.projection.OpeningTimeView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface GarageRepository extends JpaRepository<Garage, Long> {
+public interface GarageRepository extends JpaRepository<Garage, Long>, JpaSpecificationExecutor<Garage> {
     Page<Garage> findAll(Pageable pageable);
-    List<Garage> findByNameContainingIgnoreCase(String name);
-    List<Garage> findByVehicles_Model(String model);
-    List<Garage> findByVehicles_FuelType(String fuelType);
-    List<Garage> findByVehicles_Accessories_Name(String accessoryName);
+
+    @EntityGraph(Garage.WITH_OPENING_TIMES)
+    Optional<Garage> findWithOpeningTimesById(Long id);
+
+    @EntityGraph(Garage.WITH_OPENING_TIMES)
+    List<Garage> findWithOpeningTimesByIdIn(Collection<Long> ids);
+
+    @Query("select g.id as id, g.name as name from Garage g")
+    Stream<GarageNameView> streamAllNames();
+
+    @Query("select g.id as garageId, o.dayOfWeek as dayOfWeek, o.startTime as startTime, o.endTime as endTime " +
+            "from OpeningTime o join o.garage g")
+    Stream<OpeningTimeView> streamAllOpeningTimes();
+
+    @Query("select g.id as id, g.latitude as latitude, g.longitude as longitude from Garage g " +
+            "where g.latitude is not null and g.longitude is not null")
+    Stream<GarageLocationView> streamAllLocations();
+
+    @Query("select g.id as garageId, o.dayOfWeek as dayOfWeek, o.startTime as startTime, o.endTime as endTime " +
+            "from OpeningTime o join o.garage g where g.id in :ids")
+    List<OpeningTimeView> findOpeningTimesByGarageIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select g.id from Garage g where g.id in :ids order by g.id")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Located garages matching the nearest-garage filters, for searches made before the spatial index is built.
+     */
+    @Query("select g.id as id, g.latitude as latitude, g.longitude as longitude from Garage g " +
+            "where g.latitude is not null and g.longitude is not null " +
+            "and (:withCapacity = false or g.vehicleCount < :maxVehicles) " +
+            "and (:fuelType is null or exists (select v.id from Vehicle v where v.garage = g and v.fuelType = :fuelType))")
+    List<GarageLocationView> findLocations(@Param("withCapacity") boolean withCapacity,
+                                           @Param("maxVehicles") int maxVehicles,
+                                           @Param("fuelType") String fuelType);
+
+    @Query("select g.id from Garage g where g.vehicleCount >= :maxVehicles")
+    List<Long> findFullGarageIds(@Param("maxVehicles") int maxVehicles);
+
+    /**
+     * Deletes the opening times of a garage in one statement.
+     *
+     * @return the number of opening times deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from OpeningTime o where o.garage.id = :garageId")
+    int deleteOpeningTimesByGarageId(@Param("garageId") Long garageId);
+
+    /**
+     * Deletes a garage row; its opening times and vehicles must have been deleted first.
+     *
+     * @return 1 if the garage was deleted, 0 if it does not exist
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Garage g where g.id = :id")
+    int deleteRowById(@Param("id") Long id);
+
+    /**
+     * Deletes the opening times of the given garages on one day of the week, in one statement.
+     *
+     * @return the number of opening times deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from OpeningTime o where o.dayOfWeek = :day and o.garage.id in :ids")
+    int deleteOpeningTimesByDay(@Param("ids") Collection<Long> garageIds, @Param("day") DayOfWeek day);
+
+    /**
+     * Adds the same opening time to each of the given garages, in one statement.
+     *
+     * @return the number of opening times inserted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("insert into OpeningTime (garage, dayOfWeek, startTime, endTime) " +
+            "select g, :day, :startTime, :endTime from Garage g where g.id in :ids")
+    int insertOpeningTimes(@Param("ids") Collection<Long> garageIds, @Param("day") DayOfWeek day,
+                           @Param("startTime") LocalTime startTime, @Param("endTime") LocalTime endTime);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Garage g set g.version = g.version + 1 where g.id in :ids")
+    int incrementVersions(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Hides a garage from every read until its decommissioning job deletes it.
+     *
+     * @return 1 if the garage was hidden, 0 if it does not exist or is already being decommissioned
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Garage g set g.decommissioning = true, g.version = g.version + 1 where g.id = :id")
+    int markDecommissioning(@Param("id") Long id);
+
+    /**
+     * Deletes the row of a garage being decommissioned. Native, because the entity restriction hides that row
+     * from JPQL statements.
+     *
+     * @return 1 if the garage was deleted, 0 if it was already gone
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "delete from garages where id = :id and decommissioning = true", nativeQuery = true)
+    int deleteDecommissionedById(@Param("id") Long id);
+
+    /**
+     * Atomically takes one vehicle slot in a garage: the counter is only incremented while it is below
+     * {@code maxVehicles}, so concurrent callers can never push it over the limit.
+     *
+     * @return 1 if a slot was reserved, 0 if the garage does not exist or is full
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Garage g set g.vehicleCount = g.vehicleCount + 1, g.version = g.version + 1 " +
+            "where g.id = :id and g.vehicleCount < :maxVehicles")
+    int reserveVehicleSlot(@Param("id") Long id, @Param("maxVehicles") int maxVehicles);
+
+    /**
+     * Atomically gives back one vehicle slot in a garage, never going below zero.
+     *
+     * @return 1 if a slot was released, 0 otherwise
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Garage g set g.vehicleCount = g.vehicleCount - 1, g.version = g.version + 1 " +
+            "where g.id = :id and g.vehicleCount > 0")
+    int releaseVehicleSlot(@Param("id") Long id);
+
+    /**
+     * Atomically takes {@code count} vehicle slots at once, only if they all fit under {@code maxVehicles}.
+     *
+     * @return 1 if the slots were reserved, 0 if the garage does not exist or has fewer free slots
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Garage g set g.vehicleCount = g.vehicleCount + :count, g.version = g.version + 1 " +
+            "where g.id = :id and g.vehicleCount <= :maxVehicles - :count")
+    int reserveVehicleSlots(@Param("id") Long id, @Param("count") int count, @Param("maxVehicles") int maxVehicles);
+
+    @Query("select g.id as id, g.vehicleCount as vehicleCount from Garage g")
+    List<GarageOccupancyView> findAllOccupancy();
+
+    @Query("select g.version from Garage g where g.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select g.vehicleCount from Garage g where g.id = :id")
+    Optional<Integer> findVehicleCountById(@Param("id") Long id);
 }
@@ -0,0 +1,47 @@
+package com.renault.renault.repository;
+
+import com.renault.renault.entity.Garage;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Garage attributes allowed as sort keys. Each one is backed by a composite (field, id) index,
+ * so both offset and keyset pagination can be served from an index scan.
+ */
+public enum GarageSortField {
+    ID("id", garage -> String.valueOf(garage.getId())),
+    NAME("name", Garage::getName),
+    ADDRESS("address", Garage::getAddress),
+    EMAIL("email", Garage::getEmail);
+
+    private final String property;
+    private final Function<Garage, String> accessor;
+
+    GarageSortField(String property, Function<Garage, String> accessor) {
+        this.property = property;
+        this.accessor = accessor;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public String valueOf(Garage garage) {
+        return accessor.apply(garage);
+    }
+
+    /**
+     * Resolves a sort field from its property name.
+     * @param property the entity property name, e.g. "name"
+     * @return the matching sort field
+     * @throws IllegalArgumentException if the property is not sortable
+     */
+    public static GarageSortField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sort field: " + property
+                        + ". Allowed values: " + Arrays.stream(values()).map(GarageSortField::property).toList()));
+    }
+}
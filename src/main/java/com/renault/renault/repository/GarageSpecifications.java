@@ -0,0 +1,132 @@
+package com.renault.renault.repository;
+
+import com.renault.renault.dto.common.GarageSearchCriteria;
+import com.renault.renault.dto.common.OpeningHoursQuery;
+import com.renault.renault.dto.common.SearchMode;
+import com.renault.renault.entity.Accessory;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.OpeningTime;
+import com.renault.renault.entity.Vehicle;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Specifications used to search garages in a single SQL statement.
+ * Vehicle and accessory criteria are expressed as correlated EXISTS subqueries
+ * so that the garage rows are never multiplied by joins and can be paginated safely.
+ */
+public final class GarageSpecifications {
+
+    private GarageSpecifications() {
+    }
+
+    /**
+     * Builds the specification matching the given criteria, combined according to {@link GarageSearchCriteria#mode()}.
+     * @param criteria the search criteria, at least one field must be set
+     * @return a specification producing one predicate per provided criterion
+     */
+    public static Specification<Garage> matching(GarageSearchCriteria criteria) {
+        List<Specification<Garage>> parts = new ArrayList<>();
+        if (criteria.name() != null) {
+            parts.add(nameContains(criteria.name()));
+        }
+        if (criteria.model() != null) {
+            parts.add(hasVehicleModel(criteria.model()));
+        }
+        if (criteria.fuelType() != null) {
+            parts.add(hasVehicleFuelType(criteria.fuelType()));
+        }
+        if (criteria.accessory() != null) {
+            parts.add(hasAccessory(criteria.accessory()));
+        }
+        return criteria.mode() == SearchMode.AND ? Specification.allOf(parts) : Specification.anyOf(parts);
+    }
+
+    /**
+     * Matches garages with an opening period covering the whole interval. Only used until the schedule index
+     * is built: an interval spanning two adjacent periods, or crossing midnight, does not match.
+     */
+    public static Specification<Garage> openDuring(OpeningHoursQuery openingHours) {
+        return (root, query, cb) -> {
+            if (!openingHours.to().isAfter(openingHours.from())) {
+                return cb.disjunction();
+            }
+            Subquery<Long> periods = query.subquery(Long.class);
+            Root<OpeningTime> period = periods.from(OpeningTime.class);
+            periods.select(period.get("id"))
+                    .where(cb.equal(period.get("garage"), root),
+                            cb.equal(period.get("dayOfWeek"), openingHours.day()),
+                            cb.lessThanOrEqualTo(period.get("startTime"), openingHours.from()),
+                            cb.greaterThanOrEqualTo(period.get("endTime"), openingHours.to()));
+            return cb.exists(periods);
+        };
+    }
+
+    /**
+     * Case-insensitive substring match; {@code %} and {@code _} in the name are matched literally.
+     */
+    public static Specification<Garage> nameContains(String name) {
+        String escaped = name.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        String pattern = "%" + escaped + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern, '\\');
+    }
+
+    public static Specification<Garage> hasVehicleModel(String model) {
+        return (root, query, cb) -> {
+            Subquery<Long> vehicles = query.subquery(Long.class);
+            Root<Vehicle> vehicle = vehicles.from(Vehicle.class);
+            vehicles.select(vehicle.get("id"))
+                    .where(cb.equal(vehicle.get("garage"), root), cb.equal(vehicle.get("model"), model));
+            return cb.exists(vehicles);
+        };
+    }
+
+    public static Specification<Garage> hasVehicleFuelType(String fuelType) {
+        return (root, query, cb) -> {
+            Subquery<Long> vehicles = query.subquery(Long.class);
+            Root<Vehicle> vehicle = vehicles.from(Vehicle.class);
+            vehicles.select(vehicle.get("id"))
+                    .where(cb.equal(vehicle.get("garage"), root), cb.equal(vehicle.get("fuelType"), fuelType));
+            return cb.exists(vehicles);
+        };
+    }
+
+    public static Specification<Garage> hasAccessory(String accessoryName) {
+        return (root, query, cb) -> {
+            Subquery<Long> accessories = query.subquery(Long.class);
+            Root<Accessory> accessory = accessories.from(Accessory.class);
+            Predicate sameGarage = cb.equal(accessory.get("vehicle").get("garage"), root);
+            accessories.select(accessory.get("id"))
+                    .where(sameGarage, cb.equal(accessory.get("name"), accessoryName));
+            return cb.exists(accessories);
+        };
+    }
+
+    /**
+     * Keyset predicate selecting the rows that follow (field, id) = (lastValue, lastId) in the given direction.
+     * Ties on the sort field are broken by ID, matching the composite (field, id) indexes.
+     */
+    public static Specification<Garage> after(GarageSortField field, Sort.Direction direction, String lastValue, long lastId) {
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            Predicate idAfter = direction.isAscending() ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+            if (field == GarageSortField.ID) {
+                return idAfter;
+            }
+            Path<String> key = root.get(field.property());
+            Predicate keyAfter = direction.isAscending() ? cb.greaterThan(key, lastValue) : cb.lessThan(key, lastValue);
+            return cb.or(keyAfter, cb.and(cb.equal(key, lastValue), idAfter));
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.renault.renault.repository;
+
+import com.renault.renault.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("select e.id from OutboxEvent e where e.claimedUntil is null or e.claimedUntil < :now order by e.id")
+    List<Long> findClaimableIds(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Claims the given events for one relay run. Only events that are still unclaimed (or whose claim expired)
+     * are updated, so when several relays race for the same rows each row goes to exactly one of them and the
+     * others simply skip it, as with {@code SKIP LOCKED}.
+     *
+     * @return the number of events claimed
+     */
+    @Modifying
+    @Query("update OutboxEvent e set e.claimToken = :token, e.claimedUntil = :until, e.attempts = e.attempts + 1 " +
+            "where e.id in :ids and (e.claimedUntil is null or e.claimedUntil < :now)")
+    int claim(@Param("ids") Collection<Long> ids, @Param("token") String token,
+              @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    List<OutboxEvent> findByClaimTokenOrderByIdAsc(String claimToken);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.claimToken = :token")
+    int deleteByClaimToken(@Param("token") String token);
+}
@@ -1,13 +1,99 @@
 package com.renault.renault.repository;
 
 import com.renault.renault.entity.Vehicle;
+import com.renault.renault.repository.projection.VehicleStatsView;
+import com.renault.renault.repository.projection.VehicleTermView;
+import com.renault.renault.repository.projection.VersionView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
-    List<Vehicle> findByGarage_Id(Long garageId);
-    List<Vehicle> findByModel(String model);
+    // Reads join the garage explicitly: a path like v.garage.id compares the foreign key without a join, so the
+    // garage's restriction would not apply and the vehicles of garages being decommissioned would stay visible.
+    // Hibernate drops joins nothing refers to, hence the explicit condition on g where no other clause uses it.
+
+    @EntityGraph(Vehicle.WITH_ACCESSORIES)
+    @Query("select v from Vehicle v join v.garage g where g.id = :garageId")
+    List<Vehicle> findByGarage_Id(@Param("garageId") Long garageId);
+
+    @EntityGraph(Vehicle.WITH_ACCESSORIES)
+    @Query("select v from Vehicle v join v.garage g where v.model = :model and g.decommissioning = false")
+    List<Vehicle> findByModel(@Param("model") String model);
+
+    @EntityGraph(Vehicle.WITH_ACCESSORIES)
+    @Query("select v from Vehicle v join v.garage g where v.id = :id and g.decommissioning = false")
+    Optional<Vehicle> findWithAccessoriesById(@Param("id") Long id);
+
+    /**
+     * Loads a vehicle with its garage for writes, which must not touch the vehicles of garages being decommissioned.
+     */
+    @Query("select v from Vehicle v join fetch v.garage g where v.id = :id")
+    Optional<Vehicle> findWithGarageById(@Param("id") Long id);
+
+    @Query("select v.id as id, v.version as version from Vehicle v join v.garage g where g.id = :garageId order by v.id")
+    List<VersionView> findVersionsByGarageId(@Param("garageId") Long garageId);
+
+    @Query("select v from Vehicle v join v.garage g where g.id = :garageId and v.id > :afterId order by v.id")
+    List<Vehicle> findByGarage_IdAndIdGreaterThanOrderByIdAsc(@Param("garageId") Long garageId,
+                                                             @Param("afterId") Long afterId, Limit limit);
+
+    @Query("select v from Vehicle v join v.garage g where v.model = :model and g.decommissioning = false " +
+            "and v.id > :afterId order by v.id")
+    List<Vehicle> findByModelAndIdGreaterThanOrderByIdAsc(@Param("model") String model,
+                                                          @Param("afterId") Long afterId, Limit limit);
+
+    @EntityGraph(Vehicle.WITH_ACCESSORIES)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("select v from Vehicle v join v.garage g where g.id = :garageId order by v.id")
+    Stream<Vehicle> streamByGarage_IdOrderByIdAsc(@Param("garageId") Long garageId);
+
+    @EntityGraph(Vehicle.WITH_ACCESSORIES)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("select v from Vehicle v join v.garage g where v.model = :model and g.decommissioning = false order by v.id")
+    Stream<Vehicle> streamByModelOrderByIdAsc(@Param("model") String model);
+
+    @Query("select g.id as garageId, v.model as model, v.fuelType as fuelType from Vehicle v join v.garage g")
+    Stream<VehicleTermView> streamAllTerms();
+
+    @Query("select g.id as garageId, v.model as model, v.fuelType as fuelType, " +
+            "v.manufacturingYear as manufacturingYear from Vehicle v join v.garage g")
+    Stream<VehicleStatsView> streamAllStatistics();
+
+    /**
+     * Deletes every vehicle of a garage in one statement; their accessories must have been deleted first.
+     *
+     * @return the number of vehicles deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Vehicle v where v.garage.id = :garageId")
+    int deleteAllByGarageId(@Param("garageId") Long garageId);
+
+    /**
+     * Deletes the given vehicles in one statement; their accessories must have been deleted first.
+     *
+     * @return the number of vehicles deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Vehicle v where v.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select v.id from Vehicle v where v.garage.id = :garageId order by v.id")
+    List<Long> findIdsByGarageId(@Param("garageId") Long garageId, Limit limit);
+
+    @Query("select count(v) from Vehicle v where v.garage.id = :garageId")
+    long countByGarageId(@Param("garageId") Long garageId);
 }
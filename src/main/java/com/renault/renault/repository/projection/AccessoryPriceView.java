@@ -0,0 +1,10 @@
+package com.renault.renault.repository.projection;
+
+/**
+ * Accessory price, type and the garage holding it, used to recompute the fleet statistics and the price analytics.
+ */
+public interface AccessoryPriceView {
+    Long getGarageId();
+    String getType();
+    Double getPrice();
+}
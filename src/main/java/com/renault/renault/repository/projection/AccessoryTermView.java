@@ -0,0 +1,9 @@
+package com.renault.renault.repository.projection;
+
+/**
+ * Searchable accessory attributes, used to build the in-memory garage search index.
+ */
+public interface AccessoryTermView {
+    Long getGarageId();
+    String getName();
+}
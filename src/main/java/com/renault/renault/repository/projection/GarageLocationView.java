@@ -0,0 +1,10 @@
+package com.renault.renault.repository.projection;
+
+/**
+ * Garage identifier and coordinates, used to build the in-memory spatial index.
+ */
+public interface GarageLocationView {
+    Long getId();
+    Double getLatitude();
+    Double getLongitude();
+}
@@ -0,0 +1,9 @@
+package com.renault.renault.repository.projection;
+
+/**
+ * Garage identifier and name, used to build the in-memory garage name index.
+ */
+public interface GarageNameView {
+    Long getId();
+    String getName();
+}
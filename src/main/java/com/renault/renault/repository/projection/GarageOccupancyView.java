@@ -0,0 +1,9 @@
+package com.renault.renault.repository.projection;
+
+/**
+ * Garage identifier and number of vehicles it holds, used to publish occupancy metrics.
+ */
+public interface GarageOccupancyView {
+    Long getId();
+    Integer getVehicleCount();
+}
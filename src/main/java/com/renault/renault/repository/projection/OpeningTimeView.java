@@ -0,0 +1,14 @@
+package com.renault.renault.repository.projection;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * One opening period of a garage, used to build the in-memory schedule index.
+ */
+public interface OpeningTimeView {
+    Long getGarageId();
+    DayOfWeek getDayOfWeek();
+    LocalTime getStartTime();
+    LocalTime getEndTime();
+}
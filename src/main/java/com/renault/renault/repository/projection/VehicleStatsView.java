@@ -0,0 +1,11 @@
+package com.renault.renault.repository.projection;
+
+/**
+ * Vehicle attributes aggregated by the fleet statistics, used to recompute them.
+ */
+public interface VehicleStatsView {
+    Long getGarageId();
+    String getModel();
+    String getFuelType();
+    Integer getManufacturingYear();
+}
@@ -0,0 +1,10 @@
+package com.renault.renault.repository.projection;
+
+/**
+ * Searchable vehicle attributes, used to build the in-memory garage search index.
+ */
+public interface VehicleTermView {
+    Long getGarageId();
+    String getModel();
+    String getFuelType();
+}
@@ -0,0 +1,9 @@
+package com.renault.renault.repository.projection;
+
+/**
+ * Entity identifier and version, used to fingerprint a collection for its ETag without loading it.
+ */
+public interface VersionView {
+    Long getId();
+    Long getVersion();
+}
@@ -1,12 +1,16 @@
 package com.renault.renault.service;
 
 import com.renault.renault.dto.accessory.AccessoryDTO;
+import com.renault.renault.dto.common.CursorPageDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AccessoryService {
     AccessoryDTO addAccessory(Long vehicleId, AccessoryDTO accessoryDTO);
     AccessoryDTO updateAccessory(Long id, AccessoryDTO accessoryDTO);
     void deleteAccessory(Long id);
     List<AccessoryDTO> getAccessoriesByVehicle(Long vehicleId);
+    CursorPageDTO<AccessoryDTO> scrollAccessoriesByVehicle(Long vehicleId, String cursor, int size);
+    void streamAccessoriesByVehicle(Long vehicleId, Consumer<AccessoryDTO> consumer);
 }
@@ -0,0 +1,8 @@
+package com.renault.renault.service;
+
+import com.renault.renault.dto.garage.DecommissionJobDTO;
+
+public interface GarageDecommissionService {
+    DecommissionJobDTO startDecommission(Long garageId);
+    DecommissionJobDTO getJob(Long jobId);
+}
@@ -1,18 +1,36 @@
 package com.renault.renault.service;
 
+import com.renault.renault.dto.common.CursorPageDTO;
+import com.renault.renault.dto.common.DeletionReportDTO;
 import com.renault.renault.dto.common.GarageSearchCriteria;
+import com.renault.renault.dto.common.OpeningHoursQuery;
+import com.renault.renault.dto.common.TotalCountMode;
 import com.renault.renault.dto.garage.GarageDTO;
+import com.renault.renault.dto.garage.GarageDistanceDTO;
+import com.renault.renault.dto.garage.GarageSuggestionDTO;
+import com.renault.renault.dto.garage.ScheduleChangeDTO;
+import com.renault.renault.dto.garage.ScheduleChangeResultDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
 public interface GarageService {
     GarageDTO createGarage(GarageDTO garageDTO);
-    GarageDTO updateGarage(Long id, GarageDTO garageDTO);
-    void deleteGarage(Long id);
+    GarageDTO updateGarage(Long id, GarageDTO garageDTO, Long expectedVersion);
+    DeletionReportDTO deleteGarage(Long id);
+    ScheduleChangeResultDTO applyScheduleChange(ScheduleChangeDTO change);
     GarageDTO getGarageById(Long id);
+    long getGarageVersion(Long id);
     Page<GarageDTO> getAllGarages(Pageable pageable, String sortBy);
+    CursorPageDTO<GarageDTO> scrollGarages(String sortBy, Sort.Direction direction, String cursor, int size,
+                                           TotalCountMode totalCountMode);
 
-    List<GarageDTO> searchGarages(GarageSearchCriteria criteria);
+    Page<GarageDTO> searchGarages(GarageSearchCriteria criteria, Pageable pageable);
+    Page<GarageDTO> searchOpenGarages(OpeningHoursQuery openingHours, GarageSearchCriteria criteria, Pageable pageable);
+    List<GarageDTO> searchGaragesByName(String query, int limit);
+    List<GarageSuggestionDTO> suggestGarages(String prefix, int limit);
+    List<GarageDistanceDTO> findNearestGarages(double latitude, double longitude, int limit, Double maxDistanceKm,
+                                               boolean withCapacity, String fuelType);
 }
@@ -0,0 +1,11 @@
+package com.renault.renault.service;
+
+import com.renault.renault.dto.monitoring.CacheStatsDTO;
+import com.renault.renault.dto.monitoring.EventQueueStatsDTO;
+
+import java.util.List;
+
+public interface MonitoringService {
+    List<CacheStatsDTO> getCacheStats();
+    EventQueueStatsDTO getEventQueueStats();
+}
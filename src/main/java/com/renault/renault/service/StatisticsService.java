@@ -0,0 +1,16 @@
+package com.renault.renault.service;
+
+import com.renault.renault.dto.statistics.AccessoryPriceGrouping;
+import com.renault.renault.dto.statistics.AccessoryPriceStatsDTO;
+import com.renault.renault.dto.statistics.GarageStatisticsDTO;
+import com.renault.renault.dto.statistics.NetworkStatisticsDTO;
+import com.renault.renault.dto.statistics.StatisticsRecomputeDTO;
+
+import java.util.List;
+
+public interface StatisticsService {
+    GarageStatisticsDTO getGarageStatistics(Long garageId);
+    NetworkStatisticsDTO getNetworkStatistics();
+    StatisticsRecomputeDTO recompute();
+    List<AccessoryPriceStatsDTO> getAccessoryPriceStatistics(AccessoryPriceGrouping groupBy);
+}
@@ -0,0 +1,12 @@
+package com.renault.renault.service;
+
+import com.renault.renault.dto.vehicle.VehicleImportDTO;
+import com.renault.renault.dto.vehicle.VehicleImportReportDTO;
+
+import java.util.List;
+
+public interface VehicleImportService {
+    int MAX_IMPORT_ROWS = 10_000;
+
+    VehicleImportReportDTO importVehicles(List<VehicleImportDTO> vehicles);
+}
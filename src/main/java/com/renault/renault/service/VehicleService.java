@@ -1,13 +1,21 @@
 package com.renault.renault.service;
 
+import com.renault.renault.dto.common.CursorPageDTO;
+import com.renault.renault.dto.common.DeletionReportDTO;
 import com.renault.renault.dto.vehicle.VehicleDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface VehicleService {
     VehicleDTO addVehicle(Long garageId, VehicleDTO vehicleDTO);
-    VehicleDTO updateVehicle(Long id, VehicleDTO vehicleDTO);
-    void deleteVehicle(Long id);
+    VehicleDTO updateVehicle(Long id, VehicleDTO vehicleDTO, Long expectedVersion);
+    DeletionReportDTO deleteVehicle(Long id);
     List<VehicleDTO> getVehiclesByGarage(Long garageId);
+    String getVehiclesByGarageFingerprint(Long garageId);
     List<VehicleDTO> getVehiclesByModel(String model);
+    CursorPageDTO<VehicleDTO> scrollVehiclesByGarage(Long garageId, String cursor, int size);
+    CursorPageDTO<VehicleDTO> scrollVehiclesByModel(String model, String cursor, int size);
+    void streamVehiclesByGarage(Long garageId, Consumer<VehicleDTO> consumer);
+    void streamVehiclesByModel(String model, Consumer<VehicleDTO> consumer);
 }
@@ -1,54 +1,105 @@
 package com.renault.renault.service.impl;
 
+import com.renault.renault.cache.AccessoryPriceCacheInvalidator;
+import com.renault.renault.config.MetricsConfig;
 import com.renault.renault.dto.accessory.AccessoryDTO;
+import com.renault.renault.dto.common.CursorPageDTO;
 import com.renault.renault.entity.Accessory;
+import com.renault.renault.entity.OutboxEventType;
 import com.renault.renault.entity.Vehicle;
 import com.renault.renault.exception.ResourceNotFoundException;
+import com.renault.renault.index.GarageSearchIndex;
 import com.renault.renault.mapper.AccessoryMapper;
+import com.renault.renault.outbox.OutboxWriter;
 import com.renault.renault.repository.AccessoryRepository;
 import com.renault.renault.repository.VehicleRepository;
 import com.renault.renault.service.AccessoryService;
+import com.renault.renault.statistics.FleetStatistics;
+import com.renault.renault.util.KeysetPages;
+import com.renault.renault.util.TransactionUtils;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class AccessoryServiceImpl implements AccessoryService {
     private final AccessoryRepository accessoryRepository;
     private final VehicleRepository vehicleRepository;
     private final AccessoryMapper accessoryMapper;
+    private final GarageSearchIndex garageSearchIndex;
+    private final EntityManager entityManager;
+    private final OutboxWriter outboxWriter;
+    private final FleetStatistics fleetStatistics;
+    private final AccessoryPriceCacheInvalidator accessoryPriceCacheInvalidator;
 
     @Override
     public AccessoryDTO addAccessory(Long vehicleId, AccessoryDTO accessoryDTO) {
-        Vehicle vehicle = vehicleRepository.findById(vehicleId)
+        Vehicle vehicle = vehicleRepository.findWithGarageById(vehicleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + vehicleId));
         Accessory accessory = accessoryMapper.toEntity(accessoryDTO);
         accessory.setId(null);
         accessory.setVehicle(vehicle);
         Accessory saved = accessoryRepository.save(accessory);
-        return accessoryMapper.toDto(saved);
+        Long garageId = vehicle.getGarage().getId();
+        accessoryPriceCacheInvalidator.evictAfterCommit();
+        TransactionUtils.afterCommit(() -> {
+            garageSearchIndex.addAccessory(garageId, saved.getName());
+            fleetStatistics.addAccessory(garageId, saved.getPrice());
+        });
+        AccessoryDTO createdDTO = accessoryMapper.toDto(saved);
+        outboxWriter.append(OutboxEventType.ACCESSORY_CREATED, saved.getId(), createdDTO);
+        return createdDTO;
     }
 
     @Override
     public AccessoryDTO updateAccessory(Long id, AccessoryDTO accessoryDTO) {
-        Accessory accessory = accessoryRepository.findById(id)
+        Accessory accessory = accessoryRepository.findWithGarageById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Accessory not found with ID: " + id));
+        String oldName = accessory.getName();
+        Double oldPrice = accessory.getPrice();
+        String oldType = accessory.getType();
         accessory.setName(accessoryDTO.name());
         accessory.setDescription(accessoryDTO.description());
         accessory.setPrice(accessoryDTO.price());
         accessory.setType(accessoryDTO.type());
         Accessory saved = accessoryRepository.save(accessory);
-        return accessoryMapper.toDto(saved);
+        Long garageId = saved.getVehicle().getGarage().getId();
+        if (!Objects.equals(oldPrice, saved.getPrice()) || !Objects.equals(oldType, saved.getType())) {
+            accessoryPriceCacheInvalidator.evictAfterCommit();
+        }
+        TransactionUtils.afterCommit(() -> {
+            garageSearchIndex.renameAccessory(garageId, oldName, saved.getName());
+            fleetStatistics.updateAccessoryPrice(garageId, oldPrice, saved.getPrice());
+        });
+        AccessoryDTO updatedDTO = accessoryMapper.toDto(saved);
+        outboxWriter.append(OutboxEventType.ACCESSORY_UPDATED, id, updatedDTO);
+        return updatedDTO;
     }
 
     @Override
     public void deleteAccessory(Long id) {
-        accessoryRepository.deleteById(id);
+        accessoryRepository.findWithGarageById(id).ifPresent(accessory -> {
+            Long garageId = accessory.getVehicle().getGarage().getId();
+            accessoryRepository.delete(accessory);
+            outboxWriter.appendDeletion(OutboxEventType.ACCESSORY_DELETED, id);
+            accessoryPriceCacheInvalidator.evictAfterCommit();
+            TransactionUtils.afterCommit(() -> {
+                garageSearchIndex.removeAccessory(garageId, accessory.getName());
+                fleetStatistics.removeAccessory(garageId, accessory.getPrice());
+            });
+        });
     }
 
     @Override
@@ -57,4 +108,25 @@ public class AccessoryServiceImpl implements AccessoryService {
         return accessoryRepository.findByVehicle_Id(vehicleId)
                 .stream().map(accessoryMapper::toDto).collect(Collectors.toList());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<AccessoryDTO> scrollAccessoriesByVehicle(Long vehicleId, String cursor, int size) {
+        KeysetPages.checkPageSize(size);
+        List<Accessory> rows = accessoryRepository.findByVehicle_IdAndIdGreaterThanOrderByIdAsc(
+                vehicleId, KeysetPages.afterId(cursor), Limit.of(size + 1));
+        return KeysetPages.toPage(rows, size, Accessory::getId, accessoryMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAccessoriesByVehicle(Long vehicleId, Consumer<AccessoryDTO> consumer) {
+        try (Stream<Accessory> accessories = accessoryRepository.streamByVehicle_IdOrderByIdAsc(vehicleId)) {
+            accessories.forEach(accessory -> {
+                AccessoryDTO dto = accessoryMapper.toDto(accessory);
+                entityManager.detach(accessory);
+                consumer.accept(dto);
+            });
+        }
+    }
 }
@@ -0,0 +1,97 @@
+package com.renault.renault.service.impl;
+
+import com.renault.renault.cache.AccessoryPriceCacheInvalidator;
+import com.renault.renault.cache.GarageCacheInvalidator;
+import com.renault.renault.config.MetricsConfig;
+import com.renault.renault.decommission.GarageDecommissionWorker;
+import com.renault.renault.dto.garage.DecommissionJobDTO;
+import com.renault.renault.entity.DecommissionJob;
+import com.renault.renault.entity.DecommissionJobStatus;
+import com.renault.renault.exception.ResourceNotFoundException;
+import com.renault.renault.index.GarageLocationIndex;
+import com.renault.renault.index.GarageNameIndex;
+import com.renault.renault.index.GarageScheduleIndex;
+import com.renault.renault.index.GarageSearchIndex;
+import com.renault.renault.repository.DecommissionJobRepository;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.repository.VehicleRepository;
+import com.renault.renault.service.GarageDecommissionService;
+import com.renault.renault.statistics.FleetStatistics;
+import com.renault.renault.util.TransactionUtils;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class GarageDecommissionServiceImpl implements GarageDecommissionService {
+    private final GarageRepository garageRepository;
+    private final VehicleRepository vehicleRepository;
+    private final DecommissionJobRepository jobRepository;
+    private final GarageSearchIndex garageSearchIndex;
+    private final GarageNameIndex garageNameIndex;
+    private final GarageScheduleIndex garageScheduleIndex;
+    private final GarageLocationIndex garageLocationIndex;
+    private final FleetStatistics fleetStatistics;
+    private final GarageCacheInvalidator garageCacheInvalidator;
+    private final AccessoryPriceCacheInvalidator accessoryPriceCacheInvalidator;
+    private final GarageDecommissionWorker decommissionWorker;
+
+    /**
+     * Hides the garage from every read and records a job for the background worker. Indexes, statistics and
+     * caches drop the garage as soon as this commits, while its rows are deleted later in chunks.
+     */
+    @Override
+    public DecommissionJobDTO startDecommission(Long garageId) {
+        if (garageRepository.markDecommissioning(garageId) == 0) {
+            throw new ResourceNotFoundException("Garage not found with ID: " + garageId);
+        }
+        DecommissionJob job = jobRepository.save(DecommissionJob.builder()
+                .garageId(garageId)
+                .status(DecommissionJobStatus.PENDING)
+                .vehiclesTotal(vehicleRepository.countByGarageId(garageId))
+                .build());
+        garageCacheInvalidator.evictAfterCommit(garageId);
+        accessoryPriceCacheInvalidator.evictAfterCommit();
+        TransactionUtils.afterCommit(() -> {
+            garageSearchIndex.removeGarage(garageId);
+            garageNameIndex.remove(garageId);
+            garageScheduleIndex.remove(garageId);
+            garageLocationIndex.remove(garageId);
+            fleetStatistics.removeGarage(garageId);
+            decommissionWorker.wake();
+        });
+        return toDto(job, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DecommissionJobDTO getJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .map(job -> toDto(job, LocalDateTime.now()))
+                .orElseThrow(() -> new ResourceNotFoundException("Decommissioning job not found with ID: " + jobId));
+    }
+
+    static DecommissionJobDTO toDto(DecommissionJob job, LocalDateTime now) {
+        boolean completed = job.getStatus() == DecommissionJobStatus.COMPLETED;
+        double progress = completed ? 100 : job.getVehiclesTotal() == 0 ? 0
+                : Math.min(100, 100.0 * job.getVehiclesDeleted() / job.getVehiclesTotal());
+        double rowsPerSecond = 0;
+        if (job.getStartedAt() != null) {
+            long rows = job.getVehiclesDeleted() + job.getAccessoriesDeleted() + job.getOpeningTimesDeleted();
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : now;
+            long millis = Duration.between(job.getStartedAt(), end).toMillis();
+            rowsPerSecond = rows * 1000.0 / Math.max(1, millis);
+        }
+        return new DecommissionJobDTO(job.getId(), job.getGarageId(), job.getStatus(), job.getVehiclesTotal(),
+                job.getVehiclesDeleted(), job.getAccessoriesDeleted(), job.getOpeningTimesDeleted(), progress,
+                rowsPerSecond, job.getCreatedAt(), job.getStartedAt(), job.getFinishedAt(), job.getAttempts(),
+                job.getNextAttemptAt(), job.getLastError());
+    }
+}
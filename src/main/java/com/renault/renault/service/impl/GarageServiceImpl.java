@@ -1,98 +1,427 @@
 package com.renault.renault.service.impl;
 
+import com.renault.renault.cache.AccessoryPriceCacheInvalidator;
+import com.renault.renault.cache.GarageCacheInvalidator;
+import com.renault.renault.config.CacheConfig;
+import com.renault.renault.config.MetricsConfig;
+import com.renault.renault.dto.common.CursorPageDTO;
+import com.renault.renault.dto.common.DeletionReportDTO;
 import com.renault.renault.dto.common.GarageSearchCriteria;
+import com.renault.renault.dto.common.OpeningHoursQuery;
+import com.renault.renault.dto.common.SearchMode;
+import com.renault.renault.dto.common.TotalCountMode;
 import com.renault.renault.dto.garage.GarageDTO;
+import com.renault.renault.dto.garage.GarageDistanceDTO;
+import com.renault.renault.dto.garage.GarageSuggestionDTO;
+import com.renault.renault.dto.garage.ScheduleChangeDTO;
+import com.renault.renault.dto.garage.ScheduleChangeResultDTO;
 import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.OutboxEventType;
+import com.renault.renault.exception.PreconditionFailedException;
 import com.renault.renault.exception.ResourceNotFoundException;
+import com.renault.renault.index.GarageLocationIndex;
+import com.renault.renault.index.GarageNameIndex;
+import com.renault.renault.index.GarageScheduleIndex;
+import com.renault.renault.index.GarageSearchIndex;
 import com.renault.renault.mapper.GarageMapper;
+import com.renault.renault.outbox.OutboxWriter;
+import com.renault.renault.repository.AccessoryRepository;
 import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.repository.GarageSortField;
+import com.renault.renault.repository.GarageSpecifications;
+import com.renault.renault.repository.VehicleRepository;
+import com.renault.renault.repository.projection.OpeningTimeView;
 import com.renault.renault.service.GarageService;
+import com.renault.renault.statistics.FleetStatistics;
+import com.renault.renault.util.Cursor;
+import com.renault.renault.util.TransactionUtils;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class GarageServiceImpl implements GarageService {
+    private static final int MAX_NAME_RESULTS = 100;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final long COUNT_CACHE_TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
     private final GarageRepository garageRepository;
+    private final VehicleRepository vehicleRepository;
+    private final AccessoryRepository accessoryRepository;
     private final GarageMapper garageMapper;
+    private final GarageSearchIndex garageSearchIndex;
+    private final GarageNameIndex garageNameIndex;
+    private final GarageScheduleIndex garageScheduleIndex;
+    private final GarageLocationIndex garageLocationIndex;
+    private final OutboxWriter outboxWriter;
+    private final FleetStatistics fleetStatistics;
+    private final EntityManager entityManager;
+    private final GarageCacheInvalidator garageCacheInvalidator;
+    private final AccessoryPriceCacheInvalidator accessoryPriceCacheInvalidator;
+
+    private volatile long approximateCount = -1;
+    private volatile long approximateCountAt;
 
     @Override
     public GarageDTO createGarage(GarageDTO garageDTO) {
         Garage garage = garageMapper.toEntity(garageDTO);
         garage.setId(null);
         garage.setVehicleCount(0);
+        if (garage.getOpeningTimes() != null) {
+            garage.getOpeningTimes().forEach(openingTime -> openingTime.setGarage(garage));
+        }
         Garage saved = garageRepository.save(garage);
-        return garageMapper.toDto(saved);
+        GarageDTO createdDTO = garageMapper.toDto(saved);
+        TransactionUtils.afterCommit(() -> {
+            garageNameIndex.put(saved.getId(), saved.getName());
+            garageScheduleIndex.put(saved.getId(), createdDTO.openingTimes());
+            garageLocationIndex.put(saved.getId(), saved.getLatitude(), saved.getLongitude());
+        });
+        outboxWriter.append(OutboxEventType.GARAGE_CREATED, saved.getId(), createdDTO);
+        return createdDTO;
     }
 
     @Override
-    public GarageDTO updateGarage(Long id, GarageDTO garageDTO) {
-        Garage garage = garageRepository.findById(id)
+    public GarageDTO updateGarage(Long id, GarageDTO garageDTO, Long expectedVersion) {
+        Garage garage = garageRepository.findWithOpeningTimesById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Garage not found with ID: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(garage.getVersion())) {
+            throw new PreconditionFailedException("Garage " + id + " has been modified: expected version "
+                    + expectedVersion + " but found " + garage.getVersion());
+        }
         garage.setName(garageDTO.name());
         garage.setAddress(garageDTO.address());
         garage.setTelephone(garageDTO.telephone());
         garage.setEmail(garageDTO.email());
-        Garage saved = garageRepository.save(garage);
-        return garageMapper.toDto(saved);
+        garage.setLatitude(garageDTO.latitude());
+        garage.setLongitude(garageDTO.longitude());
+        Long previousVersion = garage.getVersion();
+        boolean scheduleChanged = garageDTO.openingTimes() != null
+                && OpeningTimeDiff.apply(garage, garageDTO.openingTimes()).changed();
+        Garage saved = garageRepository.saveAndFlush(garage);
+        if (scheduleChanged && Objects.equals(saved.getVersion(), previousVersion)) {
+            // Opening times moved in place leave the garage row untouched, but they still make a new version
+            entityManager.lock(saved, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        }
+        GarageDTO updatedDTO = garageMapper.toDto(saved);
+        garageCacheInvalidator.evictAfterCommit(id);
+        TransactionUtils.afterCommit(() -> {
+            garageNameIndex.put(saved.getId(), saved.getName());
+            garageScheduleIndex.put(saved.getId(), updatedDTO.openingTimes());
+            garageLocationIndex.put(saved.getId(), saved.getLatitude(), saved.getLongitude());
+        });
+        outboxWriter.append(OutboxEventType.GARAGE_UPDATED, id, updatedDTO);
+        return updatedDTO;
+    }
+
+    @Override
+    public DeletionReportDTO deleteGarage(Long id) {
+        // Children first, one statement per table, instead of loading the garage graph and deleting row by row
+        int accessories = accessoryRepository.deleteAllByGarageId(id);
+        int vehicles = vehicleRepository.deleteAllByGarageId(id);
+        int openingTimes = garageRepository.deleteOpeningTimesByGarageId(id);
+        if (garageRepository.deleteRowById(id) == 0) {
+            throw new ResourceNotFoundException("Garage not found with ID: " + id);
+        }
+        outboxWriter.appendDeletion(OutboxEventType.GARAGE_DELETED, id);
+        garageCacheInvalidator.evictAfterCommit(id);
+        if (accessories > 0) {
+            accessoryPriceCacheInvalidator.evictAfterCommit();
+        }
+        TransactionUtils.afterCommit(() -> {
+            garageSearchIndex.removeGarage(id);
+            garageNameIndex.remove(id);
+            garageScheduleIndex.remove(id);
+            garageLocationIndex.remove(id);
+            fleetStatistics.removeGarage(id);
+        });
+        return new DeletionReportDTO(1, openingTimes, vehicles, accessories);
     }
 
+    /**
+     * Replaces the opening times of one day for many garages with a few set-based statements: the day's rows
+     * are deleted and, unless the garages close that day, one row is inserted per garage from a select.
+     * Versions are incremented in the same way and the schedule index is refreshed from the new rows.
+     */
     @Override
-    public void deleteGarage(Long id) {
-        garageRepository.deleteById(id);
+    public ScheduleChangeResultDTO applyScheduleChange(ScheduleChangeDTO change) {
+        boolean open = change.startTime() != null;
+        if (open != (change.endTime() != null)) {
+            throw new IllegalArgumentException(
+                    "Start and end times must be given together to open the day, or both omitted to close it");
+        }
+        List<Long> garageIds = garageRepository.findIdsByIdIn(change.garageIds());
+        if (garageIds.isEmpty()) {
+            return new ScheduleChangeResultDTO(0, 0, 0);
+        }
+        garageRepository.incrementVersions(garageIds);
+        int deleted = garageRepository.deleteOpeningTimesByDay(garageIds, change.dayOfWeek());
+        int inserted = open ? garageRepository.insertOpeningTimes(garageIds, change.dayOfWeek(),
+                change.startTime(), change.endTime()) : 0;
+        List<OpeningTimeView> schedules = garageRepository.findOpeningTimesByGarageIdIn(garageIds);
+        garageIds.forEach(id -> outboxWriter.append(OutboxEventType.GARAGE_SCHEDULE_CHANGED, id,
+                new ScheduleChangeDTO(List.of(id), change.dayOfWeek(), change.startTime(), change.endTime())));
+        garageCacheInvalidator.evictAllAfterCommit();
+        TransactionUtils.afterCommit(() -> garageScheduleIndex.putAll(garageIds, schedules));
+        return new ScheduleChangeResultDTO(garageIds.size(), deleted, inserted);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.GARAGES, key = "#id")
     public GarageDTO getGarageById(Long id) {
-        Garage garage = garageRepository.findById(id)
+        Garage garage = garageRepository.findWithOpeningTimesById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Garage not found with ID: " + id));
         return garageMapper.toDto(garage);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public long getGarageVersion(Long id) {
+        return garageRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Garage not found with ID: " + id));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<GarageDTO> getAllGarages(Pageable pageable, String sortBy) {
-        Page<Garage> garages = garageRepository.findAll(pageable);
+        GarageSortField field = GarageSortField.fromProperty(sortBy);
+        Pageable sorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by(field.property()).and(Sort.by("id")));
+        Page<Garage> garages = garageRepository.findAll(sorted);
         List<GarageDTO> dtos = garages.stream()
                 .map(garageMapper::toDto)
                 .collect(Collectors.toList());
-        return new PageImpl<>(dtos, pageable, garages.getTotalElements());
+        return new PageImpl<>(dtos, sorted, garages.getTotalElements());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<GarageDTO> searchGarages(GarageSearchCriteria criteria) {
-        Set<Garage> resultSet = new HashSet<>();
+    public CursorPageDTO<GarageDTO> scrollGarages(String sortBy, Sort.Direction direction, String cursor, int size,
+                                                  TotalCountMode totalCountMode) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        GarageSortField field = GarageSortField.fromProperty(sortBy);
+        Specification<Garage> specification = Specification.where(null);
+        if (cursor != null) {
+            Cursor position = Cursor.decode(cursor, field.property(), direction);
+            specification = GarageSpecifications.after(field, direction, position.lastValue(), position.lastId());
+        }
+        Sort sort = Sort.by(direction, field.property()).and(Sort.by(direction, "id"));
+        // One extra row tells whether a next page exists without a count query
+        List<Garage> rows = garageRepository.findBy(specification, query -> query.sortBy(sort).limit(size + 1).all());
 
-        if (criteria.name() != null) {
-            resultSet.addAll(garageRepository.findByNameContainingIgnoreCase(criteria.name()));
+        boolean hasNext = rows.size() > size;
+        List<Garage> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Garage last = page.get(page.size() - 1);
+            nextCursor = new Cursor(field.property(), direction, field.valueOf(last), last.getId()).encode();
         }
+        List<GarageDTO> content = page.stream().map(garageMapper::toDto).collect(Collectors.toList());
+        return new CursorPageDTO<>(content, content.size(), hasNext, nextCursor, countGarages(totalCountMode));
+    }
 
-        if (criteria.model() != null) {
-            resultSet.addAll(garageRepository.findByVehicles_Model(criteria.model()));
+    private Long countGarages(TotalCountMode mode) {
+        return switch (mode) {
+            case NONE -> null;
+            case EXACT -> garageRepository.count();
+            case APPROXIMATE -> {
+                if (approximateCount < 0 || System.nanoTime() - approximateCountAt > COUNT_CACHE_TTL_NANOS) {
+                    approximateCount = garageRepository.count();
+                    approximateCountAt = System.nanoTime();
+                }
+                yield approximateCount;
+            }
+        };
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<GarageDTO> searchGarages(GarageSearchCriteria criteria, Pageable pageable) {
+        validateSearchPageSize(pageable);
+        if (!garageSearchIndex.isReady() || !garageNameIndex.isReady()) {
+            return garageRepository.findAll(GarageSpecifications.matching(criteria), pageable)
+                    .map(garageMapper::toDto);
         }
+        RoaringBitmap matches = searchIndex(criteria);
+        List<GarageDTO> content = findAllInOrder(slice(matches, pageable));
+        return new PageImpl<>(content, pageable, matches.getLongCardinality());
+    }
 
-        if (criteria.fuelType() != null) {
-            resultSet.addAll(garageRepository.findByVehicles_FuelType(criteria.fuelType()));
+    @Override
+    @Transactional(readOnly = true)
+    public Page<GarageDTO> searchOpenGarages(OpeningHoursQuery openingHours, GarageSearchCriteria criteria,
+                                             Pageable pageable) {
+        validateSearchPageSize(pageable);
+        boolean filtered = criteria.hasSearchCriteria();
+        if (!garageScheduleIndex.isReady()
+                || filtered && (!garageSearchIndex.isReady() || !garageNameIndex.isReady())) {
+            Specification<Garage> specification = GarageSpecifications.openDuring(openingHours);
+            if (filtered) {
+                specification = specification.and(GarageSpecifications.matching(criteria));
+            }
+            return garageRepository.findAll(specification, pageable).map(garageMapper::toDto);
+        }
+        RoaringBitmap matches = garageScheduleIndex.openDuring(openingHours.day(), openingHours.from(),
+                openingHours.minutes());
+        if (filtered) {
+            matches.and(searchIndex(criteria));
+        }
+        List<GarageDTO> content = findAllInOrder(slice(matches, pageable));
+        return new PageImpl<>(content, pageable, matches.getLongCardinality());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GarageDTO> searchGaragesByName(String query, int limit) {
+        validateLimit(limit);
+        if (!garageNameIndex.isReady()) {
+            return garageRepository.findAll(GarageSpecifications.nameContains(query), PageRequest.of(0, limit, Sort.by("id")))
+                    .map(garageMapper::toDto)
+                    .getContent();
+        }
+        List<Long> ids = garageNameIndex.rank(query, limit, false).stream()
+                .map(GarageNameIndex.Match::garageId)
+                .collect(Collectors.toList());
+        return findAllInOrder(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GarageSuggestionDTO> suggestGarages(String prefix, int limit) {
+        validateLimit(limit);
+        if (!garageNameIndex.isReady()) {
+            return garageRepository.findAll(GarageSpecifications.nameContains(prefix), PageRequest.of(0, limit, Sort.by("name")))
+                    .map(garage -> new GarageSuggestionDTO(garage.getId(), garage.getName()))
+                    .getContent();
+        }
+        return garageNameIndex.rank(prefix, limit, true).stream()
+                .map(match -> new GarageSuggestionDTO(match.garageId(), match.name()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Served from the spatial index, with the fuel type resolved by the search index and the free capacity by the
+     * fleet statistics; only the resulting garages are loaded. Before the indexes are built, the filters run in
+     * the database and distances are computed against every located garage.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<GarageDistanceDTO> findNearestGarages(double latitude, double longitude, int limit, Double maxDistanceKm,
+                                                      boolean withCapacity, String fuelType) {
+        validateLimit(limit);
+        double radius = maxDistanceKm == null ? Double.POSITIVE_INFINITY : maxDistanceKm;
+        List<GarageLocationIndex.Neighbour> neighbours;
+        if (garageLocationIndex.isReady() && garageSearchIndex.isReady()) {
+            RoaringBitmap fuelTypeGarages = fuelType == null
+                    ? null : garageSearchIndex.garagesWith(GarageSearchIndex.Field.FUEL_TYPE, fuelType);
+            // Capacity is read from the garage rows, which the post-filter below also uses, so full garages never
+            // take one of the k slots
+            RoaringBitmap fullGarages = withCapacity ? fullGarages() : null;
+            neighbours = garageLocationIndex.nearest(latitude, longitude, limit, radius, garageId ->
+                    (fuelTypeGarages == null || fuelTypeGarages.contains(garageId))
+                            && (fullGarages == null || !fullGarages.contains(garageId)));
+        } else {
+            neighbours = GarageLocationIndex.nearest(garageRepository.findLocations(withCapacity, Garage.MAX_VEHICLES,
+                    fuelType), latitude, longitude, limit, radius);
         }
+        List<Long> ids = neighbours.stream().map(GarageLocationIndex.Neighbour::garageId).collect(Collectors.toList());
+        Map<Long, Double> distances = neighbours.stream().collect(Collectors.toMap(
+                GarageLocationIndex.Neighbour::garageId, GarageLocationIndex.Neighbour::distanceKm));
+        return findAllInOrder(ids).stream()
+                // A vehicle added since the full garages were read may have taken the last slot
+                .filter(garage -> !withCapacity || garage.vehicleCount() < Garage.MAX_VEHICLES)
+                .map(garage -> new GarageDistanceDTO(garage, distances.get(garage.id())))
+                .collect(Collectors.toList());
+    }
+
+    private RoaringBitmap fullGarages() {
+        RoaringBitmap garages = new RoaringBitmap();
+        garageRepository.findFullGarageIds(Garage.MAX_VEHICLES).forEach(id -> garages.add(Math.toIntExact(id)));
+        return garages;
+    }
 
+    private static void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_NAME_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_NAME_RESULTS);
+        }
+    }
+
+    private RoaringBitmap searchIndex(GarageSearchCriteria criteria) {
+        List<RoaringBitmap> parts = new ArrayList<>();
+        if (criteria.name() != null) {
+            parts.add(garageNameIndex.matching(criteria.name()));
+        }
+        if (criteria.model() != null) {
+            parts.add(garageSearchIndex.garagesWith(GarageSearchIndex.Field.MODEL, criteria.model()));
+        }
+        if (criteria.fuelType() != null) {
+            parts.add(garageSearchIndex.garagesWith(GarageSearchIndex.Field.FUEL_TYPE, criteria.fuelType()));
+        }
         if (criteria.accessory() != null) {
-            resultSet.addAll(garageRepository.findByVehicles_Accessories_Name(criteria.accessory()));
+            parts.add(garageSearchIndex.garagesWith(GarageSearchIndex.Field.ACCESSORY, criteria.accessory()));
         }
+        return criteria.mode() == SearchMode.AND
+                ? FastAggregation.and(parts.iterator())
+                : FastAggregation.or(parts.iterator());
+    }
+
+    private static void validateSearchPageSize(Pageable pageable) {
+        if (pageable.getPageSize() > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Returns the garage IDs of the requested page, in ascending ID order.
+     */
+    private static List<Long> slice(RoaringBitmap ids, Pageable pageable) {
+        long remaining = ids.getLongCardinality() - pageable.getOffset();
+        if (remaining <= 0) {
+            return new ArrayList<>();
+        }
+        List<Long> page = new ArrayList<>((int) Math.min(pageable.getPageSize(), remaining));
+        PeekableIntIterator iterator = ids.getIntIterator();
+        iterator.advanceIfNeeded(ids.select((int) pageable.getOffset()));
+        while (iterator.hasNext() && page.size() < pageable.getPageSize()) {
+            page.add((long) iterator.next());
+        }
+        return page;
+    }
 
-        return resultSet.stream()
+    private List<GarageDTO> findAllInOrder(List<Long> ids) {
+        Map<Long, Garage> garages = garageRepository.findWithOpeningTimesByIdIn(ids).stream()
+                .collect(Collectors.toMap(Garage::getId, Function.identity()));
+        return ids.stream()
+                .map(garages::get)
+                .filter(Objects::nonNull)
                 .map(garageMapper::toDto)
                 .collect(Collectors.toList());
     }
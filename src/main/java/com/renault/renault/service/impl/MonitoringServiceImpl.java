@@ -0,0 +1,43 @@
+package com.renault.renault.service.impl;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.renault.renault.dto.monitoring.CacheStatsDTO;
+import com.renault.renault.dto.monitoring.EventQueueStatsDTO;
+import com.renault.renault.event.VehicleEventDispatcher;
+import com.renault.renault.service.MonitoringService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class MonitoringServiceImpl implements MonitoringService {
+    private final CacheManager cacheManager;
+    private final VehicleEventDispatcher vehicleEventDispatcher;
+
+    @Override
+    public List<CacheStatsDTO> getCacheStats() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(MonitoringServiceImpl::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public EventQueueStatsDTO getEventQueueStats() {
+        return vehicleEventDispatcher.getStats();
+    }
+
+    private static CacheStatsDTO toDto(CaffeineCache cache) {
+        CacheStats stats = cache.getNativeCache().stats();
+        return new CacheStatsDTO(cache.getName(), cache.getNativeCache().estimatedSize(),
+                stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+}
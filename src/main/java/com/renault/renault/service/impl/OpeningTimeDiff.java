@@ -0,0 +1,97 @@
+package com.renault.renault.service.impl;
+
+import com.renault.renault.dto.common.OpeningTimeDTO;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.OpeningTime;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Brings the opening times of a garage in line with a requested schedule with as few row changes as possible.
+ * Intervals present on both sides are left alone, the remaining stored intervals of a day are moved to the
+ * remaining requested intervals of the same day, and only what is left over is deleted or inserted. Rows are
+ * matched by day and times; the IDs sent with the schedule are ignored.
+ */
+final class OpeningTimeDiff {
+
+    record Result(int inserted, int updated, int deleted) {
+        boolean changed() {
+            return inserted + updated + deleted > 0;
+        }
+    }
+
+    private record Interval(LocalTime startTime, LocalTime endTime) {
+    }
+
+    private static final Comparator<Interval> BY_TIMES =
+            Comparator.comparing(Interval::startTime).thenComparing(Interval::endTime);
+
+    private OpeningTimeDiff() {
+    }
+
+    /**
+     * Applies the schedule to the garage's managed opening times, to be flushed with the garage.
+     */
+    static Result apply(Garage garage, Collection<OpeningTimeDTO> schedule) {
+        if (garage.getOpeningTimes() == null) {
+            garage.setOpeningTimes(new HashSet<>());
+        }
+        Map<DayOfWeek, List<OpeningTime>> stored = new EnumMap<>(DayOfWeek.class);
+        for (OpeningTime openingTime : garage.getOpeningTimes()) {
+            stored.computeIfAbsent(openingTime.getDayOfWeek(), day -> new ArrayList<>()).add(openingTime);
+        }
+        Map<DayOfWeek, TreeSet<Interval>> requested = new EnumMap<>(DayOfWeek.class);
+        for (OpeningTimeDTO openingTime : schedule) {
+            requested.computeIfAbsent(openingTime.dayOfWeek(), day -> new TreeSet<>(BY_TIMES))
+                    .add(new Interval(openingTime.startTime(), openingTime.endTime()));
+        }
+
+        int inserted = 0;
+        int updated = 0;
+        int deleted = 0;
+        for (DayOfWeek day : DayOfWeek.values()) {
+            List<OpeningTime> rows = stored.getOrDefault(day, new ArrayList<>());
+            TreeSet<Interval> intervals = requested.getOrDefault(day, new TreeSet<>(BY_TIMES));
+            for (Iterator<OpeningTime> it = rows.iterator(); it.hasNext(); ) {
+                OpeningTime row = it.next();
+                if (intervals.remove(new Interval(row.getStartTime(), row.getEndTime()))) {
+                    it.remove();
+                }
+            }
+            rows.sort(Comparator.comparing(OpeningTime::getStartTime).thenComparing(OpeningTime::getEndTime));
+            Iterator<Interval> remaining = intervals.iterator();
+            for (OpeningTime row : rows) {
+                if (remaining.hasNext()) {
+                    Interval interval = remaining.next();
+                    row.setStartTime(interval.startTime());
+                    row.setEndTime(interval.endTime());
+                    updated++;
+                } else {
+                    garage.getOpeningTimes().remove(row);
+                    deleted++;
+                }
+            }
+            while (remaining.hasNext()) {
+                Interval interval = remaining.next();
+                garage.getOpeningTimes().add(OpeningTime.builder()
+                        .dayOfWeek(day)
+                        .startTime(interval.startTime())
+                        .endTime(interval.endTime())
+                        .garage(garage)
+                        .build());
+                inserted++;
+            }
+        }
+        return new Result(inserted, updated, deleted);
+    }
+}
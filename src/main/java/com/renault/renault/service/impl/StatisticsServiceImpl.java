@@ -0,0 +1,86 @@
+package com.renault.renault.service.impl;
+
+import com.renault.renault.config.CacheConfig;
+import com.renault.renault.dto.statistics.AccessoryPriceGrouping;
+import com.renault.renault.dto.statistics.AccessoryPriceStatsDTO;
+import com.renault.renault.dto.statistics.GarageStatisticsDTO;
+import com.renault.renault.dto.statistics.NetworkStatisticsDTO;
+import com.renault.renault.dto.statistics.StatisticsRecomputeDTO;
+import com.renault.renault.exception.ResourceNotFoundException;
+import com.renault.renault.repository.AccessoryRepository;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.repository.projection.AccessoryPriceView;
+import com.renault.renault.service.StatisticsService;
+import com.renault.renault.statistics.FleetStatistics;
+import com.renault.renault.statistics.FleetStatisticsLoader;
+import com.renault.renault.statistics.PriceDistribution;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class StatisticsServiceImpl implements StatisticsService {
+    private final FleetStatistics fleetStatistics;
+    private final FleetStatisticsLoader fleetStatisticsLoader;
+    private final GarageRepository garageRepository;
+    private final AccessoryRepository accessoryRepository;
+
+    /**
+     * Served from the in-memory read model; the database is only asked whether the garage exists when it
+     * holds no vehicle.
+     */
+    @Override
+    public GarageStatisticsDTO getGarageStatistics(Long garageId) {
+        return fleetStatistics.getGarage(garageId).orElseGet(() -> {
+            if (!garageRepository.existsById(garageId)) {
+                throw new ResourceNotFoundException("Garage not found with ID: " + garageId);
+            }
+            return FleetStatistics.emptyGarage(garageId);
+        });
+    }
+
+    @Override
+    public NetworkStatisticsDTO getNetworkStatistics() {
+        return fleetStatistics.getNetwork();
+    }
+
+    @Override
+    public StatisticsRecomputeDTO recompute() {
+        return fleetStatisticsLoader.recompute();
+    }
+
+    /**
+     * Computed in one streaming pass over the accessory prices, keeping only one price distribution per group,
+     * and cached until an accessory write clears it.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ACCESSORY_PRICES, key = "#groupBy")
+    public List<AccessoryPriceStatsDTO> getAccessoryPriceStatistics(AccessoryPriceGrouping groupBy) {
+        return switch (groupBy) {
+            case TYPE -> aggregatePrices(AccessoryPriceView::getType);
+            case GARAGE -> aggregatePrices(AccessoryPriceView::getGarageId);
+        };
+    }
+
+    private <K extends Comparable<K>> List<AccessoryPriceStatsDTO> aggregatePrices(Function<AccessoryPriceView, K> group) {
+        Map<K, PriceDistribution> distributions = new TreeMap<>();
+        try (Stream<AccessoryPriceView> prices = accessoryRepository.streamAllPrices()) {
+            prices.forEach(price -> distributions
+                    .computeIfAbsent(group.apply(price), key -> new PriceDistribution())
+                    .record(price.getPrice()));
+        }
+        return distributions.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(String.valueOf(entry.getKey())))
+                .collect(Collectors.toList());
+    }
+}
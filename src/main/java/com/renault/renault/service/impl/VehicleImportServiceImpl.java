@@ -0,0 +1,192 @@
+package com.renault.renault.service.impl;
+
+import com.renault.renault.cache.AccessoryPriceCacheInvalidator;
+import com.renault.renault.cache.GarageCacheInvalidator;
+import com.renault.renault.dto.accessory.AccessoryCreateDTO;
+import com.renault.renault.dto.vehicle.VehicleDTO;
+import com.renault.renault.dto.vehicle.VehicleImportDTO;
+import com.renault.renault.dto.vehicle.VehicleImportReportDTO;
+import com.renault.renault.dto.vehicle.VehicleImportRowDTO;
+import com.renault.renault.dto.vehicle.VehicleImportStatus;
+import com.renault.renault.entity.Accessory;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.OutboxEventType;
+import com.renault.renault.entity.Vehicle;
+import com.renault.renault.event.VehicleCreatedEvent;
+import com.renault.renault.index.GarageSearchIndex;
+import com.renault.renault.mapper.VehicleMapper;
+import com.renault.renault.outbox.OutboxWriter;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.repository.VehicleRepository;
+import com.renault.renault.service.VehicleImportService;
+import com.renault.renault.statistics.FleetStatistics;
+import com.renault.renault.statistics.FleetStatistics.VehicleSample;
+import com.renault.renault.util.TransactionUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports many vehicles in one transaction. Rows are validated first, capacity is then reserved once per garage
+ * with a conditional update, and the accepted vehicles are inserted in flushed chunks so Hibernate sends batched
+ * inserts (sequence ids) and the persistence context stays small.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class VehicleImportServiceImpl implements VehicleImportService {
+    private static final int FLUSH_EVERY = 500;
+    private static final int MAX_RESERVATION_ATTEMPTS = 3;
+
+    private final VehicleRepository vehicleRepository;
+    private final GarageRepository garageRepository;
+    private final VehicleMapper vehicleMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GarageSearchIndex garageSearchIndex;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final GarageCacheInvalidator garageCacheInvalidator;
+    private final OutboxWriter outboxWriter;
+    private final FleetStatistics fleetStatistics;
+    private final AccessoryPriceCacheInvalidator accessoryPriceCacheInvalidator;
+
+    @Override
+    public VehicleImportReportDTO importVehicles(List<VehicleImportDTO> vehicles) {
+        if (vehicles.size() > MAX_IMPORT_ROWS) {
+            throw new IllegalArgumentException("An import cannot contain more than " + MAX_IMPORT_ROWS + " vehicles");
+        }
+        VehicleImportRowDTO[] results = new VehicleImportRowDTO[vehicles.size()];
+        Map<Long, List<Integer>> rowsByGarage = new LinkedHashMap<>();
+        for (int i = 0; i < vehicles.size(); i++) {
+            String violations = validate(vehicles.get(i));
+            if (violations != null) {
+                results[i] = rejected(i, violations);
+            } else {
+                rowsByGarage.computeIfAbsent(vehicles.get(i).garageId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<Integer> accepted = new ArrayList<>();
+        rowsByGarage.forEach((garageId, rows) -> {
+            Optional<Integer> granted = reserveVehicleSlots(garageId, rows.size());
+            int slots = granted.orElse(0);
+            if (slots > 0) {
+                garageCacheInvalidator.evictAfterCommit(garageId);
+            }
+            accepted.addAll(rows.subList(0, slots));
+            String reason = granted.isEmpty()
+                    ? "Garage not found with ID: " + garageId
+                    : "Garage has reached the maximum limit of " + Garage.MAX_VEHICLES + " vehicles";
+            rows.subList(slots, rows.size()).forEach(row -> results[row] = rejected(row, reason));
+        });
+        accepted.sort(null);
+
+        List<Vehicle> indexed = new ArrayList<>(accepted.size());
+        for (int start = 0; start < accepted.size(); start += FLUSH_EVERY) {
+            List<Integer> chunk = accepted.subList(start, Math.min(start + FLUSH_EVERY, accepted.size()));
+            List<Vehicle> saved = vehicleRepository.saveAll(
+                    chunk.stream().map(row -> toEntity(vehicles.get(row))).collect(Collectors.toList()));
+            for (int i = 0; i < chunk.size(); i++) {
+                Vehicle vehicle = saved.get(i);
+                results[chunk.get(i)] = new VehicleImportRowDTO(chunk.get(i), VehicleImportStatus.IMPORTED, vehicle.getId(), null);
+                VehicleDTO createdDTO = vehicleMapper.toDto(vehicle);
+                outboxWriter.append(OutboxEventType.VEHICLE_CREATED, vehicle.getId(), createdDTO);
+                eventPublisher.publishEvent(new VehicleCreatedEvent(this, createdDTO));
+                indexed.add(vehicle);
+            }
+            // Flushes the vehicles together with their outbox rows before the chunk is detached
+            entityManager.flush();
+            entityManager.clear();
+        }
+        if (indexed.stream().anyMatch(vehicle -> !vehicle.getAccessories().isEmpty())) {
+            accessoryPriceCacheInvalidator.evictAfterCommit();
+        }
+        TransactionUtils.afterCommit(() -> indexed.forEach(vehicle -> {
+            Long garageId = vehicle.getGarage().getId();
+            garageSearchIndex.addVehicle(garageId, vehicle.getModel(), vehicle.getFuelType(),
+                    vehicle.getAccessories().stream().map(Accessory::getName).collect(Collectors.toList()));
+            fleetStatistics.addVehicle(garageId, VehicleSample.of(vehicle));
+        }));
+
+        return new VehicleImportReportDTO(vehicles.size(), accepted.size(), vehicles.size() - accepted.size(),
+                Arrays.asList(results));
+    }
+
+    /**
+     * Reserves as many of the requested slots as the garage still has free. The free count is read first and the
+     * reservation is a conditional update, so a concurrent writer can only make the update miss, never overfill the
+     * garage; a miss is retried against the new count.
+     *
+     * @return the number of slots reserved, or empty if the garage does not exist
+     */
+    private Optional<Integer> reserveVehicleSlots(Long garageId, int requested) {
+        for (int attempt = 0; attempt < MAX_RESERVATION_ATTEMPTS; attempt++) {
+            Optional<Integer> count = garageRepository.findVehicleCountById(garageId);
+            if (count.isEmpty()) {
+                return Optional.empty();
+            }
+            int slots = Math.min(requested, Garage.MAX_VEHICLES - count.get());
+            if (slots <= 0) {
+                return Optional.of(0);
+            }
+            if (garageRepository.reserveVehicleSlots(garageId, slots, Garage.MAX_VEHICLES) == 1) {
+                return Optional.of(slots);
+            }
+        }
+        return Optional.of(0);
+    }
+
+    private String validate(VehicleImportDTO row) {
+        if (row == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<VehicleImportDTO>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private Vehicle toEntity(VehicleImportDTO row) {
+        Vehicle vehicle = Vehicle.builder()
+                .brand(row.brand())
+                .manufacturingYear(row.manufacturingYear())
+                .fuelType(row.fuelType())
+                .model(row.model())
+                .garage(garageRepository.getReferenceById(row.garageId()))
+                .accessories(new ArrayList<>())
+                .build();
+        if (row.accessories() != null) {
+            for (AccessoryCreateDTO accessory : row.accessories()) {
+                vehicle.getAccessories().add(Accessory.builder()
+                        .name(accessory.name())
+                        .description(accessory.description())
+                        .price(accessory.price())
+                        .type(accessory.type())
+                        .vehicle(vehicle)
+                        .build());
+            }
+        }
+        return vehicle;
+    }
+
+    private static VehicleImportRowDTO rejected(int index, String message) {
+        return new VehicleImportRowDTO(index, VehicleImportStatus.REJECTED, null, message);
+    }
+}
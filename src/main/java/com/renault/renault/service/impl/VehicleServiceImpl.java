@@ -1,71 +1,140 @@
 package com.renault.renault.service.impl;
 
+import com.renault.renault.cache.AccessoryPriceCacheInvalidator;
+import com.renault.renault.cache.GarageCacheInvalidator;
+import com.renault.renault.config.MetricsConfig;
+import com.renault.renault.dto.common.CursorPageDTO;
+import com.renault.renault.dto.common.DeletionReportDTO;
 import com.renault.renault.dto.vehicle.VehicleDTO;
+import com.renault.renault.entity.Accessory;
 import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.OutboxEventType;
 import com.renault.renault.entity.Vehicle;
+import com.renault.renault.event.VehicleCreatedEvent;
 import com.renault.renault.exception.BusinessConstraintViolationException;
+import com.renault.renault.exception.PreconditionFailedException;
 import com.renault.renault.exception.ResourceNotFoundException;
+import com.renault.renault.index.GarageSearchIndex;
 import com.renault.renault.mapper.VehicleMapper;
+import com.renault.renault.outbox.OutboxWriter;
+import com.renault.renault.repository.AccessoryRepository;
 import com.renault.renault.repository.GarageRepository;
 import com.renault.renault.repository.VehicleRepository;
+import com.renault.renault.repository.projection.VersionView;
 import com.renault.renault.service.VehicleService;
+import com.renault.renault.statistics.FleetStatistics;
+import com.renault.renault.statistics.FleetStatistics.VehicleSample;
+import com.renault.renault.util.KeysetPages;
+import com.renault.renault.util.TransactionUtils;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class VehicleServiceImpl implements VehicleService {
     private final VehicleRepository vehicleRepository;
     private final GarageRepository garageRepository;
+    private final AccessoryRepository accessoryRepository;
     private final VehicleMapper vehicleMapper;
     private final ApplicationEventPublisher eventPublisher;
+    private final GarageSearchIndex garageSearchIndex;
+    private final EntityManager entityManager;
+    private final GarageCacheInvalidator garageCacheInvalidator;
+    private final OutboxWriter outboxWriter;
+    private final FleetStatistics fleetStatistics;
+    private final AccessoryPriceCacheInvalidator accessoryPriceCacheInvalidator;
 
     @Override
     public VehicleDTO addVehicle(Long garageId, VehicleDTO vehicleDTO) {
-        Garage garage = garageRepository.findById(garageId)
-                .orElseThrow(() -> new ResourceNotFoundException("Garage not found with ID: " + garageId));
-        if (!garage.canAddVehicle()) {
-            throw new BusinessConstraintViolationException("Garage has reached the maximum limit of 50 vehicles");
-        }
+        reserveVehicleSlot(garageId);
         Vehicle vehicle = vehicleMapper.toEntity(vehicleDTO);
         vehicle.setId(null);
-        vehicle.setGarage(garage);
+        vehicle.setGarage(garageRepository.getReferenceById(garageId));
         Vehicle saved = vehicleRepository.save(vehicle);
-        garage.addVehicle();
-        garageRepository.save(garage);
+        garageCacheInvalidator.evictAfterCommit(garageId);
+        List<String> accessoryNames = accessoryNames(saved);
+        VehicleSample sample = VehicleSample.of(saved);
+        if (sample.accessoryCount() > 0) {
+            accessoryPriceCacheInvalidator.evictAfterCommit();
+        }
+        TransactionUtils.afterCommit(() -> {
+            garageSearchIndex.addVehicle(garageId, saved.getModel(), saved.getFuelType(), accessoryNames);
+            fleetStatistics.addVehicle(garageId, sample);
+        });
         VehicleDTO createdDTO = vehicleMapper.toDto(saved);
-        eventPublisher.publishEvent(new com.renault.renault.event.VehicleCreatedEvent(this, createdDTO));
+        outboxWriter.append(OutboxEventType.VEHICLE_CREATED, saved.getId(), createdDTO);
+        eventPublisher.publishEvent(new VehicleCreatedEvent(this, createdDTO));
         return createdDTO;
     }
 
     @Override
-    public VehicleDTO updateVehicle(Long id, VehicleDTO vehicleDTO) {
-        Vehicle vehicle = vehicleRepository.findById(id)
+    public VehicleDTO updateVehicle(Long id, VehicleDTO vehicleDTO, Long expectedVersion) {
+        Vehicle vehicle = vehicleRepository.findWithAccessoriesById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(vehicle.getVersion())) {
+            throw new PreconditionFailedException("Vehicle " + id + " has been modified: expected version "
+                    + expectedVersion + " but found " + vehicle.getVersion());
+        }
+        String oldModel = vehicle.getModel();
+        String oldFuelType = vehicle.getFuelType();
+        VehicleSample before = VehicleSample.of(vehicle);
         vehicle.setBrand(vehicleDTO.brand());
         vehicle.setManufacturingYear(vehicleDTO.manufacturingYear());
         vehicle.setFuelType(vehicleDTO.fuelType());
         vehicle.setModel(vehicleDTO.model());
-        Vehicle saved = vehicleRepository.save(vehicle);
-        return vehicleMapper.toDto(saved);
+        Vehicle saved = vehicleRepository.saveAndFlush(vehicle);
+        Long garageId = saved.getGarage().getId();
+        VehicleSample after = VehicleSample.of(saved);
+        TransactionUtils.afterCommit(() -> {
+            garageSearchIndex.updateVehicle(garageId, oldModel, oldFuelType, saved.getModel(), saved.getFuelType());
+            fleetStatistics.updateVehicle(garageId, before, after);
+        });
+        VehicleDTO updatedDTO = vehicleMapper.toDto(saved);
+        outboxWriter.append(OutboxEventType.VEHICLE_UPDATED, id, updatedDTO);
+        return updatedDTO;
     }
 
     @Override
-    public void deleteVehicle(Long id) {
-        Vehicle vehicle = vehicleRepository.findById(id)
+    public DeletionReportDTO deleteVehicle(Long id) {
+        Vehicle vehicle = vehicleRepository.findWithAccessoriesById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + id));
-        Garage garage = vehicle.getGarage();
-        vehicleRepository.delete(vehicle);
-        if (garage != null) {
-            garage.removeVehicle();
-            garageRepository.save(garage);
+        List<String> accessoryNames = accessoryNames(vehicle);
+        VehicleSample sample = VehicleSample.of(vehicle);
+        List<Long> ids = List.of(id);
+        int accessories = accessoryRepository.deleteAllByVehicleIdIn(ids);
+        int vehicles = vehicleRepository.deleteAllByIdIn(ids);
+        if (vehicles == 0) {
+            // Deleted by a concurrent request since it was loaded
+            throw new ResourceNotFoundException("Vehicle not found with ID: " + id);
+        }
+        outboxWriter.appendDeletion(OutboxEventType.VEHICLE_DELETED, id);
+        Long garageId = vehicle.getGarage().getId();
+        garageRepository.releaseVehicleSlot(garageId);
+        garageCacheInvalidator.evictAfterCommit(garageId);
+        if (!accessoryNames.isEmpty()) {
+            accessoryPriceCacheInvalidator.evictAfterCommit();
         }
+        TransactionUtils.afterCommit(() -> {
+            garageSearchIndex.removeVehicle(garageId, vehicle.getModel(), vehicle.getFuelType(), accessoryNames);
+            fleetStatistics.removeVehicle(garageId, sample);
+        });
+        return new DeletionReportDTO(0, 0, vehicles, accessories);
     }
 
     @Override
@@ -75,10 +144,106 @@ public class VehicleServiceImpl implements VehicleService {
                 .stream().map(vehicleMapper::toDto).collect(Collectors.toList());
     }
 
+    /**
+     * Fingerprints the vehicles of a garage and their accessories from their IDs and versions only, so the
+     * ETag of the vehicle list can be checked without loading or mapping it. Any addition, change or removal
+     * of a vehicle or accessory changes the fingerprint.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public String getVehiclesByGarageFingerprint(Long garageId) {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES);
+        for (List<VersionView> versions : List.of(vehicleRepository.findVersionsByGarageId(garageId),
+                accessoryRepository.findVersionsByGarageId(garageId))) {
+            for (VersionView version : versions) {
+                buffer.clear();
+                buffer.putLong(version.getId()).putLong(version.getVersion());
+                digest.update(buffer.array());
+            }
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<VehicleDTO> getVehiclesByModel(String model) {
         return vehicleRepository.findByModel(model)
                 .stream().map(vehicleMapper::toDto).collect(Collectors.toList());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<VehicleDTO> scrollVehiclesByGarage(Long garageId, String cursor, int size) {
+        KeysetPages.checkPageSize(size);
+        List<Vehicle> rows = vehicleRepository.findByGarage_IdAndIdGreaterThanOrderByIdAsc(
+                garageId, KeysetPages.afterId(cursor), Limit.of(size + 1));
+        return KeysetPages.toPage(rows, size, Vehicle::getId, vehicleMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<VehicleDTO> scrollVehiclesByModel(String model, String cursor, int size) {
+        KeysetPages.checkPageSize(size);
+        List<Vehicle> rows = vehicleRepository.findByModelAndIdGreaterThanOrderByIdAsc(
+                model, KeysetPages.afterId(cursor), Limit.of(size + 1));
+        return KeysetPages.toPage(rows, size, Vehicle::getId, vehicleMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamVehiclesByGarage(Long garageId, Consumer<VehicleDTO> consumer) {
+        try (Stream<Vehicle> vehicles = vehicleRepository.streamByGarage_IdOrderByIdAsc(garageId)) {
+            vehicles.forEach(vehicle -> emit(vehicle, consumer));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamVehiclesByModel(String model, Consumer<VehicleDTO> consumer) {
+        try (Stream<Vehicle> vehicles = vehicleRepository.streamByModelOrderByIdAsc(model)) {
+            vehicles.forEach(vehicle -> emit(vehicle, consumer));
+        }
+    }
+
+    /**
+     * Maps and hands over one streamed vehicle, then detaches it (and its cascaded accessories) so the
+     * persistence context does not grow with the result set.
+     */
+    private void emit(Vehicle vehicle, Consumer<VehicleDTO> consumer) {
+        VehicleDTO dto = vehicleMapper.toDto(vehicle);
+        entityManager.detach(vehicle);
+        consumer.accept(dto);
+    }
+
+    /**
+     * Takes a vehicle slot with a single conditional update instead of read-check-write on the entity, so
+     * concurrent additions cannot exceed {@link Garage#MAX_VEHICLES} and no row lock is held beyond the update.
+     * The slot is given back by the transaction rollback if the vehicle cannot be saved.
+     */
+    private void reserveVehicleSlot(Long garageId) {
+        if (garageRepository.reserveVehicleSlot(garageId, Garage.MAX_VEHICLES) == 0) {
+            if (!garageRepository.existsById(garageId)) {
+                throw new ResourceNotFoundException("Garage not found with ID: " + garageId);
+            }
+            throw new BusinessConstraintViolationException(
+                    "Garage has reached the maximum limit of " + Garage.MAX_VEHICLES + " vehicles");
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static List<String> accessoryNames(Vehicle vehicle) {
+        if (vehicle.getAccessories() == null) {
+            return List.of();
+        }
+        return vehicle.getAccessories().stream().map(Accessory::getName).collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,342 @@
+package com.renault.renault.statistics;
+
+import com.renault.renault.dto.statistics.GarageStatisticsDTO;
+import com.renault.renault.dto.statistics.NetworkStatisticsDTO;
+import com.renault.renault.entity.Accessory;
+import com.renault.renault.entity.Vehicle;
+import com.renault.renault.repository.projection.AccessoryPriceView;
+import com.renault.renault.repository.projection.VehicleStatsView;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory read model of the fleet: per garage and for the whole network, vehicle counts by fuel type, model
+ * and manufacturing year bucket, plus accessory count and total price.
+ * <p>
+ * Writes apply deltas once their transaction has committed, so reads never aggregate rows. Prices are kept in
+ * cents so that repeated additions and subtractions do not accumulate rounding errors. {@link #rebuild} replaces
+ * everything from the database and, after the initial build, reports the garages that had drifted. Deltas applied between
+ * {@link #beginRebuild} and the swap are recorded and replayed onto the rebuilt figures, so writes committed while
+ * the database is scanned are not lost; the scan must therefore read a snapshot taken after {@code beginRebuild}.
+ */
+@Component
+public class FleetStatistics {
+    public static final int YEAR_BUCKET_SIZE = 5;
+
+    /**
+     * What a vehicle contributes to the statistics, captured when it is written.
+     */
+    public record VehicleSample(String model, String fuelType, Integer manufacturingYear, int accessoryCount,
+                                long accessoryCents) {
+
+        public static VehicleSample of(Vehicle vehicle) {
+            int accessoryCount = 0;
+            long accessoryCents = 0;
+            if (vehicle.getAccessories() != null) {
+                for (Accessory accessory : vehicle.getAccessories()) {
+                    accessoryCount++;
+                    accessoryCents += toCents(accessory.getPrice());
+                }
+            }
+            return new VehicleSample(vehicle.getModel(), vehicle.getFuelType(), vehicle.getManufacturingYear(),
+                    accessoryCount, accessoryCents);
+        }
+    }
+
+    private static final class Counters {
+        private long vehicles;
+        private final Map<String, Long> byFuelType = new HashMap<>();
+        private final Map<String, Long> byModel = new HashMap<>();
+        private final Map<String, Long> byYearBucket = new HashMap<>();
+        private long accessories;
+        private long accessoryCents;
+
+        void addVehicle(String model, String fuelType, Integer manufacturingYear, int sign) {
+            vehicles += sign;
+            adjust(byFuelType, fuelType, sign);
+            adjust(byModel, model, sign);
+            adjust(byYearBucket, yearBucket(manufacturingYear), sign);
+        }
+
+        void addAccessories(long count, long cents) {
+            accessories += count;
+            accessoryCents += cents;
+        }
+
+        void subtract(Counters other) {
+            vehicles -= other.vehicles;
+            other.byFuelType.forEach((key, value) -> adjust(byFuelType, key, -value));
+            other.byModel.forEach((key, value) -> adjust(byModel, key, -value));
+            other.byYearBucket.forEach((key, value) -> adjust(byYearBucket, key, -value));
+            accessories -= other.accessories;
+            accessoryCents -= other.accessoryCents;
+        }
+
+        boolean isEmpty() {
+            return vehicles == 0 && accessories == 0 && accessoryCents == 0;
+        }
+
+        boolean sameAs(Counters other) {
+            return vehicles == other.vehicles && accessories == other.accessories
+                    && accessoryCents == other.accessoryCents && byFuelType.equals(other.byFuelType)
+                    && byModel.equals(other.byModel) && byYearBucket.equals(other.byYearBucket);
+        }
+
+        private static void adjust(Map<String, Long> counts, String key, long delta) {
+            counts.compute(Objects.toString(key), (k, count) -> {
+                long updated = (count == null ? 0 : count) + delta;
+                return updated == 0 ? null : updated;
+            });
+        }
+    }
+
+    /**
+     * A write's change to the figures, applied to the live ones and, during a rebuild, to the rebuilt ones.
+     */
+    private interface Delta {
+        void applyTo(Map<Long, Counters> garages, Counters network);
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Counters> garages = new HashMap<>();
+    private Counters network = new Counters();
+    // Deltas applied since beginRebuild, null when no rebuild is scanning
+    private List<Delta> journal;
+    private boolean built;
+
+    public void addVehicle(Long garageId, VehicleSample vehicle) {
+        record((garages, network) -> apply(garages, network, garageId, vehicle, 1));
+    }
+
+    public void updateVehicle(Long garageId, VehicleSample before, VehicleSample after) {
+        record((garages, network) -> {
+            apply(garages, network, garageId, before, -1);
+            apply(garages, network, garageId, after, 1);
+        });
+    }
+
+    public void removeVehicle(Long garageId, VehicleSample vehicle) {
+        record((garages, network) -> apply(garages, network, garageId, vehicle, -1));
+    }
+
+    public void addAccessory(Long garageId, Double price) {
+        adjustAccessories(garageId, 1, toCents(price));
+    }
+
+    public void updateAccessoryPrice(Long garageId, Double oldPrice, Double newPrice) {
+        adjustAccessories(garageId, 0, toCents(newPrice) - toCents(oldPrice));
+    }
+
+    public void removeAccessory(Long garageId, Double price) {
+        adjustAccessories(garageId, -1, -toCents(price));
+    }
+
+    public void removeGarage(Long garageId) {
+        record((garages, network) -> {
+            Counters removed = garages.remove(garageId);
+            if (removed != null) {
+                network.subtract(removed);
+            }
+        });
+    }
+
+    /**
+     * @return the statistics of the garage, empty when it holds no vehicle
+     */
+    public Optional<GarageStatisticsDTO> getGarage(Long garageId) {
+        lock.readLock().lock();
+        try {
+            Counters counters = garages.get(garageId);
+            return Optional.ofNullable(counters).map(found -> toGarageDto(garageId, found));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of vehicles the garage holds, 0 when it is unknown
+     */
+    public long getVehicleCount(Long garageId) {
+        lock.readLock().lock();
+        try {
+            Counters counters = garages.get(garageId);
+            return counters == null ? 0 : counters.vehicles;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static GarageStatisticsDTO emptyGarage(Long garageId) {
+        return toGarageDto(garageId, new Counters());
+    }
+
+    public NetworkStatisticsDTO getNetwork() {
+        lock.readLock().lock();
+        try {
+            return new NetworkStatisticsDTO(garages.size(), network.vehicles, sorted(network.byFuelType),
+                    sorted(network.byModel), sorted(network.byYearBucket), network.accessories,
+                    toPrice(network.accessoryCents));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Starts recording deltas for the next {@link #rebuild}; call it before the rows to rebuild from are read.
+     */
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stops recording deltas, for a rebuild that failed; a no-op once {@link #rebuild} has replayed them.
+     */
+    public void endRebuild() {
+        lock.writeLock().lock();
+        try {
+            journal = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole read model with statistics computed from the given rows, plus the deltas recorded since
+     * {@link #beginRebuild}, if it was called.
+     * @param vehicles every vehicle's garage, model, fuel type and manufacturing year
+     * @param accessories every accessory's garage and price
+     * @return the number of garages whose statistics differed from the rebuilt ones, 0 for the initial build
+     */
+    public int rebuild(Iterable<VehicleStatsView> vehicles, Iterable<AccessoryPriceView> accessories) {
+        Map<Long, Counters> rebuilt = new HashMap<>();
+        Counters rebuiltNetwork = new Counters();
+        for (VehicleStatsView vehicle : vehicles) {
+            rebuilt.computeIfAbsent(vehicle.getGarageId(), id -> new Counters())
+                    .addVehicle(vehicle.getModel(), vehicle.getFuelType(), vehicle.getManufacturingYear(), 1);
+            rebuiltNetwork.addVehicle(vehicle.getModel(), vehicle.getFuelType(), vehicle.getManufacturingYear(), 1);
+        }
+        for (AccessoryPriceView accessory : accessories) {
+            long cents = toCents(accessory.getPrice());
+            rebuilt.computeIfAbsent(accessory.getGarageId(), id -> new Counters()).addAccessories(1, cents);
+            rebuiltNetwork.addAccessories(1, cents);
+        }
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.forEach(delta -> delta.applyTo(rebuilt, rebuiltNetwork));
+                journal = null;
+            }
+            int drifted = built ? countDrifted(rebuilt) : 0;
+            built = true;
+            garages = rebuilt;
+            network = rebuiltNetwork;
+            return drifted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int countDrifted(Map<Long, Counters> rebuilt) {
+        int drifted = 0;
+        for (Map.Entry<Long, Counters> entry : rebuilt.entrySet()) {
+            Counters current = garages.get(entry.getKey());
+            if (current == null || !current.sameAs(entry.getValue())) {
+                drifted++;
+            }
+        }
+        for (Long garageId : garages.keySet()) {
+            if (!rebuilt.containsKey(garageId)) {
+                drifted++;
+            }
+        }
+        return drifted;
+    }
+
+    /**
+     * @return the number of garages currently holding vehicles or accessories
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return garages.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String yearBucket(Integer year) {
+        if (year == null) {
+            return "unknown";
+        }
+        int start = Math.floorDiv(year, YEAR_BUCKET_SIZE) * YEAR_BUCKET_SIZE;
+        return start + "-" + (start + YEAR_BUCKET_SIZE - 1);
+    }
+
+    private void record(Delta delta) {
+        lock.writeLock().lock();
+        try {
+            delta.applyTo(garages, network);
+            if (journal != null) {
+                journal.add(delta);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(Map<Long, Counters> garages, Counters network, Long garageId, VehicleSample vehicle,
+                              int sign) {
+        Counters counters = garages.computeIfAbsent(garageId, id -> new Counters());
+        counters.addVehicle(vehicle.model(), vehicle.fuelType(), vehicle.manufacturingYear(), sign);
+        counters.addAccessories((long) sign * vehicle.accessoryCount(), sign * vehicle.accessoryCents());
+        network.addVehicle(vehicle.model(), vehicle.fuelType(), vehicle.manufacturingYear(), sign);
+        network.addAccessories((long) sign * vehicle.accessoryCount(), sign * vehicle.accessoryCents());
+        if (counters.isEmpty()) {
+            garages.remove(garageId);
+        }
+    }
+
+    private void adjustAccessories(Long garageId, long count, long cents) {
+        record((garages, network) -> {
+            Counters counters = garages.computeIfAbsent(garageId, id -> new Counters());
+            counters.addAccessories(count, cents);
+            network.addAccessories(count, cents);
+            if (counters.isEmpty()) {
+                garages.remove(garageId);
+            }
+        });
+    }
+
+    private static GarageStatisticsDTO toGarageDto(Long garageId, Counters counters) {
+        return new GarageStatisticsDTO(garageId, counters.vehicles, sorted(counters.byFuelType),
+                sorted(counters.byModel), sorted(counters.byYearBucket), counters.accessories,
+                toPrice(counters.accessoryCents));
+    }
+
+    private static Map<String, Long> sorted(Map<String, Long> counts) {
+        return new TreeMap<>(counts);
+    }
+
+    private static long toCents(Double price) {
+        return price == null ? 0 : Math.round(price * 100);
+    }
+
+    private static BigDecimal toPrice(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,103 @@
+package com.renault.renault.statistics;
+
+import com.renault.renault.dto.statistics.StatisticsRecomputeDTO;
+import com.renault.renault.index.SearchIndexLoader;
+import com.renault.renault.repository.AccessoryRepository;
+import com.renault.renault.repository.VehicleRepository;
+import com.renault.renault.repository.projection.AccessoryPriceView;
+import com.renault.renault.repository.projection.VehicleStatsView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Computes the fleet statistics from the database during startup, in the same phase as the search indexes and so
+ * before the web server accepts requests, then again on a schedule to repair any drift of the incrementally
+ * maintained figures. Recomputes run one at a time.
+ * <p>
+ * Both scans run in one repeatable-read transaction on the primary, so they read a single snapshot taken after
+ * deltas started being recorded: a lagging replica would miss writes whose deltas were applied before the rebuild.
+ * A write still committing when recording starts may be counted twice until the next recompute.
+ */
+@Component
+@Slf4j
+public class FleetStatisticsLoader implements SmartLifecycle {
+    private final VehicleRepository vehicleRepository;
+    private final AccessoryRepository accessoryRepository;
+    private final FleetStatistics fleetStatistics;
+    private final TransactionTemplate snapshotTransaction;
+    // Not synchronized: recomputes requested over HTTP would pin the carrier of a virtual thread during the scans
+    private final Lock recomputeLock = new ReentrantLock();
+    private volatile boolean running;
+
+    public FleetStatisticsLoader(VehicleRepository vehicleRepository, AccessoryRepository accessoryRepository,
+                                 FleetStatistics fleetStatistics, PlatformTransactionManager transactionManager) {
+        this.vehicleRepository = vehicleRepository;
+        this.accessoryRepository = accessoryRepository;
+        this.fleetStatistics = fleetStatistics;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @Override
+    public void start() {
+        recompute();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SearchIndexLoader.PHASE;
+    }
+
+    @Scheduled(cron = "${app.statistics.recompute-cron:0 0 * * * *}")
+    public void scheduledRecompute() {
+        recompute();
+    }
+
+    public StatisticsRecomputeDTO recompute() {
+        long start = System.nanoTime();
+        Integer drifted;
+        recomputeLock.lock();
+        try {
+            fleetStatistics.beginRebuild();
+            try {
+                drifted = snapshotTransaction.execute(status -> {
+                    try (Stream<VehicleStatsView> vehicles = vehicleRepository.streamAllStatistics();
+                         Stream<AccessoryPriceView> accessories = accessoryRepository.streamAllPrices()) {
+                        return fleetStatistics.rebuild(vehicles::iterator, accessories::iterator);
+                    }
+                });
+            } finally {
+                fleetStatistics.endRebuild();
+            }
+        } finally {
+            recomputeLock.unlock();
+        }
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        if (drifted != null && drifted > 0) {
+            log.warn("Fleet statistics recomputed in {} ms, repaired {} drifted garages", durationMillis, drifted);
+        } else {
+            log.info("Fleet statistics recomputed in {} ms", durationMillis);
+        }
+        return new StatisticsRecomputeDTO(fleetStatistics.size(), drifted == null ? 0 : drifted, durationMillis);
+    }
+}
@@ -0,0 +1,61 @@
+package com.renault.renault.statistics;
+
+import com.renault.renault.dto.statistics.AccessoryPriceStatsDTO;
+import org.HdrHistogram.IntCountsHistogram;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Price distribution of a group of accessories, accumulated in a single pass. Count, sum, min and max are exact;
+ * percentiles come from a histogram of prices in cents with two significant digits, whose size depends on the
+ * price range and not on the number of prices recorded.
+ */
+public class PriceDistribution {
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final IntCountsHistogram histogram = new IntCountsHistogram(SIGNIFICANT_DIGITS);
+    private long count;
+    private long sumCents;
+    private long minCents = Long.MAX_VALUE;
+    private long maxCents = Long.MIN_VALUE;
+
+    /**
+     * @param price a price, ignored when null or negative
+     */
+    public void record(Double price) {
+        if (price == null || price < 0) {
+            return;
+        }
+        long cents = Math.round(price * 100);
+        histogram.recordValue(cents);
+        count++;
+        sumCents += cents;
+        minCents = Math.min(minCents, cents);
+        maxCents = Math.max(maxCents, cents);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public AccessoryPriceStatsDTO toDto(String group) {
+        if (count == 0) {
+            return new AccessoryPriceStatsDTO(group, 0, null, null, null, null, null, null, null);
+        }
+        BigDecimal average = BigDecimal.valueOf(sumCents)
+                .divide(BigDecimal.valueOf(count), 0, RoundingMode.HALF_UP).movePointLeft(2);
+        return new AccessoryPriceStatsDTO(group, count, toPrice(minCents), toPrice(maxCents), average,
+                percentile(50), percentile(90), percentile(95), percentile(99));
+    }
+
+    private BigDecimal percentile(double percentile) {
+        // The histogram reports the upper bound of the bucket, which can exceed the highest price recorded
+        long cents = Math.max(minCents, Math.min(maxCents, histogram.getValueAtPercentile(percentile)));
+        return toPrice(cents);
+    }
+
+    private static BigDecimal toPrice(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,48 @@
+package com.renault.renault.util;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Continuation token for keyset pagination: the sort key and ID of the last row returned.
+ * The encoded form is opaque to clients, who only pass it back to fetch the next page.
+ */
+public record Cursor(String sortField, Sort.Direction direction, String lastValue, long lastId) {
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, VERSION, sortField, direction.name(), Long.toString(lastId), lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token and checks it was issued for the same ordering.
+     * @param token the token returned with a previous page
+     * @param sortField the sort field of the current request
+     * @param direction the sort direction of the current request
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed or was issued for another ordering
+     */
+    public static Cursor decode(String token, String sortField, Sort.Direction direction) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 5);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        if (parts.length != 5 || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        if (!parts[1].equals(sortField) || !parts[2].equals(direction.name())) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order");
+        }
+        try {
+            return new Cursor(parts[1], direction, parts[4], Long.parseLong(parts[3]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
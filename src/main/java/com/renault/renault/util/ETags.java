@@ -0,0 +1,40 @@
+package com.renault.renault.util;
+
+/**
+ * Strong entity tags built from entity versions, as used by conditional GET ({@code If-None-Match})
+ * and PUT ({@code If-Match}).
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String of(String fingerprint) {
+        return "\"" + fingerprint + "\"";
+    }
+
+    /**
+     * Reads the version a client expects from an {@code If-Match} header.
+     * @param ifMatch the header value, possibly null
+     * @return the expected version, or null when the header is absent or {@code *} (any version matches)
+     * @throws IllegalArgumentException if the header is not a single strong ETag of a version
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 3 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new IllegalArgumentException("If-Match must be a single strong ETag, e.g. \"3\"");
+        }
+        try {
+            return Long.parseLong(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must be a single strong ETag, e.g. \"3\"");
+        }
+    }
+}
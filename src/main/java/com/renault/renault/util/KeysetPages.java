@@ -0,0 +1,50 @@
+package com.renault.renault.util;
+
+import com.renault.renault.dto.common.CursorPageDTO;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Helpers for keyset pagination ordered by ascending ID.
+ * Callers fetch {@code size + 1} rows after {@link #afterId(String)}; the extra row only tells whether
+ * a next page exists, so no count query is needed.
+ */
+public final class KeysetPages {
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final String ID = "id";
+
+    private KeysetPages() {
+    }
+
+    /**
+     * @param cursor the cursor of the previous page, or null for the first page
+     * @return the ID after which the requested page starts
+     */
+    public static long afterId(String cursor) {
+        return cursor == null ? 0L : Cursor.decode(cursor, ID, Sort.Direction.ASC).lastId();
+    }
+
+    public static void checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Builds a page from up to {@code size + 1} rows fetched in ascending ID order.
+     */
+    public static <E, D> CursorPageDTO<D> toPage(List<E> rows, int size, Function<E, Long> idOf, Function<E, D> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            long lastId = idOf.apply(page.get(page.size() - 1));
+            nextCursor = new Cursor(ID, Sort.Direction.ASC, Long.toString(lastId), lastId).encode();
+        }
+        List<D> content = page.stream().map(mapper).collect(Collectors.toList());
+        return new CursorPageDTO<>(content, content.size(), hasNext, nextCursor, null);
+    }
+}
@@ -0,0 +1,120 @@
+package com.renault.renault.controller;
+
+import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.Vehicle;
+import com.renault.renault.index.SearchIndexLoader;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.sql.QueryCounting;
+import com.renault.renault.sql.TestFleet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static com.renault.renault.sql.SqlCountAssertions.assertStatementCounts;
+import static com.renault.renault.sql.SqlCountAssertions.resetCounts;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@QueryCounting
+@DisplayName("Accessory endpoints - SQL statement counts")
+class AccessoryEndpointQueryCountTest {
+    private static final int GARAGES = 4;
+    private static final int VEHICLES_PER_GARAGE = 5;
+    private static final int ACCESSORIES_PER_VEHICLE = 10;
+    private static final String ACCESSORY_JSON = """
+            {"id": 1, "name": "Roof Rack", "description": "Aluminium roof rack", "price": 249.9, "type": "Transport"}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private SearchIndexLoader searchIndexLoader;
+
+    private List<Garage> fleet;
+
+    @BeforeEach
+    void setUp() {
+        fleet = TestFleet.seed(garageRepository, GARAGES, VEHICLES_PER_GARAGE, ACCESSORIES_PER_VEHICLE);
+        searchIndexLoader.loadIndexes();
+        resetCounts();
+    }
+
+    @AfterEach
+    void tearDown() {
+        garageRepository.deleteAll();
+        searchIndexLoader.loadIndexes();
+    }
+
+    @Test
+    @DisplayName("POST /api/accessories/vehicle/{vehicleId}")
+    void addAccessory() throws Exception {
+        mockMvc.perform(post("/api/accessories/vehicle/" + vehicle().getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(ACCESSORY_JSON))
+                .andExpect(status().isOk());
+        assertStatementCounts(1, 2, 0, 0);
+    }
+
+    @Test
+    @DisplayName("PUT /api/accessories/{id}")
+    void updateAccessory() throws Exception {
+        mockMvc.perform(put("/api/accessories/" + accessoryId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(ACCESSORY_JSON))
+                .andExpect(status().isOk());
+        assertStatementCounts(1, 1, 1, 0);
+    }
+
+    @Test
+    @DisplayName("DELETE /api/accessories/{id}")
+    void deleteAccessory() throws Exception {
+        mockMvc.perform(delete("/api/accessories/" + accessoryId())).andExpect(status().isNoContent());
+        assertStatementCounts(1, 1, 0, 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/accessories/vehicle/{vehicleId}")
+    void getAccessoriesByVehicle() throws Exception {
+        mockMvc.perform(get("/api/accessories/vehicle/" + vehicle().getId())).andExpect(status().isOk());
+        assertStatementCounts(1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/accessories/vehicle/{vehicleId}/scroll")
+    void scrollAccessoriesByVehicle() throws Exception {
+        mockMvc.perform(get("/api/accessories/vehicle/" + vehicle().getId() + "/scroll").param("size", "5"))
+                .andExpect(status().isOk());
+        assertStatementCounts(1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/accessories/vehicle/{vehicleId}/stream")
+    void streamAccessoriesByVehicle() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/accessories/vehicle/" + vehicle().getId() + "/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(ACCESSORIES_PER_VEHICLE, body.split("\n").length);
+        assertStatementCounts(1, 0, 0, 0);
+    }
+
+    private Vehicle vehicle() {
+        return fleet.get(0).getVehicles().get(0);
+    }
+
+    private Long accessoryId() {
+        return vehicle().getAccessories().get(0).getId();
+    }
+}
@@ -1,10 +1,23 @@
 package com.renault.renault.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.renault.renault.dto.common.CursorPageDTO;
+import com.renault.renault.dto.common.DeletionReportDTO;
 import com.renault.renault.dto.common.GarageSearchCriteria;
+import com.renault.renault.dto.common.OpeningHoursQuery;
 import com.renault.renault.dto.common.OpeningTimeDTO;
+import com.renault.renault.dto.common.SearchMode;
+import com.renault.renault.dto.common.TotalCountMode;
+import com.renault.renault.dto.garage.DecommissionJobDTO;
 import com.renault.renault.dto.garage.GarageDTO;
+import com.renault.renault.dto.garage.GarageDistanceDTO;
+import com.renault.renault.dto.garage.GarageSuggestionDTO;
+import com.renault.renault.dto.garage.ScheduleChangeDTO;
+import com.renault.renault.dto.garage.ScheduleChangeResultDTO;
+import com.renault.renault.entity.DecommissionJobStatus;
+import com.renault.renault.exception.PreconditionFailedException;
 import com.renault.renault.exception.ResourceNotFoundException;
+import com.renault.renault.service.GarageDecommissionService;
 import com.renault.renault.service.GarageService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,12 +28,15 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.DayOfWeek;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -29,6 +45,7 @@ import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -46,6 +63,9 @@ class GarageControllerTest {
     @MockBean
     private GarageService garageService;
 
+    @MockBean
+    private GarageDecommissionService garageDecommissionService;
+
     private GarageDTO testGarageDTO;
     private Set<OpeningTimeDTO> openingTimes;
 
@@ -61,9 +81,12 @@ class GarageControllerTest {
                 "123 Avenue des Champs-Élysées, 75008 Paris",
                 "+33123456789",
                 "contact@garage-paris.com",
+                48.8698,
+                2.3078,
                 10,
                 50,
-                openingTimes
+                openingTimes,
+                0L
         );
     }
 
@@ -94,9 +117,12 @@ class GarageControllerTest {
                 "Address",
                 "+33123456789",
                 "invalid-email", // Invalid email format
+                null,
+                null,
                 0,
                 50,
-                openingTimes
+                openingTimes,
+                0L
         );
 
         mockMvc.perform(post("/api/garages")
@@ -142,12 +168,15 @@ class GarageControllerTest {
                 "456 New Address",
                 "+33987654321",
                 "updated@garage.com",
+                null,
+                null,
                 15,
                 50,
-                openingTimes
+                openingTimes,
+                0L
         );
 
-        when(garageService.updateGarage(eq(1L), any(GarageDTO.class))).thenReturn(updatedGarage);
+        when(garageService.updateGarage(eq(1L), any(GarageDTO.class), isNull())).thenReturn(updatedGarage);
 
         mockMvc.perform(put("/api/garages/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -157,13 +186,13 @@ class GarageControllerTest {
                 .andExpect(jsonPath("$.address").value("456 New Address"))
                 .andExpect(jsonPath("$.email").value("updated@garage.com"));
 
-        verify(garageService, times(1)).updateGarage(eq(1L), any(GarageDTO.class));
+        verify(garageService, times(1)).updateGarage(eq(1L), any(GarageDTO.class), isNull());
     }
 
     @Test
     @DisplayName("PUT /api/garages/{id} - Update non-existent garage returns 404")
     void updateGarage_NotFound_Returns404() throws Exception {
-        when(garageService.updateGarage(eq(999L), any(GarageDTO.class)))
+        when(garageService.updateGarage(eq(999L), any(GarageDTO.class), isNull()))
                 .thenThrow(new ResourceNotFoundException("Garage not found with ID: 999"));
 
         mockMvc.perform(put("/api/garages/999")
@@ -171,20 +200,91 @@ class GarageControllerTest {
                         .content(objectMapper.writeValueAsString(testGarageDTO)))
                 .andExpect(status().isNotFound());
 
-        verify(garageService, times(1)).updateGarage(eq(999L), any(GarageDTO.class));
+        verify(garageService, times(1)).updateGarage(eq(999L), any(GarageDTO.class), isNull());
     }
 
     @Test
     @DisplayName("DELETE /api/garages/{id} - Delete garage successfully")
     void deleteGarage_Success() throws Exception {
-        doNothing().when(garageService).deleteGarage(1L);
+        when(garageService.deleteGarage(1L)).thenReturn(new DeletionReportDTO(1, 7, 2, 3));
 
         mockMvc.perform(delete("/api/garages/1"))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.garages").value(1))
+                .andExpect(jsonPath("$.openingTimes").value(7))
+                .andExpect(jsonPath("$.vehicles").value(2))
+                .andExpect(jsonPath("$.accessories").value(3));
 
         verify(garageService, times(1)).deleteGarage(1L);
     }
 
+    @Test
+    @DisplayName("POST /api/garages/schedule-changes - Close many garages on one day")
+    void applyScheduleChange_Success() throws Exception {
+        ScheduleChangeDTO change = new ScheduleChangeDTO(List.of(1L, 2L), DayOfWeek.MONDAY, null, null);
+        when(garageService.applyScheduleChange(change)).thenReturn(new ScheduleChangeResultDTO(2, 3, 0));
+
+        mockMvc.perform(post("/api/garages/schedule-changes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(change)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.garages").value(2))
+                .andExpect(jsonPath("$.openingTimesDeleted").value(3))
+                .andExpect(jsonPath("$.openingTimesInserted").value(0));
+    }
+
+    @Test
+    @DisplayName("POST /api/garages/schedule-changes - Missing garage IDs returns 400")
+    void applyScheduleChange_NoGarages_Returns400() throws Exception {
+        mockMvc.perform(post("/api/garages/schedule-changes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new ScheduleChangeDTO(List.of(), DayOfWeek.MONDAY, null, null))))
+                .andExpect(status().isBadRequest());
+
+        verify(garageService, never()).applyScheduleChange(any());
+    }
+
+    @Test
+    @DisplayName("DELETE /api/garages/{id}?mode=ASYNC - Start a decommissioning job")
+    void deleteGarage_Async_Returns202() throws Exception {
+        when(garageDecommissionService.startDecommission(1L)).thenReturn(new DecommissionJobDTO(7L, 1L,
+                DecommissionJobStatus.PENDING, 50, 0, 0, 0, 0, 0, LocalDateTime.now(), null, null, 0, null, null));
+
+        mockMvc.perform(delete("/api/garages/1").param("mode", "ASYNC"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/garages/decommission-jobs/7"))
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.vehiclesTotal").value(50));
+
+        verify(garageService, never()).deleteGarage(anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/decommission-jobs/{jobId} - Report job progress")
+    void getDecommissionJob_Success() throws Exception {
+        when(garageDecommissionService.getJob(7L)).thenReturn(new DecommissionJobDTO(7L, 1L,
+                DecommissionJobStatus.RUNNING, 50, 20, 48, 0, 40.0, 1250.5, LocalDateTime.now(),
+                LocalDateTime.now(), null, 0, null, null));
+
+        mockMvc.perform(get("/api/garages/decommission-jobs/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.progressPercent").value(40.0))
+                .andExpect(jsonPath("$.rowsPerSecond").value(1250.5));
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/decommission-jobs/{jobId} - Unknown job returns 404")
+    void getDecommissionJob_NotFound() throws Exception {
+        when(garageDecommissionService.getJob(99L))
+                .thenThrow(new ResourceNotFoundException("Decommissioning job not found with ID: 99"));
+
+        mockMvc.perform(get("/api/garages/decommission-jobs/99"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("GET /api/garages - Get all garages with pagination")
     void getAllGarages_Success() throws Exception {
@@ -208,59 +308,59 @@ class GarageControllerTest {
     @Test
     @DisplayName("GET /api/garages/search - Search garages by name")
     void searchGarages_ByName_Success() throws Exception {
-        List<GarageDTO> results = List.of(testGarageDTO);
-        when(garageService.searchGarages(any(GarageSearchCriteria.class))).thenReturn(results);
+        Page<GarageDTO> results = new PageImpl<>(List.of(testGarageDTO), PageRequest.of(0, 10), 1);
+        when(garageService.searchGarages(any(GarageSearchCriteria.class), any(Pageable.class))).thenReturn(results);
 
         mockMvc.perform(get("/api/garages/search")
                         .param("name", "Paris"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].name").value("Garage Paris Centre"));
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name").value("Garage Paris Centre"));
 
-        verify(garageService, times(1)).searchGarages(any(GarageSearchCriteria.class));
+        verify(garageService, times(1)).searchGarages(any(GarageSearchCriteria.class), any(Pageable.class));
     }
 
     @Test
     @DisplayName("GET /api/garages/search - Search garages by model")
     void searchGarages_ByModel_Success() throws Exception {
-        List<GarageDTO> results = List.of(testGarageDTO);
-        when(garageService.searchGarages(any(GarageSearchCriteria.class))).thenReturn(results);
+        Page<GarageDTO> results = new PageImpl<>(List.of(testGarageDTO), PageRequest.of(0, 10), 1);
+        when(garageService.searchGarages(any(GarageSearchCriteria.class), any(Pageable.class))).thenReturn(results);
 
         mockMvc.perform(get("/api/garages/search")
                         .param("model", "Clio"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].name").value("Garage Paris Centre"));
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name").value("Garage Paris Centre"));
 
-        verify(garageService, times(1)).searchGarages(any(GarageSearchCriteria.class));
+        verify(garageService, times(1)).searchGarages(any(GarageSearchCriteria.class), any(Pageable.class));
     }
 
     @Test
     @DisplayName("GET /api/garages/search - Search garages by fuel type")
     void searchGarages_ByFuelType_Success() throws Exception {
-        List<GarageDTO> results = List.of(testGarageDTO);
-        when(garageService.searchGarages(any(GarageSearchCriteria.class))).thenReturn(results);
+        Page<GarageDTO> results = new PageImpl<>(List.of(testGarageDTO), PageRequest.of(0, 10), 1);
+        when(garageService.searchGarages(any(GarageSearchCriteria.class), any(Pageable.class))).thenReturn(results);
 
         mockMvc.perform(get("/api/garages/search")
                         .param("fuelType", "DIESEL"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)));
+                .andExpect(jsonPath("$.content", hasSize(1)));
 
-        verify(garageService, times(1)).searchGarages(any(GarageSearchCriteria.class));
+        verify(garageService, times(1)).searchGarages(any(GarageSearchCriteria.class), any(Pageable.class));
     }
 
     @Test
     @DisplayName("GET /api/garages/search - Search garages by accessory")
     void searchGarages_ByAccessory_Success() throws Exception {
-        List<GarageDTO> results = List.of(testGarageDTO);
-        when(garageService.searchGarages(any(GarageSearchCriteria.class))).thenReturn(results);
+        Page<GarageDTO> results = new PageImpl<>(List.of(testGarageDTO), PageRequest.of(0, 10), 1);
+        when(garageService.searchGarages(any(GarageSearchCriteria.class), any(Pageable.class))).thenReturn(results);
 
         mockMvc.perform(get("/api/garages/search")
                         .param("accessory", "GPS"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)));
+                .andExpect(jsonPath("$.content", hasSize(1)));
 
-        verify(garageService, times(1)).searchGarages(any(GarageSearchCriteria.class));
+        verify(garageService, times(1)).searchGarages(any(GarageSearchCriteria.class), any(Pageable.class));
     }
 
     @Test
@@ -269,35 +369,255 @@ class GarageControllerTest {
         mockMvc.perform(get("/api/garages/search"))
                 .andExpect(status().isBadRequest());
 
-        verify(garageService, never()).searchGarages(any(GarageSearchCriteria.class));
+        verify(garageService, never()).searchGarages(any(GarageSearchCriteria.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/search/open - Search garages open at a time with criteria")
+    void searchOpenGarages_AtTime_Success() throws Exception {
+        Page<GarageDTO> results = new PageImpl<>(List.of(testGarageDTO), PageRequest.of(0, 10), 1);
+        when(garageService.searchOpenGarages(any(OpeningHoursQuery.class), any(GarageSearchCriteria.class), any(Pageable.class)))
+                .thenReturn(results);
+
+        mockMvc.perform(get("/api/garages/search/open")
+                        .param("day", "SATURDAY")
+                        .param("at", "10:30")
+                        .param("model", "Clio"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)));
+
+        verify(garageService).searchOpenGarages(
+                eq(new OpeningHoursQuery(DayOfWeek.SATURDAY, LocalTime.of(10, 30), LocalTime.of(10, 31))),
+                eq(new GarageSearchCriteria(null, "Clio", null, null)), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/search/open - A time and an interval together return 400")
+    void searchOpenGarages_TimeAndInterval_Returns400() throws Exception {
+        mockMvc.perform(get("/api/garages/search/open")
+                        .param("at", "10:30")
+                        .param("from", "10:00")
+                        .param("to", "12:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(garageService, never()).searchOpenGarages(any(), any(), any());
     }
 
     @Test
     @DisplayName("GET /api/garages/search - Search with no results returns 204")
     void searchGarages_NoResults_Returns204() throws Exception {
-        when(garageService.searchGarages(any(GarageSearchCriteria.class)))
-                .thenReturn(Collections.emptyList());
+        when(garageService.searchGarages(any(GarageSearchCriteria.class), any(Pageable.class)))
+                .thenReturn(Page.empty());
 
         mockMvc.perform(get("/api/garages/search")
                         .param("name", "NonExistent"))
                 .andExpect(status().isNoContent());
 
-        verify(garageService, times(1)).searchGarages(any(GarageSearchCriteria.class));
+        verify(garageService, times(1)).searchGarages(any(GarageSearchCriteria.class), any(Pageable.class));
     }
 
     @Test
     @DisplayName("GET /api/garages/search - Search with multiple criteria")
     void searchGarages_MultipleCriteria_Success() throws Exception {
-        List<GarageDTO> results = List.of(testGarageDTO);
-        when(garageService.searchGarages(any(GarageSearchCriteria.class))).thenReturn(results);
+        Page<GarageDTO> results = new PageImpl<>(List.of(testGarageDTO), PageRequest.of(0, 10), 1);
+        when(garageService.searchGarages(any(GarageSearchCriteria.class), any(Pageable.class))).thenReturn(results);
 
         mockMvc.perform(get("/api/garages/search")
                         .param("name", "Paris")
                         .param("model", "Clio")
                         .param("fuelType", "DIESEL"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)));
+                .andExpect(jsonPath("$.content", hasSize(1)));
+
+        verify(garageService, times(1)).searchGarages(any(GarageSearchCriteria.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/search - Search with AND mode and pagination")
+    void searchGarages_AndModeWithPagination_Success() throws Exception {
+        Page<GarageDTO> results = new PageImpl<>(List.of(testGarageDTO), PageRequest.of(2, 5), 11);
+        when(garageService.searchGarages(any(GarageSearchCriteria.class), any(Pageable.class))).thenReturn(results);
+
+        mockMvc.perform(get("/api/garages/search")
+                        .param("model", "Clio")
+                        .param("accessory", "GPS")
+                        .param("mode", "AND")
+                        .param("page", "2")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.totalElements").value(11));
+
+        verify(garageService, times(1)).searchGarages(
+                argThat(criteria -> criteria.mode() == SearchMode.AND && "Clio".equals(criteria.model())),
+                argThat(pageable -> pageable.getPageNumber() == 2 && pageable.getPageSize() == 5));
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/autocomplete - Suggest garage names")
+    void autocompleteGarages_Success() throws Exception {
+        when(garageService.suggestGarages("par", 10))
+                .thenReturn(List.of(new GarageSuggestionDTO(1L, "Garage Paris Centre")));
+
+        mockMvc.perform(get("/api/garages/autocomplete")
+                        .param("prefix", "par"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].name").value("Garage Paris Centre"));
+
+        verify(garageService, times(1)).suggestGarages("par", 10);
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/autocomplete - Invalid limit returns 400")
+    void autocompleteGarages_InvalidLimit_Returns400() throws Exception {
+        when(garageService.suggestGarages("par", 500))
+                .thenThrow(new IllegalArgumentException("Limit must be between 1 and 100"));
+
+        mockMvc.perform(get("/api/garages/autocomplete")
+                        .param("prefix", "par")
+                        .param("limit", "500"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/nearest - Nearest garages with capacity")
+    void findNearestGarages_Success() throws Exception {
+        when(garageService.findNearestGarages(48.8566, 2.3522, 5, 20.0, true, "Electric"))
+                .thenReturn(List.of(new GarageDistanceDTO(testGarageDTO, 3.56)));
+
+        mockMvc.perform(get("/api/garages/nearest")
+                        .param("latitude", "48.8566")
+                        .param("longitude", "2.3522")
+                        .param("limit", "5")
+                        .param("maxDistanceKm", "20")
+                        .param("withCapacity", "true")
+                        .param("fuelType", "Electric"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].garage.id").value(1))
+                .andExpect(jsonPath("$[0].garage.latitude").value(48.8698))
+                .andExpect(jsonPath("$[0].distanceKm").value(3.56));
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/nearest - Invalid coordinates return 400")
+    void findNearestGarages_InvalidCoordinates_Returns400() throws Exception {
+        when(garageService.findNearestGarages(95.0, 2.3522, 10, null, false, null))
+                .thenThrow(new IllegalArgumentException("Latitude must be between -90 and 90"));
+
+        mockMvc.perform(get("/api/garages/nearest")
+                        .param("latitude", "95")
+                        .param("longitude", "2.3522"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/search/name - Ranked name search")
+    void searchGaragesByName_Success() throws Exception {
+        when(garageService.searchGaragesByName("paris", 20)).thenReturn(List.of(testGarageDTO));
+
+        mockMvc.perform(get("/api/garages/search/name")
+                        .param("query", "paris"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Garage Paris Centre"));
+
+        verify(garageService, times(1)).searchGaragesByName("paris", 20);
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/scroll - Get garages with cursor pagination")
+    void scrollGarages_Success() throws Exception {
+        CursorPageDTO<GarageDTO> page = new CursorPageDTO<>(List.of(testGarageDTO), 1, true, "next-token", 42L);
+        when(garageService.scrollGarages("email", Sort.Direction.DESC, "token", 1, TotalCountMode.APPROXIMATE))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/api/garages/scroll")
+                        .param("sortBy", "email")
+                        .param("direction", "DESC")
+                        .param("cursor", "token")
+                        .param("size", "1")
+                        .param("total", "APPROXIMATE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.totalElements").value(42));
+
+        verify(garageService, times(1)).scrollGarages("email", Sort.Direction.DESC, "token", 1, TotalCountMode.APPROXIMATE);
+    }
+
+    @Test
+    @DisplayName("GET /api/garages - Unsupported sort field returns 400")
+    void getAllGarages_UnsupportedSortField_Returns400() throws Exception {
+        when(garageService.getAllGarages(any(), eq("telephone")))
+                .thenThrow(new IllegalArgumentException("Unsupported sort field: telephone"));
+
+        mockMvc.perform(get("/api/garages")
+                        .param("sortBy", "telephone"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/{id} - Response carries the version as ETag")
+    void getGarageById_ReturnsETag() throws Exception {
+        when(garageService.getGarageById(1L)).thenReturn(testGarageDTO);
+
+        mockMvc.perform(get("/api/garages/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        verify(garageService, never()).getGarageVersion(anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/{id} - Matching If-None-Match returns 304 without loading the garage")
+    void getGarageById_NotModified() throws Exception {
+        when(garageService.getGarageVersion(1L)).thenReturn(0L);
+
+        mockMvc.perform(get("/api/garages/1").header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(content().string(""));
+
+        verify(garageService, never()).getGarageById(anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/{id} - Stale If-None-Match returns the garage")
+    void getGarageById_ModifiedSinceETag() throws Exception {
+        when(garageService.getGarageVersion(1L)).thenReturn(1L);
+        when(garageService.getGarageById(1L)).thenReturn(testGarageDTO);
+
+        mockMvc.perform(get("/api/garages/1").header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    @DisplayName("PUT /api/garages/{id} - Stale If-Match returns 412")
+    void updateGarage_StaleIfMatch_Returns412() throws Exception {
+        when(garageService.updateGarage(eq(1L), any(GarageDTO.class), eq(3L)))
+                .thenThrow(new PreconditionFailedException("Garage 1 has been modified"));
+
+        mockMvc.perform(put("/api/garages/1")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testGarageDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("PUT /api/garages/{id} - Malformed If-Match returns 400")
+    void updateGarage_MalformedIfMatch_Returns400() throws Exception {
+        mockMvc.perform(put("/api/garages/1")
+                        .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testGarageDTO)))
+                .andExpect(status().isBadRequest());
 
-        verify(garageService, times(1)).searchGarages(any(GarageSearchCriteria.class));
+        verify(garageService, never()).updateGarage(anyLong(), any(GarageDTO.class), any());
     }
 }
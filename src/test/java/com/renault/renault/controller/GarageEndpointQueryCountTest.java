@@ -0,0 +1,184 @@
+package com.renault.renault.controller;
+
+import com.renault.renault.config.CacheConfig;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.index.SearchIndexLoader;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.sql.QueryCounting;
+import com.renault.renault.sql.TestFleet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.renault.renault.sql.SqlCountAssertions.assertStatementCounts;
+import static com.renault.renault.sql.SqlCountAssertions.resetCounts;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@QueryCounting
+@DisplayName("Garage endpoints - SQL statement counts")
+class GarageEndpointQueryCountTest {
+    private static final int GARAGES = 12;
+    private static final int VEHICLES_PER_GARAGE = 8;
+    private static final int ACCESSORIES_PER_VEHICLE = 2;
+    private static final String GARAGE_JSON = """
+            {"id": 1, "name": "Garage Query Count", "address": "1 Rue du Compteur", "telephone": "+33100000000",
+             "email": "count@garage.com", "vehicleCount": 0, "maxVehicles": 50,
+             "openingTimes": [{"startTime": "08:00:00", "endTime": "18:00:00", "dayOfWeek": "MONDAY"}]}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private SearchIndexLoader searchIndexLoader;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private List<Garage> fleet;
+
+    @BeforeEach
+    void setUp() {
+        fleet = TestFleet.seed(garageRepository, GARAGES, VEHICLES_PER_GARAGE, ACCESSORIES_PER_VEHICLE);
+        searchIndexLoader.loadIndexes();
+        cacheManager.getCache(CacheConfig.GARAGES).clear();
+        resetCounts();
+    }
+
+    @AfterEach
+    void tearDown() {
+        garageRepository.deleteAll();
+        searchIndexLoader.loadIndexes();
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/{id}")
+    void getGarage() throws Exception {
+        mockMvc.perform(get("/api/garages/" + garageId())).andExpect(status().isOk());
+        assertStatementCounts(1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/{id} served from the cache")
+    void getGarageCached() throws Exception {
+        mockMvc.perform(get("/api/garages/" + garageId())).andExpect(status().isOk());
+        resetCounts();
+        mockMvc.perform(get("/api/garages/" + garageId())).andExpect(status().isOk());
+        assertStatementCounts(0, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/garages")
+    void getAllGarages() throws Exception {
+        mockMvc.perform(get("/api/garages").param("size", "10")).andExpect(status().isOk());
+        assertStatementCounts(3, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/scroll")
+    void scrollGarages() throws Exception {
+        mockMvc.perform(get("/api/garages/scroll").param("size", "10")).andExpect(status().isOk());
+        assertStatementCounts(2, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/search")
+    void searchGarages() throws Exception {
+        mockMvc.perform(get("/api/garages/search").param("model", "Clio").param("size", "10"))
+                .andExpect(status().isOk());
+        assertStatementCounts(1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/search/name")
+    void searchGaragesByName() throws Exception {
+        mockMvc.perform(get("/api/garages/search/name").param("query", "fleet").param("limit", "10"))
+                .andExpect(status().isOk());
+        assertStatementCounts(1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/autocomplete")
+    void suggestGarages() throws Exception {
+        mockMvc.perform(get("/api/garages/autocomplete").param("prefix", "fle")).andExpect(status().isOk());
+        assertStatementCounts(0, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/garages/nearest")
+    void findNearestGarages() throws Exception {
+        mockMvc.perform(get("/api/garages/nearest").param("latitude", "48.85").param("longitude", "2.35")
+                        .param("withCapacity", "true").param("fuelType", "Diesel"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(10)));
+        assertStatementCounts(2, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("POST /api/garages")
+    void createGarage() throws Exception {
+        mockMvc.perform(post("/api/garages").contentType(MediaType.APPLICATION_JSON).content(GARAGE_JSON))
+                .andExpect(status().isOk());
+        assertStatementCounts(0, 3, 0, 0);
+    }
+
+    @Test
+    @DisplayName("PUT /api/garages/{id}")
+    void updateGarage() throws Exception {
+        mockMvc.perform(put("/api/garages/" + garageId()).contentType(MediaType.APPLICATION_JSON).content(GARAGE_JSON))
+                .andExpect(status().isOk());
+        assertStatementCounts(1, 1, 1, 1);
+    }
+
+    @Test
+    @DisplayName("PUT /api/garages/{id} - only changed opening times are written")
+    void updateGarageSchedule() throws Exception {
+        String json = GARAGE_JSON.replace("""
+                [{"startTime": "08:00:00", "endTime": "18:00:00", "dayOfWeek": "MONDAY"}]""", """
+                [{"startTime": "09:00:00", "endTime": "18:00:00", "dayOfWeek": "MONDAY"},
+                 {"startTime": "08:00:00", "endTime": "18:00:00", "dayOfWeek": "SATURDAY"},
+                 {"startTime": "10:00:00", "endTime": "12:00:00", "dayOfWeek": "SUNDAY"}]""");
+        mockMvc.perform(put("/api/garages/" + garageId()).contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.openingTimes", hasSize(3)));
+        assertStatementCounts(1, 2, 2, 0);
+    }
+
+    @Test
+    @DisplayName("POST /api/garages/schedule-changes")
+    void applyScheduleChange() throws Exception {
+        String ids = fleet.stream().map(garage -> garage.getId().toString()).collect(Collectors.joining(","));
+        mockMvc.perform(post("/api/garages/schedule-changes").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"garageIds\": [" + ids + "], \"dayOfWeek\": \"SATURDAY\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.garages").value(GARAGES))
+                .andExpect(jsonPath("$.openingTimesDeleted").value(GARAGES))
+                .andExpect(jsonPath("$.openingTimesInserted").value(0));
+        assertStatementCounts(2, 1, 1, 1);
+    }
+
+    @Test
+    @DisplayName("DELETE /api/garages/{id}")
+    void deleteGarage() throws Exception {
+        mockMvc.perform(delete("/api/garages/" + garageId())).andExpect(status().isOk());
+        assertStatementCounts(0, 1, 0, 4);
+    }
+
+    private Long garageId() {
+        return fleet.get(0).getId();
+    }
+}
@@ -0,0 +1,54 @@
+package com.renault.renault.controller;
+
+import com.renault.renault.dto.monitoring.CacheStatsDTO;
+import com.renault.renault.dto.monitoring.EventQueueStatsDTO;
+import com.renault.renault.service.MonitoringService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MonitoringController.class)
+@DisplayName("MonitoringController Integration Tests")
+class MonitoringControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private MonitoringService monitoringService;
+
+    @Test
+    @DisplayName("GET /api/monitoring/caches - Get cache statistics")
+    void getCacheStats_Success() throws Exception {
+        when(monitoringService.getCacheStats())
+                .thenReturn(List.of(new CacheStatsDTO("garages", 12, 90, 10, 0.9, 2)));
+
+        mockMvc.perform(get("/api/monitoring/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("garages"))
+                .andExpect(jsonPath("$[0].hitRate").value(0.9));
+    }
+
+    @Test
+    @DisplayName("GET /api/monitoring/events - Get event queue statistics")
+    void getEventQueueStats_Success() throws Exception {
+        when(monitoringService.getEventQueueStats())
+                .thenReturn(new EventQueueStatsDTO("BLOCK", 3, 10000, 120, 117, 0, 12, 4, 40));
+
+        mockMvc.perform(get("/api/monitoring/events"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.queueDepth").value(3))
+                .andExpect(jsonPath("$.backpressure").value("BLOCK"));
+    }
+}
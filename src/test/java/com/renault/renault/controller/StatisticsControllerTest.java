@@ -0,0 +1,84 @@
+package com.renault.renault.controller;
+
+import com.renault.renault.dto.statistics.AccessoryPriceGrouping;
+import com.renault.renault.dto.statistics.AccessoryPriceStatsDTO;
+import com.renault.renault.dto.statistics.GarageStatisticsDTO;
+import com.renault.renault.dto.statistics.StatisticsRecomputeDTO;
+import com.renault.renault.exception.ResourceNotFoundException;
+import com.renault.renault.service.StatisticsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(StatisticsController.class)
+@DisplayName("StatisticsController Integration Tests")
+class StatisticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private StatisticsService statisticsService;
+
+    @Test
+    @DisplayName("GET /api/statistics/garages/{id} - Get garage statistics")
+    void getGarageStatistics_Success() throws Exception {
+        when(statisticsService.getGarageStatistics(1L)).thenReturn(new GarageStatisticsDTO(1L, 2,
+                Map.of("Diesel", 2L), Map.of("Clio", 2L), Map.of("2020-2024", 2L), 3, new BigDecimal("149.97")));
+
+        mockMvc.perform(get("/api/statistics/garages/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vehicleCount").value(2))
+                .andExpect(jsonPath("$.vehiclesByFuelType.Diesel").value(2))
+                .andExpect(jsonPath("$.accessoryTotalPrice").value(149.97));
+    }
+
+    @Test
+    @DisplayName("GET /api/statistics/garages/{id} - Garage not found")
+    void getGarageStatistics_NotFound() throws Exception {
+        when(statisticsService.getGarageStatistics(999L))
+                .thenThrow(new ResourceNotFoundException("Garage not found with ID: 999"));
+
+        mockMvc.perform(get("/api/statistics/garages/999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST /api/statistics/recompute - Recompute statistics")
+    void recompute_Success() throws Exception {
+        when(statisticsService.recompute()).thenReturn(new StatisticsRecomputeDTO(12, 1, 35));
+
+        mockMvc.perform(post("/api/statistics/recompute"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.garages").value(12))
+                .andExpect(jsonPath("$.driftedGarages").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/statistics/accessory-prices - Get accessory price analytics per garage")
+    void getAccessoryPriceStatistics_Success() throws Exception {
+        when(statisticsService.getAccessoryPriceStatistics(AccessoryPriceGrouping.GARAGE)).thenReturn(List.of(
+                new AccessoryPriceStatsDTO("1", 3, new BigDecimal("10.00"), new BigDecimal("90.00"),
+                        new BigDecimal("50.00"), new BigDecimal("50.00"), new BigDecimal("90.00"),
+                        new BigDecimal("90.00"), new BigDecimal("90.00"))));
+
+        mockMvc.perform(get("/api/statistics/accessory-prices").param("groupBy", "GARAGE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].group").value("1"))
+                .andExpect(jsonPath("$[0].p90").value(90.0));
+    }
+}
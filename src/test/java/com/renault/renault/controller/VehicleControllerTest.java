@@ -2,9 +2,15 @@ package com.renault.renault.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.renault.renault.dto.accessory.AccessoryDTO;
+import com.renault.renault.dto.common.CursorPageDTO;
+import com.renault.renault.dto.common.DeletionReportDTO;
 import com.renault.renault.dto.vehicle.VehicleDTO;
+import com.renault.renault.dto.vehicle.VehicleImportReportDTO;
+import com.renault.renault.dto.vehicle.VehicleImportRowDTO;
+import com.renault.renault.dto.vehicle.VehicleImportStatus;
 import com.renault.renault.exception.BusinessConstraintViolationException;
 import com.renault.renault.exception.ResourceNotFoundException;
+import com.renault.renault.service.VehicleImportService;
 import com.renault.renault.service.VehicleService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,14 +18,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -38,6 +48,9 @@ class VehicleControllerTest {
     @MockBean
     private VehicleService vehicleService;
 
+    @MockBean
+    private VehicleImportService vehicleImportService;
+
     private VehicleDTO testVehicleDTO;
     private List<AccessoryDTO> accessories;
 
@@ -54,7 +67,8 @@ class VehicleControllerTest {
                 "Clio",
                 1L,
                 accessories,
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                0L
         );
     }
 
@@ -88,7 +102,8 @@ class VehicleControllerTest {
                 "Clio",
                 1L,
                 accessories,
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                0L
         );
 
         mockMvc.perform(post("/api/vehicles/garage/1")
@@ -138,10 +153,11 @@ class VehicleControllerTest {
                 "Zoe",
                 1L,
                 accessories,
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                0L
         );
 
-        when(vehicleService.updateVehicle(eq(1L), any(VehicleDTO.class))).thenReturn(updatedVehicle);
+        when(vehicleService.updateVehicle(eq(1L), any(VehicleDTO.class), isNull())).thenReturn(updatedVehicle);
 
         mockMvc.perform(put("/api/vehicles/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -151,13 +167,13 @@ class VehicleControllerTest {
                 .andExpect(jsonPath("$.fuelType").value("Electric"))
                 .andExpect(jsonPath("$.manufacturingYear").value(2024));
 
-        verify(vehicleService, times(1)).updateVehicle(eq(1L), any(VehicleDTO.class));
+        verify(vehicleService, times(1)).updateVehicle(eq(1L), any(VehicleDTO.class), isNull());
     }
 
     @Test
     @DisplayName("PUT /api/vehicles/{id} - Update non-existent vehicle returns 404")
     void updateVehicle_NotFound_Returns404() throws Exception {
-        when(vehicleService.updateVehicle(eq(999L), any(VehicleDTO.class)))
+        when(vehicleService.updateVehicle(eq(999L), any(VehicleDTO.class), isNull()))
                 .thenThrow(new ResourceNotFoundException("Vehicle not found with ID: 999"));
 
         mockMvc.perform(put("/api/vehicles/999")
@@ -165,16 +181,18 @@ class VehicleControllerTest {
                         .content(objectMapper.writeValueAsString(testVehicleDTO)))
                 .andExpect(status().isNotFound());
 
-        verify(vehicleService, times(1)).updateVehicle(eq(999L), any(VehicleDTO.class));
+        verify(vehicleService, times(1)).updateVehicle(eq(999L), any(VehicleDTO.class), isNull());
     }
 
     @Test
     @DisplayName("DELETE /api/vehicles/{id} - Delete vehicle successfully")
     void deleteVehicle_Success() throws Exception {
-        doNothing().when(vehicleService).deleteVehicle(1L);
+        when(vehicleService.deleteVehicle(1L)).thenReturn(new DeletionReportDTO(0, 0, 1, 2));
 
         mockMvc.perform(delete("/api/vehicles/1"))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vehicles").value(1))
+                .andExpect(jsonPath("$.accessories").value(2));
 
         verify(vehicleService, times(1)).deleteVehicle(1L);
     }
@@ -230,7 +248,8 @@ class VehicleControllerTest {
                 "Clio",
                 2L,
                 new ArrayList<>(),
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                0L
         );
 
         List<VehicleDTO> vehicles = List.of(testVehicleDTO, vehicle2);
@@ -256,4 +275,117 @@ class VehicleControllerTest {
 
         verify(vehicleService, times(1)).getVehiclesByModel("NonExistentModel");
     }
+
+    @Test
+    @DisplayName("GET /api/vehicles/model/{model}/scroll - Get a page of vehicles by model")
+    void scrollVehiclesByModel_Success() throws Exception {
+        when(vehicleService.scrollVehiclesByModel("Clio", null, 1))
+                .thenReturn(new CursorPageDTO<>(List.of(testVehicleDTO), 1, true, "next", null));
+
+        mockMvc.perform(get("/api/vehicles/model/Clio/scroll").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @DisplayName("GET /api/vehicles/garage/{garageId}/scroll - Invalid cursor returns 400")
+    void scrollVehiclesByGarage_InvalidCursor() throws Exception {
+        when(vehicleService.scrollVehiclesByGarage(1L, "bogus", 20))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/vehicles/garage/1/scroll").param("cursor", "bogus"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/vehicles/garage/{garageId}/stream - Stream vehicles as NDJSON")
+    void streamVehiclesByGarage_Success() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<VehicleDTO> consumer = invocation.getArgument(1);
+            consumer.accept(testVehicleDTO);
+            consumer.accept(testVehicleDTO);
+            return null;
+        }).when(vehicleService).streamVehiclesByGarage(eq(1L), any());
+
+        MvcResult result = mockMvc.perform(get("/api/vehicles/garage/1/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Clio", objectMapper.readValue(lines[0], VehicleDTO.class).model());
+    }
+
+    @Test
+    @DisplayName("POST /api/vehicles/import - Import vehicles from a JSON array")
+    void importVehicles_Json() throws Exception {
+        when(vehicleImportService.importVehicles(anyList())).thenReturn(new VehicleImportReportDTO(2, 1, 1, List.of(
+                new VehicleImportRowDTO(0, VehicleImportStatus.IMPORTED, 10L, null),
+                new VehicleImportRowDTO(1, VehicleImportStatus.REJECTED, null, "brand: Brand is required and cannot be empty"))));
+
+        mockMvc.perform(post("/api/vehicles/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"garageId\":1,\"brand\":\"Renault\",\"manufacturingYear\":2023,\"fuelType\":\"Diesel\",\"model\":\"Clio\"}," +
+                                "{\"garageId\":1,\"brand\":\"\",\"manufacturingYear\":2023,\"fuelType\":\"Diesel\",\"model\":\"Clio\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rows[0].vehicleId").value(10))
+                .andExpect(jsonPath("$.rows[1].status").value("REJECTED"));
+    }
+
+    @Test
+    @DisplayName("POST /api/vehicles/import - Import vehicles from NDJSON")
+    void importVehicles_Ndjson() throws Exception {
+        when(vehicleImportService.importVehicles(argThat(rows -> rows.size() == 2 && "Megane".equals(rows.get(1).model()))))
+                .thenReturn(new VehicleImportReportDTO(2, 2, 0, List.of()));
+
+        mockMvc.perform(post("/api/vehicles/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"garageId\":1,\"brand\":\"Renault\",\"manufacturingYear\":2023,\"fuelType\":\"Diesel\",\"model\":\"Clio\"}\n" +
+                                "{\"garageId\":1,\"brand\":\"Renault\",\"manufacturingYear\":2022,\"fuelType\":\"Essence\",\"model\":\"Megane\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+    }
+
+    @Test
+    @DisplayName("POST /api/vehicles/import - Malformed NDJSON returns 400")
+    void importVehicles_MalformedNdjson() throws Exception {
+        mockMvc.perform(post("/api/vehicles/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"garageId\":1,\n"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(vehicleImportService);
+    }
+
+    @Test
+    @DisplayName("GET /api/vehicles/garage/{garageId} - Matching If-None-Match returns 304 without loading vehicles")
+    void getVehiclesByGarage_NotModified() throws Exception {
+        when(vehicleService.getVehiclesByGarageFingerprint(1L)).thenReturn("abc123");
+
+        mockMvc.perform(get("/api/vehicles/garage/1").header(HttpHeaders.IF_NONE_MATCH, "\"abc123\""))
+                .andExpect(status().isNotModified());
+
+        verify(vehicleService, never()).getVehiclesByGarage(anyLong());
+    }
+
+    @Test
+    @DisplayName("PUT /api/vehicles/{id} - If-Match version is passed on and the new version returned as ETag")
+    void updateVehicle_IfMatch() throws Exception {
+        VehicleDTO updated = new VehicleDTO(1L, "Renault", 2023, "Diesel", "Clio", 1L, accessories, LocalDateTime.now(), 3L);
+        when(vehicleService.updateVehicle(eq(1L), any(VehicleDTO.class), eq(2L))).thenReturn(updated);
+
+        mockMvc.perform(put("/api/vehicles/1")
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testVehicleDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
 }
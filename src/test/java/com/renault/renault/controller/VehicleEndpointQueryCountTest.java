@@ -0,0 +1,177 @@
+package com.renault.renault.controller;
+
+import com.renault.renault.config.CacheConfig;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.index.SearchIndexLoader;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.sql.QueryCounting;
+import com.renault.renault.sql.TestFleet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static com.renault.renault.sql.SqlCountAssertions.assertStatementCounts;
+import static com.renault.renault.sql.SqlCountAssertions.resetCounts;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@QueryCounting
+@DisplayName("Vehicle endpoints - SQL statement counts")
+class VehicleEndpointQueryCountTest {
+    private static final int GARAGES = 6;
+    private static final int VEHICLES_PER_GARAGE = 10;
+    private static final int ACCESSORIES_PER_VEHICLE = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private SearchIndexLoader searchIndexLoader;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private List<Garage> fleet;
+
+    @BeforeEach
+    void setUp() {
+        fleet = TestFleet.seed(garageRepository, GARAGES, VEHICLES_PER_GARAGE, ACCESSORIES_PER_VEHICLE);
+        searchIndexLoader.loadIndexes();
+        cacheManager.getCache(CacheConfig.GARAGES).clear();
+        resetCounts();
+    }
+
+    @AfterEach
+    void tearDown() {
+        garageRepository.deleteAll();
+        searchIndexLoader.loadIndexes();
+    }
+
+    @Test
+    @DisplayName("POST /api/vehicles/garage/{garageId}")
+    void addVehicle() throws Exception {
+        mockMvc.perform(post("/api/vehicles/garage/" + garageId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(vehicleJson()))
+                .andExpect(status().isOk());
+        assertStatementCounts(0, 2, 1, 0);
+    }
+
+    @Test
+    @DisplayName("PUT /api/vehicles/{id}")
+    void updateVehicle() throws Exception {
+        mockMvc.perform(put("/api/vehicles/" + vehicleId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(vehicleJson()))
+                .andExpect(status().isOk());
+        assertStatementCounts(1, 1, 1, 0);
+    }
+
+    @Test
+    @DisplayName("DELETE /api/vehicles/{id}")
+    void deleteVehicle() throws Exception {
+        mockMvc.perform(delete("/api/vehicles/" + vehicleId())).andExpect(status().isOk());
+        assertStatementCounts(1, 1, 1, 2);
+    }
+
+    @Test
+    @DisplayName("GET /api/vehicles/garage/{garageId}")
+    void getVehiclesByGarage() throws Exception {
+        mockMvc.perform(get("/api/vehicles/garage/" + garageId())).andExpect(status().isOk());
+        assertStatementCounts(3, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/vehicles/model/{model}")
+    void getVehiclesByModel() throws Exception {
+        mockMvc.perform(get("/api/vehicles/model/Clio")).andExpect(status().isOk());
+        assertStatementCounts(1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/vehicles/garage/{garageId}/scroll")
+    void scrollVehiclesByGarage() throws Exception {
+        mockMvc.perform(get("/api/vehicles/garage/" + garageId() + "/scroll").param("size", "5"))
+                .andExpect(status().isOk());
+        assertStatementCounts(2, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/vehicles/model/{model}/scroll")
+    void scrollVehiclesByModel() throws Exception {
+        mockMvc.perform(get("/api/vehicles/model/Clio/scroll").param("size", "10")).andExpect(status().isOk());
+        assertStatementCounts(2, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/vehicles/garage/{garageId}/stream")
+    void streamVehiclesByGarage() throws Exception {
+        assertEquals(VEHICLES_PER_GARAGE, streamedLines("/api/vehicles/garage/" + garageId() + "/stream"));
+        assertStatementCounts(1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("GET /api/vehicles/model/{model}/stream")
+    void streamVehiclesByModel() throws Exception {
+        streamedLines("/api/vehicles/model/Clio/stream");
+        assertStatementCounts(1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("POST /api/vehicles/import")
+    void importVehicles() throws Exception {
+        String row = """
+                {"garageId": %d, "brand": "Renault", "manufacturingYear": 2024, "fuelType": "Electric",
+                 "model": "Zoe", "accessories": [{"name": "Charger", "description": "Wall box", "price": 500.0, "type": "Electric"}]}
+                """.formatted(fleet.get(1).getId());
+        mockMvc.perform(post("/api/vehicles/import").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + String.join(",", row, row, row, row, row) + "]"))
+                .andExpect(status().isOk());
+        assertStatementCounts(1, 3, 1, 0);
+    }
+
+    @Test
+    @DisplayName("POST /api/vehicles/import (NDJSON)")
+    void importVehiclesNdjson() throws Exception {
+        String row = """
+                {"garageId": %d, "brand": "Renault", "manufacturingYear": 2024, "fuelType": "Electric", \
+                "model": "Zoe", "accessories": [{"name": "Charger", "description": "Wall box", "price": 500.0, "type": "Electric"}]}
+                """.formatted(fleet.get(1).getId());
+        mockMvc.perform(post("/api/vehicles/import").contentType("application/x-ndjson")
+                        .content(row.repeat(5)))
+                .andExpect(status().isOk());
+        assertStatementCounts(1, 3, 1, 0);
+    }
+
+    private int streamedLines(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url)).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().split("\n").length;
+    }
+
+    private String vehicleJson() {
+        return """
+                {"id": 1, "brand": "Renault", "manufacturingYear": 2024, "fuelType": "Diesel", "model": "Clio",
+                 "garageId": %d, "accessories": [], "createdAt": "2024-01-01T12:00:00"}
+                """.formatted(garageId());
+    }
+
+    private Long garageId() {
+        return fleet.get(0).getId();
+    }
+
+    private Long vehicleId() {
+        return fleet.get(0).getVehicles().get(0).getId();
+    }
+}
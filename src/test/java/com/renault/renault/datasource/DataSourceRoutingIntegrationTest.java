@@ -0,0 +1,87 @@
+package com.renault.renault.datasource;
+
+import com.renault.renault.dto.garage.GarageDTO;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.exception.ResourceNotFoundException;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.service.GarageService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs JPA service calls against a primary and a replica that are separate H2 databases, so that which one served
+ * a read shows in the data it returned.
+ */
+@SpringBootTest(properties = {
+        "app.outbox.relay-enabled=false",
+        "app.decommission.worker-enabled=false",
+        "app.datasource.routing.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "app.datasource.routing.replicas[0].url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1"
+})
+@DisplayName("Read/write routing of JPA transactions")
+class DataSourceRoutingIntegrationTest {
+
+    @Autowired
+    private GarageService garageService;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:routing-replica", "sa", ""));
+        replicate("script nodata");
+    }
+
+    @Test
+    @DisplayName("Read-only service calls read the replica, writes go to the primary")
+    void routesReadOnlyTransactionsToReplica() {
+        Long garageId = garageRepository.save(Garage.builder()
+                .name("Routed Garage")
+                .address("4 Rue du Test")
+                .telephone("+33100000004")
+                .email("routed@garage.com")
+                .vehicleCount(0)
+                .build()).getId();
+
+        assertEquals(1, primary.queryForObject("select count(*) from garages where id = ?", Integer.class, garageId));
+        assertEquals(0, replica.queryForObject("select count(*) from garages where id = ?", Integer.class, garageId));
+        assertThrows(ResourceNotFoundException.class, () -> garageService.getGarageVersion(garageId));
+        assertTrue(garageService.getAllGarages(PageRequest.of(0, 10), "name").isEmpty());
+
+        replicate("script");
+
+        assertEquals(0, garageService.getGarageVersion(garageId));
+        assertEquals(garageId, garageService.getAllGarages(PageRequest.of(0, 10), "name").stream()
+                .map(GarageDTO::id).filter(garageId::equals).findFirst().orElseThrow());
+        assertTrue(routingDataSource.getReplicas().get(0).isReachable());
+    }
+
+    /**
+     * Replaces the replica's content with the output of the given H2 {@code SCRIPT} command run on the primary.
+     */
+    private void replicate(String script) {
+        replica.execute("drop all objects");
+        primary.queryForList(script, String.class).forEach(replica::execute);
+    }
+}
@@ -0,0 +1,150 @@
+package com.renault.renault.datasource;
+
+import com.renault.renault.config.DataSourceRoutingProperties;
+import com.renault.renault.config.DataSourceRoutingProperties.Strategy;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Read/write data source routing")
+class ReadWriteRoutingDataSourceTest {
+    private static final String LAG_QUERY = "select lag_seconds from replica_status";
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private ReadWriteRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @AfterEach
+    void tearDown() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    @DisplayName("Read-only transactions take turns on the replicas, writes stay on the primary")
+    void roundRobin() {
+        route(Strategy.ROUND_ROBIN);
+
+        assertEquals(List.of("REPLICA0", "REPLICA1", "REPLICA0"), List.of(readOnlyDatabase(), readOnlyDatabase(),
+                readOnlyDatabase()));
+        assertEquals("PRIMARY", readWrite.execute(status -> database()));
+        assertEquals("PRIMARY", database());
+        readWrite.executeWithoutResult(status -> assertEquals("PRIMARY", readOnly.execute(inner -> database())));
+    }
+
+    @Test
+    @DisplayName("Least connections prefers the replica with fewer connections in use")
+    void leastConnections() throws Exception {
+        route(Strategy.LEAST_CONNECTIONS);
+
+        try (Connection busy = routingDataSource.getReplicas().get(0).getDataSource().getConnection()) {
+            assertEquals(List.of("REPLICA1", "REPLICA1", "REPLICA1"), List.of(readOnlyDatabase(), readOnlyDatabase(),
+                    readOnlyDatabase()));
+        }
+        assertEquals(Set.of("REPLICA0", "REPLICA1"), new HashSet<>(List.of(readOnlyDatabase(), readOnlyDatabase())));
+    }
+
+    @Test
+    @DisplayName("Lagging or unreachable replicas are skipped until they recover, down to the primary")
+    void lagAwareFallback() {
+        route(Strategy.ROUND_ROBIN);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(routingDataSource, new DataSourceRoutingProperties(
+                true, Strategy.ROUND_ROBIN, List.of(), Duration.ofSeconds(5), LAG_QUERY));
+        JdbcTemplate replica0 = new JdbcTemplate(routingDataSource.getReplicas().get(0).getDataSource());
+        JdbcTemplate replica1 = new JdbcTemplate(routingDataSource.getReplicas().get(1).getDataSource());
+        replica0.execute("create table replica_status (lag_seconds decimal(10, 3))");
+        replica0.update("insert into replica_status values (60)");
+        replica1.execute("create table replica_status (lag_seconds decimal(10, 3))");
+        replica1.update("insert into replica_status values (null)");
+
+        monitor.checkLag();
+        assertEquals(Duration.ofSeconds(60), routingDataSource.getReplicas().get(0).getLag());
+        assertEquals(List.of("REPLICA1", "REPLICA1"), List.of(readOnlyDatabase(), readOnlyDatabase()));
+
+        replica1.execute("drop table replica_status");
+        monitor.checkLag();
+        assertFalse(routingDataSource.getReplicas().get(1).isReachable());
+        assertEquals("PRIMARY", readOnlyDatabase());
+
+        replica0.update("update replica_status set lag_seconds = 0.5");
+        monitor.checkLag();
+        assertEquals("REPLICA0", readOnlyDatabase());
+    }
+
+    @Test
+    @DisplayName("Replicas refusing connections are skipped, without a lag query, until they accept them again")
+    void connectionFailureFallback() throws Exception {
+        HikariDataSource missing = pool("replica2");
+        missing.setJdbcUrl("jdbc:h2:mem:replica2;IFEXISTS=TRUE");
+        missing.setInitializationFailTimeout(-1);
+        missing.setConnectionTimeout(250);
+        route(Strategy.ROUND_ROBIN, missing, pool("replica1"));
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(routingDataSource, new DataSourceRoutingProperties(
+                true, Strategy.ROUND_ROBIN, List.of(), Duration.ofSeconds(5), null));
+
+        assertEquals(List.of("REPLICA1", "REPLICA1", "REPLICA1"), List.of(readOnlyDatabase(), readOnlyDatabase(),
+                readOnlyDatabase()));
+        assertFalse(routingDataSource.getReplicas().get(0).isReachable());
+        monitor.checkLag();
+        assertFalse(routingDataSource.getReplicas().get(0).isReachable());
+
+        try (Connection created = DriverManager.getConnection("jdbc:h2:mem:replica2", "sa", "")) {
+            monitor.checkLag();
+            assertTrue(routingDataSource.getReplicas().get(0).isReachable());
+            assertEquals(Set.of("REPLICA1", "REPLICA2"), new HashSet<>(List.of(readOnlyDatabase(),
+                    readOnlyDatabase())));
+        }
+    }
+
+    private void route(Strategy strategy) {
+        route(strategy, pool("replica0"), pool("replica1"));
+    }
+
+    private void route(Strategy strategy, HikariDataSource replica0, HikariDataSource replica1) {
+        HikariDataSource primary = pool("primary");
+        List<ReadWriteRoutingDataSource.Replica> replicas = List.of(
+                new ReadWriteRoutingDataSource.Replica("replica-0", replica0),
+                new ReadWriteRoutingDataSource.Replica("replica-1", replica1));
+        routingDataSource = new ReadWriteRoutingDataSource(primary, replicas, strategy, Duration.ofSeconds(5));
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private HikariDataSource pool(String database) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + database);
+        pool.setUsername("sa");
+        pool.setPoolName(database);
+        pool.setMaximumPoolSize(2);
+        pools.add(pool);
+        return pool;
+    }
+
+    private String readOnlyDatabase() {
+        return readOnly.execute(status -> database());
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("select database()", String.class);
+    }
+}
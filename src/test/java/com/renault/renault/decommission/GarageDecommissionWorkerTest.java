@@ -0,0 +1,257 @@
+package com.renault.renault.decommission;
+
+import com.renault.renault.config.DecommissionProperties;
+import com.renault.renault.dto.accessory.AccessoryDTO;
+import com.renault.renault.dto.garage.DecommissionJobDTO;
+import com.renault.renault.dto.vehicle.VehicleDTO;
+import com.renault.renault.entity.DecommissionJobStatus;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.OutboxEventType;
+import com.renault.renault.exception.ResourceNotFoundException;
+import com.renault.renault.index.GarageNameIndex;
+import com.renault.renault.index.SearchIndexLoader;
+import com.renault.renault.outbox.OutboxWriter;
+import com.renault.renault.repository.AccessoryRepository;
+import com.renault.renault.repository.DecommissionJobRepository;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.repository.OutboxEventRepository;
+import com.renault.renault.repository.VehicleRepository;
+import com.renault.renault.service.AccessoryService;
+import com.renault.renault.service.GarageDecommissionService;
+import com.renault.renault.service.GarageService;
+import com.renault.renault.service.StatisticsService;
+import com.renault.renault.service.VehicleService;
+import com.renault.renault.sql.TestFleet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {
+        "app.outbox.relay-enabled=false",
+        "app.decommission.worker-enabled=false",
+        "app.decommission.chunk-size=2",
+        "app.decommission.max-chunks-per-run=1"
+})
+@DisplayName("Background garage decommissioning")
+class GarageDecommissionWorkerTest {
+
+    @Autowired
+    private GarageDecommissionWorker worker;
+
+    @Autowired
+    private GarageDecommissionService decommissionService;
+
+    @Autowired
+    private GarageService garageService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private AccessoryService accessoryService;
+
+    @Autowired
+    private SearchIndexLoader searchIndexLoader;
+
+    @Autowired
+    private GarageNameIndex garageNameIndex;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private DecommissionJobRepository jobRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private AccessoryRepository accessoryRepository;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Garage> fleet;
+
+    @BeforeEach
+    void setUp() {
+        fleet = TestFleet.seed(garageRepository, 2, 5, 2);
+        searchIndexLoader.loadIndexes();
+        statisticsService.recompute();
+        outboxEventRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Garages left hidden by unfinished jobs are invisible to the repository
+        jdbcTemplate.update("update garages set decommissioning = false");
+        garageRepository.deleteAll();
+        jobRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        searchIndexLoader.loadIndexes();
+        statisticsService.recompute();
+    }
+
+    @Test
+    @DisplayName("The garage is hidden at once, then deleted chunk by chunk")
+    void hidesThenDeletesInChunks() {
+        Long garageId = fleet.get(0).getId();
+        Long keptGarageId = fleet.get(1).getId();
+
+        DecommissionJobDTO job = decommissionService.startDecommission(garageId);
+        assertEquals(DecommissionJobStatus.PENDING, job.status());
+        assertEquals(5, job.vehiclesTotal());
+
+        assertThrows(ResourceNotFoundException.class, () -> garageService.getGarageById(garageId));
+        assertEquals(List.of(keptGarageId), garageService.getAllGarages(PageRequest.of(0, 10), "id")
+                .map(garage -> garage.id()).getContent());
+        assertFalse(indexedNames().contains(garageId));
+        assertEquals(5, statisticsService.getNetworkStatistics().vehicleCount());
+        searchIndexLoader.loadIndexes();
+        statisticsService.recompute();
+        assertEquals(List.of(keptGarageId), indexedNames());
+        assertEquals(5, statisticsService.getNetworkStatistics().vehicleCount());
+        assertThrows(ResourceNotFoundException.class, () -> vehicleService.addVehicle(garageId,
+                new VehicleDTO(null, "Renault", 2020, "Diesel", "Clio", garageId, List.of(), null, null)));
+        assertThrows(ResourceNotFoundException.class, () -> decommissionService.startDecommission(garageId));
+        assertThrows(ResourceNotFoundException.class, () -> garageService.deleteGarage(garageId));
+
+        assertEquals(0, worker.runPending());
+        DecommissionJobDTO running = decommissionService.getJob(job.id());
+        assertEquals(DecommissionJobStatus.RUNNING, running.status());
+        assertEquals(2, running.vehiclesDeleted());
+        assertEquals(4, running.accessoriesDeleted());
+        assertEquals(40.0, running.progressPercent());
+        assertNotNull(running.startedAt());
+
+        assertEquals(0, worker.runPending());
+        assertEquals(0, worker.runPending());
+        assertEquals(1, worker.runPending());
+        DecommissionJobDTO completed = decommissionService.getJob(job.id());
+        assertEquals(DecommissionJobStatus.COMPLETED, completed.status());
+        assertEquals(5, completed.vehiclesDeleted());
+        assertEquals(10, completed.accessoriesDeleted());
+        assertEquals(2, completed.openingTimesDeleted());
+        assertEquals(100.0, completed.progressPercent());
+        assertTrue(completed.rowsPerSecond() > 0);
+        assertNotNull(completed.finishedAt());
+
+        assertEquals(0, vehicleRepository.countByGarageId(garageId));
+        assertEquals(5, vehicleRepository.countByGarageId(keptGarageId));
+        assertEquals(1, outboxEventRepository.findAll().stream()
+                .filter(event -> event.getEventType() == OutboxEventType.GARAGE_DELETED
+                        && event.getAggregateId().equals(garageId))
+                .count());
+        assertEquals(0, worker.runPending());
+        assertEquals(0, statisticsService.recompute().driftedGarages());
+    }
+
+    private static List<Long> ids(List<VehicleDTO> vehicles) {
+        return vehicles.stream().map(VehicleDTO::id).toList();
+    }
+
+    private List<Long> indexedNames() {
+        return garageNameIndex.rank("Fleet", 10, false).stream().map(GarageNameIndex.Match::garageId).toList();
+    }
+
+    @Test
+    @DisplayName("Vehicles and accessories of a garage being decommissioned are hidden from reads")
+    void hidesVehiclesAndAccessories() {
+        Long garageId = fleet.get(0).getId();
+        Long vehicleId = vehicleService.getVehiclesByGarage(garageId).get(0).id();
+        Long accessoryId = accessoryService.getAccessoriesByVehicle(vehicleId).get(0).id();
+        List<Long> keptClios = vehicleService.getVehiclesByGarage(fleet.get(1).getId()).stream()
+                .filter(vehicle -> vehicle.model().equals("Clio"))
+                .map(VehicleDTO::id)
+                .toList();
+
+        decommissionService.startDecommission(garageId);
+
+        assertTrue(vehicleService.getVehiclesByGarage(garageId).isEmpty());
+        assertTrue(vehicleService.scrollVehiclesByGarage(garageId, null, 10).content().isEmpty());
+        List<VehicleDTO> streamed = new ArrayList<>();
+        vehicleService.streamVehiclesByGarage(garageId, streamed::add);
+        vehicleService.streamVehiclesByModel("Clio", streamed::add);
+        assertEquals(keptClios, ids(streamed));
+        assertEquals(keptClios, ids(vehicleService.getVehiclesByModel("Clio")));
+        assertEquals(keptClios, ids(vehicleService.scrollVehiclesByModel("Clio", null, 10).content()));
+        assertTrue(accessoryService.getAccessoriesByVehicle(vehicleId).isEmpty());
+        assertThrows(ResourceNotFoundException.class, () -> vehicleService.deleteVehicle(vehicleId));
+
+        AccessoryDTO accessory = new AccessoryDTO(accessoryId, "Ghost", null, 10.0, "Audio");
+        assertThrows(ResourceNotFoundException.class, () -> accessoryService.addAccessory(vehicleId, accessory));
+        assertThrows(ResourceNotFoundException.class, () -> accessoryService.updateAccessory(accessoryId, accessory));
+        accessoryService.deleteAccessory(accessoryId);
+        assertEquals(1, statisticsService.getNetworkStatistics().garagesWithVehicles());
+        assertEquals(0, statisticsService.recompute().driftedGarages());
+    }
+
+    @Test
+    @DisplayName("A job that keeps failing is retried after a delay, then marked FAILED")
+    void failingJobBacksOffThenFails() {
+        Long garageId = fleet.get(0).getId();
+        DecommissionJobDTO job = decommissionService.startDecommission(garageId);
+        VehicleRepository failingVehicles = mock(VehicleRepository.class);
+        when(failingVehicles.findIdsByGarageId(eq(garageId), any())).thenThrow(new IllegalStateException("Lock timeout"));
+        GarageDecommissionWorker failingWorker = new GarageDecommissionWorker(jobRepository, garageRepository,
+                failingVehicles, accessoryRepository, outboxWriter,
+                new DecommissionProperties(true, 2, 1, 2, Duration.ofHours(1)), transactionTemplate);
+
+        assertEquals(0, failingWorker.runPending());
+        DecommissionJobDTO retrying = decommissionService.getJob(job.id());
+        assertEquals(DecommissionJobStatus.RUNNING, retrying.status());
+        assertEquals(1, retrying.attempts());
+        assertEquals("Lock timeout", retrying.lastError());
+        assertTrue(retrying.nextAttemptAt().isAfter(LocalDateTime.now().plusMinutes(59)));
+
+        assertEquals(0, failingWorker.runPending());
+        verify(failingVehicles, times(1)).findIdsByGarageId(eq(garageId), any());
+
+        transactionTemplate.executeWithoutResult(status -> jobRepository.findById(job.id()).orElseThrow()
+                .setNextAttemptAt(LocalDateTime.now().minusSeconds(1)));
+        assertEquals(0, failingWorker.runPending());
+        DecommissionJobDTO failed = decommissionService.getJob(job.id());
+        assertEquals(DecommissionJobStatus.FAILED, failed.status());
+        assertEquals(2, failed.attempts());
+        assertNull(failed.nextAttemptAt());
+        assertNotNull(failed.finishedAt());
+
+        assertEquals(0, failingWorker.runPending());
+        verify(failingVehicles, times(2)).findIdsByGarageId(eq(garageId), any());
+    }
+
+    @Test
+    @DisplayName("Unknown garages and jobs are reported as not found")
+    void unknownGarageOrJob() {
+        assertThrows(ResourceNotFoundException.class, () -> decommissionService.startDecommission(-1L));
+        assertThrows(ResourceNotFoundException.class, () -> decommissionService.getJob(-1L));
+    }
+}
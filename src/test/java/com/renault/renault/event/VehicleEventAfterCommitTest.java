@@ -0,0 +1,46 @@
+package com.renault.renault.event;
+
+import com.renault.renault.dto.vehicle.VehicleDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@DisplayName("Vehicle events are dispatched after commit only")
+class VehicleEventAfterCommitTest {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private VehicleEventDispatcher dispatcher;
+
+    @Test
+    @DisplayName("A rolled-back transaction publishes nothing, a committed one publishes its event")
+    void onlyCommittedEventsAreQueued() {
+        long before = dispatcher.getStats().enqueued();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(event());
+            status.setRollbackOnly();
+        });
+        assertEquals(before, dispatcher.getStats().enqueued());
+
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(event()));
+        assertEquals(before + 1, dispatcher.getStats().enqueued());
+    }
+
+    private VehicleCreatedEvent event() {
+        return new VehicleCreatedEvent(this, new VehicleDTO(1L, "Renault", 2023, "Diesel", "Clio", 1L, List.of(), null, 0L));
+    }
+}
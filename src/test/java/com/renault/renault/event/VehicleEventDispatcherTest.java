@@ -0,0 +1,157 @@
+package com.renault.renault.event;
+
+import com.renault.renault.config.VehicleEventProperties;
+import com.renault.renault.dto.monitoring.EventQueueStatsDTO;
+import com.renault.renault.dto.vehicle.VehicleDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("VehicleEventDispatcher Unit Tests")
+class VehicleEventDispatcherTest {
+    private final List<List<VehicleCreatedEvent>> batches = new CopyOnWriteArrayList<>();
+    private final List<String> threads = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private VehicleEventDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Events are delivered in batches on the dispatcher thread")
+    void deliversBatches() throws InterruptedException {
+        dispatcher = dispatcher(100, 10, BackpressurePolicy.BLOCK, false);
+
+        for (int i = 0; i < 25; i++) {
+            dispatcher.onVehicleCreated(event(i));
+        }
+
+        awaitTrue(() -> dispatcher.getStats().processed() == 25);
+        assertEquals(25, batches.stream().mapToInt(List::size).sum());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 10));
+        assertTrue(threads.stream().allMatch("vehicle-events"::equals));
+        EventQueueStatsDTO stats = dispatcher.getStats();
+        assertEquals(25, stats.enqueued());
+        assertEquals(0, stats.dropped());
+        assertEquals(batches.size(), stats.batches());
+    }
+
+    @Test
+    @DisplayName("DROP_NEWEST drops events once the queue is full")
+    void dropNewest() throws InterruptedException {
+        dispatcher = dispatcher(2, 10, BackpressurePolicy.DROP_NEWEST, true);
+        dispatcher.onVehicleCreated(event(0));
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+
+        for (int i = 1; i <= 3; i++) {
+            dispatcher.onVehicleCreated(event(i));
+        }
+
+        EventQueueStatsDTO stats = dispatcher.getStats();
+        assertEquals(2, stats.queueDepth());
+        assertEquals(1, stats.dropped());
+        release.countDown();
+        awaitTrue(() -> dispatcher.getStats().processed() == 3);
+        assertEquals(List.of(1L, 2L), batches.get(1).stream().map(e -> e.getVehicleDTO().id()).toList());
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST keeps the most recent events")
+    void dropOldest() throws InterruptedException {
+        dispatcher = dispatcher(2, 10, BackpressurePolicy.DROP_OLDEST, true);
+        dispatcher.onVehicleCreated(event(0));
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+
+        for (int i = 1; i <= 3; i++) {
+            dispatcher.onVehicleCreated(event(i));
+        }
+        release.countDown();
+
+        awaitTrue(() -> dispatcher.getStats().processed() == 3);
+        assertEquals(1, dispatcher.getStats().dropped());
+        assertEquals(List.of(2L, 3L), batches.get(1).stream().map(e -> e.getVehicleDTO().id()).toList());
+    }
+
+    @Test
+    @DisplayName("CALLER_RUNS delivers overflowing events on the publishing thread")
+    void callerRuns() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        dispatcher = new VehicleEventDispatcher(List.of(events -> {
+            threads.add(Thread.currentThread().getName());
+            if (Thread.currentThread().getName().equals("vehicle-events")) {
+                blocked.countDown();
+                await(release);
+            }
+        }), new VehicleEventProperties(1, 10, BackpressurePolicy.CALLER_RUNS, Duration.ZERO));
+
+        dispatcher.onVehicleCreated(event(0));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        dispatcher.onVehicleCreated(event(1));
+        dispatcher.onVehicleCreated(event(2));
+
+        assertEquals(List.of("vehicle-events", Thread.currentThread().getName()), threads);
+        assertEquals(0, dispatcher.getStats().dropped());
+    }
+
+    @Test
+    @DisplayName("Delivery lag is measured from the commit, not from when the event was published")
+    void lagMeasuredFromCommit() throws InterruptedException {
+        dispatcher = dispatcher(100, 10, BackpressurePolicy.BLOCK, false);
+        VehicleCreatedEvent event = event(0);
+        // The transaction that published the event runs for a while before committing
+        Thread.sleep(500);
+
+        dispatcher.onVehicleCreated(event);
+
+        awaitTrue(() -> dispatcher.getStats().processed() == 1);
+        assertTrue(dispatcher.getStats().lastLagMillis() < 500);
+    }
+
+    private VehicleEventDispatcher dispatcher(int capacity, int maxBatch, BackpressurePolicy policy, boolean blockFirstBatch) {
+        VehicleEventBatchListener listener = events -> {
+            threads.add(Thread.currentThread().getName());
+            batches.add(new ArrayList<>(events));
+            firstBatchStarted.countDown();
+            if (blockFirstBatch && batches.size() == 1) {
+                await(release);
+            }
+        };
+        return new VehicleEventDispatcher(List.of(listener),
+                new VehicleEventProperties(capacity, maxBatch, policy, Duration.ofMillis(10)));
+    }
+
+    private static VehicleCreatedEvent event(long id) {
+        return new VehicleCreatedEvent(VehicleEventDispatcherTest.class,
+                new VehicleDTO(id, "Renault", 2023, "Diesel", "Clio", 1L, List.of(), null, 0L));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.renault.renault.index;
+
+import com.renault.renault.index.GarageLocationIndex.Neighbour;
+import com.renault.renault.repository.projection.GarageLocationView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GarageLocationIndex Unit Tests")
+class GarageLocationIndexTest {
+    private static final double PARIS_LATITUDE = 48.8566;
+    private static final double PARIS_LONGITUDE = 2.3522;
+
+    private GarageLocationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GarageLocationIndex();
+        index.rebuild(List.of(
+                location(1L, 48.8698, 2.3078),
+                location(2L, 45.7640, 4.8357),
+                location(3L, 51.5074, -0.1278),
+                location(4L, 43.2965, 5.3698)));
+    }
+
+    @Test
+    @DisplayName("Returns the k nearest garages, closest first")
+    void nearest() {
+        assertTrue(index.isReady());
+        List<Neighbour> neighbours = index.nearest(PARIS_LATITUDE, PARIS_LONGITUDE, 3, Double.POSITIVE_INFINITY, id -> true);
+
+        assertEquals(List.of(1L, 3L, 2L), ids(neighbours));
+        assertEquals(3.56, neighbours.get(0).distanceKm(), 0.01);
+        assertEquals(343.56, neighbours.get(1).distanceKm(), 0.01);
+    }
+
+    @Test
+    @DisplayName("Filtered garages do not count towards k and distant ones are ignored")
+    void filterAndMaxDistance() {
+        assertEquals(List.of(3L, 2L), ids(index.nearest(PARIS_LATITUDE, PARIS_LONGITUDE, 2,
+                Double.POSITIVE_INFINITY, id -> id != 1)));
+        assertEquals(List.of(1L, 3L), ids(index.nearest(PARIS_LATITUDE, PARIS_LONGITUDE, 10, 350, id -> true)));
+        assertEquals(List.of(), index.nearest(PARIS_LATITUDE, PARIS_LONGITUDE, 10, 1, id -> true));
+    }
+
+    @Test
+    @DisplayName("Garages move with their coordinates and leave the index without them")
+    void putAndRemove() {
+        index.put(4L, 48.8600, 2.3500);
+        assertEquals(List.of(4L, 1L), ids(index.nearest(PARIS_LATITUDE, PARIS_LONGITUDE, 2, Double.POSITIVE_INFINITY, id -> true)));
+
+        index.put(4L, null, null);
+        index.remove(1L);
+        assertEquals(List.of(3L), ids(index.nearest(PARIS_LATITUDE, PARIS_LONGITUDE, 1, Double.POSITIVE_INFINITY, id -> true)));
+    }
+
+    @Test
+    @DisplayName("Searches wrap around the antimeridian")
+    void antimeridian() {
+        index.put(5L, -17.70, 179.95);
+        index.put(6L, -17.70, 178.00);
+
+        assertEquals(List.of(5L, 6L), ids(index.nearest(-17.70, -179.95, 2, Double.POSITIVE_INFINITY, id -> true)));
+    }
+
+    @Test
+    @DisplayName("Rejects coordinates out of range")
+    void invalidCoordinates() {
+        assertThrows(IllegalArgumentException.class, () -> index.nearest(91, 0, 1, Double.POSITIVE_INFINITY, id -> true));
+        assertThrows(IllegalArgumentException.class, () -> index.put(7L, 0.0, 181.0));
+    }
+
+    @Test
+    @DisplayName("Agrees with a full scan on random garages and queries")
+    void matchesFullScan() {
+        Random random = new Random(42);
+        List<GarageLocationView> garages = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            garages.add(location(id, 42 + random.nextDouble() * 9, -4 + random.nextDouble() * 12));
+        }
+        index.rebuild(garages);
+
+        for (int query = 0; query < 200; query++) {
+            double latitude = 41 + random.nextDouble() * 11;
+            double longitude = -5 + random.nextDouble() * 14;
+            int k = 1 + random.nextInt(20);
+            assertEquals(GarageLocationIndex.nearest(garages, latitude, longitude, k, Double.POSITIVE_INFINITY),
+                    index.nearest(latitude, longitude, k, Double.POSITIVE_INFINITY, id -> true));
+        }
+    }
+
+    private static List<Long> ids(List<Neighbour> neighbours) {
+        return neighbours.stream().map(Neighbour::garageId).toList();
+    }
+
+    private static GarageLocationView location(Long id, double latitude, double longitude) {
+        return new GarageLocationView() {
+            public Long getId() { return id; }
+            public Double getLatitude() { return latitude; }
+            public Double getLongitude() { return longitude; }
+        };
+    }
+}
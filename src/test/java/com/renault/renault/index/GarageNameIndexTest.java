@@ -0,0 +1,70 @@
+package com.renault.renault.index;
+
+import com.renault.renault.repository.projection.GarageNameView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GarageNameIndex Unit Tests")
+class GarageNameIndexTest {
+
+    private GarageNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GarageNameIndex();
+        index.rebuild(List.of(
+                garage(1L, "Garage Paris Centre"),
+                garage(2L, "Paris"),
+                garage(3L, "Atelier Comparis"),
+                garage(4L, "Garage Lyon Sud")));
+    }
+
+    @Test
+    @DisplayName("Partial matches ignore case and are verified")
+    void matching_PartialCaseInsensitive() {
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 3), index.matching("PARIS"));
+        assertEquals(RoaringBitmap.bitmapOf(1, 4), index.matching("garage"));
+        assertEquals(RoaringBitmap.bitmapOf(4), index.matching("y"));
+        assertTrue(index.matching("paris lyon").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Ranking puts exact, then prefix, then word prefix, then other matches first")
+    void rank_OrdersByRelevance() {
+        List<Long> ranked = index.rank("paris", 10, false).stream().map(GarageNameIndex.Match::garageId).toList();
+
+        assertEquals(List.of(2L, 1L, 3L), ranked);
+    }
+
+    @Test
+    @DisplayName("Autocomplete keeps only name and word prefixes")
+    void rank_PrefixOnly() {
+        List<Long> suggestions = index.rank("pa", 10, true).stream().map(GarageNameIndex.Match::garageId).toList();
+
+        assertEquals(List.of(2L, 1L), suggestions);
+        assertEquals(1, index.rank("ga", 1, true).size());
+    }
+
+    @Test
+    @DisplayName("Renamed and removed garages are re-indexed")
+    void putAndRemove_UpdateIndex() {
+        index.put(4L, "Garage Paris Nord");
+        index.remove(2L);
+
+        assertEquals(RoaringBitmap.bitmapOf(1, 3, 4), index.matching("paris"));
+        assertTrue(index.matching("lyon").isEmpty());
+    }
+
+    private static GarageNameView garage(Long id, String name) {
+        return new GarageNameView() {
+            public Long getId() { return id; }
+            public String getName() { return name; }
+        };
+    }
+}
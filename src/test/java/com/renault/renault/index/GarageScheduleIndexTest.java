@@ -0,0 +1,87 @@
+package com.renault.renault.index;
+
+import com.renault.renault.dto.common.OpeningTimeDTO;
+import com.renault.renault.repository.projection.OpeningTimeView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GarageScheduleIndex Unit Tests")
+class GarageScheduleIndexTest {
+
+    private GarageScheduleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GarageScheduleIndex();
+        index.rebuild(List.of(
+                period(1L, DayOfWeek.SATURDAY, "08:00", "12:00"),
+                period(1L, DayOfWeek.SATURDAY, "12:00", "18:00"),
+                period(2L, DayOfWeek.SATURDAY, "09:00", "11:00"),
+                period(3L, DayOfWeek.FRIDAY, "22:00", "06:00"),
+                period(4L, DayOfWeek.SUNDAY, "20:00", "02:00")));
+    }
+
+    @Test
+    @DisplayName("Rebuild marks the index ready and answers open-at queries")
+    void openAt() {
+        assertTrue(index.isReady());
+        assertEquals(RoaringBitmap.bitmapOf(1, 2), index.openDuring(DayOfWeek.SATURDAY, LocalTime.of(10, 30), 1));
+        assertEquals(RoaringBitmap.bitmapOf(1), index.openDuring(DayOfWeek.SATURDAY, LocalTime.of(11, 0), 1));
+        assertTrue(index.openDuring(DayOfWeek.MONDAY, LocalTime.of(10, 30), 1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("An interval must be fully covered, possibly by adjacent periods")
+    void openDuring_AdjacentPeriods() {
+        assertEquals(RoaringBitmap.bitmapOf(1), index.openDuring(DayOfWeek.SATURDAY, LocalTime.of(11, 0), 120));
+        assertEquals(RoaringBitmap.bitmapOf(1, 2), index.openDuring(DayOfWeek.SATURDAY, LocalTime.of(9, 0), 120));
+        assertTrue(index.openDuring(DayOfWeek.SATURDAY, LocalTime.of(17, 0), 61).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Periods ending before they start run past midnight, including from Sunday into Monday")
+    void overnightPeriods() {
+        assertEquals(RoaringBitmap.bitmapOf(3), index.openDuring(DayOfWeek.SATURDAY, LocalTime.of(5, 59), 1));
+        assertTrue(index.openDuring(DayOfWeek.SATURDAY, LocalTime.of(6, 0), 1).isEmpty());
+        assertEquals(RoaringBitmap.bitmapOf(4), index.openDuring(DayOfWeek.MONDAY, LocalTime.of(1, 0), 1));
+        assertEquals(RoaringBitmap.bitmapOf(4), index.openDuring(DayOfWeek.SUNDAY, LocalTime.of(23, 0), 120));
+    }
+
+    @Test
+    @DisplayName("Put replaces a garage's schedule and remove drops it")
+    void putAndRemove() {
+        index.put(2L, List.of(new OpeningTimeDTO(null, LocalTime.of(0, 0), LocalTime.of(0, 0), DayOfWeek.MONDAY)));
+
+        assertEquals(RoaringBitmap.bitmapOf(1), index.openDuring(DayOfWeek.SATURDAY, LocalTime.of(10, 30), 1));
+        assertEquals(RoaringBitmap.bitmapOf(2), index.openDuring(DayOfWeek.MONDAY, LocalTime.of(0, 0), 24 * 60));
+
+        index.remove(2L);
+
+        assertTrue(index.openDuring(DayOfWeek.MONDAY, LocalTime.of(12, 0), 1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Interval lengths outside one minute to one week are rejected")
+    void openDuring_InvalidLength() {
+        assertThrows(IllegalArgumentException.class, () -> index.openDuring(DayOfWeek.MONDAY, LocalTime.NOON, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> index.openDuring(DayOfWeek.MONDAY, LocalTime.NOON, GarageScheduleIndex.MINUTES_PER_WEEK + 1));
+    }
+
+    private static OpeningTimeView period(Long garageId, DayOfWeek day, String start, String end) {
+        return new OpeningTimeView() {
+            public Long getGarageId() { return garageId; }
+            public DayOfWeek getDayOfWeek() { return day; }
+            public LocalTime getStartTime() { return LocalTime.parse(start); }
+            public LocalTime getEndTime() { return LocalTime.parse(end); }
+        };
+    }
+}
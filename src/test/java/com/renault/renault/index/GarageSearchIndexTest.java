@@ -0,0 +1,84 @@
+package com.renault.renault.index;
+
+import com.renault.renault.repository.projection.AccessoryTermView;
+import com.renault.renault.repository.projection.VehicleTermView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GarageSearchIndex Unit Tests")
+class GarageSearchIndexTest {
+
+    private GarageSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GarageSearchIndex();
+        index.rebuild(
+                List.of(vehicle(1L, "Clio", "Diesel"), vehicle(1L, "Clio", "Petrol"), vehicle(2L, "Zoe", "Electric")),
+                List.of(accessory(1L, "GPS"), accessory(2L, "GPS")));
+    }
+
+    @Test
+    @DisplayName("Rebuild marks the index ready and indexes every term")
+    void rebuild_IndexesTerms() {
+        assertTrue(index.isReady());
+        assertEquals(RoaringBitmap.bitmapOf(1), index.garagesWith(GarageSearchIndex.Field.MODEL, "Clio"));
+        assertEquals(RoaringBitmap.bitmapOf(2), index.garagesWith(GarageSearchIndex.Field.FUEL_TYPE, "Electric"));
+        assertEquals(RoaringBitmap.bitmapOf(1, 2), index.garagesWith(GarageSearchIndex.Field.ACCESSORY, "GPS"));
+        assertTrue(index.garagesWith(GarageSearchIndex.Field.MODEL, "clio").isEmpty());
+    }
+
+    @Test
+    @DisplayName("A garage stays indexed until its last matching vehicle is removed")
+    void removeVehicle_KeepsGarageWhileReferenced() {
+        index.removeVehicle(1L, "Clio", "Diesel", List.of());
+        assertEquals(RoaringBitmap.bitmapOf(1), index.garagesWith(GarageSearchIndex.Field.MODEL, "Clio"));
+        assertTrue(index.garagesWith(GarageSearchIndex.Field.FUEL_TYPE, "Diesel").isEmpty());
+
+        index.removeVehicle(1L, "Clio", "Petrol", List.of("GPS"));
+        assertTrue(index.garagesWith(GarageSearchIndex.Field.MODEL, "Clio").isEmpty());
+        assertEquals(RoaringBitmap.bitmapOf(2), index.garagesWith(GarageSearchIndex.Field.ACCESSORY, "GPS"));
+    }
+
+    @Test
+    @DisplayName("Updates and renames move the garage between postings")
+    void updateAndRename_MoveGarage() {
+        index.updateVehicle(2L, "Zoe", "Electric", "Megane", "Hybrid");
+        index.renameAccessory(2L, "GPS", "Roof Rack");
+
+        assertTrue(index.garagesWith(GarageSearchIndex.Field.MODEL, "Zoe").isEmpty());
+        assertEquals(RoaringBitmap.bitmapOf(2), index.garagesWith(GarageSearchIndex.Field.MODEL, "Megane"));
+        assertEquals(RoaringBitmap.bitmapOf(2), index.garagesWith(GarageSearchIndex.Field.ACCESSORY, "Roof Rack"));
+        assertEquals(RoaringBitmap.bitmapOf(1), index.garagesWith(GarageSearchIndex.Field.ACCESSORY, "GPS"));
+    }
+
+    @Test
+    @DisplayName("Removing a garage clears it from every posting")
+    void removeGarage_ClearsPostings() {
+        index.removeGarage(1L);
+
+        assertTrue(index.garagesWith(GarageSearchIndex.Field.MODEL, "Clio").isEmpty());
+        assertEquals(RoaringBitmap.bitmapOf(2), index.garagesWith(GarageSearchIndex.Field.ACCESSORY, "GPS"));
+    }
+
+    private static VehicleTermView vehicle(Long garageId, String model, String fuelType) {
+        return new VehicleTermView() {
+            public Long getGarageId() { return garageId; }
+            public String getModel() { return model; }
+            public String getFuelType() { return fuelType; }
+        };
+    }
+
+    private static AccessoryTermView accessory(Long garageId, String name) {
+        return new AccessoryTermView() {
+            public Long getGarageId() { return garageId; }
+            public String getName() { return name; }
+        };
+    }
+}
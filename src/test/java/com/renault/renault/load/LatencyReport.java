@@ -0,0 +1,58 @@
+package com.renault.renault.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencies of one load test run, one HdrHistogram per endpoint and response status.
+ */
+final class LatencyReport {
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Histogram total = newHistogram();
+
+    void record(String endpoint, int status, long latencyNanos) {
+        long value = Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS);
+        histograms.computeIfAbsent(endpoint + " " + status, key -> newHistogram()).recordValue(value);
+        total.recordValue(value);
+    }
+
+    long totalCount() {
+        return total.getTotalCount();
+    }
+
+    void print(PrintStream out, String scenario, int clients, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        out.printf("%n== %s: %d clients, %.1f s, %d requests, %.0f req/s%n",
+                scenario, clients, seconds, total.getTotalCount(), total.getTotalCount() / seconds);
+        out.printf("%-48s %9s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        new TreeMap<>(histograms).forEach((endpoint, histogram) -> printRow(out, endpoint, histogram, seconds));
+        printRow(out, "all", total, seconds);
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram, double seconds) {
+        out.printf("%-48s %9d %9.0f %9.2f %9.2f %9.2f %9.2f %9.2f%n", label, histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static Histogram newHistogram() {
+        return new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+    }
+}
@@ -0,0 +1,65 @@
+package com.renault.renault.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * HTTP client shared by the load test clients. Every call is timed and recorded under its endpoint template
+ * (e.g. {@code GET /api/garages/{id}}) so that calls with different IDs share a histogram.
+ */
+final class LoadClient {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private volatile LatencyReport report = new LatencyReport();
+
+    LoadClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    void reportTo(LatencyReport report) {
+        this.report = report;
+    }
+
+    HttpResponse<String> get(String endpoint, String path) throws IOException, InterruptedException {
+        return send(endpoint, request(path).GET().build());
+    }
+
+    HttpResponse<String> post(String endpoint, String path, Object body) throws IOException, InterruptedException {
+        return send(endpoint, request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build());
+    }
+
+    HttpResponse<String> delete(String endpoint, String path) throws IOException, InterruptedException {
+        return send(endpoint, request(path).DELETE().build());
+    }
+
+    JsonNode json(HttpResponse<String> response) throws IOException {
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        report.record(endpoint, response.statusCode(), System.nanoTime() - start);
+        return response;
+    }
+}
@@ -0,0 +1,97 @@
+package com.renault.renault.load;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a weighted mix of operations from many concurrent clients for a fixed duration, after a warm-up whose
+ * latencies are discarded.
+ */
+final class LoadDriver {
+
+    /**
+     * One unit of client work, made of one or more HTTP calls.
+     */
+    @FunctionalInterface
+    interface Operation {
+        void run(LoadClient client) throws Exception;
+    }
+
+    record WeightedOperation(String name, int weight, Operation operation) {}
+
+    private final LoadClient client;
+    private final int clients;
+    private final Duration warmup;
+    private final Duration duration;
+
+    LoadDriver(LoadClient client, int clients, Duration warmup, Duration duration) {
+        this.client = client;
+        this.clients = clients;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    LatencyReport run(String scenario, List<WeightedOperation> mix, PrintStream out) throws Exception {
+        client.reportTo(new LatencyReport());
+        drive(mix, warmup);
+
+        LatencyReport report = new LatencyReport();
+        client.reportTo(report);
+        long start = System.nanoTime();
+        long failures = drive(mix, duration);
+        report.print(out, scenario, clients, Duration.ofNanos(System.nanoTime() - start));
+        if (failures > 0) {
+            out.printf("%d operations failed with an exception%n", failures);
+        }
+        return report;
+    }
+
+    private long drive(List<WeightedOperation> mix, Duration length) throws Exception {
+        int totalWeight = mix.stream().mapToInt(WeightedOperation::weight).sum();
+        long deadline = System.nanoTime() + length.toNanos();
+        AtomicLong failures = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<?>> workers = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                workers.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            pick(mix, totalWeight).operation().run(client);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return failures.get();
+    }
+
+    private static WeightedOperation pick(List<WeightedOperation> mix, int totalWeight) {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (WeightedOperation operation : mix) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Empty operation mix");
+    }
+}
@@ -0,0 +1,237 @@
+package com.renault.renault.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.renault.renault.RenaultApplication;
+import com.renault.renault.dto.vehicle.VehicleDTO;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.index.SearchIndexLoader;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.service.VehicleService;
+import com.renault.renault.load.LoadDriver.WeightedOperation;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * HTTP load generator. Boots the application on a random port with its own in-memory database, seeds garages and
+ * vehicles, then drives one or more scenarios and prints per-endpoint latency percentiles and throughput:
+ * <ul>
+ *     <li>{@code read-mix}: mostly garage reads and searches, with bursts of vehicle additions (then removals)
+ *     against a few hot garages;</li>
+ *     <li>{@code capacity-contention}: every client adds vehicles to the same nearly full garage and removes the
+ *     ones that get in, then the garage is checked against its {@value Garage#MAX_VEHICLES} vehicle limit;</li>
+ *     <li>{@code bulk-import}: adds {@code --import-rows} vehicles to empty garages with one single-vehicle POST
+ *     after another, then the same number with one import request, and compares the two (after a warm-up round
+ *     of each).</li>
+ * </ul>
+ * Run from the project root:
+ * <pre>
+ * ./mvnw -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.renault.renault.load.LoadGenerator \
+ *     -Dexec.args="--scenario=all --clients=64 --duration=30 --warmup=5 --garages=200"
+ * </pre>
+ */
+public final class LoadGenerator {
+    private static final String[] MODELS = {"Clio", "Megane", "Captur", "Zoe", "Austral"};
+    private static final String[] FUEL_TYPES = {"Diesel", "Petrol", "Electric", "Hybrid"};
+    private static final int VEHICLES_PER_GARAGE = 10;
+    private static final int HOT_GARAGES = 5;
+    private static final int BURST_SIZE = 5;
+    private static final int CONTENDED_GARAGE_PREFILL = Garage.MAX_VEHICLES - 5;
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        String scenario = options.getOrDefault("scenario", "all");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "64"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+        int garages = Integer.parseInt(options.getOrDefault("garages", "200"));
+        int importRows = Integer.parseInt(options.getOrDefault("import-rows", "1000"));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(RenaultApplication.class)
+                .properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run()) {
+            List<Long> garageIds = new ArrayList<>();
+            for (int i = 0; i < garages; i++) {
+                garageIds.add(seedGarage(context, i, i < HOT_GARAGES ? 0 : VEHICLES_PER_GARAGE));
+            }
+            Long contended = seedGarage(context, garages, CONTENDED_GARAGE_PREFILL);
+            // Garages are saved through the repository, which the search indexes built at startup do not follow
+            context.getBean(SearchIndexLoader.class).loadIndexes();
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            LoadClient client = new LoadClient("http://localhost:" + port);
+            LoadDriver driver = new LoadDriver(client, clients, warmup, duration);
+
+            if (scenario.equals("all") || scenario.equals("read-mix")) {
+                driver.run("read-mix", readMix(garageIds), System.out);
+            }
+            if (scenario.equals("all") || scenario.equals("capacity-contention")) {
+                driver.run("capacity-contention", capacityContention(contended), System.out);
+                checkCapacity(client, contended);
+            }
+            if (scenario.equals("all") || scenario.equals("bulk-import")) {
+                bulkImport(context, client, garages + 1, importRows);
+            }
+        }
+    }
+
+    private static List<WeightedOperation> readMix(List<Long> garageIds) {
+        return List.of(
+                new WeightedOperation("get garage", 60, client ->
+                        client.get("GET /api/garages/{id}", "/api/garages/" + random(garageIds))),
+                new WeightedOperation("search by model", 15, client ->
+                        client.get("GET /api/garages/search?model", "/api/garages/search?model=" + random(MODELS))),
+                new WeightedOperation("search by name", 10, client ->
+                        client.get("GET /api/garages/search/name", "/api/garages/search/name?query=garage%20"
+                                + ThreadLocalRandom.current().nextInt(100))),
+                new WeightedOperation("autocomplete", 5, client ->
+                        client.get("GET /api/garages/autocomplete", "/api/garages/autocomplete?prefix=gar")),
+                new WeightedOperation("add vehicle burst", 10, client -> {
+                    Long garageId = garageIds.get(ThreadLocalRandom.current().nextInt(HOT_GARAGES));
+                    List<Long> added = new ArrayList<>(BURST_SIZE);
+                    for (int i = 0; i < BURST_SIZE; i++) {
+                        addVehicle(client, garageId, added);
+                    }
+                    for (Long vehicleId : added) {
+                        client.delete("DELETE /api/vehicles/{id}", "/api/vehicles/" + vehicleId);
+                    }
+                }));
+    }
+
+    private static List<WeightedOperation> capacityContention(Long garageId) {
+        return List.of(new WeightedOperation("add then remove vehicle", 1, client -> {
+            List<Long> added = new ArrayList<>(1);
+            addVehicle(client, garageId, added);
+            for (Long vehicleId : added) {
+                client.delete("DELETE /api/vehicles/{id}", "/api/vehicles/" + vehicleId);
+            }
+        }));
+    }
+
+    private static void bulkImport(ConfigurableApplicationContext context, LoadClient client, int firstGarage,
+                                   int rows) throws Exception {
+        int garagesPerRun = (rows + Garage.MAX_VEHICLES - 1) / Garage.MAX_VEHICLES;
+        int nextGarage = firstGarage;
+        long singleNanos = 0;
+        long importNanos = 0;
+        for (int round = 0; round < 2; round++) {
+            List<Map<String, Object>> vehicles = importRows(context, nextGarage, garagesPerRun, rows);
+            nextGarage += garagesPerRun;
+            List<Long> added = new ArrayList<>(rows);
+            long start = System.nanoTime();
+            for (Map<String, Object> vehicle : vehicles) {
+                addVehicle(client, (Long) vehicle.get("garageId"), added);
+            }
+            singleNanos = System.nanoTime() - start;
+
+            vehicles = importRows(context, nextGarage, garagesPerRun, rows);
+            nextGarage += garagesPerRun;
+            start = System.nanoTime();
+            HttpResponse<String> response = client.post("POST /api/vehicles/import", "/api/vehicles/import", vehicles);
+            importNanos = System.nanoTime() - start;
+            int imported = response.statusCode() == 200 ? client.json(response).get("imported").asInt() : 0;
+            if (added.size() != rows || imported != rows) {
+                System.out.printf("Bulk import: expected %d vehicles, got %d from single POSTs and %d imported%n",
+                        rows, added.size(), imported);
+            }
+        }
+        System.out.printf("Bulk import of %d vehicles: %d single POSTs in %d ms (%.0f vehicles/s), "
+                        + "one import request in %d ms (%.0f vehicles/s) -> %.1fx%n",
+                rows, rows, singleNanos / 1_000_000, rows * 1e9 / singleNanos,
+                importNanos / 1_000_000, rows * 1e9 / importNanos, (double) singleNanos / importNanos);
+    }
+
+    /**
+     * Seeds empty garages and spreads {@code rows} import rows over them, up to their vehicle limit.
+     */
+    private static List<Map<String, Object>> importRows(ConfigurableApplicationContext context, int firstGarage,
+                                                        int garages, int rows) {
+        List<Long> garageIds = new ArrayList<>(garages);
+        for (int i = 0; i < garages; i++) {
+            garageIds.add(seedGarage(context, firstGarage + i, 0));
+        }
+        List<Map<String, Object>> vehicles = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> vehicle = new HashMap<>();
+            vehicle.put("garageId", garageIds.get(i / Garage.MAX_VEHICLES));
+            vehicle.put("brand", "Renault");
+            vehicle.put("manufacturingYear", 2024);
+            vehicle.put("fuelType", random(FUEL_TYPES));
+            vehicle.put("model", random(MODELS));
+            vehicle.put("accessories", List.of());
+            vehicles.add(vehicle);
+        }
+        return vehicles;
+    }
+
+    private static void addVehicle(LoadClient client, Long garageId, List<Long> added) throws Exception {
+        Map<String, Object> vehicle = new HashMap<>();
+        vehicle.put("id", 1);
+        vehicle.put("brand", "Renault");
+        vehicle.put("manufacturingYear", 2024);
+        vehicle.put("fuelType", random(FUEL_TYPES));
+        vehicle.put("model", random(MODELS));
+        vehicle.put("garageId", garageId);
+        vehicle.put("accessories", List.of());
+        vehicle.put("createdAt", "2024-01-01T12:00:00");
+        HttpResponse<String> response = client.post("POST /api/vehicles/garage/{id}", "/api/vehicles/garage/" + garageId, vehicle);
+        if (response.statusCode() == 200) {
+            added.add(client.json(response).get("id").asLong());
+        }
+    }
+
+    private static void checkCapacity(LoadClient client, Long garageId) throws Exception {
+        JsonNode garage = client.json(client.get("GET /api/garages/{id}", "/api/garages/" + garageId));
+        int listed = client.json(client.get("GET /api/vehicles/garage/{id}", "/api/vehicles/garage/" + garageId)).size();
+        int counted = garage.get("vehicleCount").asInt();
+        boolean consistent = counted == listed && counted <= Garage.MAX_VEHICLES;
+        System.out.printf("Contended garage: vehicleCount=%d, vehicles listed=%d, limit=%d -> %s%n",
+                counted, listed, Garage.MAX_VEHICLES, consistent ? "OK" : "VIOLATED");
+    }
+
+    private static Long seedGarage(ConfigurableApplicationContext context, int index, int vehicles) {
+        Long garageId = context.getBean(GarageRepository.class).save(Garage.builder()
+                .name("Garage " + index)
+                .address(index + " Rue de la Charge")
+                .telephone("+33100000000")
+                .email("garage" + index + "@load.test")
+                .vehicleCount(0)
+                .build()).getId();
+        VehicleService vehicleService = context.getBean(VehicleService.class);
+        for (int v = 0; v < vehicles; v++) {
+            vehicleService.addVehicle(garageId, new VehicleDTO(null, "Renault", 2015 + v % 10,
+                    FUEL_TYPES[v % FUEL_TYPES.length], MODELS[(index + v) % MODELS.length], null, List.of(), null, null));
+        }
+        return garageId;
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    private static <T> T random(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static <T> T random(T[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+}
@@ -0,0 +1,139 @@
+package com.renault.renault.load;
+
+import com.renault.renault.RenaultApplication;
+import com.renault.renault.dto.vehicle.VehicleDTO;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.service.VehicleService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares Tomcat on platform threads with Tomcat on virtual threads under the same blocking workload: concurrent
+ * clients listing the vehicles of a garage, which is one JDBC query per request. Each mode starts its own
+ * application on a random port with its own in-memory database, is warmed up, then measured.
+ * <p>
+ * Run with a Java 21 JDK, from the project root:
+ * <pre>
+ * ./mvnw -Pjava21 -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.renault.renault.load.ThreadModelBenchmark -Dexec.args="20000 400"
+ * </pre>
+ * Arguments are the number of measured requests (default 20000) and of concurrent clients (default 400, above the
+ * 200 Tomcat platform threads). On Java 17 only the platform thread mode is measured.
+ */
+public final class ThreadModelBenchmark {
+    private static final int VEHICLES_PER_GARAGE = 40;
+
+    private ThreadModelBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+
+        List<Result> results = new ArrayList<>();
+        results.add(run("platform", false, requests, clients));
+        if (Runtime.version().feature() >= 21) {
+            results.add(run("virtual", true, requests, clients));
+        } else {
+            System.out.println("Java " + Runtime.version().feature() + ": virtual thread mode skipped, it needs Java 21");
+        }
+
+        System.out.printf("%n%-10s %10s %12s %10s %10s %10s%n", "threads", "requests", "req/s", "p50 ms", "p99 ms", "errors");
+        results.forEach(result -> System.out.printf("%-10s %10d %12.0f %10.2f %10.2f %10d%n", result.mode(),
+                result.requests(), result.throughput(), result.p50Millis(), result.p99Millis(), result.errors()));
+    }
+
+    private static Result run(String mode, boolean virtualThreads, int requests, int clients) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(RenaultApplication.class)
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "app.outbox.relay-enabled=false",
+                        "logging.level.root=WARN")
+                .run()) {
+            Long garageId = seed(context);
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            URI uri = URI.create("http://localhost:" + port + "/api/vehicles/garage/" + garageId);
+
+            measure(mode, uri, Math.max(requests / 10, clients), clients);
+            return measure(mode, uri, requests, clients);
+        }
+    }
+
+    private static Long seed(ConfigurableApplicationContext context) {
+        Long garageId = context.getBean(GarageRepository.class).save(Garage.builder()
+                .name("Benchmark Garage")
+                .address("1 Rue du Benchmark")
+                .telephone("+33100000000")
+                .email("benchmark@garage.com")
+                .vehicleCount(0)
+                .build()).getId();
+        VehicleService vehicleService = context.getBean(VehicleService.class);
+        for (int i = 0; i < VEHICLES_PER_GARAGE; i++) {
+            vehicleService.addVehicle(garageId,
+                    new VehicleDTO(null, "Renault", 2020 + i % 5, "Diesel", "Clio", null, List.of(), null, null));
+        }
+        return garageId;
+    }
+
+    private static Result measure(String mode, URI uri, int requests, int clients) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        long start = System.nanoTime();
+        List<Future<?>> workers = new ArrayList<>(clients);
+        for (int c = 0; c < clients; c++) {
+            workers.add(executor.submit(() -> {
+                for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                    long sent = System.nanoTime();
+                    try {
+                        if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - sent;
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        return new Result(mode, requests, requests / (elapsed / 1e9),
+                percentile(latencies, 0.50), percentile(latencies, 0.99), errors.get());
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private record Result(String mode, int requests, double throughput, double p50Millis, double p99Millis,
+                          int errors) {}
+}
@@ -0,0 +1,102 @@
+package com.renault.renault.metrics;
+
+import com.renault.renault.entity.Garage;
+import com.renault.renault.repository.GarageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DisplayName("Metrics exported through the Prometheus endpoint")
+class MetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private GarageOccupancyMetrics garageOccupancyMetrics;
+
+    private Long fullGarageId;
+
+    @BeforeEach
+    void setUp() {
+        fullGarageId = garageRepository.save(Garage.builder()
+                .name("Full Garage")
+                .address("4 Rue du Test")
+                .telephone("+33100000003")
+                .email("full@garage.com")
+                .vehicleCount(Garage.MAX_VEHICLES)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        garageRepository.deleteById(fullGarageId);
+    }
+
+    @Test
+    @DisplayName("Capacity rejections and 404s are counted")
+    void countsErrors() throws Exception {
+        double rejectedBefore = count("app.errors.capacity.rejected");
+        double notFoundBefore = count("app.errors.not.found");
+
+        mockMvc.perform(post("/api/vehicles/garage/" + fullGarageId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"id": 1, "brand": "Renault", "manufacturingYear": 2024, "fuelType": "Diesel",
+                                 "model": "Clio", "garageId": %d, "accessories": [], "createdAt": "2024-01-01T12:00:00"}
+                                """.formatted(fullGarageId)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/garages/999999")).andExpect(status().isNotFound());
+
+        assertEquals(rejectedBefore + 1, count("app.errors.capacity.rejected"));
+        assertEquals(notFoundBefore + 1, count("app.errors.not.found"));
+    }
+
+    @Test
+    @DisplayName("The scrape endpoint exposes service timers, occupancy, Hibernate and Hikari metrics")
+    void exposesPrometheusMetrics() throws Exception {
+        mockMvc.perform(get("/api/garages/" + fullGarageId)).andExpect(status().isOk());
+        garageOccupancyMetrics.refresh();
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "app_service_seconds_bucket{class=\"com.renault.renault.service.impl.GarageServiceImpl\"")))
+                .andExpect(content().string(containsString("garage_occupancy{garage=\"" + fullGarageId + "\"} 1.0")))
+                .andExpect(content().string(containsString("garage_full ")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")))
+                .andExpect(content().string(containsString("hibernate_entities_loads_total")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("vehicle_events_queue_depth")));
+    }
+
+    private double count(String name) {
+        Counter counter = meterRegistry.find(name).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,178 @@
+package com.renault.renault.outbox;
+
+import com.renault.renault.config.OutboxProperties;
+import com.renault.renault.dto.vehicle.VehicleDTO;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.OutboxEventType;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.repository.OutboxEventRepository;
+import com.renault.renault.repository.VehicleRepository;
+import com.renault.renault.service.VehicleService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.outbox.relay-enabled=false")
+@DisplayName("Transactional outbox relay")
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CapturingHandler handler;
+
+    @Autowired
+    private CapturingListener listener;
+
+    @Autowired
+    private OutboxProperties outboxProperties;
+
+    private Long garageId;
+
+    @BeforeEach
+    void setUp() {
+        garageId = garageRepository.save(Garage.builder()
+                .name("Outbox Garage")
+                .address("3 Rue du Test")
+                .telephone("+33100000002")
+                .email("outbox@garage.com")
+                .vehicleCount(0)
+                .build()).getId();
+        outboxEventRepository.deleteAll();
+        handler.received.clear();
+        listener.received.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        vehicleRepository.deleteAll(vehicleRepository.findByGarage_Id(garageId));
+        garageRepository.deleteById(garageId);
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("A committed vehicle creation is relayed once and removed from the outbox")
+    void relaysCommittedEvents() {
+        VehicleDTO created = vehicleService.addVehicle(garageId, vehicle());
+        assertEquals(1, outboxEventRepository.count());
+
+        assertEquals(1, outboxRelay.relayPending());
+
+        assertEquals(1, handler.received.size());
+        OutboxMessage message = handler.received.get(0);
+        assertEquals(OutboxEventType.VEHICLE_CREATED, message.eventType());
+        assertEquals(created.id(), message.aggregateId());
+        assertTrue(message.payload().contains("\"model\":\"Megane\""));
+        assertEquals(List.of(message), listener.received);
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(0, outboxRelay.relayPending());
+    }
+
+    @Test
+    @DisplayName("A rolled-back change leaves nothing in the outbox")
+    void rolledBackChangesAreNotRecorded() {
+        transactionTemplate.executeWithoutResult(status -> {
+            vehicleService.addVehicle(garageId, vehicle());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    @DisplayName("An event claimed by one relay cannot be claimed by another")
+    void claimsAreDisjoint() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxWriter.append(OutboxEventType.GARAGE_UPDATED, garageId, Map.of("id", garageId));
+            outboxWriter.appendDeletion(OutboxEventType.VEHICLE_DELETED, 42L);
+        });
+
+        List<OutboxMessage> first = transactionTemplate.execute(status -> outboxRelay.claim("first"));
+        List<OutboxMessage> second = transactionTemplate.execute(status -> outboxRelay.claim("second"));
+
+        assertEquals(2, first.size());
+        assertTrue(second.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Without any handler the relay leaves events in the outbox")
+    void keepsEventsWithoutHandler() {
+        vehicleService.addVehicle(garageId, vehicle());
+        OutboxRelay withoutHandler = new OutboxRelay(outboxEventRepository, List.of(), outboxProperties,
+                transactionTemplate);
+
+        assertEquals(0, withoutHandler.relayPending());
+
+        assertEquals(1, outboxEventRepository.count());
+        assertNull(outboxEventRepository.findAll().get(0).getClaimToken());
+        assertEquals(1, outboxRelay.relayPending());
+        assertEquals(1, handler.received.size());
+    }
+
+    private static VehicleDTO vehicle() {
+        return new VehicleDTO(null, "Renault", 2024, "Electric", "Megane", null, List.of(), null, null);
+    }
+
+    static class CapturingHandler implements OutboxEventHandler {
+        final List<OutboxMessage> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void handle(List<OutboxMessage> messages) {
+            received.addAll(messages);
+        }
+    }
+
+    static class CapturingListener {
+        final List<OutboxMessage> received = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        void onOutboxEvents(OutboxEventBatch batch) {
+            received.addAll(batch.messages());
+        }
+    }
+
+    @TestConfiguration
+    static class HandlerConfig {
+        @Bean
+        CapturingHandler capturingHandler() {
+            return new CapturingHandler();
+        }
+
+        @Bean
+        CapturingListener capturingListener() {
+            return new CapturingListener();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.renault.renault.repository;
+
+import com.renault.renault.dto.common.GarageSearchCriteria;
+import com.renault.renault.dto.common.OpeningHoursQuery;
+import com.renault.renault.dto.common.SearchMode;
+import com.renault.renault.entity.Accessory;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.OpeningTime;
+import com.renault.renault.entity.Vehicle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@DisplayName("GarageSpecifications Repository Tests")
+class GarageSpecificationsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    private Garage paris;
+    private Garage lyon;
+    private Garage nantes;
+
+    @BeforeEach
+    void setUp() {
+        paris = persistGarage("Garage Paris Centre");
+        lyon = persistGarage("Garage Lyon Sud");
+        nantes = persistGarage("Atelier Nantes");
+
+        persistVehicle(paris, "Clio", "Diesel", "GPS");
+        persistVehicle(paris, "Zoe", "Electric", "Roof Rack");
+        persistVehicle(lyon, "Clio", "Petrol", "Roof Rack");
+        persistVehicle(nantes, "Megane", "Diesel", "GPS");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("OR mode returns garages matching any criterion")
+    void matching_OrMode() {
+        GarageSearchCriteria criteria = new GarageSearchCriteria("lyon", null, "Electric", null, SearchMode.OR);
+
+        List<Long> ids = search(criteria);
+
+        assertEquals(List.of(paris.getId(), lyon.getId()), ids);
+    }
+
+    @Test
+    @DisplayName("AND mode returns garages matching every criterion")
+    void matching_AndMode() {
+        GarageSearchCriteria criteria = new GarageSearchCriteria(null, "Clio", "Diesel", "GPS", SearchMode.AND);
+
+        List<Long> ids = search(criteria);
+
+        assertEquals(List.of(paris.getId()), ids);
+    }
+
+    @Test
+    @DisplayName("Wildcards in the name are matched literally")
+    void matching_EscapesWildcards() {
+        Garage discount = persistGarage("Garage 50% Off");
+        entityManager.flush();
+
+        assertEquals(List.of(discount.getId()), search(new GarageSearchCriteria("%", null, null, null, SearchMode.AND)));
+        assertEquals(List.of(), search(new GarageSearchCriteria("_", null, null, null, SearchMode.AND)));
+        assertEquals(List.of(discount.getId()), search(new GarageSearchCriteria("50% OFF", null, null, null,
+                SearchMode.AND)));
+    }
+
+    @Test
+    @DisplayName("Garages with several matching vehicles are returned once")
+    void matching_NoDuplicates() {
+        GarageSearchCriteria criteria = new GarageSearchCriteria("garage", null, null, "Roof Rack", SearchMode.OR);
+
+        Page<Garage> page = garageRepository.findAll(GarageSpecifications.matching(criteria),
+                PageRequest.of(0, 1, Sort.by("id")));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(1, page.getContent().size());
+        assertEquals(paris.getId(), page.getContent().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Open-during predicate matches garages with a period covering the interval")
+    void openDuring_MatchesCoveringPeriod() {
+        persistOpeningTime(paris, DayOfWeek.SATURDAY, "08:00", "18:00");
+        persistOpeningTime(lyon, DayOfWeek.SATURDAY, "09:00", "11:00");
+        persistOpeningTime(nantes, DayOfWeek.SUNDAY, "08:00", "18:00");
+        entityManager.flush();
+
+        List<Long> ids = garageRepository.findAll(GarageSpecifications.openDuring(
+                        new OpeningHoursQuery(DayOfWeek.SATURDAY, LocalTime.of(10, 0), LocalTime.of(12, 0))),
+                        Sort.by("id"))
+                .stream().map(Garage::getId).toList();
+
+        assertEquals(List.of(paris.getId()), ids);
+    }
+
+    @Test
+    @DisplayName("Keyset predicate walks every garage once in sort order")
+    void after_WalksAllGaragesInOrder() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "name").and(Sort.by(Sort.Direction.ASC, "id"));
+        List<Long> visited = new ArrayList<>();
+        Specification<Garage> specification = Specification.where(null);
+        List<Garage> page;
+        do {
+            page = garageRepository.findBy(specification, query -> query.sortBy(sort).limit(2).all());
+            page.forEach(garage -> visited.add(garage.getId()));
+            if (!page.isEmpty()) {
+                Garage last = page.get(page.size() - 1);
+                specification = GarageSpecifications.after(GarageSortField.NAME, Sort.Direction.ASC, last.getName(), last.getId());
+            }
+        } while (page.size() == 2);
+
+        assertEquals(List.of(nantes.getId(), lyon.getId(), paris.getId()), visited);
+    }
+
+    @Test
+    @DisplayName("Keyset predicate breaks ties on the sort field by ID, descending")
+    void after_BreaksTiesById() {
+        Garage twin = persistGarage("Garage Lyon Sud");
+        entityManager.flush();
+        Sort sort = Sort.by(Sort.Direction.DESC, "name").and(Sort.by(Sort.Direction.DESC, "id"));
+
+        List<Long> ids = garageRepository.findBy(
+                        GarageSpecifications.after(GarageSortField.NAME, Sort.Direction.DESC, "Garage Lyon Sud", twin.getId()),
+                        query -> query.sortBy(sort).all())
+                .stream().map(Garage::getId).toList();
+
+        assertEquals(List.of(lyon.getId(), nantes.getId()), ids);
+    }
+
+    private List<Long> search(GarageSearchCriteria criteria) {
+        return garageRepository.findAll(GarageSpecifications.matching(criteria), PageRequest.of(0, 10, Sort.by("id")))
+                .map(Garage::getId)
+                .getContent();
+    }
+
+    private Garage persistGarage(String name) {
+        Garage garage = Garage.builder()
+                .name(name)
+                .address("1 Rue de Test")
+                .telephone("+33123456789")
+                .email("contact@garage.com")
+                .vehicleCount(0)
+                .openingTimes(new HashSet<>())
+                .vehicles(new ArrayList<>())
+                .build();
+        return entityManager.persist(garage);
+    }
+
+    private void persistOpeningTime(Garage garage, DayOfWeek day, String start, String end) {
+        entityManager.persist(OpeningTime.builder()
+                .garage(entityManager.find(Garage.class, garage.getId()))
+                .dayOfWeek(day)
+                .startTime(LocalTime.parse(start))
+                .endTime(LocalTime.parse(end))
+                .build());
+    }
+
+    private void persistVehicle(Garage garage, String model, String fuelType, String accessoryName) {
+        Vehicle vehicle = entityManager.persist(Vehicle.builder()
+                .brand("Renault")
+                .model(model)
+                .fuelType(fuelType)
+                .manufacturingYear(2023)
+                .garage(garage)
+                .accessories(new ArrayList<>())
+                .build());
+        entityManager.persist(Accessory.builder()
+                .name(accessoryName)
+                .price(99.99)
+                .type("Misc")
+                .vehicle(vehicle)
+                .build());
+    }
+}
@@ -1,12 +1,20 @@
 package com.renault.renault.service.impl;
 
+import com.renault.renault.cache.AccessoryPriceCacheInvalidator;
 import com.renault.renault.dto.accessory.AccessoryDTO;
+import com.renault.renault.dto.common.CursorPageDTO;
 import com.renault.renault.entity.Accessory;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.OutboxEventType;
 import com.renault.renault.entity.Vehicle;
 import com.renault.renault.exception.ResourceNotFoundException;
+import com.renault.renault.index.GarageSearchIndex;
 import com.renault.renault.mapper.AccessoryMapper;
+import com.renault.renault.outbox.OutboxWriter;
 import com.renault.renault.repository.AccessoryRepository;
 import com.renault.renault.repository.VehicleRepository;
+import com.renault.renault.statistics.FleetStatistics;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,14 +22,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +48,21 @@ class AccessoryServiceImplTest {
     @Mock
     private AccessoryMapper accessoryMapper;
 
+    @Mock
+    private GarageSearchIndex garageSearchIndex;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private FleetStatistics fleetStatistics;
+
+    @Mock
+    private AccessoryPriceCacheInvalidator accessoryPriceCacheInvalidator;
+
     @InjectMocks
     private AccessoryServiceImpl accessoryService;
 
@@ -48,6 +74,7 @@ class AccessoryServiceImplTest {
     void setUp() {
         testVehicle = Vehicle.builder()
                 .id(1L)
+                .garage(Garage.builder().id(1L).build())
                 .brand("Renault")
                 .model("Clio")
                 .manufacturingYear(2023)
@@ -76,7 +103,7 @@ class AccessoryServiceImplTest {
     @Test
     @DisplayName("Add accessory to vehicle successfully")
     void testAddAccessory_Success() {
-        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(vehicleRepository.findWithGarageById(1L)).thenReturn(Optional.of(testVehicle));
         when(accessoryMapper.toEntity(testAccessoryDTO)).thenReturn(testAccessory);
         when(accessoryRepository.save(any(Accessory.class))).thenReturn(testAccessory);
         when(accessoryMapper.toDto(testAccessory)).thenReturn(testAccessoryDTO);
@@ -87,12 +114,15 @@ class AccessoryServiceImplTest {
         assertEquals("GPS Navigation System", result.name());
         assertEquals(299.99, result.price());
         verify(accessoryRepository, times(1)).save(any(Accessory.class));
+        verify(garageSearchIndex, times(1)).addAccessory(1L, "GPS Navigation System");
+        verify(outboxWriter, times(1)).append(eq(OutboxEventType.ACCESSORY_CREATED), any(), eq(testAccessoryDTO));
+        verify(accessoryPriceCacheInvalidator, times(1)).evictAfterCommit();
     }
 
     @Test
     @DisplayName("Add accessory throws exception when vehicle not found")
     void testAddAccessory_VehicleNotFound() {
-        when(vehicleRepository.findById(999L)).thenReturn(Optional.empty());
+        when(vehicleRepository.findWithGarageById(999L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> accessoryService.addAccessory(999L, testAccessoryDTO));
     }
@@ -110,7 +140,7 @@ class AccessoryServiceImplTest {
         testAccessory.setName("Updated GPS");
         testAccessory.setPrice(349.99);
 
-        when(accessoryRepository.findById(1L)).thenReturn(Optional.of(testAccessory));
+        when(accessoryRepository.findWithGarageById(1L)).thenReturn(Optional.of(testAccessory));
         when(accessoryRepository.save(any(Accessory.class))).thenReturn(testAccessory);
         when(accessoryMapper.toDto(testAccessory)).thenReturn(updatedDTO);
 
@@ -121,10 +151,25 @@ class AccessoryServiceImplTest {
         verify(accessoryRepository, times(1)).save(any(Accessory.class));
     }
 
+    @Test
+    @DisplayName("Repricing an accessory clears the price analytics, renaming it does not")
+    void testUpdateAccessory_EvictsPriceAnalyticsOnlyOnPriceChange() {
+        when(accessoryRepository.findWithGarageById(1L)).thenReturn(Optional.of(testAccessory));
+        when(accessoryRepository.save(any(Accessory.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        accessoryService.updateAccessory(1L, new AccessoryDTO(1L, "Renamed GPS", "Description",
+                testAccessory.getPrice(), testAccessory.getType()));
+        verify(accessoryPriceCacheInvalidator, never()).evictAfterCommit();
+
+        accessoryService.updateAccessory(1L, new AccessoryDTO(1L, "Renamed GPS", "Description",
+                testAccessory.getPrice() + 10, testAccessory.getType()));
+        verify(accessoryPriceCacheInvalidator, times(1)).evictAfterCommit();
+    }
+
     @Test
     @DisplayName("Update accessory throws exception when not found")
     void testUpdateAccessory_NotFound() {
-        when(accessoryRepository.findById(999L)).thenReturn(Optional.empty());
+        when(accessoryRepository.findWithGarageById(999L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> accessoryService.updateAccessory(999L, testAccessoryDTO));
     }
@@ -140,4 +185,44 @@ class AccessoryServiceImplTest {
         assertEquals(0, result.size());
         verify(accessoryRepository, times(1)).findByVehicle_Id(1L);
     }
+
+    @Test
+    @DisplayName("Delete accessory removes it from the search index")
+    void testDeleteAccessory_UpdatesIndex() {
+        when(accessoryRepository.findWithGarageById(1L)).thenReturn(Optional.of(testAccessory));
+
+        accessoryService.deleteAccessory(1L);
+
+        verify(accessoryRepository, times(1)).delete(testAccessory);
+        verify(garageSearchIndex, times(1)).removeAccessory(1L, "GPS Navigation System");
+        verify(outboxWriter, times(1)).appendDeletion(OutboxEventType.ACCESSORY_DELETED, 1L);
+        verify(accessoryPriceCacheInvalidator, times(1)).evictAfterCommit();
+    }
+
+    @Test
+    @DisplayName("Scroll accessories by vehicle returns the last page without a cursor")
+    void testScrollAccessoriesByVehicle_LastPage() {
+        when(accessoryRepository.findByVehicle_IdAndIdGreaterThanOrderByIdAsc(1L, 0L, Limit.of(11)))
+                .thenReturn(List.of(testAccessory));
+        when(accessoryMapper.toDto(testAccessory)).thenReturn(testAccessoryDTO);
+
+        CursorPageDTO<AccessoryDTO> page = accessoryService.scrollAccessoriesByVehicle(1L, null, 10);
+
+        assertEquals(List.of(testAccessoryDTO), page.content());
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Stream accessories by vehicle detaches each accessory once handed over")
+    void testStreamAccessoriesByVehicle() {
+        when(accessoryRepository.streamByVehicle_IdOrderByIdAsc(1L)).thenReturn(Stream.of(testAccessory));
+        when(accessoryMapper.toDto(testAccessory)).thenReturn(testAccessoryDTO);
+        List<AccessoryDTO> received = new ArrayList<>();
+
+        accessoryService.streamAccessoriesByVehicle(1L, received::add);
+
+        assertEquals(List.of(testAccessoryDTO), received);
+        verify(entityManager).detach(testAccessory);
+    }
 }
@@ -0,0 +1,132 @@
+package com.renault.renault.service.impl;
+
+import com.renault.renault.config.CacheConfig;
+import com.renault.renault.dto.garage.GarageDTO;
+import com.renault.renault.dto.monitoring.CacheStatsDTO;
+import com.renault.renault.dto.vehicle.VehicleDTO;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.repository.VehicleRepository;
+import com.renault.renault.service.GarageService;
+import com.renault.renault.service.MonitoringService;
+import com.renault.renault.service.VehicleService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Garage cache Integration Tests")
+class GarageCacheTest {
+
+    @Autowired
+    private GarageService garageService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Long garageId;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        garageId = garageRepository.save(Garage.builder()
+                .name("Cached Garage")
+                .address("3 Rue du Test")
+                .telephone("+33100000002")
+                .email("cache@garage.com")
+                .vehicleCount(0)
+                .build()).getId();
+        cache = cacheManager.getCache(CacheConfig.GARAGES);
+        cache.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        vehicleRepository.deleteAll(vehicleRepository.findByGarage_Id(garageId));
+        garageRepository.deleteById(garageId);
+        cache.clear();
+    }
+
+    @Test
+    @DisplayName("Repeated reads are served from the cache")
+    void getGarageById_IsCached() {
+        GarageDTO first = garageService.getGarageById(garageId);
+        GarageDTO second = garageService.getGarageById(garageId);
+
+        assertSame(first, second);
+        CacheStatsDTO stats = monitoringService.getCacheStats().stream()
+                .filter(s -> s.name().equals(CacheConfig.GARAGES)).findFirst().orElseThrow();
+        assertTrue(stats.hits() >= 1);
+        assertTrue(stats.misses() >= 1);
+    }
+
+    @Test
+    @DisplayName("Adding and deleting a vehicle evicts the garage and bumps its version so the vehicle count stays current")
+    void vehicleChanges_EvictGarage() {
+        long version = garageService.getGarageById(garageId).version();
+
+        VehicleDTO vehicle = vehicleService.addVehicle(garageId,
+                new VehicleDTO(null, "Renault", 2023, "Diesel", "Clio", garageId, new ArrayList<>(), null, null));
+
+        assertNull(cache.get(garageId));
+        assertEquals(1, garageService.getGarageById(garageId).vehicleCount());
+        assertEquals(version + 1, garageService.getGarageVersion(garageId));
+
+        vehicleService.deleteVehicle(vehicle.id());
+
+        assertNull(cache.get(garageId));
+        assertEquals(0, garageService.getGarageById(garageId).vehicleCount());
+    }
+
+    @Test
+    @DisplayName("A read that missed the cache before a vehicle was added cannot cache the garage it loaded")
+    void staleGarage_NotCachedAfterEviction() {
+        GarageDTO stale = garageService.getGarageById(garageId);
+        cache.evict(garageId);
+
+        // A read misses the cache and loads the garage, then a vehicle is added before the read puts it back
+        assertNull(cache.get(garageId));
+        vehicleService.addVehicle(garageId,
+                new VehicleDTO(null, "Renault", 2023, "Diesel", "Clio", garageId, new ArrayList<>(), null, null));
+        cache.put(garageId, stale);
+
+        assertNull(cache.get(garageId));
+        GarageDTO current = garageService.getGarageById(garageId);
+        assertEquals(1, current.vehicleCount());
+        assertSame(current, cache.get(garageId).get());
+    }
+
+    @Test
+    @DisplayName("Updating a garage evicts it")
+    void updateGarage_EvictsGarage() {
+        GarageDTO cached = garageService.getGarageById(garageId);
+
+        garageService.updateGarage(garageId, new GarageDTO(garageId, "Renamed Garage", cached.address(),
+                cached.telephone(), cached.email(), cached.latitude(), cached.longitude(), cached.vehicleCount(),
+                cached.maxVehicles(), cached.openingTimes(), null), null);
+
+        assertNull(cache.get(garageId));
+        assertEquals("Renamed Garage", garageService.getGarageById(garageId).name());
+    }
+}
@@ -0,0 +1,130 @@
+package com.renault.renault.service.impl;
+
+import com.renault.renault.dto.common.OpeningTimeDTO;
+import com.renault.renault.dto.garage.GarageDTO;
+import com.renault.renault.dto.garage.ScheduleChangeDTO;
+import com.renault.renault.dto.garage.ScheduleChangeResultDTO;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.OutboxEventType;
+import com.renault.renault.index.GarageScheduleIndex;
+import com.renault.renault.index.SearchIndexLoader;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.repository.OutboxEventRepository;
+import com.renault.renault.service.GarageService;
+import com.renault.renault.sql.TestFleet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.outbox.relay-enabled=false")
+@DisplayName("Garage schedule updates")
+class GarageScheduleUpdateTest {
+
+    @Autowired
+    private GarageService garageService;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private SearchIndexLoader searchIndexLoader;
+
+    @Autowired
+    private GarageScheduleIndex garageScheduleIndex;
+
+    private List<Garage> fleet;
+
+    @BeforeEach
+    void setUp() {
+        fleet = TestFleet.seed(garageRepository, 3, 0, 0);
+        searchIndexLoader.loadIndexes();
+        outboxEventRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        garageRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        searchIndexLoader.loadIndexes();
+    }
+
+    @Test
+    @DisplayName("Hours moved in place make a new version, an identical update does not")
+    void inPlaceScheduleChangeIncrementsVersion() {
+        Long garageId = fleet.get(0).getId();
+        GarageDTO garage = garageService.getGarageById(garageId);
+
+        GarageDTO updated = garageService.updateGarage(garageId, withOpeningTimes(garage, Set.of(
+                new OpeningTimeDTO(null, LocalTime.of(10, 0), LocalTime.of(18, 0), DayOfWeek.MONDAY),
+                new OpeningTimeDTO(null, LocalTime.of(8, 0), LocalTime.of(18, 0), DayOfWeek.SATURDAY))), null);
+
+        assertEquals(garage.version() + 1, updated.version());
+        assertFalse(isOpen(garageId, DayOfWeek.MONDAY, 9));
+        assertTrue(isOpen(garageId, DayOfWeek.MONDAY, 11));
+
+        GarageDTO unchanged = garageService.updateGarage(garageId, updated, updated.version());
+        assertEquals(updated.version(), unchanged.version());
+        assertEquals(2, unchanged.openingTimes().size());
+    }
+
+    @Test
+    @DisplayName("A closure applies to every listed garage in one change")
+    void bulkClosure() {
+        Long closedId = fleet.get(0).getId();
+        Long otherId = fleet.get(1).getId();
+        long version = garageService.getGarageById(closedId).version();
+
+        ScheduleChangeResultDTO result = garageService.applyScheduleChange(
+                new ScheduleChangeDTO(List.of(closedId, -1L), DayOfWeek.SATURDAY, null, null));
+
+        assertEquals(new ScheduleChangeResultDTO(1, 1, 0), result);
+        GarageDTO closed = garageService.getGarageById(closedId);
+        assertEquals(version + 1, closed.version());
+        assertTrue(closed.openingTimes().stream().noneMatch(time -> time.dayOfWeek() == DayOfWeek.SATURDAY));
+        assertFalse(isOpen(closedId, DayOfWeek.SATURDAY, 10));
+        assertTrue(isOpen(otherId, DayOfWeek.SATURDAY, 10));
+        assertEquals(List.of(closedId), outboxEventRepository.findAll().stream()
+                .filter(event -> event.getEventType() == OutboxEventType.GARAGE_SCHEDULE_CHANGED)
+                .map(event -> event.getAggregateId()).toList());
+    }
+
+    @Test
+    @DisplayName("New hours replace the day's opening times of every listed garage")
+    void bulkHours() {
+        List<Long> garageIds = fleet.stream().map(Garage::getId).toList();
+
+        ScheduleChangeResultDTO result = garageService.applyScheduleChange(new ScheduleChangeDTO(garageIds,
+                DayOfWeek.SUNDAY, LocalTime.of(10, 0), LocalTime.of(12, 0)));
+
+        assertEquals(new ScheduleChangeResultDTO(3, 0, 3), result);
+        for (Long garageId : garageIds) {
+            assertTrue(isOpen(garageId, DayOfWeek.SUNDAY, 11));
+            assertEquals(3, garageService.getGarageById(garageId).openingTimes().size());
+        }
+        assertThrows(IllegalArgumentException.class, () -> garageService.applyScheduleChange(
+                new ScheduleChangeDTO(garageIds, DayOfWeek.SUNDAY, LocalTime.of(10, 0), null)));
+    }
+
+    private boolean isOpen(Long garageId, DayOfWeek day, int hour) {
+        return garageScheduleIndex.openDuring(day, LocalTime.of(hour, 0), 1).contains(Math.toIntExact(garageId));
+    }
+
+    private static GarageDTO withOpeningTimes(GarageDTO garage, Set<OpeningTimeDTO> openingTimes) {
+        return new GarageDTO(garage.id(), garage.name(), garage.address(), garage.telephone(), garage.email(),
+                garage.latitude(), garage.longitude(), garage.vehicleCount(), garage.maxVehicles(), openingTimes,
+                garage.version());
+    }
+}
@@ -1,26 +1,57 @@
 package com.renault.renault.service.impl;
 
+import com.renault.renault.cache.AccessoryPriceCacheInvalidator;
+import com.renault.renault.cache.GarageCacheInvalidator;
+import com.renault.renault.dto.common.CursorPageDTO;
+import com.renault.renault.dto.common.DeletionReportDTO;
+import com.renault.renault.dto.common.GarageSearchCriteria;
+import com.renault.renault.dto.common.OpeningHoursQuery;
+import com.renault.renault.dto.common.SearchMode;
+import com.renault.renault.dto.common.TotalCountMode;
 import com.renault.renault.dto.garage.GarageDTO;
+import com.renault.renault.dto.garage.GarageDistanceDTO;
+import com.renault.renault.dto.garage.GarageSuggestionDTO;
 import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.OutboxEventType;
+import com.renault.renault.exception.PreconditionFailedException;
 import com.renault.renault.exception.ResourceNotFoundException;
+import com.renault.renault.index.GarageLocationIndex;
+import com.renault.renault.index.GarageNameIndex;
+import com.renault.renault.index.GarageScheduleIndex;
+import com.renault.renault.index.GarageSearchIndex;
 import com.renault.renault.mapper.GarageMapper;
+import com.renault.renault.outbox.OutboxWriter;
+import com.renault.renault.repository.AccessoryRepository;
 import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.repository.VehicleRepository;
+import com.renault.renault.repository.projection.GarageLocationView;
+import com.renault.renault.statistics.FleetStatistics;
+import com.renault.renault.util.Cursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.time.DayOfWeek;
+import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -33,9 +64,39 @@ class GarageServiceImplTest {
     @Mock
     private GarageRepository garageRepository;
 
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private AccessoryRepository accessoryRepository;
+
     @Mock
     private GarageMapper garageMapper;
 
+    @Mock
+    private GarageSearchIndex garageSearchIndex;
+
+    @Mock
+    private GarageNameIndex garageNameIndex;
+
+    @Mock
+    private GarageScheduleIndex garageScheduleIndex;
+
+    @Mock
+    private GarageLocationIndex garageLocationIndex;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private FleetStatistics fleetStatistics;
+
+    @Mock
+    private GarageCacheInvalidator garageCacheInvalidator;
+
+    @Mock
+    private AccessoryPriceCacheInvalidator accessoryPriceCacheInvalidator;
+
     @InjectMocks
     private GarageServiceImpl garageService;
 
@@ -50,6 +111,8 @@ class GarageServiceImplTest {
                 .address("123 Avenue des Champs-Élysées, 75008 Paris")
                 .telephone("+33123456789")
                 .email("contact@garage-paris.com")
+                .latitude(48.8698)
+                .longitude(2.3078)
                 .vehicleCount(0)
                 .build();
 
@@ -59,9 +122,12 @@ class GarageServiceImplTest {
                 "123 Avenue des Champs-Élysées, 75008 Paris",
                 "+33123456789",
                 "contact@garage-paris.com",
+                48.8698,
+                2.3078,
                 0,
                 50,
-                Collections.emptySet()
+                Collections.emptySet(),
+                0L
         );
     }
 
@@ -77,25 +143,54 @@ class GarageServiceImplTest {
         assertNotNull(result);
         assertEquals("Garage Paris Centre", result.name());
         verify(garageRepository, times(1)).save(testGarage);
+        verify(garageNameIndex, times(1)).put(any(), eq("Garage Paris Centre"));
+        verify(garageLocationIndex, times(1)).put(any(), eq(48.8698), eq(2.3078));
+        verify(outboxWriter, times(1)).append(eq(OutboxEventType.GARAGE_CREATED), any(), eq(testGarageDTO));
+    }
+
+    @Test
+    @DisplayName("Delete garage removes its rows table by table and records a deletion event")
+    void testDeleteGarage_RecordsOutboxEvent() {
+        when(accessoryRepository.deleteAllByGarageId(1L)).thenReturn(5);
+        when(vehicleRepository.deleteAllByGarageId(1L)).thenReturn(2);
+        when(garageRepository.deleteOpeningTimesByGarageId(1L)).thenReturn(3);
+        when(garageRepository.deleteRowById(1L)).thenReturn(1);
+
+        DeletionReportDTO report = garageService.deleteGarage(1L);
+
+        assertEquals(new DeletionReportDTO(1, 3, 2, 5), report);
+        verify(garageRepository, never()).deleteById(any());
+        verify(outboxWriter, times(1)).appendDeletion(OutboxEventType.GARAGE_DELETED, 1L);
+        verify(garageLocationIndex, times(1)).remove(1L);
+        verify(accessoryPriceCacheInvalidator, times(1)).evictAfterCommit();
+    }
+
+    @Test
+    @DisplayName("Delete unknown garage throws ResourceNotFoundException")
+    void testDeleteGarage_NotFound() {
+        when(garageRepository.deleteRowById(999L)).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> garageService.deleteGarage(999L));
+        verify(outboxWriter, never()).appendDeletion(any(), any());
     }
 
     @Test
     @DisplayName("Get garage by ID successfully")
     void testGetGarageById_Success() {
-        when(garageRepository.findById(1L)).thenReturn(Optional.of(testGarage));
+        when(garageRepository.findWithOpeningTimesById(1L)).thenReturn(Optional.of(testGarage));
         when(garageMapper.toDto(testGarage)).thenReturn(testGarageDTO);
 
         GarageDTO result = garageService.getGarageById(1L);
 
         assertNotNull(result);
         assertEquals(1L, result.id());
-        verify(garageRepository, times(1)).findById(1L);
+        verify(garageRepository, times(1)).findWithOpeningTimesById(1L);
     }
 
     @Test
     @DisplayName("Get garage by ID - not found")
     void testGetGarageById_NotFound() {
-        when(garageRepository.findById(999L)).thenReturn(Optional.empty());
+        when(garageRepository.findWithOpeningTimesById(999L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> garageService.getGarageById(999L));
     }
@@ -104,15 +199,54 @@ class GarageServiceImplTest {
     @DisplayName("Get all garages with pagination")
     void testGetAllGarages_Success() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Garage> garagePage = new PageImpl<>(Arrays.asList(testGarage), pageable, 1);
-        when(garageRepository.findAll(pageable)).thenReturn(garagePage);
+        Pageable sorted = PageRequest.of(0, 10, Sort.by("email").and(Sort.by("id")));
+        Page<Garage> garagePage = new PageImpl<>(Arrays.asList(testGarage), sorted, 1);
+        when(garageRepository.findAll(sorted)).thenReturn(garagePage);
         when(garageMapper.toDto(testGarage)).thenReturn(testGarageDTO);
 
-        Page<GarageDTO> result = garageService.getAllGarages(pageable, "name");
+        Page<GarageDTO> result = garageService.getAllGarages(pageable, "email");
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(garageRepository, times(1)).findAll(pageable);
+        verify(garageRepository, times(1)).findAll(sorted);
+    }
+
+    @Test
+    @DisplayName("Get all garages rejects a sort field that is not whitelisted")
+    void testGetAllGarages_UnsupportedSortField() {
+        assertThrows(IllegalArgumentException.class,
+                () -> garageService.getAllGarages(PageRequest.of(0, 10), "telephone"));
+        verifyNoInteractions(garageRepository);
+    }
+
+    @Test
+    @DisplayName("Scroll garages fetches one extra row to detect the next page")
+    @SuppressWarnings("unchecked")
+    void testScrollGarages_ReturnsNextCursor() {
+        Garage second = Garage.builder().id(2L).name("Garage Rennes").build();
+        when(garageRepository.findBy(any(Specification.class), any(Function.class)))
+                .thenReturn(List.of(testGarage, second));
+        when(garageMapper.toDto(testGarage)).thenReturn(testGarageDTO);
+
+        CursorPageDTO<GarageDTO> result = garageService.scrollGarages("name", Sort.Direction.ASC, null, 1, TotalCountMode.NONE);
+
+        assertEquals(1, result.size());
+        assertTrue(result.hasNext());
+        assertNull(result.totalElements());
+        Cursor next = Cursor.decode(result.nextCursor(), "name", Sort.Direction.ASC);
+        assertEquals("Garage Paris Centre", next.lastValue());
+        assertEquals(1L, next.lastId());
+        verify(garageRepository, never()).count();
+        verify(garageMapper, never()).toDto(second);
+    }
+
+    @Test
+    @DisplayName("Scroll garages rejects a cursor issued for another sort order")
+    void testScrollGarages_CursorForOtherOrder() {
+        String cursor = new Cursor("name", Sort.Direction.ASC, "Garage Paris Centre", 1L).encode();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> garageService.scrollGarages("email", Sort.Direction.ASC, cursor, 10, TotalCountMode.NONE));
     }
 
     @Test
@@ -124,20 +258,201 @@ class GarageServiceImplTest {
                 "123 Avenue des Champs-Élysées, 75008 Paris",
                 "+33987654321",
                 "updated@garage-paris.com",
+                null,
+                null,
                 0,
                 50,
-                Collections.emptySet()
+                Collections.emptySet(),
+                0L
         );
         testGarage.setName("Garage Paris Updated");
 
-        when(garageRepository.findById(1L)).thenReturn(Optional.of(testGarage));
-        when(garageRepository.save(any(Garage.class))).thenReturn(testGarage);
+        when(garageRepository.findWithOpeningTimesById(1L)).thenReturn(Optional.of(testGarage));
+        when(garageRepository.saveAndFlush(any(Garage.class))).thenReturn(testGarage);
         when(garageMapper.toDto(testGarage)).thenReturn(updatedDTO);
 
-        GarageDTO result = garageService.updateGarage(1L, updatedDTO);
+        GarageDTO result = garageService.updateGarage(1L, updatedDTO, null);
 
         assertNotNull(result);
         assertEquals("Garage Paris Updated", result.name());
-        verify(garageRepository, times(1)).save(any(Garage.class));
+        verify(garageRepository, times(1)).saveAndFlush(any(Garage.class));
+    }
+
+    @Test
+    @DisplayName("Update garage - stale If-Match version is refused")
+    void testUpdateGarage_StaleVersion() {
+        testGarage.setVersion(5L);
+        when(garageRepository.findWithOpeningTimesById(1L)).thenReturn(Optional.of(testGarage));
+
+        assertThrows(PreconditionFailedException.class, () -> garageService.updateGarage(1L, testGarageDTO, 4L));
+        verify(garageRepository, never()).saveAndFlush(any(Garage.class));
+    }
+
+    @Test
+    @DisplayName("Get garage version - not found")
+    void testGetGarageVersion_NotFound() {
+        when(garageRepository.findVersionById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> garageService.getGarageVersion(999L));
+    }
+
+    @Test
+    @DisplayName("Search garages runs a single specification query")
+    void testSearchGarages_SingleQuery() {
+        Pageable pageable = PageRequest.of(0, 10);
+        GarageSearchCriteria criteria = new GarageSearchCriteria("Paris", "Clio", null, null, SearchMode.AND);
+        when(garageRepository.findAll(ArgumentMatchers.<Specification<Garage>>any(), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(testGarage), pageable, 1));
+        when(garageMapper.toDto(testGarage)).thenReturn(testGarageDTO);
+
+        Page<GarageDTO> result = garageService.searchGarages(criteria, pageable);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Garage Paris Centre", result.getContent().get(0).name());
+        verify(garageRepository, times(1)).findAll(ArgumentMatchers.<Specification<Garage>>any(), eq(pageable));
+    }
+
+    @Test
+    @DisplayName("Search garages by vehicle criteria uses the in-memory index")
+    void testSearchGarages_UsesIndex() {
+        Pageable pageable = PageRequest.of(0, 10);
+        GarageSearchCriteria criteria = new GarageSearchCriteria(null, "Clio", "Diesel", null, SearchMode.AND);
+        when(garageSearchIndex.isReady()).thenReturn(true);
+        when(garageNameIndex.isReady()).thenReturn(true);
+        when(garageSearchIndex.garagesWith(GarageSearchIndex.Field.MODEL, "Clio")).thenReturn(RoaringBitmap.bitmapOf(1, 2));
+        when(garageSearchIndex.garagesWith(GarageSearchIndex.Field.FUEL_TYPE, "Diesel")).thenReturn(RoaringBitmap.bitmapOf(1, 3));
+        when(garageRepository.findWithOpeningTimesByIdIn(List.of(1L))).thenReturn(List.of(testGarage));
+        when(garageMapper.toDto(testGarage)).thenReturn(testGarageDTO);
+
+        Page<GarageDTO> result = garageService.searchGarages(criteria, pageable);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(1L, result.getContent().get(0).id());
+        verify(garageRepository, never()).findAll(ArgumentMatchers.<Specification<Garage>>any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Search garages rejects pages larger than the maximum before touching the indexes")
+    void testSearchGarages_RejectsHugePage() {
+        GarageSearchCriteria criteria = new GarageSearchCriteria("a", null, null, null, SearchMode.OR);
+        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE);
+
+        assertThrows(IllegalArgumentException.class, () -> garageService.searchGarages(criteria, pageable));
+        assertThrows(IllegalArgumentException.class, () -> garageService.searchOpenGarages(
+                new OpeningHoursQuery(DayOfWeek.SATURDAY, LocalTime.of(10, 0), LocalTime.of(12, 0)), criteria, pageable));
+        verifyNoInteractions(garageSearchIndex, garageScheduleIndex, garageRepository);
+    }
+
+    @Test
+    @DisplayName("Search open garages intersects the schedule index with the other criteria")
+    void testSearchOpenGarages_UsesIndexes() {
+        Pageable pageable = PageRequest.of(0, 10);
+        OpeningHoursQuery openingHours = new OpeningHoursQuery(DayOfWeek.SATURDAY, LocalTime.of(10, 0), LocalTime.of(12, 0));
+        GarageSearchCriteria criteria = new GarageSearchCriteria(null, "Clio", null, null);
+        when(garageScheduleIndex.isReady()).thenReturn(true);
+        when(garageSearchIndex.isReady()).thenReturn(true);
+        when(garageNameIndex.isReady()).thenReturn(true);
+        when(garageScheduleIndex.openDuring(DayOfWeek.SATURDAY, LocalTime.of(10, 0), 120))
+                .thenReturn(RoaringBitmap.bitmapOf(1, 3));
+        when(garageSearchIndex.garagesWith(GarageSearchIndex.Field.MODEL, "Clio")).thenReturn(RoaringBitmap.bitmapOf(1, 2));
+        when(garageRepository.findWithOpeningTimesByIdIn(List.of(1L))).thenReturn(List.of(testGarage));
+        when(garageMapper.toDto(testGarage)).thenReturn(testGarageDTO);
+
+        Page<GarageDTO> result = garageService.searchOpenGarages(openingHours, criteria, pageable);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(1L, result.getContent().get(0).id());
+        verify(garageRepository, never()).findAll(ArgumentMatchers.<Specification<Garage>>any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Search open garages falls back to the database until the schedule index is built")
+    void testSearchOpenGarages_FallsBackToDatabase() {
+        Pageable pageable = PageRequest.of(0, 10);
+        OpeningHoursQuery openingHours = new OpeningHoursQuery(DayOfWeek.SATURDAY, LocalTime.of(10, 0), LocalTime.of(12, 0));
+        when(garageScheduleIndex.isReady()).thenReturn(false);
+        when(garageRepository.findAll(ArgumentMatchers.<Specification<Garage>>any(), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(testGarage), pageable, 1));
+        when(garageMapper.toDto(testGarage)).thenReturn(testGarageDTO);
+
+        Page<GarageDTO> result = garageService.searchOpenGarages(openingHours,
+                new GarageSearchCriteria(null, null, null, null), pageable);
+
+        assertEquals(1, result.getTotalElements());
+        verify(garageScheduleIndex, never()).openDuring(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Suggest garages returns ranked matches from the name index")
+    void testSuggestGarages_UsesNameIndex() {
+        when(garageNameIndex.isReady()).thenReturn(true);
+        when(garageNameIndex.rank("par", 5, true)).thenReturn(List.of(
+                new GarageNameIndex.Match(1L, "Garage Paris Centre", GarageNameIndex.MatchKind.WORD_PREFIX)));
+
+        List<GarageSuggestionDTO> result = garageService.suggestGarages("par", 5);
+
+        assertEquals(List.of(new GarageSuggestionDTO(1L, "Garage Paris Centre")), result);
+        verifyNoInteractions(garageRepository);
+    }
+
+    @Test
+    @DisplayName("Suggest garages rejects an out of range limit")
+    void testSuggestGarages_InvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> garageService.suggestGarages("par", 0));
+    }
+
+    @Test
+    @DisplayName("Nearest garages come from the spatial index, filtered by fuel type and capacity")
+    void testFindNearestGarages_UsesLocationIndex() {
+        when(garageLocationIndex.isReady()).thenReturn(true);
+        when(garageSearchIndex.isReady()).thenReturn(true);
+        when(garageSearchIndex.garagesWith(GarageSearchIndex.Field.FUEL_TYPE, "Electric"))
+                .thenReturn(RoaringBitmap.bitmapOf(1, 2));
+        when(garageRepository.findFullGarageIds(Garage.MAX_VEHICLES)).thenReturn(List.of(2L));
+        when(garageLocationIndex.nearest(eq(48.8566), eq(2.3522), eq(5), eq(Double.POSITIVE_INFINITY), any()))
+                .thenReturn(List.of(new GarageLocationIndex.Neighbour(1L, 1.53)));
+        when(garageRepository.findWithOpeningTimesByIdIn(List.of(1L))).thenReturn(List.of(testGarage));
+        when(garageMapper.toDto(testGarage)).thenReturn(testGarageDTO);
+
+        List<GarageDistanceDTO> result = garageService.findNearestGarages(48.8566, 2.3522, 5, null, true, "Electric");
+
+        assertEquals(List.of(new GarageDistanceDTO(testGarageDTO, 1.53)), result);
+        ArgumentCaptor<IntPredicate> filter = ArgumentCaptor.forClass(IntPredicate.class);
+        verify(garageLocationIndex).nearest(eq(48.8566), eq(2.3522), eq(5), eq(Double.POSITIVE_INFINITY), filter.capture());
+        assertTrue(filter.getValue().test(1));
+        assertFalse(filter.getValue().test(2));
+        assertFalse(filter.getValue().test(3));
+        verify(garageRepository, never()).findLocations(anyBoolean(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Nearest garages are computed from the database before the spatial index is built")
+    void testFindNearestGarages_FallsBackToDatabase() {
+        when(garageLocationIndex.isReady()).thenReturn(false);
+        when(garageRepository.findLocations(false, Garage.MAX_VEHICLES, null)).thenReturn(List.of(
+                location(2L, 45.7640, 4.8357), location(1L, 48.8698, 2.3078)));
+        when(garageRepository.findWithOpeningTimesByIdIn(List.of(1L))).thenReturn(List.of(testGarage));
+        when(garageMapper.toDto(testGarage)).thenReturn(testGarageDTO);
+
+        List<GarageDistanceDTO> result = garageService.findNearestGarages(48.8566, 2.3522, 1, 100.0, false, null);
+
+        assertEquals(1, result.size());
+        assertEquals(testGarageDTO, result.get(0).garage());
+        assertEquals(3.56, result.get(0).distanceKm(), 0.01);
+    }
+
+    @Test
+    @DisplayName("Nearest garages rejects an out of range limit")
+    void testFindNearestGarages_InvalidLimit() {
+        assertThrows(IllegalArgumentException.class,
+                () -> garageService.findNearestGarages(48.8566, 2.3522, 101, null, false, null));
+    }
+
+    private static GarageLocationView location(Long id, double latitude, double longitude) {
+        return new GarageLocationView() {
+            public Long getId() { return id; }
+            public Double getLatitude() { return latitude; }
+            public Double getLongitude() { return longitude; }
+        };
     }
 }
@@ -0,0 +1,111 @@
+package com.renault.renault.service.impl;
+
+import com.renault.renault.dto.common.OpeningTimeDTO;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.OpeningTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Opening time diff")
+class OpeningTimeDiffTest {
+
+    private Garage garage;
+    private OpeningTime monday;
+    private OpeningTime saturdayMorning;
+    private OpeningTime saturdayAfternoon;
+
+    @BeforeEach
+    void setUp() {
+        garage = Garage.builder().id(1L).openingTimes(new HashSet<>()).build();
+        monday = stored(DayOfWeek.MONDAY, 8, 18);
+        saturdayMorning = stored(DayOfWeek.SATURDAY, 8, 12);
+        saturdayAfternoon = stored(DayOfWeek.SATURDAY, 14, 18);
+    }
+
+    @Test
+    @DisplayName("An unchanged schedule writes nothing, whatever the IDs sent")
+    void unchangedSchedule() {
+        OpeningTimeDiff.Result result = OpeningTimeDiff.apply(garage, List.of(
+                requested(null, DayOfWeek.MONDAY, 8, 18),
+                requested(99L, DayOfWeek.SATURDAY, 14, 18),
+                requested(null, DayOfWeek.SATURDAY, 8, 12)));
+
+        assertFalse(result.changed());
+        assertEquals(Set.of(monday, saturdayMorning, saturdayAfternoon), garage.getOpeningTimes());
+        assertEquals(LocalTime.of(8, 0), monday.getStartTime());
+    }
+
+    @Test
+    @DisplayName("Changed hours are moved in place and only the difference is inserted or deleted")
+    void minimalChanges() {
+        OpeningTimeDiff.Result result = OpeningTimeDiff.apply(garage, List.of(
+                requested(null, DayOfWeek.MONDAY, 9, 17),
+                requested(null, DayOfWeek.SATURDAY, 14, 18),
+                requested(null, DayOfWeek.SUNDAY, 10, 12)));
+
+        assertEquals(new OpeningTimeDiff.Result(1, 1, 1), result);
+        assertTrue(garage.getOpeningTimes().contains(monday));
+        assertEquals(LocalTime.of(9, 0), monday.getStartTime());
+        assertEquals(LocalTime.of(17, 0), monday.getEndTime());
+        assertTrue(garage.getOpeningTimes().contains(saturdayAfternoon));
+        assertFalse(garage.getOpeningTimes().contains(saturdayMorning));
+        OpeningTime sunday = garage.getOpeningTimes().stream()
+                .filter(openingTime -> openingTime.getDayOfWeek() == DayOfWeek.SUNDAY)
+                .findFirst().orElseThrow();
+        assertNull(sunday.getId());
+        assertSame(garage, sunday.getGarage());
+    }
+
+    @Test
+    @DisplayName("Duplicate intervals are stored once and an empty schedule closes every day")
+    void duplicatesAndClosure() {
+        OpeningTimeDiff.Result result = OpeningTimeDiff.apply(garage, List.of(
+                requested(1L, DayOfWeek.MONDAY, 8, 18),
+                requested(2L, DayOfWeek.MONDAY, 8, 18)));
+        assertEquals(new OpeningTimeDiff.Result(0, 0, 2), result);
+        assertEquals(Set.of(monday), garage.getOpeningTimes());
+
+        assertEquals(new OpeningTimeDiff.Result(0, 0, 1), OpeningTimeDiff.apply(garage, List.of()));
+        assertTrue(garage.getOpeningTimes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("A garage without loaded opening times gets all requested intervals")
+    void missingCollection() {
+        Garage empty = Garage.builder().id(2L).build();
+
+        OpeningTimeDiff.Result result = OpeningTimeDiff.apply(empty, List.of(
+                requested(null, DayOfWeek.TUESDAY, 8, 12),
+                requested(null, DayOfWeek.TUESDAY, 13, 19)));
+
+        assertEquals(new OpeningTimeDiff.Result(2, 0, 0), result);
+        assertEquals(Set.of(LocalTime.of(8, 0), LocalTime.of(13, 0)), empty.getOpeningTimes().stream()
+                .map(OpeningTime::getStartTime).collect(Collectors.toSet()));
+    }
+
+    private OpeningTime stored(DayOfWeek day, int startHour, int endHour) {
+        OpeningTime openingTime = OpeningTime.builder()
+                .id((long) garage.getOpeningTimes().size() + 1)
+                .dayOfWeek(day)
+                .startTime(LocalTime.of(startHour, 0))
+                .endTime(LocalTime.of(endHour, 0))
+                .garage(garage)
+                .build();
+        garage.getOpeningTimes().add(openingTime);
+        return openingTime;
+    }
+
+    private static OpeningTimeDTO requested(Long id, DayOfWeek day, int startHour, int endHour) {
+        return new OpeningTimeDTO(id, LocalTime.of(startHour, 0), LocalTime.of(endHour, 0), day);
+    }
+}
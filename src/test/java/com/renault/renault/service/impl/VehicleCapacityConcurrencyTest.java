@@ -0,0 +1,107 @@
+package com.renault.renault.service.impl;
+
+import com.renault.renault.dto.vehicle.VehicleDTO;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.Vehicle;
+import com.renault.renault.exception.BusinessConstraintViolationException;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.repository.VehicleRepository;
+import com.renault.renault.service.VehicleService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Vehicle capacity under concurrent requests")
+class VehicleCapacityConcurrencyTest {
+    private static final int REQUESTS = 300;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    private Long garageId;
+
+    @BeforeEach
+    void setUp() {
+        garageId = garageRepository.save(Garage.builder()
+                .name("Concurrency Garage")
+                .address("1 Rue du Test")
+                .telephone("+33100000000")
+                .email("concurrency@garage.com")
+                .vehicleCount(0)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        vehicleRepository.deleteAll(vehicleRepository.findByGarage_Id(garageId));
+        garageRepository.deleteById(garageId);
+    }
+
+    @Test
+    @DisplayName("Parallel additions never exceed the garage limit and parallel deletions release every slot")
+    void parallelAddAndDelete_KeepCountConsistent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            int n = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    vehicleService.addVehicle(garageId, new VehicleDTO(
+                            null, "Renault", 2023, "Diesel", "Clio-" + n, garageId, new ArrayList<>(), null, null));
+                    added.incrementAndGet();
+                } catch (BusinessConstraintViolationException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        assertEquals(Garage.MAX_VEHICLES, added.get());
+        assertEquals(REQUESTS - Garage.MAX_VEHICLES, rejected.get());
+        assertEquals(Garage.MAX_VEHICLES, garageRepository.findById(garageId).orElseThrow().getVehicleCount());
+        List<Vehicle> vehicles = vehicleRepository.findByGarage_Id(garageId);
+        assertEquals(Garage.MAX_VEHICLES, vehicles.size());
+
+        futures.clear();
+        for (Vehicle vehicle : vehicles) {
+            futures.add(executor.submit(() -> vehicleService.deleteVehicle(vehicle.getId())));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(0, garageRepository.findById(garageId).orElseThrow().getVehicleCount());
+        assertTrue(vehicleRepository.findByGarage_Id(garageId).isEmpty());
+    }
+}
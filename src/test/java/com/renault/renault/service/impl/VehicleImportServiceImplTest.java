@@ -0,0 +1,100 @@
+package com.renault.renault.service.impl;
+
+import com.renault.renault.dto.accessory.AccessoryCreateDTO;
+import com.renault.renault.dto.vehicle.VehicleImportDTO;
+import com.renault.renault.dto.vehicle.VehicleImportReportDTO;
+import com.renault.renault.dto.vehicle.VehicleImportRowDTO;
+import com.renault.renault.dto.vehicle.VehicleImportStatus;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.Vehicle;
+import com.renault.renault.repository.AccessoryRepository;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.repository.VehicleRepository;
+import com.renault.renault.service.VehicleImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("VehicleImportServiceImpl Integration Tests")
+class VehicleImportServiceImplTest {
+
+    @Autowired
+    private VehicleImportService vehicleImportService;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private AccessoryRepository accessoryRepository;
+
+    private Long garageId;
+
+    @BeforeEach
+    void setUp() {
+        garageId = garageRepository.save(Garage.builder()
+                .name("Import Garage")
+                .address("2 Rue du Test")
+                .telephone("+33100000001")
+                .email("import@garage.com")
+                .vehicleCount(0)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        vehicleRepository.deleteAll(vehicleRepository.findByGarage_Id(garageId));
+        garageRepository.deleteById(garageId);
+    }
+
+    @Test
+    @DisplayName("Import fills the garage up to its capacity and reports every row")
+    void importVehicles_PartialCapacity() {
+        List<VehicleImportDTO> rows = new ArrayList<>();
+        rows.add(new VehicleImportDTO(garageId, "Renault", 2023, "Diesel", "Clio",
+                List.of(new AccessoryCreateDTO("GPS Navigation", "Advanced GPS", 299.99, "Navigation"))));
+        rows.add(new VehicleImportDTO(garageId, "", 2023, "Diesel", "Clio", null));
+        rows.add(new VehicleImportDTO(999_999L, "Renault", 2023, "Diesel", "Clio", null));
+        for (int i = 0; i < Garage.MAX_VEHICLES + 4; i++) {
+            rows.add(new VehicleImportDTO(garageId, "Renault", 2022, "Essence", "Megane", null));
+        }
+
+        VehicleImportReportDTO report = vehicleImportService.importVehicles(rows);
+
+        assertEquals(rows.size(), report.received());
+        assertEquals(Garage.MAX_VEHICLES, report.imported());
+        assertEquals(rows.size() - Garage.MAX_VEHICLES, report.rejected());
+        assertEquals(VehicleImportStatus.IMPORTED, report.rows().get(0).status());
+        assertTrue(report.rows().get(1).message().startsWith("brand:"));
+        assertEquals("Garage not found with ID: 999999", report.rows().get(2).message());
+        VehicleImportRowDTO last = report.rows().get(rows.size() - 1);
+        assertEquals(VehicleImportStatus.REJECTED, last.status());
+        assertEquals(rows.size() - 1, last.index());
+
+        assertEquals(Garage.MAX_VEHICLES, garageRepository.findVehicleCountById(garageId).orElseThrow());
+        List<Vehicle> vehicles = vehicleRepository.findByGarage_Id(garageId);
+        assertEquals(Garage.MAX_VEHICLES, vehicles.size());
+        assertEquals(1, accessoryRepository.findByVehicle_Id(report.rows().get(0).vehicleId()).size());
+    }
+
+    @Test
+    @DisplayName("Import rejects requests over the row limit")
+    void importVehicles_TooManyRows() {
+        List<VehicleImportDTO> rows = Collections.nCopies(VehicleImportService.MAX_IMPORT_ROWS + 1,
+                new VehicleImportDTO(garageId, "Renault", 2023, "Diesel", "Clio", null));
+
+        assertThrows(IllegalArgumentException.class, () -> vehicleImportService.importVehicles(rows));
+    }
+}
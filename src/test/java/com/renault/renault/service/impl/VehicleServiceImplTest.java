@@ -1,13 +1,27 @@
 package com.renault.renault.service.impl;
 
+import com.renault.renault.cache.AccessoryPriceCacheInvalidator;
+import com.renault.renault.cache.GarageCacheInvalidator;
+import com.renault.renault.dto.common.CursorPageDTO;
+import com.renault.renault.dto.common.DeletionReportDTO;
 import com.renault.renault.dto.vehicle.VehicleDTO;
 import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.OutboxEventType;
 import com.renault.renault.entity.Vehicle;
 import com.renault.renault.exception.BusinessConstraintViolationException;
+import com.renault.renault.exception.PreconditionFailedException;
 import com.renault.renault.exception.ResourceNotFoundException;
+import com.renault.renault.index.GarageSearchIndex;
 import com.renault.renault.mapper.VehicleMapper;
+import com.renault.renault.outbox.OutboxWriter;
+import com.renault.renault.repository.AccessoryRepository;
 import com.renault.renault.repository.GarageRepository;
 import com.renault.renault.repository.VehicleRepository;
+import com.renault.renault.repository.projection.VersionView;
+import com.renault.renault.statistics.FleetStatistics;
+import com.renault.renault.util.Cursor;
+import com.renault.renault.util.KeysetPages;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,12 +30,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -37,12 +54,33 @@ class VehicleServiceImplTest {
     @Mock
     private GarageRepository garageRepository;
 
+    @Mock
+    private AccessoryRepository accessoryRepository;
+
     @Mock
     private VehicleMapper vehicleMapper;
 
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private GarageSearchIndex garageSearchIndex;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private GarageCacheInvalidator garageCacheInvalidator;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private FleetStatistics fleetStatistics;
+
+    @Mock
+    private AccessoryPriceCacheInvalidator accessoryPriceCacheInvalidator;
+
     @InjectMocks
     private VehicleServiceImpl vehicleService;
 
@@ -81,14 +119,16 @@ class VehicleServiceImplTest {
                 "Clio",
                 1L,
                 new ArrayList<>(),
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                0L
         );
     }
 
     @Test
     @DisplayName("Add vehicle to garage successfully")
     void testAddVehicle_Success() {
-        when(garageRepository.findById(1L)).thenReturn(Optional.of(testGarage));
+        when(garageRepository.reserveVehicleSlot(1L, Garage.MAX_VEHICLES)).thenReturn(1);
+        when(garageRepository.getReferenceById(1L)).thenReturn(testGarage);
         when(vehicleMapper.toEntity(testVehicleDTO)).thenReturn(testVehicle);
         when(vehicleRepository.save(any(Vehicle.class))).thenReturn(testVehicle);
         when(vehicleMapper.toDto(testVehicle)).thenReturn(testVehicleDTO);
@@ -99,45 +139,107 @@ class VehicleServiceImplTest {
         assertEquals("Clio", result.model());
         assertEquals("Renault", result.brand());
         verify(vehicleRepository, times(1)).save(any(Vehicle.class));
-        verify(garageRepository, times(1)).save(testGarage);
+        verify(garageRepository, never()).save(any(Garage.class));
+        verify(garageSearchIndex, times(1)).addVehicle(1L, "Clio", "Diesel", List.of());
+        verify(garageCacheInvalidator, times(1)).evictAfterCommit(1L);
+        verify(outboxWriter, times(1)).append(eq(OutboxEventType.VEHICLE_CREATED), any(), eq(testVehicleDTO));
     }
 
     @Test
     @DisplayName("Add vehicle - garage not found")
     void testAddVehicle_GarageNotFound() {
-        when(garageRepository.findById(999L)).thenReturn(Optional.empty());
+        when(garageRepository.reserveVehicleSlot(999L, Garage.MAX_VEHICLES)).thenReturn(0);
+        when(garageRepository.existsById(999L)).thenReturn(false);
 
         assertThrows(ResourceNotFoundException.class, () -> vehicleService.addVehicle(999L, testVehicleDTO));
+        verify(vehicleRepository, never()).save(any(Vehicle.class));
     }
 
     @Test
     @DisplayName("Add vehicle throws exception when garage at capacity")
     void testAddVehicle_GarageAtCapacity() {
-        testGarage.setVehicleCount(50);
-        when(garageRepository.findById(1L)).thenReturn(Optional.of(testGarage));
+        when(garageRepository.reserveVehicleSlot(1L, Garage.MAX_VEHICLES)).thenReturn(0);
+        when(garageRepository.existsById(1L)).thenReturn(true);
 
         assertThrows(BusinessConstraintViolationException.class, () -> vehicleService.addVehicle(1L, testVehicleDTO));
+        verify(vehicleRepository, never()).save(any(Vehicle.class));
+    }
+
+    @Test
+    @DisplayName("Delete vehicle releases its garage slot")
+    void testDeleteVehicle_ReleasesSlot() {
+        when(vehicleRepository.findWithAccessoriesById(1L)).thenReturn(Optional.of(testVehicle));
+
+        when(accessoryRepository.deleteAllByVehicleIdIn(List.of(1L))).thenReturn(1);
+        when(vehicleRepository.deleteAllByIdIn(List.of(1L))).thenReturn(1);
+
+        DeletionReportDTO report = vehicleService.deleteVehicle(1L);
+
+        assertEquals(new DeletionReportDTO(0, 0, 1, 1), report);
+        verify(vehicleRepository, times(1)).deleteAllByIdIn(List.of(1L));
+        verify(vehicleRepository, never()).delete(any(Vehicle.class));
+        verify(garageRepository, times(1)).releaseVehicleSlot(1L);
+        verify(garageCacheInvalidator, times(1)).evictAfterCommit(1L);
+        verify(garageRepository, never()).save(any(Garage.class));
+        verify(outboxWriter, times(1)).appendDeletion(OutboxEventType.VEHICLE_DELETED, 1L);
+    }
+
+    @Test
+    @DisplayName("Delete vehicle removed concurrently reports not found")
+    void testDeleteVehicle_RemovedConcurrently() {
+        when(vehicleRepository.findWithAccessoriesById(1L)).thenReturn(Optional.of(testVehicle));
+        when(vehicleRepository.deleteAllByIdIn(List.of(1L))).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> vehicleService.deleteVehicle(1L));
+        verify(garageRepository, never()).releaseVehicleSlot(anyLong());
+        verify(outboxWriter, never()).appendDeletion(any(), any());
     }
 
     @Test
     @DisplayName("Update vehicle successfully")
     void testUpdateVehicle_Success() {
-        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
-        when(vehicleRepository.save(any(Vehicle.class))).thenReturn(testVehicle);
+        when(vehicleRepository.findWithAccessoriesById(1L)).thenReturn(Optional.of(testVehicle));
+        when(vehicleRepository.saveAndFlush(any(Vehicle.class))).thenReturn(testVehicle);
         when(vehicleMapper.toDto(testVehicle)).thenReturn(testVehicleDTO);
 
-        VehicleDTO result = vehicleService.updateVehicle(1L, testVehicleDTO);
+        VehicleDTO result = vehicleService.updateVehicle(1L, testVehicleDTO, null);
 
         assertNotNull(result);
-        verify(vehicleRepository, times(1)).save(any(Vehicle.class));
+        verify(vehicleRepository, times(1)).saveAndFlush(any(Vehicle.class));
+        verify(garageSearchIndex, times(1)).updateVehicle(1L, "Clio", "Diesel", "Clio", "Diesel");
     }
 
     @Test
     @DisplayName("Update vehicle - not found")
     void testUpdateVehicle_NotFound() {
-        when(vehicleRepository.findById(999L)).thenReturn(Optional.empty());
+        when(vehicleRepository.findWithAccessoriesById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> vehicleService.updateVehicle(999L, testVehicleDTO, null));
+    }
+
+    @Test
+    @DisplayName("Update vehicle - stale If-Match version is refused")
+    void testUpdateVehicle_StaleVersion() {
+        testVehicle.setVersion(3L);
+        when(vehicleRepository.findWithAccessoriesById(1L)).thenReturn(Optional.of(testVehicle));
+
+        assertThrows(PreconditionFailedException.class, () -> vehicleService.updateVehicle(1L, testVehicleDTO, 2L));
+        verify(vehicleRepository, never()).saveAndFlush(any(Vehicle.class));
+        verifyNoInteractions(outboxWriter);
+    }
+
+    @Test
+    @DisplayName("Vehicle list fingerprint changes when an accessory version changes")
+    void testGetVehiclesByGarageFingerprint() {
+        when(vehicleRepository.findVersionsByGarageId(1L)).thenReturn(List.of(version(1L, 0L)));
+        when(accessoryRepository.findVersionsByGarageId(1L))
+                .thenReturn(List.of(version(7L, 0L)), List.of(version(7L, 1L)));
+
+        String before = vehicleService.getVehiclesByGarageFingerprint(1L);
+        String after = vehicleService.getVehiclesByGarageFingerprint(1L);
 
-        assertThrows(ResourceNotFoundException.class, () -> vehicleService.updateVehicle(999L, testVehicleDTO));
+        assertEquals(32, before.length());
+        assertNotEquals(before, after);
     }
 
     @Test
@@ -167,4 +269,68 @@ class VehicleServiceImplTest {
         assertEquals(1, result.size());
         verify(vehicleRepository, times(1)).findByModel("Clio");
     }
+
+    @Test
+    @DisplayName("Scroll vehicles by model returns a cursor when more rows exist")
+    void testScrollVehiclesByModel_HasNext() {
+        Vehicle second = Vehicle.builder().id(2L).model("Clio").garage(testGarage).build();
+        when(vehicleRepository.findByModelAndIdGreaterThanOrderByIdAsc(eq("Clio"), eq(0L), any(Limit.class)))
+                .thenReturn(List.of(testVehicle, second));
+        when(vehicleMapper.toDto(testVehicle)).thenReturn(testVehicleDTO);
+
+        CursorPageDTO<VehicleDTO> page = vehicleService.scrollVehiclesByModel("Clio", null, 1);
+
+        assertEquals(1, page.content().size());
+        assertTrue(page.hasNext());
+        assertEquals(1L, KeysetPages.afterId(page.nextCursor()));
+        verify(vehicleRepository).findByModelAndIdGreaterThanOrderByIdAsc("Clio", 0L, Limit.of(2));
+    }
+
+    @Test
+    @DisplayName("Scroll vehicles by garage resumes after the cursor")
+    void testScrollVehiclesByGarage_FromCursor() {
+        String cursor = new Cursor("id", Sort.Direction.ASC, "1", 1L).encode();
+        when(vehicleRepository.findByGarage_IdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(1L), any(Limit.class)))
+                .thenReturn(List.of());
+
+        CursorPageDTO<VehicleDTO> page = vehicleService.scrollVehiclesByGarage(1L, cursor, 10);
+
+        assertTrue(page.content().isEmpty());
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Scroll vehicles rejects an invalid page size")
+    void testScrollVehicles_InvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> vehicleService.scrollVehiclesByModel("Clio", null, 0));
+        verifyNoInteractions(vehicleRepository);
+    }
+
+    @Test
+    @DisplayName("Stream vehicles by garage detaches each vehicle once handed over")
+    void testStreamVehiclesByGarage() {
+        when(vehicleRepository.streamByGarage_IdOrderByIdAsc(1L)).thenReturn(Stream.of(testVehicle));
+        when(vehicleMapper.toDto(testVehicle)).thenReturn(testVehicleDTO);
+        List<VehicleDTO> received = new ArrayList<>();
+
+        vehicleService.streamVehiclesByGarage(1L, received::add);
+
+        assertEquals(List.of(testVehicleDTO), received);
+        verify(entityManager).detach(testVehicle);
+    }
+
+    private static VersionView version(Long id, Long version) {
+        return new VersionView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+        };
+    }
 }
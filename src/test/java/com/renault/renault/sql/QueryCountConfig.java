@@ -0,0 +1,66 @@
+package com.renault.renault.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.DataSourceQueryCountListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Wraps the application data source in a datasource-proxy that counts executed statements per thread.
+ * Sequence fetches are not counted: the pooled optimizer only hits the database once per block of ids, so
+ * counting them would make the numbers depend on how many rows earlier tests inserted.
+ * <p>
+ * Asynchronous request processing, such as writing a streamed NDJSON response, runs on the thread that handles
+ * the request, so that its statements are counted on the test thread too.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryCountConfig {
+
+    @Bean
+    static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name("query-count")
+                            .listener(new SequenceIgnoringQueryCountListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    WebMvcConfigurer callerRunsAsyncSupport() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(new TaskExecutorAdapter(Runnable::run));
+            }
+        };
+    }
+
+    static class SequenceIgnoringQueryCountListener extends DataSourceQueryCountListener {
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            List<QueryInfo> counted = queryInfoList.stream()
+                    .filter(queryInfo -> !queryInfo.getQuery().startsWith("select next value for"))
+                    .toList();
+            if (!counted.isEmpty()) {
+                super.afterQuery(execInfo, counted);
+            }
+        }
+    }
+}
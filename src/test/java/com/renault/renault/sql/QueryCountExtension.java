@@ -0,0 +1,22 @@
+package com.renault.renault.sql;
+
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Clears the statement counts before and after each test, so each test only sees its own statements.
+ */
+public class QueryCountExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        QueryCountHolder.clear();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        QueryCountHolder.clear();
+    }
+}
@@ -0,0 +1,24 @@
+package com.renault.renault.sql;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Full application test with MockMvc in which the SQL statements executed by the test thread are counted, see
+ * {@link SqlCountAssertions}. The outbox relay and the occupancy metrics refresh are kept out of the way.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = {"app.outbox.relay-enabled=false", "app.metrics.occupancy-refresh-millis=3600000"})
+@AutoConfigureMockMvc
+@Import(QueryCountConfig.class)
+@ExtendWith(QueryCountExtension.class)
+public @interface QueryCounting {
+}
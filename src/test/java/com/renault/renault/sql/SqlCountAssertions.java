@@ -0,0 +1,56 @@
+package com.renault.renault.sql;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Assertions on the SQL statements executed by the current thread since the last {@link #resetCounts()}.
+ * Only usable in a {@link QueryCounting} test.
+ */
+public final class SqlCountAssertions {
+
+    private SqlCountAssertions() {
+    }
+
+    public static void resetCounts() {
+        QueryCountHolder.clear();
+    }
+
+    public static void assertSelectCount(int expected) {
+        assertEquals(expected, counts().getSelect(), () -> "SELECT statements, " + describe());
+    }
+
+    public static void assertInsertCount(int expected) {
+        assertEquals(expected, counts().getInsert(), () -> "INSERT statements, " + describe());
+    }
+
+    public static void assertUpdateCount(int expected) {
+        assertEquals(expected, counts().getUpdate(), () -> "UPDATE statements, " + describe());
+    }
+
+    public static void assertDeleteCount(int expected) {
+        assertEquals(expected, counts().getDelete(), () -> "DELETE statements, " + describe());
+    }
+
+    /**
+     * Asserts all four statement counts at once.
+     */
+    public static void assertStatementCounts(int selects, int inserts, int updates, int deletes) {
+        QueryCount count = counts();
+        assertEquals(selects + "/" + inserts + "/" + updates + "/" + deletes,
+                count.getSelect() + "/" + count.getInsert() + "/" + count.getUpdate() + "/" + count.getDelete(),
+                "select/insert/update/delete statements");
+    }
+
+    private static QueryCount counts() {
+        return QueryCountHolder.getGrandTotal();
+    }
+
+    private static String describe() {
+        QueryCount count = counts();
+        return "select=" + count.getSelect() + ", insert=" + count.getInsert() + ", update=" + count.getUpdate()
+                + ", delete=" + count.getDelete() + ", other=" + count.getOther();
+    }
+}
@@ -0,0 +1,71 @@
+package com.renault.renault.sql;
+
+import com.renault.renault.entity.Accessory;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.entity.OpeningTime;
+import com.renault.renault.entity.Vehicle;
+import com.renault.renault.repository.GarageRepository;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Seeds garages, each with opening times, vehicles and accessories, in one cascading save.
+ */
+public final class TestFleet {
+    private static final String[] MODELS = {"Clio", "Megane", "Captur", "Zoe"};
+
+    private TestFleet() {
+    }
+
+    public static List<Garage> seed(GarageRepository garageRepository, int garages, int vehiclesPerGarage,
+                                    int accessoriesPerVehicle) {
+        List<Garage> fleet = new ArrayList<>(garages);
+        for (int g = 0; g < garages; g++) {
+            Garage garage = Garage.builder()
+                    .name("Fleet Garage " + g)
+                    .address(g + " Rue de la Flotte")
+                    .telephone("+33100000000")
+                    .email("fleet" + g + "@garage.com")
+                    .latitude(48.85 + g * 0.01)
+                    .longitude(2.35)
+                    .vehicleCount(vehiclesPerGarage)
+                    .openingTimes(new HashSet<>())
+                    .vehicles(new ArrayList<>())
+                    .build();
+            for (DayOfWeek day : List.of(DayOfWeek.MONDAY, DayOfWeek.SATURDAY)) {
+                garage.getOpeningTimes().add(OpeningTime.builder()
+                        .dayOfWeek(day)
+                        .startTime(LocalTime.of(8, 0))
+                        .endTime(LocalTime.of(18, 0))
+                        .garage(garage)
+                        .build());
+            }
+            for (int v = 0; v < vehiclesPerGarage; v++) {
+                Vehicle vehicle = Vehicle.builder()
+                        .brand("Renault")
+                        .model(MODELS[v % MODELS.length])
+                        .fuelType(v % 2 == 0 ? "Diesel" : "Electric")
+                        .manufacturingYear(2015 + v % 10)
+                        .garage(garage)
+                        .accessories(new ArrayList<>())
+                        .build();
+                for (int a = 0; a < accessoriesPerVehicle; a++) {
+                    vehicle.getAccessories().add(Accessory.builder()
+                            .name("Accessory " + a)
+                            .description("Fleet accessory")
+                            .price(100.0 + a)
+                            .type("Comfort")
+                            .vehicle(vehicle)
+                            .build());
+                }
+                garage.getVehicles().add(vehicle);
+            }
+            fleet.add(garage);
+        }
+        return garageRepository.saveAll(fleet);
+    }
+}
@@ -0,0 +1,97 @@
+package com.renault.renault.statistics;
+
+import com.renault.renault.config.CacheConfig;
+import com.renault.renault.dto.accessory.AccessoryDTO;
+import com.renault.renault.dto.statistics.AccessoryPriceGrouping;
+import com.renault.renault.dto.statistics.AccessoryPriceStatsDTO;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.service.AccessoryService;
+import com.renault.renault.service.StatisticsService;
+import com.renault.renault.sql.TestFleet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.outbox.relay-enabled=false")
+@DisplayName("Accessory price analytics computed from the database and cached")
+class AccessoryPriceAnalyticsIntegrationTest {
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private AccessoryService accessoryService;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private List<Garage> fleet;
+
+    @BeforeEach
+    void setUp() {
+        fleet = TestFleet.seed(garageRepository, 2, 3, 2);
+        cache().clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        garageRepository.deleteAll();
+        cache().clear();
+    }
+
+    @Test
+    @DisplayName("Prices are grouped by type and by garage")
+    void groupsByTypeAndGarage() {
+        List<AccessoryPriceStatsDTO> byType = statisticsService.getAccessoryPriceStatistics(AccessoryPriceGrouping.TYPE);
+        assertEquals(1, byType.size());
+        AccessoryPriceStatsDTO comfort = byType.get(0);
+        assertEquals("Comfort", comfort.group());
+        assertEquals(12, comfort.count());
+        assertEquals(new BigDecimal("100.00"), comfort.min());
+        assertEquals(new BigDecimal("101.00"), comfort.max());
+        assertEquals(new BigDecimal("100.50"), comfort.average());
+
+        List<AccessoryPriceStatsDTO> byGarage = statisticsService.getAccessoryPriceStatistics(AccessoryPriceGrouping.GARAGE);
+        assertEquals(List.of(String.valueOf(fleet.get(0).getId()), String.valueOf(fleet.get(1).getId())),
+                byGarage.stream().map(AccessoryPriceStatsDTO::group).toList());
+        assertEquals(6, byGarage.get(0).count());
+    }
+
+    @Test
+    @DisplayName("Results are cached until an accessory write clears them")
+    void cachedUntilAccessoryWrite() {
+        statisticsService.getAccessoryPriceStatistics(AccessoryPriceGrouping.TYPE);
+        assertNotNull(cache().get(AccessoryPriceGrouping.TYPE));
+
+        Long vehicleId = fleet.get(0).getVehicles().get(0).getId();
+        AccessoryDTO added = accessoryService.addAccessory(vehicleId,
+                new AccessoryDTO(null, "Speakers", "Premium speakers", 450.0, "Audio"));
+        assertNull(cache().get(AccessoryPriceGrouping.TYPE));
+
+        List<AccessoryPriceStatsDTO> byType = statisticsService.getAccessoryPriceStatistics(AccessoryPriceGrouping.TYPE);
+        assertEquals(List.of("Audio", "Comfort"), byType.stream().map(AccessoryPriceStatsDTO::group).toList());
+        assertEquals(new BigDecimal("450.00"), byType.get(0).max());
+
+        accessoryService.deleteAccessory(added.id());
+        assertNull(cache().get(AccessoryPriceGrouping.TYPE));
+        assertEquals(1, statisticsService.getAccessoryPriceStatistics(AccessoryPriceGrouping.TYPE).size());
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CacheConfig.ACCESSORY_PRICES);
+    }
+}
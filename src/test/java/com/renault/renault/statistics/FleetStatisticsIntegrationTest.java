@@ -0,0 +1,106 @@
+package com.renault.renault.statistics;
+
+import com.renault.renault.dto.accessory.AccessoryDTO;
+import com.renault.renault.dto.common.DeletionReportDTO;
+import com.renault.renault.dto.statistics.GarageStatisticsDTO;
+import com.renault.renault.dto.vehicle.VehicleDTO;
+import com.renault.renault.entity.Garage;
+import com.renault.renault.exception.ResourceNotFoundException;
+import com.renault.renault.repository.GarageRepository;
+import com.renault.renault.service.AccessoryService;
+import com.renault.renault.service.GarageService;
+import com.renault.renault.service.StatisticsService;
+import com.renault.renault.service.VehicleService;
+import com.renault.renault.sql.TestFleet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.outbox.relay-enabled=false")
+@DisplayName("Fleet statistics maintained by service writes")
+class FleetStatisticsIntegrationTest {
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private AccessoryService accessoryService;
+
+    @Autowired
+    private GarageService garageService;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    private List<Garage> fleet;
+
+    @BeforeEach
+    void setUp() {
+        fleet = TestFleet.seed(garageRepository, 2, 4, 1);
+        statisticsService.recompute();
+    }
+
+    @AfterEach
+    void tearDown() {
+        garageRepository.deleteAll();
+        statisticsService.recompute();
+    }
+
+    @Test
+    @DisplayName("Deltas from vehicle and accessory writes match a full recomputation")
+    void deltasMatchRecompute() {
+        Long garageId = fleet.get(0).getId();
+        GarageStatisticsDTO initial = statisticsService.getGarageStatistics(garageId);
+        assertEquals(4, initial.vehicleCount());
+
+        VehicleDTO added = vehicleService.addVehicle(garageId, new VehicleDTO(null, "Renault", 2009, "LPG", "Twingo",
+                garageId, List.of(), null, null));
+        AccessoryDTO accessory = accessoryService.addAccessory(added.id(),
+                new AccessoryDTO(null, "Tow Bar", "Removable tow bar", 450.5, "Transport"));
+        accessoryService.updateAccessory(accessory.id(),
+                new AccessoryDTO(accessory.id(), "Tow Bar", "Fixed tow bar", 399.0, "Transport"));
+        vehicleService.updateVehicle(added.id(), new VehicleDTO(added.id(), "Renault", 2011, "Petrol", "Twingo",
+                garageId, List.of(), null, null), null);
+        Long removedVehicleId = fleet.get(0).getVehicles().get(0).getId();
+        assertEquals(new DeletionReportDTO(0, 0, 1, 1), vehicleService.deleteVehicle(removedVehicleId));
+        Long deletedGarageId = fleet.get(1).getId();
+        assertEquals(new DeletionReportDTO(1, 2, 4, 4), garageService.deleteGarage(deletedGarageId));
+        assertThrows(ResourceNotFoundException.class, () -> garageService.deleteGarage(deletedGarageId));
+        assertEquals(4, garageRepository.findById(garageId).orElseThrow().getVehicleCount());
+
+        GarageStatisticsDTO garage = statisticsService.getGarageStatistics(garageId);
+        assertEquals(4, garage.vehicleCount());
+        assertEquals(1L, garage.vehiclesByModel().get("Twingo"));
+        assertEquals(1L, garage.vehiclesByYearBucket().get("2010-2014"));
+        assertNull(garage.vehiclesByFuelType().get("LPG"));
+        assertEquals(4, garage.accessoryCount());
+        assertEquals(new BigDecimal("699.00"), garage.accessoryTotalPrice());
+        assertEquals(Map.of(), statisticsService.getGarageStatistics(
+                garageRepository.save(emptyGarage()).getId()).vehiclesByModel());
+
+        assertEquals(0, statisticsService.recompute().driftedGarages());
+        assertEquals(garage, statisticsService.getGarageStatistics(garageId));
+    }
+
+    private static Garage emptyGarage() {
+        return Garage.builder()
+                .name("Empty Garage")
+                .address("4 Rue du Test")
+                .telephone("+33100000003")
+                .email("empty@garage.com")
+                .vehicleCount(0)
+                .build();
+    }
+}
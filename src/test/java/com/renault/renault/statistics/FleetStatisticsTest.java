@@ -0,0 +1,159 @@
+package com.renault.renault.statistics;
+
+import com.renault.renault.dto.statistics.GarageStatisticsDTO;
+import com.renault.renault.dto.statistics.NetworkStatisticsDTO;
+import com.renault.renault.repository.projection.AccessoryPriceView;
+import com.renault.renault.repository.projection.VehicleStatsView;
+import com.renault.renault.statistics.FleetStatistics.VehicleSample;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FleetStatistics Unit Tests")
+class FleetStatisticsTest {
+
+    private FleetStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new FleetStatistics();
+        statistics.rebuild(
+                List.of(vehicle(1L, "Clio", "Diesel", 2018), vehicle(1L, "Zoe", "Electric", 2021),
+                        vehicle(2L, "Clio", "Petrol", 2022)),
+                List.of(accessory(1L, 99.99), accessory(2L, 250.0)));
+    }
+
+    @Test
+    @DisplayName("Rebuild aggregates per garage and for the network")
+    void rebuild_Aggregates() {
+        GarageStatisticsDTO garage = statistics.getGarage(1L).orElseThrow();
+        assertEquals(2, garage.vehicleCount());
+        assertEquals(Map.of("Diesel", 1L, "Electric", 1L), garage.vehiclesByFuelType());
+        assertEquals(Map.of("2015-2019", 1L, "2020-2024", 1L), garage.vehiclesByYearBucket());
+        assertEquals(new BigDecimal("99.99"), garage.accessoryTotalPrice());
+
+        NetworkStatisticsDTO network = statistics.getNetwork();
+        assertEquals(2, network.garagesWithVehicles());
+        assertEquals(3, network.vehicleCount());
+        assertEquals(Map.of("Clio", 2L, "Zoe", 1L), network.vehiclesByModel());
+        assertEquals(2, network.accessoryCount());
+        assertEquals(new BigDecimal("349.99"), network.accessoryTotalPrice());
+    }
+
+    @Test
+    @DisplayName("Vehicle deltas move counts between buckets and drop empty ones")
+    void vehicleDeltas() {
+        VehicleSample clio = new VehicleSample("Clio", "Diesel", 2018, 0, 0);
+        statistics.updateVehicle(1L, clio, new VehicleSample("Clio", "Electric", 2023, 0, 0));
+
+        GarageStatisticsDTO garage = statistics.getGarage(1L).orElseThrow();
+        assertEquals(Map.of("Electric", 2L), garage.vehiclesByFuelType());
+        assertEquals(Map.of("2020-2024", 2L), garage.vehiclesByYearBucket());
+
+        statistics.removeVehicle(2L, new VehicleSample("Clio", "Petrol", 2022, 1, 25000));
+        assertTrue(statistics.getGarage(2L).isEmpty());
+        assertFalse(statistics.getNetwork().vehiclesByFuelType().containsKey("Petrol"));
+        assertEquals(new BigDecimal("99.99"), statistics.getNetwork().accessoryTotalPrice());
+    }
+
+    @Test
+    @DisplayName("Accessory price deltas keep exact totals")
+    void accessoryDeltas() {
+        statistics.addAccessory(1L, 0.1);
+        statistics.addAccessory(1L, 0.2);
+        statistics.updateAccessoryPrice(1L, 0.2, 0.3);
+        statistics.removeAccessory(1L, 0.1);
+
+        GarageStatisticsDTO garage = statistics.getGarage(1L).orElseThrow();
+        assertEquals(2, garage.accessoryCount());
+        assertEquals(new BigDecimal("100.29"), garage.accessoryTotalPrice());
+    }
+
+    @Test
+    @DisplayName("Removing a garage subtracts it from the network")
+    void removeGarage() {
+        statistics.removeGarage(1L);
+
+        assertTrue(statistics.getGarage(1L).isEmpty());
+        NetworkStatisticsDTO network = statistics.getNetwork();
+        assertEquals(1, network.vehicleCount());
+        assertEquals(Map.of("Clio", 1L), network.vehiclesByModel());
+        assertEquals(new BigDecimal("250.00"), network.accessoryTotalPrice());
+    }
+
+    @Test
+    @DisplayName("Rebuild reports the garages whose statistics had drifted")
+    void rebuild_ReportsDrift() {
+        statistics.addAccessory(2L, 10.0);
+        statistics.addVehicle(3L, new VehicleSample("Megane", "Diesel", 2020, 0, 0));
+
+        int drifted = statistics.rebuild(
+                List.of(vehicle(1L, "Clio", "Diesel", 2018), vehicle(1L, "Zoe", "Electric", 2021),
+                        vehicle(2L, "Clio", "Petrol", 2022)),
+                List.of(accessory(1L, 99.99), accessory(2L, 250.0)));
+
+        assertEquals(2, drifted);
+        assertTrue(statistics.getGarage(3L).isEmpty());
+        assertEquals(1, statistics.getGarage(2L).orElseThrow().accessoryCount());
+    }
+
+    @Test
+    @DisplayName("Deltas applied while a rebuild scans are replayed onto the rebuilt statistics")
+    void rebuild_ReplaysConcurrentDeltas() {
+        statistics.beginRebuild();
+        // Committed after the snapshot was taken: the rows below do not include them
+        statistics.addVehicle(3L, new VehicleSample("Megane", "Diesel", 2020, 1, 5000));
+        statistics.removeGarage(2L);
+
+        int drifted = statistics.rebuild(
+                List.of(vehicle(1L, "Clio", "Diesel", 2018), vehicle(1L, "Zoe", "Electric", 2021),
+                        vehicle(2L, "Clio", "Petrol", 2022)),
+                List.of(accessory(1L, 99.99), accessory(2L, 250.0)));
+
+        assertEquals(0, drifted);
+        assertEquals(1, statistics.getGarage(3L).orElseThrow().vehicleCount());
+        assertTrue(statistics.getGarage(2L).isEmpty());
+        assertEquals(3, statistics.getNetwork().vehicleCount());
+        assertEquals(new BigDecimal("149.99"), statistics.getNetwork().accessoryTotalPrice());
+
+        statistics.addAccessory(1L, 1.0);
+        assertEquals(0, statistics.rebuild(
+                List.of(vehicle(1L, "Clio", "Diesel", 2018), vehicle(1L, "Zoe", "Electric", 2021),
+                        vehicle(3L, "Megane", "Diesel", 2020)),
+                List.of(accessory(1L, 99.99), accessory(1L, 1.0), accessory(3L, 50.0))));
+    }
+
+    @Test
+    @DisplayName("The initial build reports no drift")
+    void rebuild_InitialBuildReportsNoDrift() {
+        FleetStatistics fresh = new FleetStatistics();
+        fresh.addVehicle(3L, new VehicleSample("Megane", "Diesel", 2020, 0, 0));
+
+        assertEquals(0, fresh.rebuild(List.of(vehicle(1L, "Clio", "Diesel", 2018), vehicle(2L, "Zoe", "Electric", 2021)),
+                List.of(accessory(1L, 99.99))));
+        assertEquals(2, fresh.size());
+    }
+
+    private static VehicleStatsView vehicle(Long garageId, String model, String fuelType, int year) {
+        return new VehicleStatsView() {
+            public Long getGarageId() { return garageId; }
+            public String getModel() { return model; }
+            public String getFuelType() { return fuelType; }
+            public Integer getManufacturingYear() { return year; }
+        };
+    }
+
+    private static AccessoryPriceView accessory(Long garageId, double price) {
+        return new AccessoryPriceView() {
+            public Long getGarageId() { return garageId; }
+            public String getType() { return "Comfort"; }
+            public Double getPrice() { return price; }
+        };
+    }
+}
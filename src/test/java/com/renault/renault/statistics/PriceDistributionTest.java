@@ -0,0 +1,74 @@
+package com.renault.renault.statistics;
+
+import com.renault.renault.dto.statistics.AccessoryPriceStatsDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PriceDistribution Unit Tests")
+class PriceDistributionTest {
+
+    @Test
+    @DisplayName("Count, min, max and average are exact")
+    void exactAggregates() {
+        PriceDistribution distribution = new PriceDistribution();
+        distribution.record(19.99);
+        distribution.record(0.01);
+        distribution.record(100.0);
+        distribution.record(null);
+
+        AccessoryPriceStatsDTO stats = distribution.toDto("Audio");
+
+        assertEquals("Audio", stats.group());
+        assertEquals(3, stats.count());
+        assertEquals(new BigDecimal("0.01"), stats.min());
+        assertEquals(new BigDecimal("100.00"), stats.max());
+        assertEquals(new BigDecimal("40.00"), stats.average());
+    }
+
+    @Test
+    @DisplayName("Percentiles are within 1% of the exact value")
+    void percentilesWithinError() {
+        PriceDistribution distribution = new PriceDistribution();
+        for (int i = 1; i <= 10_000; i++) {
+            distribution.record(i / 10.0);
+        }
+
+        AccessoryPriceStatsDTO stats = distribution.toDto("Comfort");
+
+        assertWithinOnePercent(500.0, stats.p50());
+        assertWithinOnePercent(900.0, stats.p90());
+        assertWithinOnePercent(950.0, stats.p95());
+        assertWithinOnePercent(990.0, stats.p99());
+        assertTrue(stats.p99().compareTo(stats.max()) <= 0);
+    }
+
+    @Test
+    @DisplayName("Percentiles never exceed the highest price recorded")
+    void percentilesClampedToMax() {
+        PriceDistribution distribution = new PriceDistribution();
+        distribution.record(123.45);
+
+        AccessoryPriceStatsDTO stats = distribution.toDto("Safety");
+
+        assertEquals(new BigDecimal("123.45"), stats.p50());
+        assertEquals(new BigDecimal("123.45"), stats.p99());
+    }
+
+    @Test
+    @DisplayName("An empty distribution has no prices")
+    void empty() {
+        AccessoryPriceStatsDTO stats = new PriceDistribution().toDto("Empty");
+
+        assertEquals(0, stats.count());
+        assertNull(stats.min());
+        assertNull(stats.p50());
+    }
+
+    private static void assertWithinOnePercent(double expected, BigDecimal actual) {
+        assertEquals(expected, actual.doubleValue(), expected * 0.01);
+    }
+}